@@ -128,6 +128,20 @@ std::string ESScrollQueryBuilder::build(const std::map<std::string, std::string>
     rapidjson::Value field("_doc", allocator);
     sort_node.PushBack(field, allocator);
     es_query_dsl.AddMember("sort", sort_node, allocator);
+    // sliced scroll, the documents of the shard are split into slice_num disjoint slices.
+    // slice is only valid in scroll, which is not used if terminate_after is set
+    if (properties.find(ESScanReader::KEY_TERMINATE_AFTER) == properties.end()
+            && properties.find(ESScanReader::KEY_SLICE_ID) != properties.end()
+            && properties.find(ESScanReader::KEY_SLICE_NUM) != properties.end()) {
+        int slice_num = atoi(properties.at(ESScanReader::KEY_SLICE_NUM).c_str());
+        // ES requires the max of slice greater than 1
+        if (slice_num > 1) {
+            rapidjson::Value slice_node(rapidjson::kObjectType);
+            slice_node.AddMember("id", atoi(properties.at(ESScanReader::KEY_SLICE_ID).c_str()), allocator);
+            slice_node.AddMember("max", slice_num, allocator);
+            es_query_dsl.AddMember("slice", slice_node, allocator);
+        }
+    }
     // number of docuements returned
     es_query_dsl.AddMember("size", size, allocator);
     rapidjson::StringBuffer buffer;
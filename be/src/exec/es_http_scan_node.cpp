@@ -437,26 +437,39 @@ void EsHttpScanNode::scanner_worker(int start_idx, int length, std::promise<Stat
         properties[ESScanReader::KEY_TYPE] = es_scan_range.type;
     }
     properties[ESScanReader::KEY_SHARD] = std::to_string(es_scan_range.shard_id);
+    // push down limit to Elasticsearch
+    bool push_down_limit = limit() != -1 && limit() <= _runtime_state->batch_size();
+    // the limit is pushed down by a plain search instead of scroll, and ES does not support slice
+    // out of scroll. so the first slice of the shard searches the whole shard, and the other slices are skipped.
+    bool skip_slice = false;
+    if (es_scan_range.__isset.slice_id && es_scan_range.__isset.slice_num) {
+        if (!push_down_limit) {
+            properties[ESScanReader::KEY_SLICE_ID] = std::to_string(es_scan_range.slice_id);
+            properties[ESScanReader::KEY_SLICE_NUM] = std::to_string(es_scan_range.slice_num);
+        } else if (es_scan_range.slice_id != 0) {
+            skip_slice = true;
+        }
+    }
     properties[ESScanReader::KEY_BATCH_SIZE] = std::to_string(_runtime_state->batch_size());
     properties[ESScanReader::KEY_HOST_PORT] = get_host_port(es_scan_range.es_hosts);
-    // push down limit to Elasticsearch
-    if (limit() != -1 && limit() <= _runtime_state->batch_size()) {
+    if (push_down_limit) {
         properties[ESScanReader::KEY_TERMINATE_AFTER] = std::to_string(limit());
     }
 
-    bool doc_value_mode = false;
-    properties[ESScanReader::KEY_QUERY] 
-        = ESScrollQueryBuilder::build(properties, _column_names, _predicates, _docvalue_context, &doc_value_mode);
+    if (!skip_slice) {
+        bool doc_value_mode = false;
+        properties[ESScanReader::KEY_QUERY]
+            = ESScrollQueryBuilder::build(properties, _column_names, _predicates, _docvalue_context, &doc_value_mode);
 
-
-    // start scanner to scan
-    std::unique_ptr<EsHttpScanner> scanner(new EsHttpScanner(
-                    _runtime_state, runtime_profile(), _tuple_id,
-                    properties, scanner_expr_ctxs, &counter, doc_value_mode));
-    status = scanner_scan(std::move(scanner), scanner_expr_ctxs, &counter);
-    if (!status.ok()) {
-        LOG(WARNING) << "Scanner[" << start_idx << "] process failed. status="
-            << status.get_error_msg();
+        // start scanner to scan
+        std::unique_ptr<EsHttpScanner> scanner(new EsHttpScanner(
+                        _runtime_state, runtime_profile(), _tuple_id,
+                        properties, scanner_expr_ctxs, &counter, doc_value_mode));
+        status = scanner_scan(std::move(scanner), scanner_expr_ctxs, &counter);
+        if (!status.ok()) {
+            LOG(WARNING) << "Scanner[" << start_idx << "] process failed. status="
+                << status.get_error_msg();
+        }
     }
 
 
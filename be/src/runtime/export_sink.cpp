@@ -232,8 +232,10 @@ Status ExportSink::gen_row_buffer(TupleRow* row, std::stringstream* ss) {
 Status ExportSink::close(RuntimeState* state, Status exec_status) {
     Expr::close(_output_expr_ctxs, state);
     if (_file_writer != nullptr) {
-        _file_writer->close();
+        // the data written before may be failed to be flushed by broker, which is only reported by close
+        Status st = _file_writer->close();
         _file_writer = nullptr;
+        RETURN_IF_ERROR(st);
     }
     return Status::OK();
 }
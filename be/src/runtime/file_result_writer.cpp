@@ -302,9 +302,11 @@ Status FileResultWriter::_close_file_writer(bool done) {
             //TODO(cmy): implement parquet writer later
         }
     } else if (_file_writer != nullptr) {
-        _file_writer->close();
+        // the data written before may be failed to be flushed by broker, which is only reported by close
+        Status st = _file_writer->close();
         delete _file_writer;
         _file_writer = nullptr;
+        RETURN_IF_ERROR(st);
     }
 
     if (!done) {
@@ -22,6 +22,8 @@
 #include "common/logging.h"
 #include "exec/es/es_query_builder.h"
 #include "exec/es/es_predicate.h"
+#include "exec/es/es_scan_reader.h"
+#include "exec/es/es_scroll_query.h"
 #include "rapidjson/document.h"
 #include "rapidjson/rapidjson.h"
 #include "rapidjson/stringbuffer.h"
@@ -562,6 +564,43 @@ TEST_F(BooleanQueryBuilderTest, validate_compound_and) {
     std::string expected_json = "{\"bool\":{\"filter\":[{\"bool\":{\"should\":[{\"bool\":{\"filter\":[{\"bool\":{\"should\":[{\"range\":{\"k\":{\"gte\":\"a\"}}}]}},{\"bool\":{\"should\":[{\"bool\":{\"must_not\":[{\"term\":{\"content\":\"wyf\"}}]}},{\"bool\":{\"must_not\":[{\"terms\":{\"fv\":[\"8.0\",\"16.0\"]}}]}}]}}]}},{\"wildcard\":{\"content\":\"a*e*g?\"}}]}}]}}";
     ASSERT_STREQ(expected_json.c_str(), actual_bool_json.c_str());
 }
+
+TEST_F(BooleanQueryBuilderTest, sliced_scroll_query) {
+    std::vector<EsPredicate*> predicates;
+    std::vector<std::string> fields = {"k1"};
+    std::map<std::string, std::string> docvalue_context;
+    std::map<std::string, std::string> properties;
+    properties[ESScanReader::KEY_BATCH_SIZE] = "1024";
+    properties[ESScanReader::KEY_DOC_VALUES_MODE] = "0";
+    bool doc_value_mode = false;
+    rapidjson::Document document;
+
+    std::string query = ESScrollQueryBuilder::build(properties, fields, predicates, docvalue_context, &doc_value_mode);
+    document.Parse<0>(query.c_str());
+    ASSERT_FALSE(document.HasMember("slice"));
+
+    properties[ESScanReader::KEY_SLICE_ID] = "2";
+    properties[ESScanReader::KEY_SLICE_NUM] = "4";
+    query = ESScrollQueryBuilder::build(properties, fields, predicates, docvalue_context, &doc_value_mode);
+    document.Parse<0>(query.c_str());
+    ASSERT_TRUE(document.HasMember("slice"));
+    ASSERT_EQ(2, document["slice"]["id"].GetInt());
+    ASSERT_EQ(4, document["slice"]["max"].GetInt());
+
+    // slice is not supported by the plain search of terminate_after
+    properties[ESScanReader::KEY_TERMINATE_AFTER] = "10";
+    query = ESScrollQueryBuilder::build(properties, fields, predicates, docvalue_context, &doc_value_mode);
+    document.Parse<0>(query.c_str());
+    ASSERT_FALSE(document.HasMember("slice"));
+    properties.erase(ESScanReader::KEY_TERMINATE_AFTER);
+
+    // one slice is the whole shard
+    properties[ESScanReader::KEY_SLICE_ID] = "0";
+    properties[ESScanReader::KEY_SLICE_NUM] = "1";
+    query = ESScrollQueryBuilder::build(properties, fields, predicates, docvalue_context, &doc_value_mode);
+    document.Parse<0>(query.c_str());
+    ASSERT_FALSE(document.HasMember("slice"));
+}
 }
 
 int main(int argc, char* argv[]) {
@@ -374,6 +374,7 @@ module.exports = [
               "ALTER DATABASE",
               "ALTER TABLE",
               "ALTER VIEW",
+              "ANALYZE TABLE",
               "BACKUP",
               "CANCEL ALTER",
               "CANCEL BACKUP",
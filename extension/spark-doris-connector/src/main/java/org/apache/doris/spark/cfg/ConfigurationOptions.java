@@ -50,6 +50,11 @@ public interface ConfigurationOptions {
     int DORIS_TABLET_SIZE_DEFAULT = Integer.MAX_VALUE;
     int DORIS_TABLET_SIZE_MIN = 1;
 
+    // max data size of tablets read by one RDD partition
+    String DORIS_PARTITION_SIZE_BYTES = "doris.request.partition.size.bytes";
+    long DORIS_PARTITION_SIZE_BYTES_DEFAULT = 1024 * 1024 * 1024L;
+    long DORIS_PARTITION_SIZE_BYTES_MIN = 1;
+
     String DORIS_BATCH_SIZE = "doris.batch.size";
     int DORIS_BATCH_SIZE_DEFAULT = 1024;
 
@@ -63,4 +68,26 @@ public interface ConfigurationOptions {
 
     String DORIS_DESERIALIZE_QUEUE_SIZE = "doris.deserialize.queue.size";
     int DORIS_DESERIALIZE_QUEUE_SIZE_DEFAULT = 64;
+
+    // read data from Doris BE as columnar batches, instead of rows of boxed values
+    String DORIS_DESERIALIZE_COLUMNAR = "doris.deserialize.columnar";
+    boolean DORIS_DESERIALIZE_COLUMNAR_DEFAULT = true;
+
+    // number of batches fetched from Doris BE in advance when reading columnar batches
+    String DORIS_PREFETCH_DEPTH = "doris.request.prefetch.depth";
+    int DORIS_PREFETCH_DEPTH_DEFAULT = 1;
+
+    // max rows of one stream load request when writing to doris
+    String DORIS_SINK_BATCH_SIZE = "doris.sink.batch.size";
+    int DORIS_SINK_BATCH_SIZE_DEFAULT = 10000;
+
+    String DORIS_SINK_MAX_RETRIES = "doris.sink.max.retries";
+    int DORIS_SINK_MAX_RETRIES_DEFAULT = 3;
+
+    // interval before the first retry of a failed stream load, doubled after each retry
+    String DORIS_SINK_RETRY_INTERVAL_MS = "doris.sink.retry.interval.ms";
+    int DORIS_SINK_RETRY_INTERVAL_MS_DEFAULT = 1000;
+
+    // prefix of stream load labels, a random one is generated for each write if not set
+    String DORIS_SINK_LABEL_PREFIX = "doris.sink.label.prefix";
 }
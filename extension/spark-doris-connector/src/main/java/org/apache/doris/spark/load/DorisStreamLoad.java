@@ -0,0 +1,198 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.spark.load;
+
+import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_FENODES;
+import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_REQUEST_AUTH_PASSWORD;
+import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_REQUEST_AUTH_USER;
+import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_TABLE_IDENTIFIER;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.doris.spark.cfg.ConfigurationOptions;
+import org.apache.doris.spark.cfg.Settings;
+import org.apache.doris.spark.exception.IllegalArgumentException;
+import org.apache.doris.spark.exception.StreamLoadException;
+import org.apache.doris.spark.rest.RestService;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultRedirectStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Load data into Doris by stream load.
+ * The request is sent to Doris FE and then redirected to a Doris BE, which executes the load.
+ * Stream load is idempotent on label, so a batch retried with the same label is loaded at most once.
+ * Rows are sent as a json array of objects, so values need no escaping.
+ * The http client is shared by all loads, call {@link #close()} when all batches are loaded.
+ */
+public class DorisStreamLoad implements Closeable {
+    private static Logger logger = LoggerFactory.getLogger(DorisStreamLoad.class);
+
+    private static final String LOAD_URL_PATTERN = "http://%s/api/%s/%s/_stream_load";
+    private static final List<String> SUCCESS_STATUS = Arrays.asList("Success", "Publish Timeout");
+    private static final String LABEL_EXISTS_STATUS = "Label Already Exists";
+    private static final List<String> EXISTING_JOB_SUCCESS_STATUS = Arrays.asList("FINISHED", "VISIBLE");
+    private static final long MAX_RETRY_INTERVAL_MS = 60000L;
+
+    private final String feNodes;
+    private final String db;
+    private final String table;
+    private final String authorization;
+    private final int connectTimeout;
+    private final int socketTimeout;
+    private final int maxRetries;
+    private final long retryIntervalMs;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final CloseableHttpClient httpClient = HttpClientBuilder.create()
+            .setRedirectStrategy(new DefaultRedirectStrategy() {
+                // FE redirects the PUT request to BE by 307
+                @Override
+                protected boolean isRedirectable(String method) {
+                    return true;
+                }
+            }).build();
+
+    public DorisStreamLoad(Settings settings) throws IllegalArgumentException {
+        String[] identifier = RestService.parseIdentifier(settings.getProperty(DORIS_TABLE_IDENTIFIER), logger);
+        this.db = identifier[0];
+        this.table = identifier[1];
+        this.feNodes = settings.getProperty(DORIS_FENODES);
+        String user = settings.getProperty(DORIS_REQUEST_AUTH_USER, "");
+        String password = settings.getProperty(DORIS_REQUEST_AUTH_PASSWORD, "");
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+        this.connectTimeout = settings.getIntegerProperty(ConfigurationOptions.DORIS_REQUEST_CONNECT_TIMEOUT_MS,
+                ConfigurationOptions.DORIS_REQUEST_CONNECT_TIMEOUT_MS_DEFAULT);
+        this.socketTimeout = settings.getIntegerProperty(ConfigurationOptions.DORIS_REQUEST_READ_TIMEOUT_MS,
+                ConfigurationOptions.DORIS_REQUEST_READ_TIMEOUT_MS_DEFAULT);
+        this.maxRetries = settings.getIntegerProperty(ConfigurationOptions.DORIS_SINK_MAX_RETRIES,
+                ConfigurationOptions.DORIS_SINK_MAX_RETRIES_DEFAULT);
+        this.retryIntervalMs = settings.getIntegerProperty(ConfigurationOptions.DORIS_SINK_RETRY_INTERVAL_MS,
+                ConfigurationOptions.DORIS_SINK_RETRY_INTERVAL_MS_DEFAULT);
+    }
+
+    /**
+     * load a batch of rows with the given label, retry if failed.
+     * The interval between retries starts from 'doris.sink.retry.interval.ms' and doubles after each attempt.
+     * @param label label of the load, should be the same when the batch is retried
+     * @param columns column names of the rows, separated by comma
+     * @param data json array of rows, each row is an object keyed by column names
+     * @return number of loaded rows
+     * @throws StreamLoadException throw when the load is still failed after retries
+     */
+    public long load(String label, String columns, byte[] data) throws StreamLoadException {
+        Exception ex = null;
+        long interval = retryIntervalMs;
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            logger.debug("Attempt {} to stream load with label {}.", attempt, label);
+            try {
+                return loadOnce(label, columns, data);
+            } catch (IOException | IllegalArgumentException e) {
+                ex = e;
+                logger.warn("Failed to stream load with label {}, attempt {}.", label, attempt, e);
+            }
+            if (attempt < maxRetries) {
+                try {
+                    Thread.sleep(interval);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new StreamLoadException("Interrupted when retrying stream load with label " + label, e);
+                }
+                interval = Math.min(interval * 2, MAX_RETRY_INTERVAL_MS);
+            }
+        }
+        throw new StreamLoadException("Failed to stream load with label " + label
+                + " after " + (maxRetries + 1) + " attempts.", ex);
+    }
+
+    private long loadOnce(String label, String columns, byte[] data)
+            throws IOException, IllegalArgumentException, StreamLoadException {
+        String loadUrl = String.format(LOAD_URL_PATTERN, RestService.randomEndpoint(feNodes, logger), db, table);
+        HttpPut httpPut = new HttpPut(loadUrl);
+        httpPut.setConfig(RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setSocketTimeout(socketTimeout)
+                .build());
+        httpPut.setHeader(HttpHeaders.EXPECT, "100-continue");
+        httpPut.setHeader(HttpHeaders.AUTHORIZATION, authorization);
+        httpPut.setHeader("label", label);
+        httpPut.setHeader("columns", columns);
+        httpPut.setHeader("format", "json");
+        httpPut.setHeader("strip_outer_array", "true");
+        httpPut.setEntity(new ByteArrayEntity(data));
+
+        try (CloseableHttpResponse response = httpClient.execute(httpPut)) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            String body = response.getEntity() == null ? "" : EntityUtils.toString(response.getEntity());
+            if (statusCode != HttpStatus.SC_OK) {
+                throw new IOException("Stream load to " + loadUrl + " failed, http code is "
+                        + statusCode + ", response is " + body);
+            }
+            return parseResponse(label, body);
+        }
+    }
+
+    /**
+     * @return number of loaded rows
+     * @throws IOException the load is failed and can be retried
+     * @throws StreamLoadException the load is failed and should not be retried
+     */
+    long parseResponse(String label, String body) throws IOException, StreamLoadException {
+        Map<String, Object> result = mapper.readValue(body, Map.class);
+        String status = String.valueOf(result.get("Status"));
+        if (SUCCESS_STATUS.contains(status)) {
+            Object loadedRows = result.get("NumberLoadedRows");
+            logger.info("Stream load with label {} succeed, status is {}, loaded rows {}.",
+                    label, status, loadedRows);
+            return loadedRows == null ? 0 : Long.parseLong(loadedRows.toString());
+        }
+        if (LABEL_EXISTS_STATUS.equals(status)) {
+            // the batch has been loaded by a former attempt
+            String existingStatus = String.valueOf(result.get("ExistingJobStatus"));
+            if (EXISTING_JOB_SUCCESS_STATUS.contains(existingStatus)) {
+                logger.info("Stream load with label {} has been loaded before, status is {}.",
+                        label, existingStatus);
+                return 0;
+            }
+            throw new IOException("Stream load with label " + label + " is still running, status is "
+                    + existingStatus);
+        }
+        throw new StreamLoadException("Stream load with label " + label + " failed, response is " + body);
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+}
@@ -19,6 +19,9 @@ package org.apache.doris.spark.rest;
 
 import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_FENODES;
 import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_FILTER_QUERY;
+import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_PARTITION_SIZE_BYTES;
+import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_PARTITION_SIZE_BYTES_DEFAULT;
+import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_PARTITION_SIZE_BYTES_MIN;
 import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_READ_FIELD;
 import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_REQUEST_AUTH_PASSWORD;
 import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_REQUEST_AUTH_USER;
@@ -37,10 +40,14 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
@@ -83,6 +90,7 @@ public class RestService implements Serializable {
     private static final String API_PREFIX = "/api";
     private static final String SCHEMA = "_schema";
     private static final String QUERY_PLAN = "_query_plan";
+    private static final String WITH_TABLET_STATS = "with_tablet_stats";
 
     /**
      * send request to Doris FE and get response json string.
@@ -156,8 +164,7 @@ public class RestService implements Serializable {
      * @return first element is db name, second element is table name
      * @throws IllegalArgumentException table identifier is illegal
      */
-    @VisibleForTesting
-    static String[] parseIdentifier(String tableIdentifier, Logger logger) throws IllegalArgumentException {
+    public static String[] parseIdentifier(String tableIdentifier, Logger logger) throws IllegalArgumentException {
         logger.trace("Parse identifier '{}'.", tableIdentifier);
         if (StringUtils.isEmpty(tableIdentifier)) {
             logger.error(ILLEGAL_ARGUMENT_MESSAGE, "table.identifier", tableIdentifier);
@@ -178,8 +185,7 @@ public class RestService implements Serializable {
      * @return the chosen one Doris FE node
      * @throws IllegalArgumentException fe nodes is illegal
      */
-    @VisibleForTesting
-    static String randomEndpoint(String feNodes, Logger logger) throws IllegalArgumentException {
+    public static String randomEndpoint(String feNodes, Logger logger) throws IllegalArgumentException {
         logger.trace("Parse fenodes '{}'.", feNodes);
         if (StringUtils.isEmpty(feNodes)) {
             logger.error(ILLEGAL_ARGUMENT_MESSAGE, "fenodes", feNodes);
@@ -281,7 +287,8 @@ public class RestService implements Serializable {
         }
         logger.debug("Query SQL Sending to Doris FE is: '{}'.", sql);
 
-        HttpPost httpPost = new HttpPost(getUriStr(cfg, logger) + QUERY_PLAN);
+        // ask for the size of tablets, which is omitted by default for the compatibility of old clients
+        HttpPost httpPost = new HttpPost(getUriStr(cfg, logger) + QUERY_PLAN + "?" + WITH_TABLET_STATS + "=true");
         String entity = "{\"sql\": \""+ sql +"\"}";
         logger.debug("Post body Sending to Doris FE is: '{}'.", entity);
         StringEntity stringEntity = new StringEntity(entity, StandardCharsets.UTF_8);
@@ -292,10 +299,12 @@ public class RestService implements Serializable {
         String resStr = send(cfg, httpPost, logger);
         logger.debug("Find partition response is '{}'.", resStr);
         QueryPlan queryPlan = getQueryPlan(resStr, logger);
-        Map<String, List<Long>> be2Tablets = selectBeForTablet(queryPlan, logger);
+        Map<Long, Long> tabletSizes = getTabletSizes(queryPlan, logger);
+        Map<String, List<Long>> be2Tablets = selectBeForTablet(queryPlan, tabletSizes, logger);
         return tabletsMapToPartition(
                 cfg,
                 be2Tablets,
+                tabletSizes,
                 queryPlan.getOpaqued_query_plan(),
                 tableIdentifiers[0],
                 tableIdentifiers[1],
@@ -344,17 +353,18 @@ public class RestService implements Serializable {
     }
 
     /**
-     * select which Doris BE to get tablet data.
+     * parse the size of tablets in query plan.
+     * the data size reported by BE is used, tablet without data size is treated as 1 byte,
+     * so that tablets are balanced by count when Doris FE does not report the size.
      * @param queryPlan {@link QueryPlan} translated from Doris FE response
      * @param logger {@link Logger}
-     * @return BE to tablets {@link Map}
-     * @throws DorisException throw when select failed.
+     * @return tablet id to size {@link Map}, in the order of query plan
+     * @throws DorisException throw when parse tablet id failed.
      */
     @VisibleForTesting
-    static  Map<String, List<Long>> selectBeForTablet(QueryPlan queryPlan, Logger logger) throws DorisException {
-        Map<String, List<Long>> be2Tablets = new HashMap<>();
+    static Map<Long, Long> getTabletSizes(QueryPlan queryPlan, Logger logger) throws DorisException {
+        Map<Long, Long> tabletSizes = new LinkedHashMap<>();
         for (Map.Entry<String, Tablet> part : queryPlan.getPartitions().entrySet()) {
-            logger.debug("Parse tablet info: '{}'.", part);
             long tabletId;
             try {
                 tabletId = Long.parseLong(part.getKey());
@@ -363,23 +373,41 @@ public class RestService implements Serializable {
                 logger.error(errMsg, e);
                 throw new DorisException(errMsg, e);
             }
+            logger.trace("Tablet '{}' has {} bytes and {} rows.", tabletId,
+                    part.getValue().getDataSize(), part.getValue().getRowCount());
+            tabletSizes.put(tabletId, Math.max(part.getValue().getDataSize(), 1L));
+        }
+        return tabletSizes;
+    }
+
+    /**
+     * select which Doris BE to get tablet data.
+     * tablets are assigned from the largest to the smallest, each to the replica BE with the least data,
+     * so that the data read from each BE is balanced.
+     * @param queryPlan {@link QueryPlan} translated from Doris FE response
+     * @param tabletSizes tablet id to size {@link Map}
+     * @param logger {@link Logger}
+     * @return BE to tablets {@link Map}
+     * @throws DorisException throw when select failed.
+     */
+    @VisibleForTesting
+    static Map<String, List<Long>> selectBeForTablet(QueryPlan queryPlan, Map<Long, Long> tabletSizes,
+            Logger logger) throws DorisException {
+        List<Long> tabletIds = new ArrayList<>(tabletSizes.keySet());
+        // stable sort keeps the order of query plan for tablets with the same size
+        tabletIds.sort(Comparator.comparing(tabletSizes::get, Comparator.reverseOrder()));
+
+        Map<String, List<Long>> be2Tablets = new HashMap<>();
+        Map<String, Long> be2Size = new HashMap<>();
+        for (Long tabletId : tabletIds) {
             String target = null;
-            int tabletCount = Integer.MAX_VALUE;
-            for (String candidate : part.getValue().getRoutings()) {
-                logger.trace("Evaluate Doris BE '{}' to tablet '{}'.", candidate, tabletId);
-                if (!be2Tablets.containsKey(candidate)) {
-                    logger.debug("Choice a new Doris BE '{}' for tablet '{}'.", candidate, tabletId);
-                    List<Long> tablets = new ArrayList<>();
-                    be2Tablets.put(candidate, tablets);
+            long minSize = Long.MAX_VALUE;
+            for (String candidate : queryPlan.getPartitions().get(String.valueOf(tabletId)).getRoutings()) {
+                long size = be2Size.getOrDefault(candidate, 0L);
+                logger.trace("Evaluate Doris BE '{}' with {} bytes to tablet '{}'.", candidate, size, tabletId);
+                if (size < minSize) {
                     target = candidate;
-                    break;
-                } else {
-                    if (be2Tablets.get(candidate).size() < tabletCount) {
-                        target = candidate;
-                        tabletCount = be2Tablets.get(candidate).size();
-                        logger.debug("Current candidate Doris BE to tablet '{}' is '{}' with tablet count {}.",
-                                tabletId, target, tabletCount);
-                    }
+                    minSize = size;
                 }
             }
             if (target == null) {
@@ -388,8 +416,9 @@ public class RestService implements Serializable {
                 throw new DorisException(errMsg);
             }
 
-            logger.debug("Choice Doris BE '{}' for tablet '{}'.", target, tabletId);
-            be2Tablets.get(target).add(tabletId);
+            logger.debug("Choice Doris BE '{}' with {} bytes for tablet '{}'.", target, minSize, tabletId);
+            be2Tablets.computeIfAbsent(target, k -> new ArrayList<>()).add(tabletId);
+            be2Size.put(target, minSize + tabletSizes.get(tabletId));
         }
         return be2Tablets;
     }
@@ -419,10 +448,40 @@ public class RestService implements Serializable {
         return tabletsSize;
     }
 
+    /**
+     * data size limit for one Doris RDD partition
+     * @param cfg configuration of request
+     * @param logger {@link Logger}
+     * @return data size limit in bytes
+     */
+    @VisibleForTesting
+    static long sizeLimitForOnePartition(Settings cfg, Logger logger) {
+        long partitionSize = DORIS_PARTITION_SIZE_BYTES_DEFAULT;
+        if (cfg.getProperty(DORIS_PARTITION_SIZE_BYTES) != null) {
+            try {
+                partitionSize = Long.parseLong(cfg.getProperty(DORIS_PARTITION_SIZE_BYTES));
+            } catch (NumberFormatException e) {
+                logger.warn(PARSE_NUMBER_FAILED_MESSAGE, DORIS_PARTITION_SIZE_BYTES,
+                        cfg.getProperty(DORIS_PARTITION_SIZE_BYTES));
+            }
+        }
+        if (partitionSize < DORIS_PARTITION_SIZE_BYTES_MIN) {
+            logger.warn("{} is less than {}, set to default value {}.",
+                    DORIS_PARTITION_SIZE_BYTES, DORIS_PARTITION_SIZE_BYTES_MIN, DORIS_PARTITION_SIZE_BYTES_MIN);
+            partitionSize = DORIS_PARTITION_SIZE_BYTES_MIN;
+        }
+        logger.debug("Partition size is set to {}.", partitionSize);
+        return partitionSize;
+    }
+
     /**
      * translate BE tablets map to Doris RDD partition.
+     * tablets of a BE are packed into the least number of partitions allowed by
+     * the tablet count limit and the data size limit, and the largest tablet is always
+     * put into the smallest partition, so that the partitions of a BE have similar size.
      * @param cfg configuration of request
      * @param be2Tablets BE to tablets {@link Map}
+     * @param tabletSizes tablet id to size {@link Map}, tablet not in it is treated as 1 byte
      * @param opaquedQueryPlan Doris BE execute plan getting from Doris FE
      * @param database database name of Doris table
      * @param table table name of Doris table
@@ -432,27 +491,57 @@ public class RestService implements Serializable {
      */
     @VisibleForTesting
     static List<PartitionDefinition> tabletsMapToPartition(Settings cfg, Map<String, List<Long>> be2Tablets,
-            String opaquedQueryPlan, String database, String table, Logger logger)
+            Map<Long, Long> tabletSizes, String opaquedQueryPlan, String database, String table, Logger logger)
             throws IllegalArgumentException {
         int tabletsSize = tabletCountLimitForOnePartition(cfg, logger);
+        long partitionSize = sizeLimitForOnePartition(cfg, logger);
         List<PartitionDefinition> partitions = new ArrayList<>();
         for (Map.Entry<String, List<Long>> beInfo : be2Tablets.entrySet()) {
             logger.debug("Generate partition with beInfo: '{}'.", beInfo);
-            HashSet<Long> tabletSet = new HashSet<>(beInfo.getValue());
-            beInfo.getValue().clear();
-            beInfo.getValue().addAll(tabletSet);
-            int first = 0;
-            while (first < beInfo.getValue().size()) {
-                Set<Long> partitionTablets = new HashSet<>(beInfo.getValue().subList(
-                        first, Math.min(beInfo.getValue().size(), first + tabletsSize)));
-                first = first + tabletsSize;
+            List<Long> tablets = new ArrayList<>(new LinkedHashSet<>(beInfo.getValue()));
+            if (tablets.isEmpty()) {
+                continue;
+            }
+            tablets.sort(Comparator.comparing((Long tabletId) -> tabletSizes.getOrDefault(tabletId, 1L),
+                    Comparator.reverseOrder()));
+            long totalSize = 0;
+            for (Long tabletId : tablets) {
+                totalSize += tabletSizes.getOrDefault(tabletId, 1L);
+            }
+            long partitionNum = Math.max(ceilDiv(tablets.size(), tabletsSize), ceilDiv(totalSize, partitionSize));
+            partitionNum = Math.min(partitionNum, tablets.size());
+
+            List<Set<Long>> partitionTablets = new ArrayList<>();
+            long[] partitionSizes = new long[(int) partitionNum];
+            PriorityQueue<Integer> notFull = new PriorityQueue<>(
+                    Comparator.comparingLong((Integer idx) -> partitionSizes[idx]).thenComparing(idx -> idx));
+            for (int i = 0; i < partitionNum; i++) {
+                partitionTablets.add(new HashSet<>());
+                notFull.add(i);
+            }
+            // partitionNum * tabletsSize is not less than the tablet count, so there is always a partition not full
+            for (Long tabletId : tablets) {
+                int idx = notFull.poll();
+                partitionTablets.get(idx).add(tabletId);
+                partitionSizes[idx] += tabletSizes.getOrDefault(tabletId, 1L);
+                if (partitionTablets.get(idx).size() < tabletsSize) {
+                    notFull.add(idx);
+                }
+            }
+
+            for (int i = 0; i < partitionNum; i++) {
                 PartitionDefinition partitionDefinition =
                         new PartitionDefinition(database, table, cfg,
-                                beInfo.getKey(), partitionTablets, opaquedQueryPlan);
-                logger.debug("Generate one PartitionDefinition '{}'.", partitionDefinition);
+                                beInfo.getKey(), partitionTablets.get(i), opaquedQueryPlan);
+                logger.debug("Generate one PartitionDefinition '{}' with {} bytes.",
+                        partitionDefinition, partitionSizes[i]);
                 partitions.add(partitionDefinition);
             }
         }
         return partitions;
     }
+
+    private static long ceilDiv(long x, long y) {
+        return x / y + (x % y == 0 ? 0 : 1);
+    }
 }
@@ -20,11 +20,16 @@ package org.apache.doris.spark.rest.models;
 import java.util.List;
 import java.util.Objects;
 
+import org.codehaus.jackson.annotate.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class Tablet {
     private List<String> routings;
     private int version;
     private long versionHash;
     private long schemaHash;
+    private long dataSize;
+    private long rowCount;
 
     public List<String> getRoutings() {
         return routings;
@@ -58,6 +63,22 @@ public class Tablet {
         this.schemaHash = schemaHash;
     }
 
+    public long getDataSize() {
+        return dataSize;
+    }
+
+    public void setDataSize(long dataSize) {
+        this.dataSize = dataSize;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(long rowCount) {
+        this.rowCount = rowCount;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -70,11 +91,13 @@ public class Tablet {
         return version == tablet.version &&
                 versionHash == tablet.versionHash &&
                 schemaHash == tablet.schemaHash &&
+                dataSize == tablet.dataSize &&
+                rowCount == tablet.rowCount &&
                 Objects.equals(routings, tablet.routings);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(routings, version, versionHash, schemaHash);
+        return Objects.hash(routings, version, versionHash, schemaHash, dataSize, rowCount);
     }
 }
@@ -0,0 +1,149 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.spark.serialization;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.util.TransferPair;
+import org.apache.doris.spark.exception.DorisException;
+import org.apache.doris.spark.rest.models.Schema;
+import org.apache.doris.thrift.TScanBatchResult;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.types.StructType;
+import org.apache.spark.sql.vectorized.ColumnVector;
+import org.apache.spark.sql.vectorized.ColumnarBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * columnar data container.
+ * arrow vectors returned by Doris BE are wrapped as spark {@link ColumnarBatch} without converting
+ * each value to an object, which is done by {@link RowBatch}.
+ * the batches are valid until {@link #close()} is called.
+ */
+public class ColumnarRowBatch implements AutoCloseable {
+    private static Logger logger = LoggerFactory.getLogger(ColumnarRowBatch.class);
+
+    private final List<ColumnarBatch> batches = new ArrayList<>();
+    private final RootAllocator rootAllocator;
+    private int readRowCount = 0;
+
+    /**
+     * @param nextResult data returned by Doris BE
+     * @param schema Doris schema of the data
+     * @param struct spark schema of the data, in the same order as schema
+     */
+    public ColumnarRowBatch(TScanBatchResult nextResult, Schema schema, StructType struct) throws DorisException {
+        this.rootAllocator = new RootAllocator(Integer.MAX_VALUE);
+        try (ArrowStreamReader arrowStreamReader = new ArrowStreamReader(
+                new ByteArrayInputStream(nextResult.getRows()), rootAllocator)) {
+            VectorSchemaRoot root = arrowStreamReader.getVectorSchemaRoot();
+            while (arrowStreamReader.loadNextBatch()) {
+                List<FieldVector> fieldVectors = root.getFieldVectors();
+                if (fieldVectors.size() != schema.size()) {
+                    logger.error("Schema size '{}' is not equal to arrow field size '{}'.",
+                            fieldVectors.size(), schema.size());
+                    throw new DorisException("Load Doris data failed, schema size of fetch data is wrong.");
+                }
+                if (fieldVectors.size() == 0 || root.getRowCount() == 0) {
+                    logger.debug("One batch in arrow has no data.");
+                    continue;
+                }
+                // vectors of root are reused by next batch, so move the buffers to new vectors
+                ColumnVector[] columns = new ColumnVector[fieldVectors.size()];
+                ColumnarBatch batch = new ColumnarBatch(columns);
+                batches.add(batch);
+                for (int col = 0; col < fieldVectors.size(); col++) {
+                    TransferPair transferPair = fieldVectors.get(col).getTransferPair(rootAllocator);
+                    transferPair.transfer();
+                    FieldVector vector = (FieldVector) transferPair.getTo();
+                    try {
+                        columns[col] = new DorisColumnVector(vector, schema.get(col).getType(),
+                                struct.fields()[col].dataType());
+                    } catch (DorisException e) {
+                        vector.close();
+                        throw e;
+                    }
+                }
+                batch.setNumRows(root.getRowCount());
+                readRowCount += root.getRowCount();
+            }
+        } catch (Exception e) {
+            logger.error("Read Doris Data failed because: ", e);
+            close();
+            throw new DorisException(e.getMessage());
+        }
+    }
+
+    public List<ColumnarBatch> getBatches() {
+        return batches;
+    }
+
+    public int getReadRowCount() {
+        return readRowCount;
+    }
+
+    /**
+     * @return iterator of rows in all batches, the returned row is reused by the iterator
+     */
+    public Iterator<InternalRow> rowIterator() {
+        return new Iterator<InternalRow>() {
+            private int batchIndex = 0;
+            private Iterator<InternalRow> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && batchIndex < batches.size()) {
+                    current = batches.get(batchIndex++).rowIterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public InternalRow next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        for (ColumnarBatch batch : batches) {
+            // columns not created yet are null
+            for (int col = 0; col < batch.numCols(); col++) {
+                if (batch.column(col) != null) {
+                    batch.column(col).close();
+                }
+            }
+        }
+        batches.clear();
+        rootAllocator.close();
+    }
+}
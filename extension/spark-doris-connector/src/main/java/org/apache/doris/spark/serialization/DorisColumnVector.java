@@ -0,0 +1,212 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.spark.serialization;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.types.Types;
+import org.apache.doris.spark.exception.DorisException;
+import org.apache.spark.sql.types.DataType;
+import org.apache.spark.sql.types.Decimal;
+import org.apache.spark.sql.vectorized.ColumnVector;
+import org.apache.spark.sql.vectorized.ColumnarArray;
+import org.apache.spark.sql.vectorized.ColumnarMap;
+import org.apache.spark.unsafe.types.UTF8String;
+
+/**
+ * spark column vector backed by an arrow vector returned by Doris BE.
+ * values are read from arrow buffers on access, strings are not copied.
+ * arrow is shaded in connector, so spark ArrowColumnVector can not be used.
+ */
+public class DorisColumnVector extends ColumnVector {
+    private final FieldVector vector;
+    private final String dorisType;
+
+    public DorisColumnVector(FieldVector vector, String dorisType, DataType type) throws DorisException {
+        super(type);
+        this.vector = vector;
+        this.dorisType = dorisType;
+        Types.MinorType expected = arrowType(dorisType);
+        if (expected != null && expected != vector.getMinorType()) {
+            throw new DorisException("Spark type is " + dorisType + ", but arrow type is "
+                    + vector.getMinorType().name() + ".");
+        }
+    }
+
+    /**
+     * @return arrow type of Doris type, null if the arrow vector is not read.
+     */
+    private static Types.MinorType arrowType(String dorisType) throws DorisException {
+        switch (dorisType) {
+            case "NULL_TYPE":
+                return null;
+            case "BOOLEAN":
+                return Types.MinorType.BIT;
+            case "TINYINT":
+                return Types.MinorType.TINYINT;
+            case "SMALLINT":
+                return Types.MinorType.SMALLINT;
+            case "INT":
+                return Types.MinorType.INT;
+            case "BIGINT":
+                return Types.MinorType.BIGINT;
+            case "FLOAT":
+                return Types.MinorType.FLOAT4;
+            case "TIME":
+            case "DOUBLE":
+                return Types.MinorType.FLOAT8;
+            case "BINARY":
+                return Types.MinorType.VARBINARY;
+            case "DECIMALV2":
+                return Types.MinorType.DECIMAL;
+            case "DECIMAL":
+            case "DATE":
+            case "DATETIME":
+            case "LARGEINT":
+            case "CHAR":
+            case "VARCHAR":
+                return Types.MinorType.VARCHAR;
+            default:
+                throw new DorisException("Unsupported type " + dorisType);
+        }
+    }
+
+    @Override
+    public void close() {
+        vector.close();
+    }
+
+    @Override
+    public boolean hasNull() {
+        return numNulls() > 0;
+    }
+
+    @Override
+    public int numNulls() {
+        if ("NULL_TYPE".equals(dorisType)) {
+            return vector.getValueCount();
+        }
+        return vector.getNullCount();
+    }
+
+    @Override
+    public boolean isNullAt(int rowId) {
+        return "NULL_TYPE".equals(dorisType) || vector.isNull(rowId);
+    }
+
+    @Override
+    public boolean getBoolean(int rowId) {
+        return ((BitVector) vector).get(rowId) != 0;
+    }
+
+    @Override
+    public byte getByte(int rowId) {
+        return ((TinyIntVector) vector).get(rowId);
+    }
+
+    @Override
+    public short getShort(int rowId) {
+        return ((SmallIntVector) vector).get(rowId);
+    }
+
+    @Override
+    public int getInt(int rowId) {
+        return ((IntVector) vector).get(rowId);
+    }
+
+    @Override
+    public long getLong(int rowId) {
+        return ((BigIntVector) vector).get(rowId);
+    }
+
+    @Override
+    public float getFloat(int rowId) {
+        return ((Float4Vector) vector).get(rowId);
+    }
+
+    @Override
+    public double getDouble(int rowId) {
+        return ((Float8Vector) vector).get(rowId);
+    }
+
+    @Override
+    public Decimal getDecimal(int rowId, int precision, int scale) {
+        if (isNullAt(rowId)) {
+            return null;
+        }
+        BigDecimal value;
+        if (vector instanceof DecimalVector) {
+            value = ((DecimalVector) vector).getObject(rowId);
+        } else {
+            // DECIMAL is returned as string
+            String decimalValue = new String(((VarCharVector) vector).get(rowId), StandardCharsets.UTF_8);
+            try {
+                value = new BigDecimal(decimalValue);
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException("Decimal response result '" + decimalValue + "' is illegal.", e);
+            }
+        }
+        return Decimal.apply(value, precision, scale);
+    }
+
+    @Override
+    public UTF8String getUTF8String(int rowId) {
+        if (isNullAt(rowId)) {
+            return null;
+        }
+        VarCharVector varCharVector = (VarCharVector) vector;
+        int start = varCharVector.getStartOffset(rowId);
+        int end = varCharVector.getStartOffset(rowId + 1);
+        return UTF8String.fromAddress(null, varCharVector.getDataBuffer().memoryAddress() + start, end - start);
+    }
+
+    @Override
+    public byte[] getBinary(int rowId) {
+        if (isNullAt(rowId)) {
+            return null;
+        }
+        return ((VarBinaryVector) vector).get(rowId);
+    }
+
+    @Override
+    public ColumnarArray getArray(int rowId) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ColumnarMap getMap(int ordinal) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected ColumnVector getChild(int ordinal) {
+        throw new UnsupportedOperationException();
+    }
+}
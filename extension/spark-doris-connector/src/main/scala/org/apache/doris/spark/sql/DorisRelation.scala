@@ -20,6 +20,7 @@ package org.apache.doris.spark.sql
 import scala.collection.JavaConverters._
 import scala.collection.mutable
 import scala.math.min
+import scala.util.Try
 
 import org.apache.doris.spark.cfg.ConfigurationOptions._
 import org.apache.doris.spark.cfg.{ConfigurationOptions, SparkSettings}
@@ -28,12 +29,12 @@ import org.apache.spark.rdd.RDD
 import org.apache.spark.sql.jdbc.JdbcDialects
 import org.apache.spark.sql.sources._
 import org.apache.spark.sql.types.StructType
-import org.apache.spark.sql.{Row, SQLContext}
+import org.apache.spark.sql.{DataFrame, Row, SQLContext}
 
 
 private[sql] class DorisRelation(
     val sqlContext: SQLContext, parameters: Map[String, String])
-    extends BaseRelation with TableScan with PrunedScan with PrunedFilteredScan {
+    extends BaseRelation with TableScan with PrunedScan with PrunedFilteredScan with InsertableRelation {
 
   private lazy val cfg = {
     val conf = new SparkSettings(sqlContext.sparkContext.getConf)
@@ -49,8 +50,15 @@ private[sql] class DorisRelation(
 
   private lazy val dialect = JdbcDialects.get("")
 
+  private lazy val columnar = Try {
+    cfg.getProperty(DORIS_DESERIALIZE_COLUMNAR, DORIS_DESERIALIZE_COLUMNAR_DEFAULT.toString).toBoolean
+  } getOrElse DORIS_DESERIALIZE_COLUMNAR_DEFAULT
+
   override def schema: StructType = lazySchema
 
+  // columnar scan returns InternalRow directly
+  override def needConversion: Boolean = !columnar
+
   override def unhandledFilters(filters: Array[Filter]): Array[Filter] = {
     filters.filter(Utils.compileFilter(_, dialect, inValueLengthLimit).isEmpty)
   }
@@ -84,6 +92,18 @@ private[sql] class DorisRelation(
       paramWithScan += (ConfigurationOptions.DORIS_FILTER_QUERY -> filterWhereClause)
     }
 
-    new ScalaDorisRowRDD(sqlContext.sparkContext, paramWithScan.toMap, lazySchema)
+    if (columnar) {
+      new ScalaDorisColumnarRDD(sqlContext.sparkContext, paramWithScan.toMap).asInstanceOf[RDD[Row]]
+    } else {
+      new ScalaDorisRowRDD(sqlContext.sparkContext, paramWithScan.toMap, lazySchema)
+    }
+  }
+
+  // InsertableRelation
+  override def insert(data: DataFrame, overwrite: Boolean): Unit = {
+    if (overwrite) {
+      throw new UnsupportedOperationException("Doris sink does not support overwrite.")
+    }
+    DorisWriter.write(sqlContext, data, parameters)
   }
 }
@@ -18,13 +18,27 @@
 package org.apache.doris.spark.sql
 
 import org.apache.spark.internal.Logging
-import org.apache.spark.sql.SQLContext
-import org.apache.spark.sql.sources.{BaseRelation, DataSourceRegister, RelationProvider}
+import org.apache.spark.sql.{DataFrame, SQLContext, SaveMode}
+import org.apache.spark.sql.sources.{BaseRelation, CreatableRelationProvider, DataSourceRegister, RelationProvider}
 
-private[sql] class DorisSourceProvider extends DataSourceRegister with RelationProvider with Logging {
+private[sql] class DorisSourceProvider extends DataSourceRegister
+    with RelationProvider with CreatableRelationProvider with Logging {
   override def shortName(): String = "doris"
 
   override def createRelation(sqlContext: SQLContext, parameters: Map[String, String]): BaseRelation = {
     new DorisRelation(sqlContext, Utils.params(parameters, log))
   }
+
+  override def createRelation(sqlContext: SQLContext, mode: SaveMode,
+      parameters: Map[String, String], data: DataFrame): BaseRelation = {
+    mode match {
+      case SaveMode.Overwrite =>
+        throw new UnsupportedOperationException("Doris sink does not support SaveMode.Overwrite.")
+      case SaveMode.Ignore | SaveMode.ErrorIfExists | SaveMode.Append =>
+        // the table must have been created in Doris, rows are always appended
+    }
+    val params = Utils.params(parameters, log)
+    DorisWriter.write(sqlContext, data, params)
+    new DorisRelation(sqlContext, params)
+  }
 }
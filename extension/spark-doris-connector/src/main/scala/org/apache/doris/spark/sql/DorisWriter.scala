@@ -0,0 +1,134 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.spark.sql
+
+import java.io.ByteArrayOutputStream
+import java.nio.charset.StandardCharsets
+import java.sql.{Date, Timestamp}
+import java.time.format.DateTimeFormatter
+import java.util.UUID
+
+import scala.collection.JavaConverters._
+
+import org.apache.doris.spark.cfg.ConfigurationOptions._
+import org.apache.doris.spark.cfg.{PropertiesSettings, SparkSettings}
+import org.apache.doris.spark.load.DorisStreamLoad
+
+import org.apache.spark.TaskContext
+import org.apache.spark.internal.Logging
+import org.apache.spark.sql.{DataFrame, Row, SQLContext}
+import org.codehaus.jackson.map.ObjectMapper
+
+/**
+ * Write a DataFrame into Doris by stream load.
+ * Each spark partition is loaded in parallel, by batches of at most 'doris.sink.batch.size' rows,
+ * and each batch is sent as a json array of rows.
+ * The label of a batch is decided by the write, the partition index and the batch index,
+ * so a batch retried by spark task retry is loaded with the same label, which Doris loads only once.
+ * A write is not atomic: every batch is committed by its own stream load, so the batches loaded before
+ * a failure stay visible. Rerun the write with the same 'doris.sink.label.prefix' and the same
+ * partitioning of the DataFrame to load the remaining batches without duplicating the loaded ones.
+ */
+private[sql] object DorisWriter extends Logging {
+  private val datetimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+  private val mapper = new ObjectMapper()
+
+  def write(sqlContext: SQLContext, data: DataFrame, parameters: Map[String, String]): Unit = {
+    val sc = sqlContext.sparkContext
+    val cfg = new SparkSettings(sc.getConf)
+    cfg.merge(parameters.asJava)
+
+    val batchSize = cfg.getIntegerProperty(DORIS_SINK_BATCH_SIZE, DORIS_SINK_BATCH_SIZE_DEFAULT)
+    val labelPrefix = cfg.getProperty(DORIS_SINK_LABEL_PREFIX,
+      s"spark_${UUID.randomUUID().toString.replace("-", "")}")
+    val fieldNames = data.schema.fieldNames
+    val columns = fieldNames.mkString(",")
+    val serializedSettings = cfg.save()
+
+    val loadedRows = sc.longAccumulator("doris.sink.loaded.rows")
+    val loadedBytes = sc.longAccumulator("doris.sink.loaded.bytes")
+    val loadTimeMs = sc.longAccumulator("doris.sink.load.time.ms")
+    logInfo(s"Start to write to doris with label prefix '$labelPrefix', batch size $batchSize.")
+
+    data.rdd.foreachPartition { rows =>
+      val settings = new PropertiesSettings().load(serializedSettings)
+      val streamLoad = new DorisStreamLoad(settings)
+      val partitionId = TaskContext.getPartitionId()
+      val buffer = new ByteArrayOutputStream()
+      var batchIdx = 0
+      var batchRows = 0
+
+      def flush(): Unit = {
+        buffer.write(']')
+        val label = s"${labelPrefix}_${partitionId}_$batchIdx"
+        val start = System.currentTimeMillis()
+        streamLoad.load(label, columns, buffer.toByteArray)
+        loadTimeMs.add(System.currentTimeMillis() - start)
+        loadedRows.add(batchRows)
+        loadedBytes.add(buffer.size())
+        buffer.reset()
+        batchIdx += 1
+        batchRows = 0
+      }
+
+      try {
+        rows.foreach { row =>
+          buffer.write(if (batchRows == 0) '[' else ',')
+          buffer.write(serializeRow(row, fieldNames).getBytes(StandardCharsets.UTF_8))
+          batchRows += 1
+          if (batchRows >= batchSize) {
+            flush()
+          }
+        }
+        if (batchRows > 0) {
+          flush()
+        }
+      } finally {
+        streamLoad.close()
+      }
+    }
+
+    val seconds = math.max(loadTimeMs.value, 1L) / 1000.0
+    logInfo(s"Finish writing to doris with label prefix '$labelPrefix', rows: ${loadedRows.value}, " +
+      s"bytes: ${loadedBytes.value}, load time: ${loadTimeMs.value} ms, " +
+      f"throughput: ${loadedRows.value / seconds}%.1f rows/s.")
+  }
+
+  /**
+   * Serialize a row to a json object keyed by the field names.
+   * Numbers and booleans are kept as json values, null is json null, others are written as strings.
+   */
+  private[sql] def serializeRow(row: Row, fieldNames: Array[String]): String = {
+    val values = new java.util.LinkedHashMap[String, Any](fieldNames.length)
+    (0 until row.length).foreach { i =>
+      val value = if (row.isNullAt(i)) {
+        null
+      } else {
+        row.get(i) match {
+          case n: Number => n
+          case b: java.lang.Boolean => b
+          case ts: Timestamp => ts.toLocalDateTime.format(datetimeFormatter)
+          case d: Date => d.toString
+          case v => v.toString
+        }
+      }
+      values.put(fieldNames(i), value)
+    }
+    mapper.writeValueAsString(values)
+  }
+}
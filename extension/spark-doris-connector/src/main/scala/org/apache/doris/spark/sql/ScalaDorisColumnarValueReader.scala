@@ -0,0 +1,158 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.spark.sql
+
+import java.util.concurrent.{Callable, ExecutionException, ExecutorService, Executors, Future, ThreadFactory, TimeUnit}
+
+import scala.util.Try
+
+import org.apache.doris.spark.cfg.ConfigurationOptions._
+import org.apache.doris.spark.cfg.Settings
+import org.apache.doris.spark.exception.ShouldNeverHappenException
+import org.apache.doris.spark.rdd.ScalaValueReader
+import org.apache.doris.spark.rest.PartitionDefinition
+import org.apache.doris.spark.serialization.ColumnarRowBatch
+import org.apache.doris.spark.util.ErrorMessages
+import org.apache.doris.spark.util.ErrorMessages.SHOULD_NOT_HAPPEN_MESSAGE
+import org.apache.doris.thrift.TScanNextBatchParams
+
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.types.StructType
+
+/**
+ * read data from Doris BE as columnar batches, and return the rows of batches.
+ * at most 'doris.request.prefetch.depth' batches are fetched in advance by a background thread,
+ * the batches are fetched one by one, as the offset of next batch depends on the previous one.
+ */
+class ScalaDorisColumnarValueReader(
+  partition: PartitionDefinition,
+  settings: Settings)
+  extends ScalaValueReader(partition, settings) {
+
+  private val prefetchDepth: Int = Try {
+    settings.getProperty(DORIS_PREFETCH_DEPTH, DORIS_PREFETCH_DEPTH_DEFAULT.toString).toInt
+  } getOrElse {
+    logger.warn(ErrorMessages.PARSE_NUMBER_FAILED_MESSAGE, DORIS_PREFETCH_DEPTH, settings.getProperty(DORIS_PREFETCH_DEPTH))
+    DORIS_PREFETCH_DEPTH_DEFAULT
+  }
+
+  private val struct: StructType = SchemaUtils.convertToStruct(schema)
+
+  private val prefetchExecutor: ExecutorService = if (prefetchDepth > 0) {
+    Executors.newSingleThreadExecutor(new ThreadFactory {
+      override def newThread(r: Runnable): Thread = {
+        val thread = new Thread(r, s"doris-prefetch-$contextId")
+        thread.setDaemon(true)
+        thread
+      }
+    })
+  } else {
+    null
+  }
+  private val prefetched = new java.util.ArrayDeque[Future[ColumnarRowBatch]]()
+
+  private var columnarBatch: ColumnarRowBatch = _
+  private var rowIterator: java.util.Iterator[InternalRow] = _
+  private var finished = false
+
+  logger.debug(s"Read columnar batches with prefetch depth $prefetchDepth.")
+
+  /**
+   * fetch next batch from Doris BE.
+   * @return null if reach the end
+   */
+  private def fetchNext(): ColumnarRowBatch = {
+    if (eos.get) {
+      return null
+    }
+    val nextBatchParams = new TScanNextBatchParams
+    nextBatchParams.setContext_id(contextId)
+    nextBatchParams.setOffset(offset)
+    val nextResult = client.getNext(nextBatchParams)
+    eos.set(nextResult.isEos)
+    if (eos.get) {
+      null
+    } else {
+      val batch = new ColumnarRowBatch(nextResult, schema, struct)
+      offset += batch.getReadRowCount
+      batch
+    }
+  }
+
+  private def takeNext(): ColumnarRowBatch = {
+    if (prefetchExecutor == null) {
+      return fetchNext()
+    }
+    while (prefetched.size <= prefetchDepth) {
+      prefetched.add(prefetchExecutor.submit(new Callable[ColumnarRowBatch] {
+        override def call(): ColumnarRowBatch = fetchNext()
+      }))
+    }
+    try {
+      prefetched.poll().get()
+    } catch {
+      case e: ExecutionException => throw e.getCause
+    }
+  }
+
+  override def hasNext: Boolean = {
+    while (!finished && (rowIterator == null || !rowIterator.hasNext)) {
+      if (columnarBatch != null) {
+        columnarBatch.close()
+      }
+      columnarBatch = takeNext()
+      if (columnarBatch == null) {
+        finished = true
+      } else {
+        rowIterator = columnarBatch.rowIterator()
+      }
+    }
+    !finished
+  }
+
+  /**
+   * get next row, the row is reused and only valid before next call.
+   * @return next row as InternalRow
+   */
+  override def next: AnyRef = {
+    if (!hasNext) {
+      logger.error(SHOULD_NOT_HAPPEN_MESSAGE)
+      throw new ShouldNeverHappenException
+    }
+    rowIterator.next
+  }
+
+  override def close(): Unit = {
+    if (prefetchExecutor != null) {
+      // the fetch in progress ends in read timeout at most, and the batches not fetched are dropped
+      prefetchExecutor.shutdownNow()
+      prefetchExecutor.awaitTermination(DORIS_REQUEST_READ_TIMEOUT_MS_DEFAULT, TimeUnit.MILLISECONDS)
+      while (!prefetched.isEmpty) {
+        val future = prefetched.poll()
+        if (future.isDone) {
+          Try(future.get()).toOption.filter(_ != null).foreach(_.close())
+        }
+      }
+    }
+    if (columnarBatch != null) {
+      columnarBatch.close()
+      columnarBatch = null
+    }
+    super.close()
+  }
+}
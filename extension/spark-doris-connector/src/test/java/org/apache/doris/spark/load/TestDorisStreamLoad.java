@@ -0,0 +1,67 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.spark.load;
+
+import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_FENODES;
+import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_TABLE_IDENTIFIER;
+
+import java.io.IOException;
+
+import org.apache.doris.spark.cfg.PropertiesSettings;
+import org.apache.doris.spark.cfg.Settings;
+import org.apache.doris.spark.exception.StreamLoadException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class TestDorisStreamLoad {
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private DorisStreamLoad newStreamLoad() throws Exception {
+        Settings settings = new PropertiesSettings();
+        settings.setProperty(DORIS_FENODES, "127.0.0.1:8030");
+        settings.setProperty(DORIS_TABLE_IDENTIFIER, "db.tbl");
+        return new DorisStreamLoad(settings);
+    }
+
+    @Test
+    public void testParseSuccessResponse() throws Exception {
+        DorisStreamLoad streamLoad = newStreamLoad();
+        Assert.assertEquals(10, streamLoad.parseResponse("l1",
+                "{\"Status\": \"Success\", \"NumberLoadedRows\": 10}"));
+        Assert.assertEquals(5, streamLoad.parseResponse("l1",
+                "{\"Status\": \"Publish Timeout\", \"NumberLoadedRows\": 5}"));
+        Assert.assertEquals(0, streamLoad.parseResponse("l1",
+                "{\"Status\": \"Label Already Exists\", \"ExistingJobStatus\": \"FINISHED\"}"));
+    }
+
+    @Test
+    public void testParseRetryableResponse() throws Exception {
+        thrown.expect(IOException.class);
+        newStreamLoad().parseResponse("l1",
+                "{\"Status\": \"Label Already Exists\", \"ExistingJobStatus\": \"RUNNING\"}");
+    }
+
+    @Test
+    public void testParseFailedResponse() throws Exception {
+        thrown.expect(StreamLoadException.class);
+        newStreamLoad().parseResponse("l1", "{\"Status\": \"Fail\", \"Message\": \"too many filtered rows\"}");
+    }
+}
@@ -18,6 +18,9 @@
 package org.apache.doris.spark.rest;
 
 import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_FENODES;
+import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_PARTITION_SIZE_BYTES;
+import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_PARTITION_SIZE_BYTES_DEFAULT;
+import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_PARTITION_SIZE_BYTES_MIN;
 import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_TABLET_SIZE;
 import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_TABLET_SIZE_DEFAULT;
 import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_TABLET_SIZE_MIN;
@@ -25,6 +28,7 @@ import static org.apache.doris.spark.cfg.ConfigurationOptions.DORIS_TABLE_IDENTI
 import static org.hamcrest.core.StringStartsWith.startsWith;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -220,21 +224,47 @@ public class TestRestService {
         expected.put("be1", be1Tablet);
         expected.put("be3", be3Tablet);
 
-        Assert.assertEquals(expected, RestService.selectBeForTablet(queryPlan, logger));
+        Assert.assertEquals(expected, RestService.selectBeForTablet(
+                queryPlan, RestService.getTabletSizes(queryPlan, logger), logger));
 
         String noBeRes = "{\"partitions\":{"
                 + "\"11021\":{\"routings\":[],\"version\":3,\"versionHash\":1,\"schemaHash\":1}},"
                 + "\"opaqued_query_plan\":\"query_plan\",\"status\":200}";
         thrown.expect(DorisException.class);
         thrown.expectMessage(startsWith("Cannot choice Doris BE for tablet"));
-        RestService.selectBeForTablet(RestService.getQueryPlan(noBeRes, logger), logger);
+        QueryPlan noBePlan = RestService.getQueryPlan(noBeRes, logger);
+        RestService.selectBeForTablet(noBePlan, RestService.getTabletSizes(noBePlan, logger), logger);
 
         String notNumberRes = "{\"partitions\":{"
                 + "\"11021xxx\":{\"routings\":[\"be1\"],\"version\":3,\"versionHash\":1,\"schemaHash\":1}},"
                 + "\"opaqued_query_plan\":\"query_plan\",\"status\":200}";
         thrown.expect(DorisException.class);
         thrown.expectMessage(startsWith("Parse tablet id "));
-        RestService.selectBeForTablet(RestService.getQueryPlan(noBeRes, logger), logger);
+        RestService.getTabletSizes(RestService.getQueryPlan(notNumberRes, logger), logger);
+    }
+
+    @Test
+    public void testSelectTabletBeBySize() throws Exception {
+        String res = "{\"partitions\":{"
+                + "\"1\":{\"routings\":[\"be1\",\"be2\"],\"version\":3,\"versionHash\":1,\"schemaHash\":1,"
+                + "\"dataSize\":100,\"rowCount\":10},"
+                + "\"2\":{\"routings\":[\"be1\",\"be2\"],\"version\":3,\"versionHash\":1,\"schemaHash\":1,"
+                + "\"dataSize\":10,\"rowCount\":1},"
+                + "\"3\":{\"routings\":[\"be1\",\"be2\"],\"version\":3,\"versionHash\":1,\"schemaHash\":1,"
+                + "\"dataSize\":30,\"rowCount\":3},"
+                + "\"4\":{\"routings\":[\"be1\",\"be2\"],\"version\":3,\"versionHash\":1,\"schemaHash\":1,"
+                + "\"dataSize\":50,\"rowCount\":5}},"
+                + "\"opaqued_query_plan\":\"query_plan\",\"status\":200}";
+
+        QueryPlan queryPlan = RestService.getQueryPlan(res, logger);
+        Map<Long, Long> tabletSizes = RestService.getTabletSizes(queryPlan, logger);
+        Assert.assertEquals(Long.valueOf(100L), tabletSizes.get(1L));
+
+        // the largest tablet is alone on one BE, the others are put on the other BE
+        Map<String, List<Long>> expected = new HashMap<>();
+        expected.put("be1", Collections.singletonList(1L));
+        expected.put("be2", Arrays.asList(4L, 3L, 2L));
+        Assert.assertEquals(expected, RestService.selectBeForTablet(queryPlan, tabletSizes, logger));
     }
 
     @Test
@@ -252,6 +282,21 @@ public class TestRestService {
         Assert.assertEquals(DORIS_TABLET_SIZE_MIN, RestService.tabletCountLimitForOnePartition(settings, logger));
     }
 
+    @Test
+    public void testGetPartitionSize() {
+        Settings settings = new PropertiesSettings();
+        Assert.assertEquals(DORIS_PARTITION_SIZE_BYTES_DEFAULT, RestService.sizeLimitForOnePartition(settings, logger));
+
+        settings.setProperty(DORIS_PARTITION_SIZE_BYTES, "xx");
+        Assert.assertEquals(DORIS_PARTITION_SIZE_BYTES_DEFAULT, RestService.sizeLimitForOnePartition(settings, logger));
+
+        settings.setProperty(DORIS_PARTITION_SIZE_BYTES, "1024");
+        Assert.assertEquals(1024L, RestService.sizeLimitForOnePartition(settings, logger));
+
+        settings.setProperty(DORIS_PARTITION_SIZE_BYTES, "0");
+        Assert.assertEquals(DORIS_PARTITION_SIZE_BYTES_MIN, RestService.sizeLimitForOnePartition(settings, logger));
+    }
+
     @Test
     public void testTabletsMapToPartition() throws Exception {
         List<Long> tablets1 = new ArrayList<>();
@@ -288,9 +333,49 @@ public class TestRestService {
         Collections.sort(expected);
 
         List<PartitionDefinition> actual = RestService.tabletsMapToPartition(
-                settings, beToTablets, opaquedQueryPlan, database, table, logger);
+                settings, beToTablets, new HashMap<>(), opaquedQueryPlan, database, table, logger);
         Collections.sort(actual);
 
         Assert.assertEquals(expected, actual);
     }
+
+    @Test
+    public void testTabletsMapToPartitionBySize() throws Exception {
+        Map<String, List<Long>> beToTablets = new HashMap<>();
+        beToTablets.put("be1", Arrays.asList(1L, 2L, 3L, 4L, 5L));
+        Map<Long, Long> tabletSizes = new HashMap<>();
+        tabletSizes.put(1L, 60L);
+        tabletSizes.put(2L, 50L);
+        tabletSizes.put(3L, 40L);
+        tabletSizes.put(4L, 30L);
+        tabletSizes.put(5L, 20L);
+
+        Settings settings = new PropertiesSettings();
+        settings.setProperty(DORIS_PARTITION_SIZE_BYTES, "100");
+        String opaquedQueryPlan = "query_plan";
+        String database = "d";
+        String table = "t";
+
+        // 200 bytes are split into 2 partitions of 110 and 90 bytes
+        List<PartitionDefinition> expected = new ArrayList<>();
+        expected.add(new PartitionDefinition(database, table, settings, "be1",
+                new HashSet<>(Arrays.asList(1L, 4L, 5L)), opaquedQueryPlan));
+        expected.add(new PartitionDefinition(database, table, settings, "be1",
+                new HashSet<>(Arrays.asList(2L, 3L)), opaquedQueryPlan));
+        Collections.sort(expected);
+
+        List<PartitionDefinition> actual = RestService.tabletsMapToPartition(
+                settings, beToTablets, tabletSizes, opaquedQueryPlan, database, table, logger);
+        Collections.sort(actual);
+        Assert.assertEquals(expected, actual);
+
+        // the tablet count limit is also respected
+        settings.setProperty(DORIS_TABLET_SIZE, "2");
+        actual = RestService.tabletsMapToPartition(
+                settings, beToTablets, tabletSizes, opaquedQueryPlan, database, table, logger);
+        Assert.assertEquals(3, actual.size());
+        for (PartitionDefinition partition : actual) {
+            Assert.assertTrue(partition.getTabletIds().size() <= 2);
+        }
+    }
 }
@@ -0,0 +1,204 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.spark.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.doris.spark.exception.DorisException;
+import org.apache.doris.spark.rest.RestService;
+import org.apache.doris.spark.rest.models.Schema;
+import org.apache.doris.thrift.TScanBatchResult;
+import org.apache.doris.thrift.TStatus;
+import org.apache.doris.thrift.TStatusCode;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.Decimal;
+import org.apache.spark.sql.types.StructField;
+import org.apache.spark.sql.types.StructType;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+
+public class TestColumnarRowBatch {
+    private static Logger logger = LoggerFactory.getLogger(TestColumnarRowBatch.class);
+
+    private static final String SCHEMA_STR = "{\"properties\":[{\"type\":\"INT\",\"name\":\"k1\",\"comment\":\"\"},"
+            + "{\"type\":\"BIGINT\",\"name\":\"k2\",\"comment\":\"\"},"
+            + "{\"type\":\"VARCHAR\",\"name\":\"k3\",\"comment\":\"\"},"
+            + "{\"type\":\"DECIMALV2\",\"name\":\"k4\",\"comment\":\"\",\"precision\":27,\"scale\":9}],"
+            + "\"status\":200}";
+
+    private static final StructType STRUCT = DataTypes.createStructType(new StructField[] {
+            DataTypes.createStructField("k1", DataTypes.IntegerType, true),
+            DataTypes.createStructField("k2", DataTypes.LongType, true),
+            DataTypes.createStructField("k3", DataTypes.StringType, true),
+            DataTypes.createStructField("k4", DataTypes.createDecimalType(27, 9), true)});
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    /**
+     * build arrow data of SCHEMA_STR, with batchNum batches of rowNum rows.
+     * the value of row i is (i, i * 10, "value_i", i.5), and k1 of every third row is null.
+     */
+    private TScanBatchResult buildResult(int batchNum, int rowNum) throws IOException {
+        ImmutableList.Builder<Field> childrenBuilder = ImmutableList.builder();
+        childrenBuilder.add(new Field("k1", FieldType.nullable(new ArrowType.Int(32, true)), null));
+        childrenBuilder.add(new Field("k2", FieldType.nullable(new ArrowType.Int(64, true)), null));
+        childrenBuilder.add(new Field("k3", FieldType.nullable(new ArrowType.Utf8()), null));
+        childrenBuilder.add(new Field("k4", FieldType.nullable(new ArrowType.Decimal(27, 9)), null));
+
+        VectorSchemaRoot root = VectorSchemaRoot.create(
+                new org.apache.arrow.vector.types.pojo.Schema(childrenBuilder.build(), null),
+                new RootAllocator(Integer.MAX_VALUE));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ArrowStreamWriter arrowStreamWriter = new ArrowStreamWriter(
+                root,
+                new DictionaryProvider.MapDictionaryProvider(),
+                outputStream);
+
+        arrowStreamWriter.start();
+        int value = 0;
+        for (int batch = 0; batch < batchNum; batch++) {
+            IntVector intVector = (IntVector) root.getVector("k1");
+            BigIntVector bigIntVector = (BigIntVector) root.getVector("k2");
+            VarCharVector varCharVector = (VarCharVector) root.getVector("k3");
+            DecimalVector decimalVector = (DecimalVector) root.getVector("k4");
+            intVector.allocateNew(rowNum);
+            bigIntVector.allocateNew(rowNum);
+            varCharVector.allocateNew();
+            decimalVector.allocateNew(rowNum);
+            for (int row = 0; row < rowNum; row++, value++) {
+                if (value % 3 == 0) {
+                    intVector.setNull(row);
+                } else {
+                    intVector.setSafe(row, value);
+                }
+                bigIntVector.setSafe(row, value * 10L);
+                varCharVector.setSafe(row, ("value_" + value).getBytes(StandardCharsets.UTF_8));
+                decimalVector.setSafe(row, new BigDecimal(value + ".500000000"));
+            }
+            root.setRowCount(rowNum);
+            arrowStreamWriter.writeBatch();
+        }
+        arrowStreamWriter.end();
+        arrowStreamWriter.close();
+
+        TStatus status = new TStatus();
+        status.setStatus_code(TStatusCode.OK);
+        TScanBatchResult scanBatchResult = new TScanBatchResult();
+        scanBatchResult.setStatus(status);
+        scanBatchResult.setEos(false);
+        scanBatchResult.setRows(outputStream.toByteArray());
+        return scanBatchResult;
+    }
+
+    @Test
+    public void testColumnarRowBatch() throws Exception {
+        Schema schema = RestService.parseSchema(SCHEMA_STR, logger);
+        ColumnarRowBatch columnarRowBatch = new ColumnarRowBatch(buildResult(2, 3), schema, STRUCT);
+        Assert.assertEquals(6, columnarRowBatch.getReadRowCount());
+        Assert.assertEquals(2, columnarRowBatch.getBatches().size());
+
+        Iterator<InternalRow> rows = columnarRowBatch.rowIterator();
+        for (int value = 0; value < 6; value++) {
+            Assert.assertTrue(rows.hasNext());
+            InternalRow row = rows.next();
+            if (value % 3 == 0) {
+                Assert.assertTrue(row.isNullAt(0));
+            } else {
+                Assert.assertFalse(row.isNullAt(0));
+                Assert.assertEquals(value, row.getInt(0));
+            }
+            Assert.assertEquals(value * 10L, row.getLong(1));
+            Assert.assertEquals("value_" + value, row.getUTF8String(2).toString());
+            Assert.assertEquals(Decimal.apply(new BigDecimal(value + ".5")), row.getDecimal(3, 27, 9));
+        }
+        Assert.assertFalse(rows.hasNext());
+        columnarRowBatch.close();
+    }
+
+    @Test
+    public void testTypeMismatch() throws Exception {
+        String schemaStr = SCHEMA_STR.replace("\"BIGINT\"", "\"DOUBLE\"");
+        Schema schema = RestService.parseSchema(schemaStr, logger);
+        thrown.expect(DorisException.class);
+        new ColumnarRowBatch(buildResult(1, 3), schema, STRUCT);
+    }
+
+    /**
+     * compare the conversion throughput of RowBatch and ColumnarRowBatch.
+     * the result is only logged, as the time depends on the machine.
+     */
+    @Test
+    public void testConvertThroughput() throws Exception {
+        Schema schema = RestService.parseSchema(SCHEMA_STR, logger);
+        int batchNum = 100;
+        int rowNum = 1024;
+        TScanBatchResult result = buildResult(batchNum, rowNum);
+
+        long start = System.nanoTime();
+        RowBatch rowBatch = new RowBatch(result, schema);
+        long rowCount = 0;
+        while (rowBatch.hasNext()) {
+            rowBatch.next();
+            rowCount++;
+        }
+        long rowBatchNanos = System.nanoTime() - start;
+        Assert.assertEquals(batchNum * rowNum, rowCount);
+
+        start = System.nanoTime();
+        ColumnarRowBatch columnarRowBatch = new ColumnarRowBatch(result, schema, STRUCT);
+        Iterator<InternalRow> rows = columnarRowBatch.rowIterator();
+        rowCount = 0;
+        while (rows.hasNext()) {
+            InternalRow row = rows.next();
+            for (int col = 0; col < STRUCT.size(); col++) {
+                row.get(col, STRUCT.fields()[col].dataType());
+            }
+            rowCount++;
+        }
+        long columnarNanos = System.nanoTime() - start;
+        columnarRowBatch.close();
+        Assert.assertEquals(batchNum * rowNum, rowCount);
+
+        logger.info("Convert {} rows, RowBatch: {} rows/s, ColumnarRowBatch: {} rows/s.", rowCount,
+                rowCount * 1000_000_000L / Math.max(rowBatchNanos, 1),
+                rowCount * 1000_000_000L / Math.max(columnarNanos, 1));
+    }
+}
@@ -0,0 +1,35 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.spark.sql
+
+import java.sql.{Date, Timestamp}
+
+import org.apache.spark.sql.Row
+import org.junit.{Assert, Test}
+
+class TestDorisWriter {
+  @Test
+  def testSerializeRow(): Unit = {
+    val fieldNames = Array("k1", "k2", "k3", "k4", "k5", "k6")
+    val row = Row(1, "a\tb\nc\\N", null, new java.math.BigDecimal("1.50"),
+      Date.valueOf("2021-01-02"), Timestamp.valueOf("2021-01-02 03:04:05"))
+    Assert.assertEquals("{\"k1\":1,\"k2\":\"a\\tb\\nc\\\\N\",\"k3\":null,\"k4\":1.50," +
+      "\"k5\":\"2021-01-02\",\"k6\":\"2021-01-02 03:04:05\"}",
+      DorisWriter.serializeRow(row, fieldNames))
+  }
+}
@@ -430,6 +430,7 @@ public class Alter {
             // 2. replication num
             if (newReplicationNum != (short) -1) {
                 partitionInfo.setReplicationNum(partition.getId(), newReplicationNum);
+                Catalog.getCurrentCatalog().getTabletChecker().markPartitionDirty(partition);
             }
             // 3. in memory
             boolean oldInMemory = partitionInfo.getIsInMemory(partition.getId());
@@ -530,6 +531,7 @@ public class Alter {
         // replication num
         if (newReplicationNum != (short) -1) {
             partitionInfo.setReplicationNum(partition.getId(), newReplicationNum);
+            Catalog.getCurrentCatalog().getTabletChecker().markPartitionDirty(partition);
             LOG.debug("modify partition[{}-{}-{}] replication num to {}", db.getId(), olapTable.getId(), partitionName,
                     newReplicationNum);
         }
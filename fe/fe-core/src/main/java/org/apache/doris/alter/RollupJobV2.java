@@ -475,6 +475,10 @@ public class RollupJobV2 extends AlterJobV2 implements GsonPostProcessable {
             } // end for partitions
 
             onFinished(tbl);
+            // the rollup tablets are visible now, check them in next round of tablet checker
+            for (Partition partition : tbl.getPartitions()) {
+                Catalog.getCurrentCatalog().getTabletChecker().markPartitionDirty(partition);
+            }
         } finally {
             db.writeUnlock();
         }
@@ -513,6 +513,10 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
 
             // all partitions are good
             onFinished(tbl);
+            // the new tablets are visible now, check them in next round of tablet checker
+            for (Partition partition : tbl.getPartitions()) {
+                Catalog.getCurrentCatalog().getTabletChecker().markPartitionDirty(partition);
+            }
         } finally {
             db.writeUnlock();
         }
@@ -167,6 +167,7 @@ public class SystemHandler extends AlterHandler {
             for (Backend backend : decommissionBackends) {
                 backend.setDecommissioned(true);
                 Catalog.getCurrentCatalog().getEditLog().logBackendStateChange(backend);
+                Catalog.getCurrentCatalog().getTabletChecker().markBackendDirty(backend.getId());
                 LOG.info("set backend {} to decommission", backend.getId());
             }
 
@@ -0,0 +1,131 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.analysis;
+
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Table;
+import org.apache.doris.catalog.Table.TableType;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.ErrorCode;
+import org.apache.doris.common.ErrorReport;
+import org.apache.doris.common.UserException;
+import org.apache.doris.mysql.privilege.PrivPredicate;
+import org.apache.doris.qe.ConnectContext;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+// ANALYZE TABLE tbl [(col1, col2, ...)]
+// Collect the statistics of the columns, all columns are analyzed if no column is specified.
+public class AnalyzeStmt extends DdlStmt {
+
+    private TableName tableName;
+    private List<String> columnNames;
+
+    public AnalyzeStmt(TableName tableName, List<String> columnNames) {
+        this.tableName = tableName;
+        this.columnNames = columnNames;
+    }
+
+    public String getDbName() {
+        return tableName.getDb();
+    }
+
+    public String getTblName() {
+        return tableName.getTbl();
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    @Override
+    public void analyze(Analyzer analyzer) throws UserException {
+        super.analyze(analyzer);
+        tableName.analyze(analyzer);
+
+        if (!Catalog.getCurrentCatalog().getAuth().checkTblPriv(ConnectContext.get(), tableName.getDb(),
+                tableName.getTbl(), PrivPredicate.ALTER)) {
+            ErrorReport.reportAnalysisException(ErrorCode.ERR_TABLEACCESS_DENIED_ERROR, "ANALYZE",
+                    ConnectContext.get().getQualifiedUser(),
+                    ConnectContext.get().getRemoteIP(),
+                    tableName.getTbl());
+        }
+
+        Database db = analyzer.getCatalog().getDb(tableName.getDb());
+        if (db == null) {
+            ErrorReport.reportAnalysisException(ErrorCode.ERR_BAD_DB_ERROR, tableName.getDb());
+        }
+        db.readLock();
+        try {
+            Table table = db.getTable(tableName.getTbl());
+            if (table == null) {
+                ErrorReport.reportAnalysisException(ErrorCode.ERR_BAD_TABLE_ERROR, tableName.getTbl());
+            }
+            if (table.getType() != TableType.OLAP) {
+                ErrorReport.reportAnalysisException(ErrorCode.ERR_NOT_OLAP_TABLE, tableName.getTbl());
+            }
+
+            List<String> resolvedNames = Lists.newArrayList();
+            if (columnNames == null || columnNames.isEmpty()) {
+                for (Column column : table.getBaseSchema()) {
+                    if (canAnalyze(column)) {
+                        resolvedNames.add(column.getName());
+                    }
+                }
+            } else {
+                for (String columnName : columnNames) {
+                    Column column = table.getColumn(columnName);
+                    if (column == null) {
+                        ErrorReport.reportAnalysisException(ErrorCode.ERR_BAD_FIELD_ERROR, columnName,
+                                tableName.getTbl());
+                    }
+                    if (!canAnalyze(column)) {
+                        throw new AnalysisException("Can not analyze column " + column.getName()
+                                + " of type " + column.getType());
+                    }
+                    if (!resolvedNames.contains(column.getName())) {
+                        resolvedNames.add(column.getName());
+                    }
+                }
+            }
+            columnNames = resolvedNames;
+        } finally {
+            db.readUnlock();
+        }
+    }
+
+    // hll and bitmap columns can only be used with their specific functions, so ndv can not be computed on them
+    private static boolean canAnalyze(Column column) {
+        return column.getType().isScalarType() && !column.getType().isOnlyMetricType();
+    }
+
+    @Override
+    public String toSql() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("ANALYZE TABLE ").append(tableName.toSql());
+        if (columnNames != null && !columnNames.isEmpty()) {
+            sb.append(" (`").append(Joiner.on("`, `").join(columnNames)).append("`)");
+        }
+        return sb.toString();
+    }
+}
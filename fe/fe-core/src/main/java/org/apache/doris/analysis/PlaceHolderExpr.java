@@ -0,0 +1,115 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.analysis;
+
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.thrift.TExprNode;
+
+import com.google.common.base.Preconditions;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Placeholder '?' in a server side prepared statement.
+ * The statement with placeholders is a template which is never analyzed itself. Before executing,
+ * the template is cloned by {@link #cloneWithValues}, and the clone of a placeholder is the clone of its value.
+ * The values are kept by the cloning thread, so a template shared by connections is never modified.
+ */
+public class PlaceHolderExpr extends LiteralExpr {
+    // values of the placeholders of the statement being cloned in current thread
+    private static final ThreadLocal<List<LiteralExpr>> BOUND_VALUES = new ThreadLocal<>();
+
+    // index of this placeholder in the statement, starts from 0
+    private final int index;
+
+    public PlaceHolderExpr(int index) {
+        this.index = index;
+        this.type = Type.NULL;
+    }
+
+    protected PlaceHolderExpr(PlaceHolderExpr other) {
+        super(other);
+        this.index = other.index;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Clone a statement or expr by the cloner, in which the placeholders are replaced by the values at their index.
+     */
+    public static <T> T cloneWithValues(List<LiteralExpr> values, Supplier<T> cloner) {
+        List<LiteralExpr> outerValues = BOUND_VALUES.get();
+        BOUND_VALUES.set(values);
+        try {
+            return cloner.get();
+        } finally {
+            BOUND_VALUES.set(outerValues);
+        }
+    }
+
+    @Override
+    public Expr clone() {
+        List<LiteralExpr> values = BOUND_VALUES.get();
+        if (values != null) {
+            return values.get(index).clone();
+        }
+        return new PlaceHolderExpr(this);
+    }
+
+    @Override
+    protected void analyzeImpl(Analyzer analyzer) throws AnalysisException {
+        throw new AnalysisException("Placeholder '?' is only supported in prepared statement");
+    }
+
+    @Override
+    public boolean isMinValue() {
+        return false;
+    }
+
+    @Override
+    public int compareLiteral(LiteralExpr expr) {
+        Preconditions.checkState(false, "placeholder can not be compared");
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!super.equals(obj)) {
+            return false;
+        }
+        return ((PlaceHolderExpr) obj).index == index;
+    }
+
+    @Override
+    protected String toSqlImpl() {
+        return "?";
+    }
+
+    @Override
+    public String getStringValue() {
+        return toSqlImpl();
+    }
+
+    @Override
+    protected void toThrift(TExprNode msg) {
+        Preconditions.checkState(false, "placeholder is not bound: " + index);
+    }
+}
@@ -98,6 +98,28 @@ public abstract class Predicate extends Expr {
                 && ((BinaryPredicate) expr).getOp().isEquivalence();
     }
 
+    /**
+     * Returns the selectivity of the conjunct if it is estimated by the number of distinct values
+     * in column statistics, such as "col = 5" and "col in (1, 2)", otherwise -1.
+     * The other predicates are given a default selectivity, which is not reliable for estimating rows.
+     */
+    public static double getSelectivityByStats(Expr expr) {
+        boolean isEq = expr instanceof BinaryPredicate
+                && ((BinaryPredicate) expr).getOp() == BinaryPredicate.Operator.EQ;
+        boolean isIn = expr instanceof InPredicate && !((InPredicate) expr).isNotIn();
+        if (!isEq && !isIn) {
+            return -1;
+        }
+        Reference<SlotRef> slotRefRef = new Reference<SlotRef>();
+        Reference<Integer> idxRef = new Reference<Integer>();
+        if (!((Predicate) expr).isSingleColumnPredicate(slotRefRef, idxRef)
+                || slotRefRef.getRef().getNumDistinctValues() <= 0
+                || (isIn && idxRef.getRef() != 0)) {
+            return -1;
+        }
+        return expr.getSelectivity();
+    }
+
     public static boolean canPushDownPredicate(Expr expr) {
         if (!(expr instanceof Predicate)) {
             return false;
@@ -20,6 +20,7 @@ package org.apache.doris.analysis;
 import org.apache.doris.catalog.AggregateFunction;
 import org.apache.doris.catalog.Catalog;
 import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.ColumnStats;
 import org.apache.doris.catalog.Database;
 import org.apache.doris.catalog.FunctionSet;
 import org.apache.doris.catalog.KeysType;
@@ -809,6 +810,8 @@ public class SelectStmt extends QueryStmt {
 
     protected void reorderTable(Analyzer analyzer) throws AnalysisException {
         List<Pair<TableRef, Long>> candidates = Lists.newArrayList();
+        boolean costBased = ConnectContext.get() != null
+                && ConnectContext.get().getSessionVariable().isEnableCostBasedJoinReorder();
 
         // New pair of table ref and row count
         for (TableRef tblRef : fromClause_) {
@@ -819,6 +822,9 @@ public class SelectStmt extends QueryStmt {
             long rowCount = 0;
             if (tblRef.getTable().getType() == TableType.OLAP) {
                 rowCount = ((OlapTable) (tblRef.getTable())).getRowCount();
+                if (costBased) {
+                    rowCount = estimateRowCount(analyzer, tblRef, rowCount);
+                }
                 LOG.debug("tableName={} rowCount={}", tblRef.getAlias(), rowCount);
             }
             candidates.add(new Pair(tblRef, rowCount));
@@ -841,6 +847,13 @@ public class SelectStmt extends QueryStmt {
                 // as long as one scheme success, we return this scheme immediately.
                 // in this scheme, candidate.first will be consider to be the big table in star schema.
                 // this scheme might not be fit for snowflake schema.
+                if (costBased) {
+                    Map<TupleId, Long> rowCounts = Maps.newHashMap();
+                    for (Pair<TableRef, Long> pair : candidates) {
+                        rowCounts.put(pair.first.getId(), pair.second);
+                    }
+                    reorderTableByCost(analyzer, rowCounts);
+                }
                 return;
             }
         }
@@ -920,6 +933,114 @@ public class SelectStmt extends QueryStmt {
         return true;
     }
 
+    // The row count of table after applying its own predicates,
+    // the selectivity of predicate is estimated by the column statistics collected by ANALYZE TABLE.
+    private long estimateRowCount(Analyzer analyzer, TableRef tblRef, long rowCount) {
+        double selectivity = 1.0;
+        for (Expr conjunct : analyzer.getConjuncts(tblRef.getId().asList())) {
+            double conjunctSelectivity = Predicate.getSelectivityByStats(conjunct);
+            if (conjunctSelectivity >= 0) {
+                selectivity *= conjunctSelectivity;
+            }
+        }
+        return Math.round(rowCount * selectivity);
+    }
+
+    /**
+     * Reorder the tables after the first one of a joinable order: each time join the table which
+     * produces the fewest rows, the join cardinality is estimated in the same way as HashJoinNode.computeStats().
+     * Tables keep their current order when the estimation can not tell them apart, e.g. without statistics.
+     */
+    private void reorderTableByCost(Analyzer analyzer, Map<TupleId, Long> rowCounts) {
+        List<TableRef> remainingRefs = Lists.newArrayList(fromClause_.subList(1, fromClause_.size()));
+        TableRef firstRef = fromClause_.get(0);
+        Set<TupleId> validTupleIds = Sets.newHashSet(firstRef.getId());
+        double cardinality = rowCounts.get(firstRef.getId());
+        List<TableRef> newRefs = Lists.newArrayList(firstRef);
+        while (!remainingRefs.isEmpty()) {
+            TableRef bestRef = null;
+            double bestCardinality = 0;
+            for (TableRef tblRef : remainingRefs) {
+                if (!canJoin(analyzer, tblRef.getId(), validTupleIds)) {
+                    continue;
+                }
+                double joinCardinality = estimateJoinCardinality(analyzer, cardinality, tblRef.getId(),
+                        rowCounts.get(tblRef.getId()), validTupleIds);
+                if (bestRef == null || joinCardinality < bestCardinality) {
+                    bestRef = tblRef;
+                    bestCardinality = joinCardinality;
+                }
+            }
+            if (bestRef == null) {
+                // the current order is always joinable, keep it
+                return;
+            }
+            newRefs.add(bestRef);
+            remainingRefs.remove(bestRef);
+            validTupleIds.add(bestRef.getId());
+            cardinality = bestCardinality;
+        }
+        LOG.debug("reorder tables by cost: {}", newRefs);
+        fromClause_.clear();
+        fromClause_.addAll(newRefs);
+    }
+
+    // same as the check of reorderTable(): the table is referenced by the equal join predicates of joined tables,
+    // and all the tables referenced by its own equal join predicates are joined
+    private static boolean canJoin(Analyzer analyzer, TupleId tid, Set<TupleId> validTupleIds) {
+        List<TupleId> tupleIds = Lists.newArrayList();
+        Expr.getIds(analyzer.getEqJoinConjuncts(tid), tupleIds, null);
+        boolean referenced = false;
+        for (TupleId tupleId : tupleIds) {
+            if (validTupleIds.contains(tupleId)) {
+                referenced = true;
+                break;
+            }
+        }
+        if (!referenced) {
+            return false;
+        }
+        tupleIds.clear();
+        Expr.getIds(analyzer.getEqJoinConjunctsExcludeAuxPredicates(tid), tupleIds, null);
+        for (TupleId tupleId : tupleIds) {
+            if (!validTupleIds.contains(tupleId) && !tupleId.equals(tid)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double estimateJoinCardinality(Analyzer analyzer, double lhsCardinality, TupleId rhsId,
+                                                  long rhsCardinality, Set<TupleId> lhsIds) {
+        long maxNumDistinct = 0;
+        for (Expr conjunct : analyzer.getEqJoinConjunctsExcludeAuxPredicates(rhsId)) {
+            for (int i = 0; i < 2; i++) {
+                Expr rhsExpr = conjunct.getChild(i);
+                if (!rhsExpr.isBoundByTupleIds(rhsId.asList())) {
+                    continue;
+                }
+                List<TupleId> otherIds = Lists.newArrayList();
+                conjunct.getChild(1 - i).getIds(otherIds, null);
+                if (!lhsIds.containsAll(otherIds)) {
+                    continue;
+                }
+                SlotRef slotRef = rhsExpr.unwrapSlotRef();
+                if (slotRef == null || slotRef.getDesc() == null) {
+                    continue;
+                }
+                ColumnStats stats = slotRef.getDesc().getStats();
+                if (stats.hasNumDistinctValues()) {
+                    maxNumDistinct = Math.max(maxNumDistinct, stats.getNumDistinctValues());
+                }
+            }
+        }
+        if (maxNumDistinct == 0) {
+            // assume FK/PK join without statistics
+            return lhsCardinality;
+        }
+        return lhsCardinality * rhsCardinality / maxNumDistinct;
+    }
+
     /**
      * Populates baseTblSmap_ with our combined inline view smap and creates
      * baseTblResultExprs.
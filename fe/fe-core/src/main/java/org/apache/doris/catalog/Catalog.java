@@ -185,6 +185,10 @@ import org.apache.doris.persist.StorageInfo;
 import org.apache.doris.persist.TableInfo;
 import org.apache.doris.persist.TablePropertyInfo;
 import org.apache.doris.persist.TruncateTableInfo;
+import org.apache.doris.persist.meta.MetaFooter;
+import org.apache.doris.persist.meta.MetaReader;
+import org.apache.doris.persist.meta.MetaSection;
+import org.apache.doris.persist.meta.MetaWriter;
 import org.apache.doris.plugin.PluginInfo;
 import org.apache.doris.plugin.PluginMgr;
 import org.apache.doris.qe.AuditEventProcessor;
@@ -193,6 +197,7 @@ import org.apache.doris.qe.JournalObservable;
 import org.apache.doris.qe.SessionVariable;
 import org.apache.doris.qe.VariableMgr;
 import org.apache.doris.service.FrontendOptions;
+import org.apache.doris.statistics.StatisticsManager;
 import org.apache.doris.system.Backend;
 import org.apache.doris.system.Backend.BackendState;
 import org.apache.doris.system.Frontend;
@@ -341,6 +346,7 @@ public class Catalog {
 
     private static Catalog CHECKPOINT = null;
     private static long checkpointThreadId = -1;
+    private static final ThreadLocal<Boolean> IS_CHECKPOINT_WORKER = ThreadLocal.withInitial(() -> false);
     private Checkpoint checkpointer;
     private List<Pair<String, Integer>> helperNodes = Lists.newArrayList();
     private Pair<String, Integer> selfNode = null;
@@ -384,6 +390,8 @@ public class Catalog {
 
     private TabletChecker tabletChecker;
 
+    private StatisticsManager statisticsManager;
+
     private MasterTaskExecutor loadTaskScheduler;
 
     private LoadJobScheduler loadJobScheduler;
@@ -533,6 +541,7 @@ public class Catalog {
         this.stat = new TabletSchedulerStat();
         this.tabletScheduler = new TabletScheduler(this, systemInfo, tabletInvertedIndex, stat);
         this.tabletChecker = new TabletChecker(this, systemInfo, tabletScheduler, stat);
+        this.statisticsManager = new StatisticsManager();
 
         this.loadTaskScheduler = new MasterTaskExecutor("load_task_scheduler", Config.async_load_task_pool_size, !isCheckpointCatalog);
         this.loadJobScheduler = new LoadJobScheduler();
@@ -617,6 +626,10 @@ public class Catalog {
         return tabletChecker;
     }
 
+    public StatisticsManager getStatisticsManager() {
+        return statisticsManager;
+    }
+
     public ConcurrentHashMap<String, Database> getFullNameToDb() {
         return fullNameToDb;
     }
@@ -654,7 +667,12 @@ public class Catalog {
     }
 
     public static final boolean isCheckpointThread() {
-        return Thread.currentThread().getId() == checkpointThreadId;
+        return Thread.currentThread().getId() == checkpointThreadId || IS_CHECKPOINT_WORKER.get();
+    }
+
+    // Threads saving image sections on behalf of the checkpoint thread
+    public static void setCheckpointWorker(boolean isCheckpointWorker) {
+        IS_CHECKPOINT_WORKER.set(isCheckpointWorker);
     }
 
     public static PluginMgr getCurrentPluginMgr() {
@@ -1460,6 +1478,13 @@ public class Catalog {
         replayedJournalId.set(storage.getImageSeq());
         LOG.info("start load image from {}. is ckpt: {}", curFile.getAbsolutePath(), Catalog.isCheckpointThread());
         long loadImageStartTime = System.currentTimeMillis();
+        if (MetaFooter.isSectionedImage(curFile)) {
+            loadSectionedImage(curFile);
+            LOG.info("finished to load sectioned image in " + (System.currentTimeMillis() - loadImageStartTime)
+                    + " ms");
+            return;
+        }
+
         DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(curFile)));
 
         long checksum = 0;
@@ -1503,6 +1528,79 @@ public class Catalog {
         LOG.info("finished to load image in " + (loadImageEndTime - loadImageStartTime) + " ms");
     }
 
+    private static final String IMAGE_SECTION_HEADER = "header";
+    private static final String IMAGE_SECTION_BACKENDS = "backends";
+    private static final String IMAGE_SECTION_DB = "db";
+    private static final String IMAGE_SECTION_RECYCLE_BIN = "recycleBin";
+    private static final String IMAGE_SECTION_PALO_AUTH = "paloAuth";
+    private static final String IMAGE_SECTION_TRANSACTION = "transactionState";
+
+    /*
+     * Every section depends on header, which sets the meta version. Sections loaded concurrently with db
+     * only modify managers of their own, and do not read databases. The sections which read databases
+     * depend on db, whose loader also creates the tablet inverted index. See MetaSection.
+     */
+    private List<MetaSection> getImageSections(long replayedJournalId) {
+        List<MetaSection> sections = Lists.newArrayList();
+        sections.add(new MetaSection(IMAGE_SECTION_HEADER,
+                (dos, checksum) -> saveHeader(dos, replayedJournalId, checksum), this::loadHeader));
+        sections.add(new MetaSection("masterInfo", this::saveMasterInfo, this::loadMasterInfo,
+                IMAGE_SECTION_HEADER));
+        sections.add(new MetaSection("frontends", this::saveFrontends, this::loadFrontends, IMAGE_SECTION_HEADER));
+        sections.add(new MetaSection(IMAGE_SECTION_BACKENDS,
+                (dos, checksum) -> Catalog.getCurrentSystemInfo().saveBackends(dos, checksum),
+                (dis, checksum) -> Catalog.getCurrentSystemInfo().loadBackends(dis, checksum),
+                IMAGE_SECTION_HEADER));
+        sections.add(new MetaSection(IMAGE_SECTION_DB, this::saveDb, (dis, checksum) -> {
+            long newChecksum = loadDb(dis, checksum);
+            // ATTN: this should be done after load Db, and before loadAlterJob
+            recreateTabletInvertIndex();
+            // rebuild es state state
+            esRepository.loadTableFromCatalog();
+            return newChecksum;
+        }, IMAGE_SECTION_HEADER));
+        sections.add(new MetaSection("loadJob", this::saveLoadJob, this::loadLoadJob, IMAGE_SECTION_DB));
+        sections.add(new MetaSection("alterJob", this::saveAlterJob, this::loadAlterJob, IMAGE_SECTION_DB));
+        // recycle bin adds tablets to inverted index and creates DatabaseTransactionMgr as db does
+        sections.add(new MetaSection(IMAGE_SECTION_RECYCLE_BIN, this::saveRecycleBin, this::loadRecycleBin,
+                IMAGE_SECTION_DB));
+        sections.add(new MetaSection("globalVariable", this::saveGlobalVariable, this::loadGlobalVariable,
+                IMAGE_SECTION_HEADER));
+        // cluster depends on backends, and adds information schema dbs
+        sections.add(new MetaSection("cluster", this::saveCluster, this::loadCluster,
+                IMAGE_SECTION_BACKENDS, IMAGE_SECTION_DB));
+        sections.add(new MetaSection("broker", this::saveBrokers, this::loadBrokers, IMAGE_SECTION_HEADER));
+        sections.add(new MetaSection("resources", this::saveResources, this::loadResources, IMAGE_SECTION_HEADER));
+        sections.add(new MetaSection("exportJob", this::saveExportJob, this::loadExportJob, IMAGE_SECTION_DB));
+        sections.add(new MetaSection("backupHandler", this::saveBackupHandler, this::loadBackupHandler,
+                IMAGE_SECTION_DB));
+        sections.add(new MetaSection(IMAGE_SECTION_PALO_AUTH, this::savePaloAuth, this::loadPaloAuth,
+                IMAGE_SECTION_HEADER));
+        // global transaction must be replayed after recycle bin and before load jobs v2
+        sections.add(new MetaSection(IMAGE_SECTION_TRANSACTION, this::saveTransactionState,
+                this::loadTransactionState, IMAGE_SECTION_DB, IMAGE_SECTION_RECYCLE_BIN));
+        sections.add(new MetaSection("colocateTableIndex", this::saveColocateTableIndex,
+                this::loadColocateTableIndex, IMAGE_SECTION_DB));
+        sections.add(new MetaSection("routineLoadJobs", this::saveRoutineLoadJobs, this::loadRoutineLoadJobs,
+                IMAGE_SECTION_TRANSACTION));
+        sections.add(new MetaSection("loadJobsV2", this::saveLoadJobsV2, this::loadLoadJobsV2,
+                IMAGE_SECTION_TRANSACTION));
+        sections.add(new MetaSection("smallFiles", this::saveSmallFiles, this::loadSmallFiles,
+                IMAGE_SECTION_HEADER));
+        // plugins are initialized when loaded, so load them after the meta they may use
+        sections.add(new MetaSection("plugins", this::savePlugins, this::loadPlugins, IMAGE_SECTION_DB,
+                IMAGE_SECTION_PALO_AUTH));
+        sections.add(new MetaSection("deleteHandler", this::saveDeleteHandler, this::loadDeleteHandler,
+                IMAGE_SECTION_DB));
+        return sections;
+    }
+
+    private void loadSectionedImage(File curFile) throws IOException, DdlException {
+        try (MetaReader reader = new MetaReader(curFile)) {
+            reader.loadSections(getImageSections(replayedJournalId.get()), Config.image_parallel_num);
+        }
+    }
+
     private void recreateTabletInvertIndex() {
         if (isCheckpointThread()) {
             return;
@@ -1943,8 +2041,15 @@ public class Catalog {
         // save image does not need any lock. because only checkpoint thread will call this method.
         LOG.info("start save image to {}. is ckpt: {}", curFile.getAbsolutePath(), Catalog.isCheckpointThread());
 
-        long checksum = 0;
         long saveImageStartTime = System.currentTimeMillis();
+        if (Config.enable_sectioned_image) {
+            MetaWriter.write(curFile, getImageSections(replayedJournalId), Config.image_parallel_num);
+            LOG.info("finished save sectioned image {} in {} ms", curFile.getAbsolutePath(),
+                    (System.currentTimeMillis() - saveImageStartTime));
+            return;
+        }
+
+        long checksum = 0;
         try (DataOutputStream dos = new DataOutputStream(new FileOutputStream(curFile))) {
             checksum = saveHeader(dos, replayedJournalId, checksum);
             checksum = saveMasterInfo(dos, checksum);
@@ -5264,6 +5369,7 @@ public class Catalog {
         boolean isInMemory = partitionInfo.getIsInMemory(partition.getId());
         DataProperty newDataProperty = partitionInfo.getDataProperty(partition.getId());
         partitionInfo.setReplicationNum(partition.getId(), replicationNum);
+        tabletChecker.markPartitionDirty(partition);
         // log
         ModifyPartitionInfo info = new ModifyPartitionInfo(db.getId(), table.getId(), partition.getId(),
                 newDataProperty, replicationNum, isInMemory);
@@ -6712,6 +6818,7 @@ public class Catalog {
                     }
                     LOG.info("set replica {} of tablet {} on backend {} as {}. is replay: {}",
                             replica.getId(), tabletId, backendId, status, isReplay);
+                    tabletChecker.markTabletDirty(tabletId);
                 }
             }
         } finally {
@@ -64,6 +64,7 @@ public class EsTable extends Table {
     public static final String DOC_VALUE_SCAN = "enable_docvalue_scan";
     public static final String KEYWORD_SNIFF = "enable_keyword_sniff";
     public static final String MAX_DOCVALUE_FIELDS = "max_docvalue_fields";
+    public static final String SLICES_PER_SHARD = "slices_per_shard";
 
     private String hosts;
     private String[] seeds;
@@ -87,6 +88,9 @@ public class EsTable extends Table {
     // if the number of fields which value extracted from `doc_value` exceeding this max limitation
     // would downgrade to extract value from `stored_fields`
     private int maxDocValueFields = DEFAULT_MAX_DOCVALUE_FIELDS;
+    // every shard is scanned by this number of sliced scrolls concurrently,
+    // 0 means it is decided by the number of shards and backends when planning
+    private int slicesPerShard = 0;
 
     // Solr doc_values vs stored_fields performance-smackdown indicate:
     // It is possible to notice that retrieving an high number of fields leads
@@ -131,6 +135,10 @@ public class EsTable extends Table {
         return maxDocValueFields;
     }
 
+    public int slicesPerShard() {
+        return slicesPerShard;
+    }
+
     public boolean isDocValueScanEnable() {
         return enableDocValueScan;
     }
@@ -230,6 +238,17 @@ public class EsTable extends Table {
                 maxDocValueFields = DEFAULT_MAX_DOCVALUE_FIELDS;
             }
         }
+
+        if (properties.containsKey(SLICES_PER_SHARD)) {
+            try {
+                slicesPerShard = Integer.parseInt(properties.get(SLICES_PER_SHARD).trim());
+            } catch (NumberFormatException e) {
+                throw new DdlException("fail to parse slices_per_shard: " + properties.get(SLICES_PER_SHARD));
+            }
+            if (slicesPerShard < 0) {
+                throw new DdlException("slices_per_shard should not be negative, but value is " + slicesPerShard);
+            }
+        }
         tableContext.put("hosts", hosts);
         tableContext.put("userName", userName);
         tableContext.put("passwd", passwd);
@@ -242,6 +261,7 @@ public class EsTable extends Table {
         tableContext.put("enableDocValueScan", String.valueOf(enableDocValueScan));
         tableContext.put("enableKeywordSniff", String.valueOf(enableKeywordSniff));
         tableContext.put("maxDocValueFields", String.valueOf(maxDocValueFields));
+        tableContext.put("slicesPerShard", String.valueOf(slicesPerShard));
     }
 
     public TTableDescriptor toThrift() {
@@ -338,6 +358,13 @@ public class EsTable extends Table {
                     maxDocValueFields = DEFAULT_MAX_DOCVALUE_FIELDS;
                 }
             }
+            if (tableContext.containsKey("slicesPerShard")) {
+                try {
+                    slicesPerShard = Integer.parseInt(tableContext.get("slicesPerShard"));
+                } catch (Exception e) {
+                    slicesPerShard = 0;
+                }
+            }
 
             PartitionType partType = PartitionType.valueOf(Text.readString(in));
             if (partType == PartitionType.UNPARTITIONED) {
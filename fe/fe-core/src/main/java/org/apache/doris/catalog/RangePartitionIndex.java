@@ -0,0 +1,134 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.catalog;
+
+import org.apache.doris.common.util.RangeUtils;
+
+import com.google.common.collect.BoundType;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable index of partition ranges, sorted by the lower bound of range.
+ * It is used to find the partitions intersected with a given range by binary search,
+ * instead of comparing the range with every partition.
+ *
+ * Every partition range must have both lower and upper bound, which is always true for range partition.
+ * If some of the ranges intersect with each other, eg: formal and temp partitions are mixed,
+ * binary search is not applicable and all ranges are checked one by one.
+ */
+public class RangePartitionIndex {
+    private final long[] partitionIds;
+    private final List<Range<PartitionKey>> ranges;
+    private final boolean isDisjoint;
+
+    public RangePartitionIndex(Map<Long, Range<PartitionKey>> idToRange) {
+        List<Map.Entry<Long, Range<PartitionKey>>> sortedList = Lists.newArrayList(idToRange.entrySet());
+        Collections.sort(sortedList, RangeUtils.RANGE_MAP_ENTRY_COMPARATOR);
+
+        partitionIds = new long[sortedList.size()];
+        ranges = Lists.newArrayListWithCapacity(sortedList.size());
+        boolean disjoint = true;
+        for (int i = 0; i < sortedList.size(); i++) {
+            Map.Entry<Long, Range<PartitionKey>> entry = sortedList.get(i);
+            partitionIds[i] = entry.getKey();
+            ranges.add(entry.getValue());
+            if (i > 0 && isIntersected(ranges.get(i - 1), entry.getValue())) {
+                disjoint = false;
+            }
+        }
+        isDisjoint = disjoint;
+    }
+
+    public int size() {
+        return partitionIds.length;
+    }
+
+    public List<Long> getIntersectedIds(Range<PartitionKey> range) {
+        List<Long> result = Lists.newArrayList();
+        search(range, 0, result);
+        return result;
+    }
+
+    /**
+     * Add ids of partitions intersected with the range to result, only partitions from fromIdx are checked.
+     * Search ranges in ascending order of lower bound by passing the returned value as fromIdx of the next
+     * search, so that a batch of ranges, eg: values of IN predicate, is searched with a shrinking window.
+     *
+     * @return the position of the first partition which is not below the range
+     */
+    public int search(Range<PartitionKey> range, int fromIdx, Collection<Long> result) {
+        if (!isDisjoint) {
+            for (int i = 0; i < partitionIds.length; i++) {
+                if (isIntersected(ranges.get(i), range)) {
+                    result.add(partitionIds[i]);
+                }
+            }
+            return 0;
+        }
+
+        // upper bounds are in ascending order as well when ranges are disjoint,
+        // so find the first partition whose upper bound is not below the range
+        int low = fromIdx;
+        int high = partitionIds.length;
+        if (range.hasLowerBound()) {
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (isBelow(ranges.get(mid), range)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+        }
+        for (int i = low; i < partitionIds.length; i++) {
+            Range<PartitionKey> partitionRange = ranges.get(i);
+            if (isAbove(partitionRange, range)) {
+                break;
+            }
+            if (isIntersected(partitionRange, range)) {
+                result.add(partitionIds[i]);
+            }
+        }
+        return low;
+    }
+
+    private static boolean isBelow(Range<PartitionKey> partitionRange, Range<PartitionKey> range) {
+        int cmp = partitionRange.upperEndpoint().compareTo(range.lowerEndpoint());
+        return cmp < 0 || (cmp == 0 && (partitionRange.upperBoundType() == BoundType.OPEN
+                || range.lowerBoundType() == BoundType.OPEN));
+    }
+
+    private static boolean isAbove(Range<PartitionKey> partitionRange, Range<PartitionKey> range) {
+        if (!range.hasUpperBound()) {
+            return false;
+        }
+        int cmp = partitionRange.lowerEndpoint().compareTo(range.upperEndpoint());
+        return cmp > 0 || (cmp == 0 && (partitionRange.lowerBoundType() == BoundType.OPEN
+                || range.upperBoundType() == BoundType.OPEN));
+    }
+
+    private static boolean isIntersected(Range<PartitionKey> range1, Range<PartitionKey> range2) {
+        return range1.isConnected(range2) && !range1.intersection(range2).isEmpty();
+    }
+}
@@ -49,6 +49,9 @@ public class RangePartitionInfo extends PartitionInfo {
     private Map<Long, Range<PartitionKey>> idToRange = Maps.newHashMap();
     // temp partition id -> partition range
     private Map<Long, Range<PartitionKey>> idToTempRange = Maps.newHashMap();
+    // sorted index of formal partition ranges for partition prune.
+    // built lazily and reset whenever the formal ranges change.
+    private volatile RangePartitionIndex rangeIndex = null;
 
     public RangePartitionInfo() {
         // for persist
@@ -70,6 +73,7 @@ public class RangePartitionInfo extends PartitionInfo {
         super.dropPartition(partitionId);
         idToRange.remove(partitionId);
         idToTempRange.remove(partitionId);
+        rangeIndex = null;
     }
 
     public void addPartition(long partitionId, boolean isTemp, Range<PartitionKey> range, DataProperty dataProperty,
@@ -194,6 +198,15 @@ public class RangePartitionInfo extends PartitionInfo {
         }
     }
 
+    public RangePartitionIndex getRangeIndex() {
+        RangePartitionIndex index = rangeIndex;
+        if (index == null) {
+            index = new RangePartitionIndex(idToRange);
+            rangeIndex = index;
+        }
+        return index;
+    }
+
     public Range<PartitionKey> getRange(long partitionId) {
         Range<PartitionKey> range = idToRange.get(partitionId);
         if (range == null) {
@@ -258,6 +271,7 @@ public class RangePartitionInfo extends PartitionInfo {
             idToTempRange.put(partitionId, range);
         } else {
             idToRange.put(partitionId, range);
+            rangeIndex = null;
         }
     }
 
@@ -265,6 +279,7 @@ public class RangePartitionInfo extends PartitionInfo {
         Range<PartitionKey> range = idToTempRange.remove(tempPartitionId);
         if (range != null) {
             idToRange.put(tempPartitionId, range);
+            rangeIndex = null;
         }
     }
 
@@ -314,6 +329,7 @@ public class RangePartitionInfo extends PartitionInfo {
             Range<PartitionKey> range = RangeUtils.readRange(in);
             idToRange.put(partitionId, range);
         }
+        rangeIndex = null;
 
         if (Catalog.getCurrentCatalogJournalVersion() >= FeMetaVersion.VERSION_77) {
             counter = in.readInt();
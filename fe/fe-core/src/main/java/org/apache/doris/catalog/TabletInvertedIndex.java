@@ -19,6 +19,7 @@ package org.apache.doris.catalog;
 
 import org.apache.doris.catalog.Replica.ReplicaState;
 import org.apache.doris.common.Pair;
+import org.apache.doris.common.util.LongLongHashMap;
 import org.apache.doris.thrift.TPartitionVersionInfo;
 import org.apache.doris.thrift.TStorageMedium;
 import org.apache.doris.thrift.TTablet;
@@ -41,18 +42,25 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.stream.Collectors;
+
+import io.netty.util.collection.LongObjectHashMap;
+import io.netty.util.collection.LongObjectMap;
 
 /*
  * this class stores a inverted index
  * key is tablet id. value is the related ids of this tablet
  * Checkpoint thread is no need to modify this inverted index, because this inverted index will not be wrote
  * into images, all meta data are in catalog, and the inverted index will be rebuild when FE restart.
+ *
+ * The index is split into stripes by tablet id, each stripe has its own lock and primitive long keyed maps.
+ * So writers of different tablets do not block each other, and tablet report of a backend only holds
+ * the lock of one stripe at a time.
  */
 public class TabletInvertedIndex {
     private static final Logger LOG = LogManager.getLogger(TabletInvertedIndex.class);
@@ -62,14 +70,43 @@ public class TabletInvertedIndex {
     public static final TabletMeta NOT_EXIST_TABLET_META = new TabletMeta(NOT_EXIST_VALUE, NOT_EXIST_VALUE,
             NOT_EXIST_VALUE, NOT_EXIST_VALUE, NOT_EXIST_VALUE, TStorageMedium.HDD);
 
-    private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // must be power of 2
+    private static final int STRIPE_NUM = 64;
+    private static final int STRIPE_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(STRIPE_NUM);
+
+    private static final Replica[] EMPTY_REPLICAS = new Replica[0];
+
+    /*
+     * A part of the inverted index, contains the tablets whose id is mapped to this stripe.
+     */
+    private static class TabletStripe {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // tablet id -> tablet meta
+        private final LongObjectHashMap<TabletMeta> tabletMetaMap = new LongObjectHashMap<>();
+
+        // tablet id -> replicas. a tablet only has a few replicas, so an array is enough and compact.
+        private final LongObjectHashMap<Replica[]> replicaMetaTable = new LongObjectHashMap<>();
+
+        // backing replica table, for visiting backend replicas faster.
+        // backend id -> (tablet id -> replica)
+        private final LongObjectHashMap<LongObjectHashMap<Replica>> backingReplicaMetaTable =
+                new LongObjectHashMap<>();
+    }
+
+    /*
+     * A part of the replica id to tablet id map, split by replica id.
+     */
+    private static class ReplicaStripe {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // replica id -> tablet id
+        private final LongLongHashMap replicaToTabletMap = new LongLongHashMap(NOT_EXIST_VALUE);
+    }
+
+    private final TabletStripe[] tabletStripes = new TabletStripe[STRIPE_NUM];
+    private final ReplicaStripe[] replicaStripes = new ReplicaStripe[STRIPE_NUM];
 
-    // tablet id -> tablet meta
-    private Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
-    
-    // replica id -> tablet id
-    private Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
-    
     /*
      *  we use this to save memory.
      *  we do not need create TabletMeta instance for each tablet,
@@ -78,32 +115,47 @@ public class TabletInvertedIndex {
      *  we use 'tabletMetaTable' to do the update things
      *      (eg. update schema hash in TabletMeta)
      *  partition id -> (index id -> tablet meta)
+     *
+     *  it is much smaller than the tablet maps, so it is protected by a lock of its own.
      */
+    private final ReentrantReadWriteLock tabletMetaTableLock = new ReentrantReadWriteLock();
     private Table<Long, Long, TabletMeta> tabletMetaTable = HashBasedTable.create();
-    
-    // tablet id -> (backend id -> replica)
-    private Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
-    // backing replica table, for visiting backend replicas faster.
-    // backend id -> (tablet id -> replica)
-    private Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
 
     public TabletInvertedIndex() {
+        for (int i = 0; i < STRIPE_NUM; i++) {
+            tabletStripes[i] = new TabletStripe();
+            replicaStripes[i] = new ReplicaStripe();
+        }
+    }
+
+    // Take the stripe from the highest bits of the product. LongLongHashMap picks slots from the low bits of
+    // the same product, so ids in one stripe still spread over all the slots of its maps.
+    private static int stripeIndex(long id) {
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> STRIPE_SHIFT);
     }
 
-    private void readLock() {
-        this.lock.readLock().lock();
+    private TabletStripe tabletStripe(long tabletId) {
+        return tabletStripes[stripeIndex(tabletId)];
     }
 
-    private void readUnlock() {
-        this.lock.readLock().unlock();
+    private ReplicaStripe replicaStripe(long replicaId) {
+        return replicaStripes[stripeIndex(replicaId)];
     }
 
-    private void writeLock() {
-        this.lock.writeLock().lock();
+    private static void readLock(ReentrantReadWriteLock lock) {
+        lock.readLock().lock();
     }
 
-    private void writeUnlock() {
-        this.lock.writeLock().unlock();
+    private static void readUnlock(ReentrantReadWriteLock lock) {
+        lock.readLock().unlock();
+    }
+
+    private static void writeLock(ReentrantReadWriteLock lock) {
+        lock.writeLock().lock();
+    }
+
+    private static void writeUnlock(ReentrantReadWriteLock lock) {
+        lock.writeLock().unlock();
     }
 
     public void tabletReport(long backendId, Map<Long, TTablet> backendTablets,
@@ -126,21 +178,25 @@ public class TabletInvertedIndex {
             }
         }
 
-        readLock();
         long start = System.currentTimeMillis();
-        try {
-            LOG.info("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
+        LOG.info("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
+        // only one stripe is locked at a time, so writers of other stripes are not blocked
+        for (TabletStripe stripe : tabletStripes) {
+            readLock(stripe.lock);
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = stripe.backingReplicaMetaTable.get(backendId);
+                if (replicaMetaWithBackend == null) {
+                    continue;
+                }
                 // traverse replicas in meta with this backend
-                for (Map.Entry<Long, Replica> entry : replicaMetaWithBackend.entrySet()) {
-                    long tabletId = entry.getKey();
-                    Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-                    TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
+                for (LongObjectMap.PrimitiveEntry<Replica> entry : replicaMetaWithBackend.entries()) {
+                    long tabletId = entry.key();
+                    TabletMeta tabletMeta = stripe.tabletMetaMap.get(tabletId);
+                    Preconditions.checkState(tabletMeta != null);
 
                     if (backendTablets.containsKey(tabletId)) {
                         TTablet backendTablet = backendTablets.get(tabletId);
-                        Replica replica = entry.getValue();
+                        Replica replica = entry.value();
                         for (TTabletInfo backendTabletInfo : backendTablet.getTablet_infos()) {
                             if (tabletMeta.containsSchemaHash(backendTabletInfo.getSchema_hash())) {
                                 foundTabletsWithValidSchema.add(tabletId);
@@ -244,9 +300,9 @@ public class TabletInvertedIndex {
                         tabletDeleteFromMeta.put(tabletMeta.getDbId(), tabletId);
                     }
                 } // end for replicaMetaWithBackend
+            } finally {
+                readUnlock(stripe.lock);
             }
-        } finally {
-            readUnlock();
         }
 
         long end = System.currentTimeMillis();
@@ -258,34 +314,33 @@ public class TabletInvertedIndex {
     }
 
     public Long getTabletIdByReplica(long replicaId) {
-        readLock();
+        ReplicaStripe stripe = replicaStripe(replicaId);
+        readLock(stripe.lock);
         try {
-            return replicaToTabletMap.get(replicaId);
+            long tabletId = stripe.replicaToTabletMap.get(replicaId);
+            return tabletId == NOT_EXIST_VALUE ? null : tabletId;
         } finally {
-            readUnlock();
+            readUnlock(stripe.lock);
         }
     }
 
     public TabletMeta getTabletMeta(long tabletId) {
-        readLock();
+        TabletStripe stripe = tabletStripe(tabletId);
+        readLock(stripe.lock);
         try {
-            return tabletMetaMap.get(tabletId);
+            return stripe.tabletMetaMap.get(tabletId);
         } finally {
-            readUnlock();
+            readUnlock(stripe.lock);
         }
     }
 
     public List<TabletMeta> getTabletMetaList(List<Long> tabletIdList) {
         List<TabletMeta> tabletMetaList = new ArrayList<>(tabletIdList.size());
-        readLock();
-        try {
-            for (Long tabletId : tabletIdList) {
-                tabletMetaList.add(tabletMetaMap.getOrDefault(tabletId, NOT_EXIST_TABLET_META));
-            }
-            return tabletMetaList;
-        } finally {
-            readUnlock();
+        for (Long tabletId : tabletIdList) {
+            TabletMeta tabletMeta = getTabletMeta(tabletId);
+            tabletMetaList.add(tabletMeta == null ? NOT_EXIST_TABLET_META : tabletMeta);
         }
+        return tabletMetaList;
     }
 
     private boolean needSync(Replica replicaInFe, TTabletInfo backendTabletInfo) {
@@ -370,111 +425,218 @@ public class TabletInvertedIndex {
         if (Catalog.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        TabletStripe stripe = tabletStripe(tabletId);
+        writeLock(stripe.lock);
         try {
-            if (tabletMetaMap.containsKey(tabletId)) {
+            if (stripe.tabletMetaMap.containsKey(tabletId)) {
                 return;
             }
-            tabletMetaMap.put(tabletId, tabletMeta);
+            stripe.tabletMetaMap.put(tabletId, tabletMeta);
+        } finally {
+            writeUnlock(stripe.lock);
+        }
+
+        writeLock(tabletMetaTableLock);
+        try {
             if (!tabletMetaTable.contains(tabletMeta.getPartitionId(), tabletMeta.getIndexId())) {
                 tabletMetaTable.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), tabletMeta);
                 LOG.debug("add tablet meta: {}", tabletId);
             }
-
-            LOG.debug("add tablet: {}", tabletId);
         } finally {
-            writeUnlock();
+            writeUnlock(tabletMetaTableLock);
         }
+
+        LOG.debug("add tablet: {}", tabletId);
     }
 
+    /*
+     * The tablet and the replica ids of it are removed under the locks of their own stripes one after another,
+     * not atomically. A reader may see the tablet gone while its replica ids are still mapped, callers looking up
+     * a tablet by replica id must handle the tablet being absent.
+     */
     public void deleteTablet(long tabletId) {
         if (Catalog.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        TabletStripe stripe = tabletStripe(tabletId);
+        Replica[] replicas;
+        TabletMeta tabletMeta;
+        writeLock(stripe.lock);
         try {
-            Map<Long, Replica> replicas = replicaMetaTable.rowMap().remove(tabletId);
+            replicas = stripe.replicaMetaTable.remove(tabletId);
             if (replicas != null) {
-                for (Replica replica : replicas.values()) {
-                    replicaToTabletMap.remove(replica.getId());
+                for (Replica replica : replicas) {
+                    removeBackingReplica(stripe, replica.getBackendId(), tabletId);
                 }
+            }
+            tabletMeta = stripe.tabletMetaMap.remove(tabletId);
+        } finally {
+            writeUnlock(stripe.lock);
+        }
 
-                for (long backendId : replicas.keySet()) {
-                    backingReplicaMetaTable.remove(backendId, tabletId);
-                }
+        if (replicas != null) {
+            for (Replica replica : replicas) {
+                removeReplicaToTablet(replica.getId());
             }
-            TabletMeta tabletMeta = tabletMetaMap.remove(tabletId);
-            if (tabletMeta != null) {
+        }
+        if (tabletMeta != null) {
+            writeLock(tabletMetaTableLock);
+            try {
                 tabletMetaTable.remove(tabletMeta.getPartitionId(), tabletMeta.getIndexId());
-                LOG.debug("delete tablet meta: {}", tabletId);
+            } finally {
+                writeUnlock(tabletMetaTableLock);
             }
-
-            LOG.debug("delete tablet: {}", tabletId);
-        } finally {
-            writeUnlock();
+            LOG.debug("delete tablet meta: {}", tabletId);
         }
+
+        LOG.debug("delete tablet: {}", tabletId);
     }
 
     public void addReplica(long tabletId, Replica replica) {
         if (Catalog.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        TabletStripe stripe = tabletStripe(tabletId);
+        writeLock(stripe.lock);
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            replicaMetaTable.put(tabletId, replica.getBackendId(), replica);
-            replicaToTabletMap.put(replica.getId(), tabletId);
-            backingReplicaMetaTable.put(replica.getBackendId(), tabletId, replica);
-            LOG.debug("add replica {} of tablet {} in backend {}",
-                    replica.getId(), tabletId, replica.getBackendId());
+            Preconditions.checkState(stripe.tabletMetaMap.containsKey(tabletId));
+            Replica[] replicas = stripe.replicaMetaTable.get(tabletId);
+            if (replicas == null) {
+                replicas = EMPTY_REPLICAS;
+            }
+            int idx = indexOfBackend(replicas, replica.getBackendId());
+            if (idx >= 0) {
+                // replace the replica of the same backend
+                replicas = replicas.clone();
+                replicas[idx] = replica;
+            } else {
+                replicas = Arrays.copyOf(replicas, replicas.length + 1);
+                replicas[replicas.length - 1] = replica;
+            }
+            stripe.replicaMetaTable.put(tabletId, replicas);
+
+            LongObjectHashMap<Replica> backendReplicas = stripe.backingReplicaMetaTable.get(replica.getBackendId());
+            if (backendReplicas == null) {
+                backendReplicas = new LongObjectHashMap<>();
+                stripe.backingReplicaMetaTable.put(replica.getBackendId(), backendReplicas);
+            }
+            backendReplicas.put(tabletId, replica);
         } finally {
-            writeUnlock();
+            writeUnlock(stripe.lock);
         }
+
+        ReplicaStripe replicaStripe = replicaStripe(replica.getId());
+        writeLock(replicaStripe.lock);
+        try {
+            replicaStripe.replicaToTabletMap.put(replica.getId(), tabletId);
+        } finally {
+            writeUnlock(replicaStripe.lock);
+        }
+        LOG.debug("add replica {} of tablet {} in backend {}",
+                replica.getId(), tabletId, replica.getBackendId());
     }
 
+    /*
+     * Like deleteTablet, the replica is removed from the tablet stripe and the replica stripe one after another,
+     * not atomically.
+     */
     public void deleteReplica(long tabletId, long backendId) {
         if (Catalog.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        TabletStripe stripe = tabletStripe(tabletId);
+        Replica replica = null;
+        writeLock(stripe.lock);
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            if (replicaMetaTable.containsRow(tabletId)) {
-                Replica replica = replicaMetaTable.remove(tabletId, backendId);
-                replicaToTabletMap.remove(replica.getId());
-                replicaMetaTable.remove(tabletId, backendId);
-                backingReplicaMetaTable.remove(backendId, tabletId);
-                LOG.debug("delete replica {} of tablet {} in backend {}",
-                        replica.getId(), tabletId, backendId);
+            Preconditions.checkState(stripe.tabletMetaMap.containsKey(tabletId));
+            Replica[] replicas = stripe.replicaMetaTable.get(tabletId);
+            if (replicas != null) {
+                int idx = indexOfBackend(replicas, backendId);
+                if (idx >= 0) {
+                    replica = replicas[idx];
+                    if (replicas.length == 1) {
+                        stripe.replicaMetaTable.remove(tabletId);
+                    } else {
+                        Replica[] newReplicas = new Replica[replicas.length - 1];
+                        System.arraycopy(replicas, 0, newReplicas, 0, idx);
+                        System.arraycopy(replicas, idx + 1, newReplicas, idx, replicas.length - idx - 1);
+                        stripe.replicaMetaTable.put(tabletId, newReplicas);
+                    }
+                    removeBackingReplica(stripe, backendId, tabletId);
+                }
             } else {
                 // this may happen when fe restart after tablet is empty(bug cause)
                 // add log instead of assertion to observe
                 LOG.error("tablet[{}] contains no replica in inverted index", tabletId);
             }
         } finally {
-            writeUnlock();
+            writeUnlock(stripe.lock);
+        }
+
+        if (replica != null) {
+            removeReplicaToTablet(replica.getId());
+            LOG.debug("delete replica {} of tablet {} in backend {}",
+                    replica.getId(), tabletId, backendId);
         }
     }
-    
+
+    // must hold the write lock of stripe
+    private void removeBackingReplica(TabletStripe stripe, long backendId, long tabletId) {
+        LongObjectHashMap<Replica> backendReplicas = stripe.backingReplicaMetaTable.get(backendId);
+        if (backendReplicas != null) {
+            backendReplicas.remove(tabletId);
+            if (backendReplicas.isEmpty()) {
+                stripe.backingReplicaMetaTable.remove(backendId);
+            }
+        }
+    }
+
+    private void removeReplicaToTablet(long replicaId) {
+        ReplicaStripe replicaStripe = replicaStripe(replicaId);
+        writeLock(replicaStripe.lock);
+        try {
+            replicaStripe.replicaToTabletMap.remove(replicaId);
+        } finally {
+            writeUnlock(replicaStripe.lock);
+        }
+    }
+
+    private static int indexOfBackend(Replica[] replicas, long backendId) {
+        for (int i = 0; i < replicas.length; i++) {
+            if (replicas[i].getBackendId() == backendId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     public Replica getReplica(long tabletId, long backendId) {
-        readLock();
+        TabletStripe stripe = tabletStripe(tabletId);
+        readLock(stripe.lock);
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId), tabletId);
-            return replicaMetaTable.get(tabletId, backendId);
+            Preconditions.checkState(stripe.tabletMetaMap.containsKey(tabletId), tabletId);
+            Replica[] replicas = stripe.replicaMetaTable.get(tabletId);
+            if (replicas == null) {
+                return null;
+            }
+            int idx = indexOfBackend(replicas, backendId);
+            return idx >= 0 ? replicas[idx] : null;
         } finally {
-            readUnlock();
+            readUnlock(stripe.lock);
         }
     }
 
     public List<Replica> getReplicasByTabletId(long tabletId) {
-        readLock();
+        TabletStripe stripe = tabletStripe(tabletId);
+        readLock(stripe.lock);
         try {
-            if (replicaMetaTable.containsRow(tabletId)) {
-                return Lists.newArrayList(replicaMetaTable.row(tabletId).values());
+            Replica[] replicas = stripe.replicaMetaTable.get(tabletId);
+            if (replicas != null) {
+                return Lists.newArrayList(replicas);
             }
             return Lists.newArrayList();
         } finally {
-            readUnlock();
+            readUnlock(stripe.lock);
         }
     }
 
@@ -482,12 +644,12 @@ public class TabletInvertedIndex {
         if (Catalog.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        writeLock(tabletMetaTableLock);
         try {
             Preconditions.checkState(tabletMetaTable.contains(partitionId, indexId));
             tabletMetaTable.get(partitionId, indexId).setNewSchemaHash(newSchemaHash);
         } finally {
-            writeUnlock();
+            writeUnlock(tabletMetaTableLock);
         }
     }
 
@@ -495,12 +657,12 @@ public class TabletInvertedIndex {
         if (Catalog.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        writeLock(tabletMetaTableLock);
         try {
             Preconditions.checkState(tabletMetaTable.contains(partitionId, indexId));
             tabletMetaTable.get(partitionId, indexId).updateToNewSchemaHash();
         } finally {
-            writeUnlock();
+            writeUnlock(tabletMetaTableLock);
         }
     }
 
@@ -508,77 +670,91 @@ public class TabletInvertedIndex {
         if (Catalog.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        writeLock(tabletMetaTableLock);
         try {
             TabletMeta tabletMeta = tabletMetaTable.get(partitionId, indexId);
             if (tabletMeta != null) {
                 tabletMeta.deleteNewSchemaHash();
             }
         } finally {
-            writeUnlock();
+            writeUnlock(tabletMetaTableLock);
         }
     }
 
     public List<Long> getTabletIdsByBackendId(long backendId) {
         List<Long> tabletIds = Lists.newArrayList();
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                tabletIds.addAll(replicaMetaWithBackend.keySet());
+        for (TabletStripe stripe : tabletStripes) {
+            readLock(stripe.lock);
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = stripe.backingReplicaMetaTable.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    for (LongObjectMap.PrimitiveEntry<Replica> entry : replicaMetaWithBackend.entries()) {
+                        tabletIds.add(entry.key());
+                    }
+                }
+            } finally {
+                readUnlock(stripe.lock);
             }
-        } finally {
-            readUnlock();
         }
         return tabletIds;
     }
 
     public List<Long> getTabletIdsByBackendIdAndStorageMedium(long backendId, TStorageMedium storageMedium) {
         List<Long> tabletIds = Lists.newArrayList();
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                tabletIds = replicaMetaWithBackend.keySet().stream().filter(
-                        id -> tabletMetaMap.get(id).getStorageMedium() == storageMedium).collect(Collectors.toList());
+        for (TabletStripe stripe : tabletStripes) {
+            readLock(stripe.lock);
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = stripe.backingReplicaMetaTable.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    for (LongObjectMap.PrimitiveEntry<Replica> entry : replicaMetaWithBackend.entries()) {
+                        if (stripe.tabletMetaMap.get(entry.key()).getStorageMedium() == storageMedium) {
+                            tabletIds.add(entry.key());
+                        }
+                    }
+                }
+            } finally {
+                readUnlock(stripe.lock);
             }
-        } finally {
-            readUnlock();
         }
         return tabletIds;
     }
 
     public int getTabletNumByBackendId(long backendId) {
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                return replicaMetaWithBackend.size();
+        int num = 0;
+        for (TabletStripe stripe : tabletStripes) {
+            readLock(stripe.lock);
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = stripe.backingReplicaMetaTable.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    num += replicaMetaWithBackend.size();
+                }
+            } finally {
+                readUnlock(stripe.lock);
             }
-        } finally {
-            readUnlock();
         }
-        return 0;
+        return num;
     }
 
     public Map<TStorageMedium, Long> getReplicaNumByBeIdAndStorageMedium(long backendId) {
         Map<TStorageMedium, Long> replicaNumMap = Maps.newHashMap();
         long hddNum = 0;
         long ssdNum = 0;
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                for (long tabletId : replicaMetaWithBackend.keySet()) {
-                    if (tabletMetaMap.get(tabletId).getStorageMedium() == TStorageMedium.HDD) {
-                        hddNum++;
-                    } else {
-                        ssdNum++;
+        for (TabletStripe stripe : tabletStripes) {
+            readLock(stripe.lock);
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = stripe.backingReplicaMetaTable.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    for (LongObjectMap.PrimitiveEntry<Replica> entry : replicaMetaWithBackend.entries()) {
+                        if (stripe.tabletMetaMap.get(entry.key()).getStorageMedium() == TStorageMedium.HDD) {
+                            hddNum++;
+                        } else {
+                            ssdNum++;
+                        }
                     }
                 }
+            } finally {
+                readUnlock(stripe.lock);
             }
-        } finally {
-            readUnlock();
         }
         replicaNumMap.put(TStorageMedium.HDD, hddNum);
         replicaNumMap.put(TStorageMedium.SSD, ssdNum);
@@ -587,20 +763,29 @@ public class TabletInvertedIndex {
 
     // just for test
     public void clear() {
-        writeLock();
+        for (TabletStripe stripe : tabletStripes) {
+            writeLock(stripe.lock);
+            try {
+                stripe.tabletMetaMap.clear();
+                stripe.replicaMetaTable.clear();
+                stripe.backingReplicaMetaTable.clear();
+            } finally {
+                writeUnlock(stripe.lock);
+            }
+        }
+        for (ReplicaStripe stripe : replicaStripes) {
+            writeLock(stripe.lock);
+            try {
+                stripe.replicaToTabletMap.clear();
+            } finally {
+                writeUnlock(stripe.lock);
+            }
+        }
+        writeLock(tabletMetaTableLock);
         try {
-            tabletMetaMap.clear();
-            replicaToTabletMap.clear();
             tabletMetaTable.clear();
-            replicaMetaTable.clear();
-            backingReplicaMetaTable.clear();
         } finally {
-            writeUnlock();
+            writeUnlock(tabletMetaTableLock);
         }
     }
-
-    public Map<Long, Long> getReplicaToTabletMap() {
-        return replicaToTabletMap;
-    }
 }
-
@@ -30,6 +30,8 @@ import org.apache.doris.catalog.Table;
 import org.apache.doris.catalog.Table.TableType;
 import org.apache.doris.catalog.Tablet;
 import org.apache.doris.catalog.Tablet.TabletStatus;
+import org.apache.doris.catalog.TabletInvertedIndex;
+import org.apache.doris.catalog.TabletMeta;
 import org.apache.doris.clone.TabletScheduler.AddResult;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
@@ -40,12 +42,14 @@ import org.apache.doris.system.SystemInfoService;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Table.Cell;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +59,11 @@ import java.util.stream.Collectors;
 /*
  * This checker is responsible for checking all unhealthy tablets.
  * It does not responsible for any scheduler of tablet repairing or balance
+ *
+ * Most rounds only check the dirty tablets, which are marked by the events which may change the health
+ * of tablets, such as tablet report, backend liveness change and ddl. The unhealthy tablets stay dirty
+ * until they are healthy. All tablets are checked in a full check round every
+ * Config.tablet_checker_full_check_interval_second, in case that some events are missed.
  */
 public class TabletChecker extends MasterDaemon {
     private static final Logger LOG = LogManager.getLogger(TabletChecker.class);
@@ -69,6 +78,27 @@ public class TabletChecker extends MasterDaemon {
     // db id -> (tbl id -> PrioPart)
     // priority of replicas of partitions in this table will be set to VERY_HIGH if not healthy
     private com.google.common.collect.Table<Long, Long, Set<PrioPart>> prios = HashBasedTable.create();
+
+    // ids of tablets which need to be checked in next round
+    private Set<Long> dirtyTablets = Sets.newConcurrentHashSet();
+    private volatile boolean needFullCheck = true;
+    private long lastFullCheckTime = -1;
+
+    // result of checking one tablet
+    private enum CheckResult {
+        HEALTHY,
+        UNHEALTHY,
+        IN_SCHEDULER,
+        LIMIT_EXCEED
+    }
+
+    private static class CheckCounter {
+        long totalTabletNum = 0;
+        long unhealthyTabletNum = 0;
+        long addToSchedulerTabletNum = 0;
+        long tabletInScheduler = 0;
+        long tabletNotReady = 0;
+    }
     
     // represent a partition which need to be repaired preferentially
     public static class PrioPart {
@@ -139,6 +169,8 @@ public class TabletChecker extends MasterDaemon {
 
         // we also need to change the priority of tablets which are already in
         tabletScheduler.changeTabletsPriorityToVeryHigh(repairTabletInfo.dbId, repairTabletInfo.tblId, repairTabletInfo.partIds);
+        // the unhealthy tablets of these partitions may not be dirty, so check all tablets in next round
+        needFullCheck = true;
     }
 
     private void removePrios(RepairTabletInfo repairTabletInfo) {
@@ -163,7 +195,48 @@ public class TabletChecker extends MasterDaemon {
     }
 
     /*
-     * For each cycle, TabletChecker will check all OlapTable's tablet.
+     * Only the master checks tablets, and it does a full check after becoming master,
+     * so the marks on other FEs, eg, in replaying, are ignored.
+     */
+    public void markTabletDirty(long tabletId) {
+        if (!catalog.isMaster()) {
+            return;
+        }
+        dirtyTablets.add(tabletId);
+    }
+
+    public void markTabletsDirty(Collection<Long> tabletIds) {
+        if (!catalog.isMaster()) {
+            return;
+        }
+        dirtyTablets.addAll(tabletIds);
+    }
+
+    // the caller should hold the lock of db which the partition belongs to
+    public void markPartitionDirty(Partition partition) {
+        if (!catalog.isMaster()) {
+            return;
+        }
+        for (MaterializedIndex idx : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
+            for (Tablet tablet : idx.getTablets()) {
+                dirtyTablets.add(tablet.getId());
+            }
+        }
+    }
+
+    public void markBackendDirty(long backendId) {
+        if (!catalog.isMaster()) {
+            return;
+        }
+        dirtyTablets.addAll(Catalog.getCurrentInvertedIndex().getTabletIdsByBackendId(backendId));
+    }
+
+    public int getDirtyTabletNum() {
+        return dirtyTablets.size();
+    }
+
+    /*
+     * For each cycle, TabletChecker will check the dirty tablets, or all OlapTable's tablet in a full check round.
      * If a tablet is not healthy, a TabletInfo will be created and sent to TabletScheduler for repairing.
      */
     @Override
@@ -177,7 +250,16 @@ public class TabletChecker extends MasterDaemon {
             return;
         }
         
-        checkTablets();
+        long now = System.currentTimeMillis();
+        if (needFullCheck || Config.tablet_checker_full_check_interval_second <= 0
+                || now - lastFullCheckTime >= Config.tablet_checker_full_check_interval_second * 1000L) {
+            needFullCheck = false;
+            lastFullCheckTime = now;
+            checkTablets();
+            stat.counterTabletFullCheckRound.incrementAndGet();
+        } else {
+            checkDirtyTablets();
+        }
 
         removePriosIfNecessary();
 
@@ -187,11 +269,9 @@ public class TabletChecker extends MasterDaemon {
 
     private void checkTablets() {
         long start = System.currentTimeMillis();
-        long totalTabletNum = 0;
-        long unhealthyTabletNum = 0;
-        long addToSchedulerTabletNum = 0;
-        long tabletInScheduler = 0;
-        long tabletNotReady = 0;
+        CheckCounter counter = new CheckCounter();
+        // the tablets which are still dirty will be found again in this round
+        dirtyTablets.clear();
 
         List<Long> dbIds = catalog.getDbIds();
         OUT: for (Long dbId : dbIds) {
@@ -226,54 +306,20 @@ public class TabletChecker extends MasterDaemon {
                          */
                         for (MaterializedIndex idx : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
                             for (Tablet tablet : idx.getTablets()) {
-                                totalTabletNum++;
-                                
-                                if (tabletScheduler.containsTablet(tablet.getId())) {
-                                    tabletInScheduler++;
-                                    continue;
-                                }
-                                
-                                Pair<TabletStatus, TabletSchedCtx.Priority> statusWithPrio = tablet.getHealthStatusWithPriority(
-                                        infoService,
-                                        db.getClusterName(),
-                                        partition.getVisibleVersion(),
-                                        partition.getVisibleVersionHash(),
-                                        olapTbl.getPartitionInfo().getReplicationNum(partition.getId()),
-                                        aliveBeIdsInCluster);
-
-                                if (statusWithPrio.first == TabletStatus.HEALTHY) {
-                                    // Only set last status check time when status is healthy.
-                                    tablet.setLastStatusCheckTime(start);
+                                CheckResult res = checkTablet(db, olapTbl, partition, idx, tablet,
+                                        aliveBeIdsInCluster, isInPrios, start, counter);
+                                if (res == CheckResult.HEALTHY) {
                                     continue;
-                                } else if (isInPrios) {
-                                    statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
-                                    prioPartIsHealthy = false;
                                 }
-
-                                unhealthyTabletNum++;
-
-                                if (!tablet.readyToBeRepaired(statusWithPrio.second)) {
-                                    tabletNotReady++;
-                                    continue;
-                                }
-
-                                TabletSchedCtx tabletCtx = new TabletSchedCtx(
-                                        TabletSchedCtx.Type.REPAIR,
-                                        db.getClusterName(),
-                                        db.getId(), olapTbl.getId(),
-                                        partition.getId(), idx.getId(), tablet.getId(),
-                                        System.currentTimeMillis());
-                                // the tablet status will be set again when being scheduled
-                                tabletCtx.setTabletStatus(statusWithPrio.first);
-                                tabletCtx.setOrigPriority(statusWithPrio.second);
-
-                                AddResult res = tabletScheduler.addTablet(tabletCtx, false /* not force */);
-                                if (res == AddResult.LIMIT_EXCEED) {
+                                dirtyTablets.add(tablet.getId());
+                                if (res == CheckResult.LIMIT_EXCEED) {
                                     LOG.info("number of scheduling tablets in tablet scheduler"
                                             + " exceed to limit. stop tablet checker");
+                                    // the left tablets are not checked, check them in next round
+                                    needFullCheck = true;
                                     break OUT;
-                                } else if (res == AddResult.ADDED) {
-                                    addToSchedulerTabletNum++;
+                                } else if (res == CheckResult.UNHEALTHY && isInPrios) {
+                                    prioPartIsHealthy = false;
                                 }
                             }
                         } // indices
@@ -293,15 +339,163 @@ public class TabletChecker extends MasterDaemon {
             }
         } // end for dbs
 
+        finishCheck("check tablets", start, counter);
+    }
+
+    /*
+     * Only check the dirty tablets. A tablet is still dirty after being checked if it is unhealthy,
+     * so that it will be checked again until it is healthy.
+     * The dropped tablets, and tablets of partitions which are not NORMAL are removed from dirty tablets,
+     * the tablets of partitions will be marked dirty again when the alter job is finished.
+     */
+    private void checkDirtyTablets() {
+        long start = System.currentTimeMillis();
+        CheckCounter counter = new CheckCounter();
+
+        // db id -> tablet ids
+        Map<Long, List<Long>> dbToTablets = Maps.newHashMap();
+        TabletInvertedIndex invertedIndex = Catalog.getCurrentInvertedIndex();
+        Iterator<Long> iter = dirtyTablets.iterator();
+        while (iter.hasNext()) {
+            long tabletId = iter.next();
+            iter.remove();
+            TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+            if (tabletMeta == null) {
+                // tablet has been dropped
+                continue;
+            }
+            dbToTablets.computeIfAbsent(tabletMeta.getDbId(), k -> Lists.newArrayList()).add(tabletId);
+        }
+
+        boolean limitExceed = false;
+        for (Map.Entry<Long, List<Long>> entry : dbToTablets.entrySet()) {
+            if (limitExceed) {
+                // check them in next round
+                dirtyTablets.addAll(entry.getValue());
+                continue;
+            }
+            Database db = catalog.getDb(entry.getKey());
+            if (db == null) {
+                continue;
+            }
+
+            db.readLock();
+            try {
+                List<Long> aliveBeIdsInCluster = infoService.getClusterBackendIds(db.getClusterName(), true);
+                for (long tabletId : entry.getValue()) {
+                    if (limitExceed) {
+                        dirtyTablets.add(tabletId);
+                        continue;
+                    }
+                    TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+                    if (tabletMeta == null) {
+                        continue;
+                    }
+                    Table table = db.getTable(tabletMeta.getTableId());
+                    if (table == null || !table.needSchedule()) {
+                        continue;
+                    }
+                    OlapTable olapTbl = (OlapTable) table;
+                    Partition partition = olapTbl.getPartition(tabletMeta.getPartitionId());
+                    if (partition == null || partition.getState() != PartitionState.NORMAL) {
+                        continue;
+                    }
+                    MaterializedIndex idx = partition.getIndex(tabletMeta.getIndexId());
+                    if (idx == null || idx.getState() == MaterializedIndex.IndexState.SHADOW) {
+                        continue;
+                    }
+                    Tablet tablet = idx.getTablet(tabletId);
+                    if (tablet == null) {
+                        continue;
+                    }
+
+                    boolean isInPrios = isInPrios(db.getId(), olapTbl.getId(), partition.getId());
+                    CheckResult res = checkTablet(db, olapTbl, partition, idx, tablet,
+                            aliveBeIdsInCluster, isInPrios, start, counter);
+                    if (res == CheckResult.HEALTHY) {
+                        continue;
+                    }
+                    dirtyTablets.add(tabletId);
+                    if (res == CheckResult.LIMIT_EXCEED) {
+                        LOG.info("number of scheduling tablets in tablet scheduler"
+                                + " exceed to limit. stop tablet checker");
+                        limitExceed = true;
+                    }
+                }
+            } finally {
+                db.readUnlock();
+            }
+        }
+
+        finishCheck("check dirty tablets", start, counter);
+    }
+
+    /*
+     * Check the health of a tablet, and add it to tablet scheduler if it need to be repaired.
+     * The caller should hold the read lock of db.
+     */
+    private CheckResult checkTablet(Database db, OlapTable olapTbl, Partition partition, MaterializedIndex idx,
+            Tablet tablet, List<Long> aliveBeIdsInCluster, boolean isInPrios, long checkTime, CheckCounter counter) {
+        counter.totalTabletNum++;
+
+        if (tabletScheduler.containsTablet(tablet.getId())) {
+            counter.tabletInScheduler++;
+            return CheckResult.IN_SCHEDULER;
+        }
+
+        Pair<TabletStatus, TabletSchedCtx.Priority> statusWithPrio = tablet.getHealthStatusWithPriority(
+                infoService,
+                db.getClusterName(),
+                partition.getVisibleVersion(),
+                partition.getVisibleVersionHash(),
+                olapTbl.getPartitionInfo().getReplicationNum(partition.getId()),
+                aliveBeIdsInCluster);
+
+        if (statusWithPrio.first == TabletStatus.HEALTHY) {
+            // Only set last status check time when status is healthy.
+            tablet.setLastStatusCheckTime(checkTime);
+            return CheckResult.HEALTHY;
+        } else if (isInPrios) {
+            statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
+        }
+
+        counter.unhealthyTabletNum++;
+
+        if (!tablet.readyToBeRepaired(statusWithPrio.second)) {
+            counter.tabletNotReady++;
+            return CheckResult.UNHEALTHY;
+        }
+
+        TabletSchedCtx tabletCtx = new TabletSchedCtx(
+                TabletSchedCtx.Type.REPAIR,
+                db.getClusterName(),
+                db.getId(), olapTbl.getId(),
+                partition.getId(), idx.getId(), tablet.getId(),
+                System.currentTimeMillis());
+        // the tablet status will be set again when being scheduled
+        tabletCtx.setTabletStatus(statusWithPrio.first);
+        tabletCtx.setOrigPriority(statusWithPrio.second);
+
+        AddResult res = tabletScheduler.addTablet(tabletCtx, false /* not force */);
+        if (res == AddResult.LIMIT_EXCEED) {
+            return CheckResult.LIMIT_EXCEED;
+        } else if (res == AddResult.ADDED) {
+            counter.addToSchedulerTabletNum++;
+        }
+        return CheckResult.UNHEALTHY;
+    }
+
+    private void finishCheck(String action, long start, CheckCounter counter) {
         long cost = System.currentTimeMillis() - start;
 
         stat.counterTabletCheckCostMs.addAndGet(cost);
-        stat.counterTabletChecked.addAndGet(totalTabletNum);
-        stat.counterUnhealthyTabletNum.addAndGet(unhealthyTabletNum);
-        stat.counterTabletAddToBeScheduled.addAndGet(addToSchedulerTabletNum);
+        stat.counterTabletChecked.addAndGet(counter.totalTabletNum);
+        stat.counterUnhealthyTabletNum.addAndGet(counter.unhealthyTabletNum);
+        stat.counterTabletAddToBeScheduled.addAndGet(counter.addToSchedulerTabletNum);
 
-        LOG.info("finished to check tablets. unhealth/total/added/in_sched/not_ready: {}/{}/{}/{}/{}, cost: {} ms",
-                unhealthyTabletNum, totalTabletNum, addToSchedulerTabletNum, tabletInScheduler, tabletNotReady, cost);
+        LOG.info("finished to {}. unhealth/total/added/in_sched/not_ready: {}/{}/{}/{}/{}, dirty: {}, cost: {} ms",
+                action, counter.unhealthyTabletNum, counter.totalTabletNum, counter.addToSchedulerTabletNum,
+                counter.tabletInScheduler, counter.tabletNotReady, dirtyTablets.size(), cost);
     }
 
     private boolean isInPrios(long dbId, long tblId, long partId) {
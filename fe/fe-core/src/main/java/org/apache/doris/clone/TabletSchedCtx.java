@@ -257,6 +257,10 @@ public class TabletSchedCtx implements Comparable<TabletSchedCtx> {
         return failedRunningCounter;
     }
     
+    public long getLastSchedTime() {
+        return lastSchedTime;
+    }
+
     public void setLastSchedTime(long lastSchedTime) {
         this.lastSchedTime = lastSchedTime;
     }
@@ -39,7 +39,9 @@ import org.apache.doris.clone.TabletSchedCtx.Type;
 import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.Pair;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.util.MasterDaemon;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.persist.ReplicaPersistInfo;
 import org.apache.doris.system.Backend;
 import org.apache.doris.system.SystemInfoService;
@@ -67,6 +69,9 @@ import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -105,10 +110,15 @@ public class TabletScheduler extends MasterDaemon {
      * So if a tablet's id is still in allTabletIds, TabletChecker can not add tablet to TabletScheduler.
      * 
      * pendingTablets + runningTablets = allTabletIds
+     *
+     * pendingTablets are partitioned by db id, one priority queue for each worker,
+     * so that the tablets of one db are always scheduled by the same worker.
      * 
      * pendingTablets, allTabletIds, runningTablets and schedHistory are protected by 'synchronized' 
      */
-    private PriorityQueue<TabletSchedCtx> pendingTablets = new PriorityQueue<>();
+    private final int workerNum;
+    private final List<PriorityQueue<TabletSchedCtx>> pendingTablets = Lists.newArrayList();
+    private final ExecutorService workerPool;
     private Set<Long> allTabletIds = Sets.newHashSet();
     // contains all tabletCtxs which state are RUNNING
     private Map<Long, TabletSchedCtx> runningTablets = Maps.newHashMap();
@@ -144,6 +154,16 @@ public class TabletScheduler extends MasterDaemon {
         this.invertedIndex = invertedIndex;
         this.colocateTableIndex = catalog.getColocateTableIndex();
         this.stat = stat;
+        this.workerNum = Math.max(1, Config.tablet_scheduler_worker_num);
+        for (int i = 0; i < workerNum; i++) {
+            pendingTablets.add(new PriorityQueue<>());
+        }
+        this.workerPool = workerNum > 1 ? ThreadPoolManager.newDaemonFixedThreadPool(workerNum, workerNum,
+                "tablet-scheduler-worker", true) : null;
+    }
+
+    private PriorityQueue<TabletSchedCtx> getPendingQueue(long dbId) {
+        return pendingTablets.get((int) (Math.abs(dbId) % workerNum));
     }
 
     public TabletSchedulerStat getStat() {
@@ -214,13 +234,13 @@ public class TabletScheduler extends MasterDaemon {
         // and number of scheduling tablets exceed the limit,
         // refuse to add.
         if (tablet.getType() != TabletSchedCtx.Type.BALANCE && !force
-                && (pendingTablets.size() > Config.max_scheduling_tablets
+                && (getPendingNum() > Config.max_scheduling_tablets
                 || runningTablets.size() > Config.max_scheduling_tablets)) {
             return AddResult.LIMIT_EXCEED;
         }
 
         allTabletIds.add(tablet.getTabletId());
-        pendingTablets.offer(tablet);
+        getPendingQueue(tablet.getDbId()).offer(tablet);
         return AddResult.ADDED;
     }
 
@@ -232,15 +252,16 @@ public class TabletScheduler extends MasterDaemon {
      * Iterate current tablets, change their priority to VERY_HIGH if necessary.
      */
     public synchronized void changeTabletsPriorityToVeryHigh(long dbId, long tblId, List<Long> partitionIds) {
-        PriorityQueue<TabletSchedCtx> newPendingTablets = new PriorityQueue<>();
-        for (TabletSchedCtx tabletCtx : pendingTablets) {
+        PriorityQueue<TabletSchedCtx> pendingQueue = getPendingQueue(dbId);
+        List<TabletSchedCtx> tabletCtxs = Lists.newArrayList(pendingQueue);
+        pendingQueue.clear();
+        for (TabletSchedCtx tabletCtx : tabletCtxs) {
             if (tabletCtx.getDbId() == dbId && tabletCtx.getTblId() == tblId
                     && partitionIds.contains(tabletCtx.getPartitionId())) {
                 tabletCtx.setOrigPriority(Priority.VERY_HIGH);
             }
-            newPendingTablets.add(tabletCtx);
+            pendingQueue.add(tabletCtx);
         }
-        pendingTablets = newPendingTablets;
     }
 
     /**
@@ -316,26 +337,59 @@ public class TabletScheduler extends MasterDaemon {
      * adjust priorities of all tablet infos
      */
     private synchronized void adjustPriorities() {
-        int size = pendingTablets.size();
+        int size = getPendingNum();
         int changedNum = 0;
-        TabletSchedCtx tabletCtx;
-        for (int i = 0; i < size; i++) {
-            tabletCtx = pendingTablets.poll();
-            if (tabletCtx == null) {
-                break;
+        for (PriorityQueue<TabletSchedCtx> pendingQueue : pendingTablets) {
+            List<TabletSchedCtx> tabletCtxs = Lists.newArrayList(pendingQueue);
+            pendingQueue.clear();
+            for (TabletSchedCtx tabletCtx : tabletCtxs) {
+                if (tabletCtx.adjustPriority(stat)) {
+                    changedNum++;
+                }
+                pendingQueue.add(tabletCtx);
             }
+        }
+
+        LOG.info("adjust priority for all tablets. changed: {}, total: {}", changedNum, size);
+    }
 
-            if (tabletCtx.adjustPriority(stat)) {
-                changedNum++;
+    /**
+     * get at most BATCH_NUM tablets from queues, and schedule the tablets of each queue by its worker.
+     * The round finishes after all the workers finish.
+     */
+    private void schedulePendingTablets() {
+        long start = System.currentTimeMillis();
+        List<List<TabletSchedCtx>> batches = getNextTabletCtxBatch();
+        List<Future<?>> futures = Lists.newArrayList();
+        List<TabletSchedCtx> localBatch = null;
+        for (List<TabletSchedCtx> batch : batches) {
+            if (batch.isEmpty()) {
+                continue;
+            }
+            if (localBatch == null) {
+                // the first batch is scheduled by the daemon thread itself
+                localBatch = batch;
+            } else {
+                futures.add(workerPool.submit(() -> scheduleTabletBatch(batch)));
+            }
+        }
+        if (localBatch != null) {
+            scheduleTabletBatch(localBatch);
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException | ExecutionException e) {
+                LOG.warn("failed to wait for tablet scheduler worker", e);
             }
-            pendingTablets.add(tabletCtx);
         }
 
-        LOG.info("adjust priority for all tablets. changed: {}, total: {}", changedNum, size);
+        long cost = System.currentTimeMillis() - start;
+        stat.counterTabletScheduleCostMs.addAndGet(cost);
     }
 
     /**
-     * get at most BATCH_NUM tablets from queue, and try to schedule them.
+     * try to schedule a batch of tablets of the same queue.
      * After handle, the tablet info should be
      * 1. in runningTablets with state RUNNING, if being scheduled success.
      * 2. or in schedHistory with state CANCELLING, if some unrecoverable error happens.
@@ -343,9 +397,7 @@ public class TabletScheduler extends MasterDaemon {
      * 
      * if in schedHistory, it should be removed from allTabletIds.
      */
-    private void schedulePendingTablets() {
-        long start = System.currentTimeMillis();
-        List<TabletSchedCtx> currentBatch = getNextTabletCtxBatch();
+    private void scheduleTabletBatch(List<TabletSchedCtx> currentBatch) {
         LOG.debug("get {} tablets to schedule", currentBatch.size());
 
         AgentBatchTask batchTask = new AgentBatchTask();
@@ -415,9 +467,6 @@ public class TabletScheduler extends MasterDaemon {
 
         // send task immediately
         AgentTaskExecutor.submit(batchTask);
-
-        long cost = System.currentTimeMillis() - start;
-        stat.counterTabletScheduleCostMs.addAndGet(cost);
     }
 
     private synchronized void addToRunningTablets(TabletSchedCtx tabletCtx) {
@@ -439,6 +488,13 @@ public class TabletScheduler extends MasterDaemon {
     private void scheduleTablet(TabletSchedCtx tabletCtx, AgentBatchTask batchTask) throws SchedException {
         LOG.debug("schedule tablet: {}, type: {}, status: {}", tabletCtx.getTabletId(), tabletCtx.getType(), tabletCtx.getTabletStatus());
         long currentTime = System.currentTimeMillis();
+        long waitMs = currentTime - (tabletCtx.getLastSchedTime() == 0
+                ? tabletCtx.getCreateTime() : tabletCtx.getLastSchedTime());
+        stat.counterTabletScheduleWaitMs.addAndGet(waitMs);
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_TABLET_SCHEDULED.increase(1L);
+            MetricRepo.HISTO_TABLET_SCHEDULE_WAIT_LATENCY.update(waitMs);
+        }
         tabletCtx.setLastSchedTime(currentTime);
         tabletCtx.setLastVisitedTime(currentTime);
         stat.counterTabletScheduled.incrementAndGet();
@@ -1136,20 +1192,28 @@ public class TabletScheduler extends MasterDaemon {
     }
 
 
-    // get next batch of tablets from queue.
-    private synchronized List<TabletSchedCtx> getNextTabletCtxBatch() {
-        List<TabletSchedCtx> list = Lists.newArrayList();
+    // get next batch of tablets from queues, one list for each queue.
+    // the batch size is limited by the available slots, and is shared by the queues in turn.
+    private synchronized List<List<TabletSchedCtx>> getNextTabletCtxBatch() {
+        List<List<TabletSchedCtx>> batches = Lists.newArrayListWithCapacity(workerNum);
+        for (int i = 0; i < workerNum; i++) {
+            batches.add(Lists.newArrayList());
+        }
         int count = Math.max(MIN_BATCH_NUM, getCurrentAvailableSlotNum());
-        while (count > 0) {
-            TabletSchedCtx tablet = pendingTablets.poll();
-            if (tablet == null) {
-                // no more tablets
-                break;
+        boolean hasMore = true;
+        while (count > 0 && hasMore) {
+            hasMore = false;
+            for (int i = 0; i < workerNum && count > 0; i++) {
+                TabletSchedCtx tablet = pendingTablets.get(i).poll();
+                if (tablet == null) {
+                    continue;
+                }
+                batches.get(i).add(tablet);
+                hasMore = true;
+                count--;
             }
-            list.add(tablet);
-            count--;
         }
-        return list;
+        return batches;
     }
 
     private int getCurrentAvailableSlotNum() {
@@ -1273,7 +1337,11 @@ public class TabletScheduler extends MasterDaemon {
     }
 
     public List<List<String>> getPendingTabletsInfo(int limit) {
-        List<TabletSchedCtx> tabletCtxs = getCopiedTablets(pendingTablets, limit);
+        List<TabletSchedCtx> tabletCtxs;
+        synchronized (this) {
+            tabletCtxs = getCopiedTablets(pendingTablets.stream().flatMap(Collection::stream)
+                    .collect(Collectors.toList()), limit);
+        }
         return collectTabletCtx(tabletCtxs);
     }
 
@@ -1304,7 +1372,11 @@ public class TabletScheduler extends MasterDaemon {
     }
 
     public synchronized int getPendingNum() {
-        return pendingTablets.size();
+        int num = 0;
+        for (PriorityQueue<TabletSchedCtx> pendingQueue : pendingTablets) {
+            num += pendingQueue.size();
+        }
+        return num;
     }
 
     public synchronized int getRunningNum() {
@@ -1320,7 +1392,7 @@ public class TabletScheduler extends MasterDaemon {
     }
 
     public synchronized long getBalanceTabletsNumber() {
-        return pendingTablets.stream().filter(t -> t.getType() == Type.BALANCE).count()
+        return pendingTablets.stream().flatMap(Collection::stream).filter(t -> t.getType() == Type.BALANCE).count()
                 + runningTablets.values().stream().filter(t -> t.getType() == Type.BALANCE).count();
     }
 
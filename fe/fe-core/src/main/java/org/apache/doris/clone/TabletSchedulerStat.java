@@ -46,6 +46,8 @@ public class TabletSchedulerStat {
      */
     @StatField("num of tablet check round")
     public AtomicLong counterTabletCheckRound = new AtomicLong(0L);
+    @StatField("num of tablet full check round")
+    public AtomicLong counterTabletFullCheckRound = new AtomicLong(0L);
     @StatField("cost of tablet check(ms)")
     public AtomicLong counterTabletCheckCostMs = new AtomicLong(0L);
     @StatField("num of tablet checked in tablet checker")
@@ -70,6 +72,8 @@ public class TabletSchedulerStat {
     public AtomicLong counterTabletScheduledFailed = new AtomicLong(0L);
     @StatField("num of tablet being scheduled discard")
     public AtomicLong counterTabletScheduledDiscard = new AtomicLong(0L);
+    @StatField("wait time of tablet before being scheduled(ms)")
+    public AtomicLong counterTabletScheduleWaitMs = new AtomicLong(0L);
 
     /*
      * Tablet priority related
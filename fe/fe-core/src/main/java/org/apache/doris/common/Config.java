@@ -173,6 +173,38 @@ public class Config extends ConfigBase {
      */
     @ConfField(mutable = true, masterOnly = true)
     public static int edit_log_roll_num = 50000;
+
+    /**
+     * Concurrent edit log writes are grouped and written to bdbje in one transaction.
+     * This is the max number of journals in one group.
+     * Set to 1 to write journals one by one.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int edit_log_group_commit_max_num = 1000;
+
+    /**
+     * Concurrent commits of load transactions in one database are grouped, which are committed
+     * with one database lock acquisition and one edit log.
+     * This is the max number of transactions in one group.
+     * Set to 1 to commit transactions one by one.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int txn_group_commit_max_num = 64;
+
+    /**
+     * If set to true, image is saved in sections with an index footer, so that sections can be
+     * saved and loaded concurrently and verified separately. Images of both formats can always be loaded by
+     * this version, but the sectioned image can not be loaded by FE of old versions. So upgrade Master FE after
+     * all other FEs, and set it to false and wait for a new image before downgrading.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_sectioned_image = true;
+
+    /**
+     * The number of threads to save and load sections of image concurrently.
+     */
+    @ConfField(mutable = true)
+    public static int image_parallel_num = 4;
       
     /**
      * Non-master FE will stop offering service
@@ -335,11 +367,25 @@ public class Config extends ConfigBase {
      */
     @ConfField public static int mysql_service_io_threads_num = 4;
 
+    /**
+     * num of thread to handle task in mysql normally.
+     * Connections do not occupy task threads when they are idle, so this only limits the concurrent requests.
+     * Requests beyond this wait in the task queue.
+     */
+    @ConfField public static int mysql_service_task_core_threads_num = 1024;
+
     /**
      * max num of thread to handle task in mysql.
+     * More than mysql_service_task_core_threads_num threads are only created when the task queue is full.
      */
     @ConfField public static int max_mysql_service_task_threads_num = 4096;
 
+    /**
+     * max num of requests waiting for the mysql task threads.
+     * Requests beyond this are rejected with an error, instead of making the client waiting for long.
+     */
+    @ConfField public static int mysql_service_task_queue_size = 4096;
+
     /**
      * Cluster name will be shown as the title of web page
      */
@@ -880,6 +926,14 @@ public class Config extends ConfigBase {
      */
     @ConfField(mutable = true)
     public static boolean enable_local_replica_selection = false;
+
+    /**
+     * If set to true, a query looking up one row of a unique key table by all the key columns
+     * is planned as a single fragment on the replica of the only selected tablet,
+     * which returns the result directly without exchange.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_point_query_fast_path = true;
     
     /**
      * The timeout of executing async remote fragment.
@@ -931,6 +985,15 @@ public class Config extends ConfigBase {
      */
     @ConfField
     public static long es_state_sync_interval_second = 10;
+
+    /**
+     * If an es table has fewer shards than alive backends, each shard is split into at most
+     * this number of sliced scrolls, so that the shards can be scanned by more backends concurrently.
+     * Only works if the table property `slices_per_shard` is not set.
+     * 1 means disable slicing.
+     */
+    @ConfField(mutable = true)
+    public static int es_max_slices_per_shard = 4;
     
     /**
      * the factor of delay time before deciding to repair tablet.
@@ -941,12 +1004,28 @@ public class Config extends ConfigBase {
      */
     @ConfField(mutable = true, masterOnly = true)
     public static long tablet_repair_delay_factor_second = 60;
+
+    /**
+     * the interval of checking all tablets in tablet checker.
+     * Between two full check rounds, tablet checker only checks the tablets which are marked dirty by
+     * tablet report, backend liveness change and ddl.
+     * If set to 0, all tablets are checked in every round.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long tablet_checker_full_check_interval_second = 600;
     
     /**
      * the default slot number per path in tablet scheduler
      * TODO(cmy): remove this config and dynamically adjust it by clone task statistic
      */
     @ConfField public static int schedule_slot_num_per_path = 2;
+
+    /**
+     * the number of threads to schedule the pending tablets in tablet scheduler concurrently.
+     * Pending tablets are partitioned by database, and the tablets of one database are always scheduled by
+     * the same thread, because scheduling a tablet holds the write lock of its database.
+     */
+    @ConfField public static int tablet_scheduler_worker_num = 4;
     
     /**
      * Deprecated after 0.10
@@ -990,6 +1069,14 @@ public class Config extends ConfigBase {
     //      10000 replicas: 200ms
     @ConfField(mutable = true, masterOnly = true)
     public static int report_queue_size = 100;
+
+    /**
+     * Number of threads to handle the reports of backends.
+     * Reports of one backend are always handled by the same thread, and only the latest report of each
+     * type is kept in queue, so reports of different backends can be handled in parallel.
+     */
+    @ConfField(masterOnly = true)
+    public static int report_handler_thread_num = 4;
     
     /**
      * If set to true, metric collector will be run as a daemon timer to collect metrics at fix interval
@@ -1201,6 +1288,34 @@ public class Config extends ConfigBase {
      */
     @ConfField(mutable = true, masterOnly = false)
     public static int cache_result_max_row_count = 3000;
+
+    /**
+     * Set the maximum data size in bytes of the result that can be cached
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static long cache_result_max_data_size = 31457280; // 30MB
+
+    /**
+     * The max number of prepared statement templates shared by all connections.
+     * A template is the parsed statement of a prepared sql, reused by all connections preparing the same sql.
+     */
+    @ConfField
+    public static int prepared_stmt_template_cache_size = 1024;
+
+    /**
+     * The max number of prepared statements of one connection.
+     * Preparing more statements fails until some of them are closed.
+     */
+    @ConfField(mutable = true)
+    public static int max_prepared_stmt_count = 1024;
+
+    /**
+     * The max estimated memory in bytes used by the cached parsed select statements in parse cache,
+     * which is estimated by the length of the normalized sql and the number of literals replaced by placeholders.
+     * Set to 0 to disable the cache.
+     */
+    @ConfField
+    public static long stmt_parse_cache_capacity = 64 * 1024 * 1024;
     
     /**
      * Used to limit element num of InPredicate in delete statement.
@@ -267,8 +267,10 @@ public class BrokerUtil {
             writer.open();
             ByteBuffer byteBuffer = ByteBuffer.wrap(data);
             writer.write(byteBuffer, data.length);
-        } finally {
+            // the written data may be flushed by broker when closing, so the error of close is reported
             writer.close();
+        } finally {
+            writer.closeQuietly();
         }
     }
 
@@ -299,13 +301,14 @@ public class BrokerUtil {
                 writer.write(byteBuffer, readSize);
                 byteBuffer.clear();
             }
+            writer.close();
         } catch (IOException e) {
             String failMsg = "Read file exception. filePath=" + srcFilePath;
             LOG.warn(failMsg, e);
             throw new UserException(failMsg);
         } finally {
             // close broker file writer and local file input stream
-            writer.close();
+            writer.closeQuietly();
             try {
                 if (channel != null) {
                     channel.close();
@@ -523,34 +526,64 @@ public class BrokerUtil {
             }
         }
 
-        public void close() {
+        /**
+         * Close the broker writer and return the client, do nothing if it is closed already.
+         * The data written before may be flushed by broker when closing,
+         * so the file is incomplete if it fails.
+         *
+         * @throws UserException if broker failed to close the writer
+         */
+        public void close() throws UserException {
+            if (client == null) {
+                return;
+            }
             // close broker writer
             failed = true;
-            TBrokerOperationStatus tOperationStatus = null;
-            if (fd != null) {
-                TBrokerCloseWriterRequest tCloseWriterRequest = new TBrokerCloseWriterRequest(
-                        TBrokerVersion.VERSION_ONE, fd);
-                try {
-                    tOperationStatus = client.closeWriter(tCloseWriterRequest);
-                } catch (TException e) {
-                    reopenClient(client);
+            String errMsg = null;
+            try {
+                if (fd != null) {
+                    TBrokerOperationStatus tOperationStatus = null;
+                    TBrokerCloseWriterRequest tCloseWriterRequest = new TBrokerCloseWriterRequest(
+                            TBrokerVersion.VERSION_ONE, fd);
                     try {
                         tOperationStatus = client.closeWriter(tCloseWriterRequest);
-                    } catch (TException ex) {
-                        LOG.warn("Broker close writer failed. filePath={}, address={}", brokerFilePath, address, ex);
+                    } catch (TException e) {
+                        reopenClient(client);
+                        try {
+                            tOperationStatus = client.closeWriter(tCloseWriterRequest);
+                        } catch (TException ex) {
+                            LOG.warn("Broker close writer failed. filePath={}, address={}",
+                                    brokerFilePath, address, ex);
+                            errMsg = ex.getMessage();
+                        }
+                    }
+                    if (tOperationStatus != null
+                            && tOperationStatus.getStatusCode() == TBrokerOperationStatusCode.OK) {
+                        failed = false;
+                    } else if (tOperationStatus != null) {
+                        errMsg = tOperationStatus.getMessage();
                     }
                 }
-                if (tOperationStatus == null || tOperationStatus.getStatusCode() != TBrokerOperationStatusCode.OK) {
-                    LOG.warn("Broker close writer failed. filePath={}, address={}, error={}", brokerFilePath,
-                             address, tOperationStatus.getMessage());
-                } else {
-                    failed = false;
-                }
+            } finally {
+                // return client
+                returnClient(client, address, failed);
+                client = null;
+                fd = null;
+                isReady = false;
             }
+            if (failed) {
+                throw new UserException("Broker close writer failed. filePath=" + brokerFilePath
+                        + ", broker=" + address + ", msg=" + errMsg);
+            }
+        }
 
-            // return client
-            returnClient(client, address, failed);
-            isReady = false;
+        // close the writer when the writing has failed, the error of close is ignored
+        public void closeQuietly() {
+            try {
+                close();
+            } catch (UserException e) {
+                LOG.warn("Broker close writer failed. filePath={}, address={}", brokerFilePath, address, e);
+            }
         }
 
     }
@@ -0,0 +1,186 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash map from primitive long to primitive long, with linear probing.
+ * It avoids boxing both key and value, which costs a lot of heap when there are millions of entries.
+ * This class is not thread safe.
+ */
+public class LongLongHashMap {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final long missingValue;
+
+    // key 0 marks a free slot, so entry of key 0 is kept separately
+    private long[] keys;
+    private long[] values;
+    private boolean hasZeroKey;
+    private long zeroValue;
+    private int size;
+    private int mask;
+    private int maxSize;
+
+    /**
+     * @param missingValue the value returned by get() and remove() if the key does not exist
+     */
+    public LongLongHashMap(long missingValue) {
+        this(DEFAULT_CAPACITY, missingValue);
+    }
+
+    public LongLongHashMap(int expectedSize, long missingValue) {
+        this.missingValue = missingValue;
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return keys[indexOf(key)] == key;
+    }
+
+    public long get(long key) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : missingValue;
+        }
+        int idx = indexOf(key);
+        return keys[idx] == key ? values[idx] : missingValue;
+    }
+
+    /**
+     * @return the previous value of the key, or missingValue if there was no entry of the key
+     */
+    public long put(long key, long value) {
+        if (key == 0) {
+            long prev = hasZeroKey ? zeroValue : missingValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return prev;
+        }
+        int idx = indexOf(key);
+        if (keys[idx] == key) {
+            long prev = values[idx];
+            values[idx] = value;
+            return prev;
+        }
+        keys[idx] = key;
+        values[idx] = value;
+        if (++size > maxSize) {
+            rehash(keys.length << 1);
+        }
+        return missingValue;
+    }
+
+    /**
+     * @return the removed value, or missingValue if there was no entry of the key
+     */
+    public long remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return missingValue;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        int idx = indexOf(key);
+        if (keys[idx] != key) {
+            return missingValue;
+        }
+        long prev = values[idx];
+        size--;
+        // shift back the following entries of the probe sequence, so no tombstone is needed
+        int gap = idx;
+        int cur = (gap + 1) & mask;
+        while (keys[cur] != 0) {
+            int home = hash(keys[cur]) & mask;
+            if (((cur - home) & mask) >= ((cur - gap) & mask)) {
+                keys[gap] = keys[cur];
+                values[gap] = values[cur];
+                gap = cur;
+            }
+            cur = (cur + 1) & mask;
+        }
+        keys[gap] = 0;
+        return prev;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    // the slot of the key, or the free slot to put the key in
+    private int indexOf(long key) {
+        int idx = hash(key) & mask;
+        while (keys[idx] != 0 && keys[idx] != key) {
+            idx = (idx + 1) & mask;
+        }
+        return idx;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int idx = indexOf(oldKeys[i]);
+                keys[idx] = oldKeys[i];
+                values[idx] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        maxSize = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(long key) {
+        // mix the bits, ids are usually allocated sequentially
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.doris.analysis.TableName;
 import org.apache.doris.analysis.TableRef;
 import org.apache.doris.catalog.Catalog;
 import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Replica;
 import org.apache.doris.catalog.Table;
 import org.apache.doris.cluster.ClusterNamespace;
 import org.apache.doris.common.DdlException;
@@ -47,6 +48,7 @@ import org.apache.doris.thrift.TPaloScanRange;
 import org.apache.doris.thrift.TPlanFragment;
 import org.apache.doris.thrift.TQueryOptions;
 import org.apache.doris.thrift.TQueryPlanInfo;
+import org.apache.doris.thrift.TScanRangeLocation;
 import org.apache.doris.thrift.TScanRangeLocations;
 import org.apache.doris.thrift.TTabletVersionInfo;
 import org.apache.doris.thrift.TUniqueId;
@@ -58,6 +60,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
 import org.apache.thrift.TSerializer;
 import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.map.annotate.JsonSerialize;
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -78,6 +81,9 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 public class TableQueryPlanAction extends RestBaseAction {
 
     public static final Logger LOG = LogManager.getLogger(TableQueryPlanAction.class);
+    // return the data size and row count of tablets only if it is true,
+    // because the clients of old versions fail on unknown fields
+    private static final String WITH_TABLET_STATS_KEY = "with_tablet_stats";
 
     public TableQueryPlanAction(ActionController controller) {
         super(controller);
@@ -100,6 +106,7 @@ public class TableQueryPlanAction extends RestBaseAction {
         String dbName = request.getSingleParameter(DB_KEY);
         String tableName = request.getSingleParameter(TABLE_KEY);
         String postContent = request.getContent();
+        boolean withTabletStats = "true".equalsIgnoreCase(request.getSingleParameter(WITH_TABLET_STATS_KEY));
         try {
             // may be these common validate logic should be moved to one base class
             if (Strings.isNullOrEmpty(dbName)
@@ -147,7 +154,7 @@ public class TableQueryPlanAction extends RestBaseAction {
                                                     + "is not a OlapTable");
                 }
                 // parse/analysis/plan the sql and acquire tablet distributions
-                handleQuery(ConnectContext.get(), fullDbName, tableName, sql, resultMap);
+                handleQuery(ConnectContext.get(), fullDbName, tableName, sql, withTabletStats, resultMap);
             } finally {
                 db.readUnlock();
             }
@@ -182,7 +189,7 @@ public class TableQueryPlanAction extends RestBaseAction {
      * @throws DorisHttpException
      */
     private void handleQuery(ConnectContext context, String requestDb, String requestTable, String sql,
-                             Map<String, Object> result) throws DorisHttpException {
+                             boolean withTabletStats, Map<String, Object> result) throws DorisHttpException {
         // use SE to resolve sql
         StmtExecutor stmtExecutor = new StmtExecutor(context, new OriginStatement(sql, 0), false);
         try {
@@ -258,7 +265,7 @@ public class TableQueryPlanAction extends RestBaseAction {
 
         Map<Long, TTabletVersionInfo> tablet_info = new HashMap<>();
         // acquire resolved tablet distribution
-        Map<String, Node> tabletRoutings = assemblePrunedPartitions(scanRangeLocations);
+        Map<String, Node> tabletRoutings = assemblePrunedPartitions(scanRangeLocations, withTabletStats);
         tabletRoutings.forEach((tabletId, node) -> {
             long tablet = Long.parseLong(tabletId);
             tablet_info.put(tablet, new TTabletVersionInfo(tablet, node.version, node.versionHash, node.schemaHash));
@@ -285,7 +292,8 @@ public class TableQueryPlanAction extends RestBaseAction {
      * @param scanRangeLocationsList
      * @return
      */
-    private Map<String, Node> assemblePrunedPartitions(List<TScanRangeLocations> scanRangeLocationsList) {
+    private Map<String, Node> assemblePrunedPartitions(List<TScanRangeLocations> scanRangeLocationsList,
+                                                       boolean withTabletStats) {
         Map<String, Node> result = new HashMap<>();
         for (TScanRangeLocations scanRangeLocations : scanRangeLocationsList) {
             // only process palo(doris) scan range
@@ -295,18 +303,36 @@ public class TableQueryPlanAction extends RestBaseAction {
             for (TNetworkAddress address : scanRange.hosts) {
                 tabletRouting.addRouting(address.hostname + ":" + address.port);
             }
+            // the size of tablet reported by BE, used by client to balance the scan of tablets
+            if (withTabletStats) {
+                long dataSize = 0;
+                long rowCount = 0;
+                for (TScanRangeLocation location : scanRangeLocations.locations) {
+                    Replica replica = Catalog.getCurrentInvertedIndex().getReplica(scanRange.tablet_id,
+                            location.backend_id);
+                    if (replica != null) {
+                        dataSize = Math.max(dataSize, replica.getDataSize());
+                        rowCount = Math.max(rowCount, replica.getRowCount());
+                    }
+                }
+                tabletRouting.dataSize = dataSize;
+                tabletRouting.rowCount = rowCount;
+            }
             result.put(String.valueOf(scanRange.tablet_id), tabletRouting);
         }
         return result;
     }
 
-    // helper class for json transformation
+    // helper class for json transformation, the stats fields are omitted if not requested
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     final class Node {
         // ["host1:port1", "host2:port2", "host3:port3"]
         public List<String> routings = new ArrayList<>();
         public long version;
         public long versionHash;
         public int schemaHash;
+        public Long dataSize;
+        public Long rowCount;
 
         public Node(long version, long versionHash, int schemaHash) {
             this.version = version;
@@ -18,6 +18,7 @@
 package org.apache.doris.journal.bdbje;
 
 import org.apache.doris.catalog.Catalog;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.Pair;
 import org.apache.doris.common.io.DataOutputBuffer;
 import org.apache.doris.common.io.Writable;
@@ -28,12 +29,14 @@ import org.apache.doris.journal.JournalEntity;
 import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.persist.OperationType;
 
+import com.google.common.collect.Lists;
 import com.sleepycat.bind.tuple.TupleBinding;
 import com.sleepycat.je.Database;
 import com.sleepycat.je.DatabaseEntry;
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.LockMode;
 import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.Transaction;
 import com.sleepycat.je.rep.InsufficientLogException;
 import com.sleepycat.je.rep.NetworkRestore;
 import com.sleepycat.je.rep.NetworkRestoreConfig;
@@ -71,6 +74,23 @@ public class BDBJEJournal implements Journal {
     private Database currentJournalDB;
     // the next journal's id. start from 1.
     private AtomicLong nextJournalId = new AtomicLong(1);
+
+    // journals waiting for group commit, guarded by the lock of this journal
+    private List<PendingJournal> pendingJournals = Lists.newLinkedList();
+    private boolean isCommitting = false;
+
+    private static class PendingJournal {
+        private final short op;
+        private final DatabaseEntry data;
+        private long journalId = -1;
+        private boolean done = false;
+        private boolean succeeded = false;
+
+        public PendingJournal(short op, DatabaseEntry data) {
+            this.op = op;
+            this.data = data;
+        }
+    }
     
     public BDBJEJournal(String nodeName) {
         initBDBEnv(nodeName);
@@ -104,6 +124,16 @@ public class BDBJEJournal implements Journal {
      */
     @Override
     public synchronized void rollJournal() {
+        // Wait for the group being written. The pending journals have no id yet,
+        // and no new group can be taken while holding the lock.
+        while (isCommitting) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                LOG.warn("interrupted when waiting for journal group commit", e);
+            }
+        }
+
         // Doesn't need to roll if current database contains no journals
         if (currentJournalDB.count() == 0) {
             return;
@@ -126,19 +156,19 @@ public class BDBJEJournal implements Journal {
         }
     }
 
+    /*
+     * Group commit.
+     * The journal is appended to the pending list, and the first writer which finds no commit in progress
+     * becomes the committer. It takes the pending journals, assigns continuous ids to them and writes them
+     * in one bdb transaction, then wakes up all writers of the group.
+     * Ids are assigned when the group is taken, so that a failed group of OP_TIMESTAMP leaves no hole in ids.
+     */
     @Override
-    public synchronized void write(short op, Writable writable) {
+    public void write(short op, Writable writable) {
         JournalEntity entity = new JournalEntity();
         entity.setOpCode(op);
         entity.setData(writable);
-        
-        // id is the key
-        long id = nextJournalId.getAndIncrement();
-        Long idLong = id;
-        DatabaseEntry theKey = new DatabaseEntry();
-        TupleBinding<Long> idBinding = TupleBinding.getPrimitiveBinding(Long.class);
-        idBinding.objectToEntry(idLong, theKey);
-        
+
         // entity is the value
         DataOutputBuffer buffer = new DataOutputBuffer(OUTPUT_BUFFER_INIT_SIZE);
         try {
@@ -150,45 +180,142 @@ public class BDBJEJournal implements Journal {
         if (MetricRepo.isInit) {
             MetricRepo.COUNTER_EDIT_LOG_SIZE_BYTES.increase((long) theData.getSize());
         }
-        LOG.debug("opCode = {}, journal size = {}", op, theData.getSize()); 
-        // Write the key value pair to bdb.
-        boolean writeSuccessed = false;
+        LOG.debug("opCode = {}, journal size = {}", op, theData.getSize());
+
+        PendingJournal journal = new PendingJournal(op, theData);
+        synchronized (this) {
+            pendingJournals.add(journal);
+        }
+
+        while (true) {
+            List<PendingJournal> group;
+            Database journalDB;
+            synchronized (this) {
+                while (!journal.done && isCommitting) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        LOG.warn("interrupted when waiting for journal group commit", e);
+                    }
+                }
+                if (journal.done) {
+                    break;
+                }
+                isCommitting = true;
+                group = takePendingGroup();
+                journalDB = currentJournalDB;
+            }
+
+            boolean writeSucceeded = false;
+            try {
+                writeSucceeded = commitGroup(journalDB, group);
+            } finally {
+                synchronized (this) {
+                    finishGroup(group, writeSucceeded);
+                    isCommitting = false;
+                    notifyAll();
+                }
+            }
+        }
+
+        if (!journal.succeeded) {
+            LOG.warn("master can not achieve quorum. write timestamp fail. but will not exit.");
+        }
+    }
+
+    // must be called with the lock of this journal held
+    private List<PendingJournal> takePendingGroup() {
+        int num = Math.min(pendingJournals.size(), Math.max(1, Config.edit_log_group_commit_max_num));
+        List<PendingJournal> subList = pendingJournals.subList(0, num);
+        List<PendingJournal> group = Lists.newArrayList(subList);
+        subList.clear();
+
+        long firstId = nextJournalId.getAndAdd(num);
+        for (int i = 0; i < num; i++) {
+            group.get(i).journalId = firstId + i;
+        }
+        return group;
+    }
+
+    /*
+     * Write the group of journals to bdb in one transaction, return false if failed after retry.
+     */
+    private boolean commitGroup(Database journalDB, List<PendingJournal> group) {
+        TupleBinding<Long> idBinding = TupleBinding.getPrimitiveBinding(Long.class);
+        long firstId = group.get(0).journalId;
+        long lastId = group.get(group.size() - 1).journalId;
+        long start = System.currentTimeMillis();
         for (int i = 0; i < RETRY_TIME; i++) {
+            Transaction txn = null;
             try {
-                // Parameter null means auto commit
-                if (currentJournalDB.put(null, theKey, theData) == OperationStatus.SUCCESS) {
-                    writeSuccessed = true;
-                    LOG.debug("master write journal {} finished. db name {}, current time {}",
-                              id, currentJournalDB.getDatabaseName(), System.currentTimeMillis());
-                    break;
+                txn = bdbEnvironment.getReplicatedEnvironment().beginTransaction(null, null);
+                boolean putSucceeded = true;
+                for (PendingJournal journal : group) {
+                    // id is the key
+                    DatabaseEntry theKey = new DatabaseEntry();
+                    idBinding.objectToEntry(journal.journalId, theKey);
+                    if (journalDB.put(txn, theKey, journal.data) != OperationStatus.SUCCESS) {
+                        putSucceeded = false;
+                        break;
+                    }
+                }
+                if (!putSucceeded) {
+                    txn.abort();
+                    continue;
+                }
+                txn.commit();
+                long end = System.currentTimeMillis();
+                if (MetricRepo.isInit) {
+                    MetricRepo.HISTO_EDIT_LOG_BATCH_SIZE.update(group.size());
+                    MetricRepo.HISTO_EDIT_LOG_COMMIT_LATENCY.update(end - start);
                 }
+                LOG.debug("master write journal {} to {} finished. db name {}, current time {}",
+                          firstId, lastId, journalDB.getDatabaseName(), end);
+                return true;
             } catch (DatabaseException e) {
-                LOG.error("catch an exception when writing to database. sleep and retry. journal id {}", id, e);
+                LOG.error("catch an exception when writing to database. sleep and retry. journal id {} to {}",
+                          firstId, lastId, e);
+                if (txn != null) {
+                    try {
+                        txn.abort();
+                    } catch (DatabaseException abortException) {
+                        LOG.warn("failed to abort transaction of journal {} to {}", firstId, lastId,
+                                 abortException);
+                    }
+                }
                 try {
                     Thread.sleep(5 * 1000);
                 } catch (InterruptedException e1) {
                     e1.printStackTrace();
                 }
-                continue;
             }
         }
+        return false;
+    }
 
-        if (!writeSuccessed) {
-            if (op == OperationType.OP_TIMESTAMP) {
-                /*
-                 * Do not exit if the write operation is OP_TIMESTAMP.
-                 * If all the followers exit except master, master should continue provide query service.
-                 * To prevent master exit, we should exempt OP_TIMESTAMP write
-                 */
-                nextJournalId.set(id);
-                LOG.warn("master can not achieve quorum. write timestamp fail. but will not exit.");
-                return;
+    // must be called with the lock of this journal held
+    private void finishGroup(List<PendingJournal> group, boolean writeSucceeded) {
+        if (!writeSucceeded) {
+            for (PendingJournal journal : group) {
+                if (journal.op != OperationType.OP_TIMESTAMP) {
+                    String msg = "write bdb failed. will exit. journalId: " + journal.journalId
+                            + ", bdb database Name: " + currentJournalDB.getDatabaseName();
+                    LOG.error(msg);
+                    Util.stdoutWithTime(msg);
+                    System.exit(-1);
+                }
             }
-            String msg = "write bdb failed. will exit. journalId: " + id + ", bdb database Name: " +
-                    currentJournalDB.getDatabaseName();
-            LOG.error(msg);
-            Util.stdoutWithTime(msg);
-            System.exit(-1);
+            /*
+             * Do not exit if all the write operations are OP_TIMESTAMP.
+             * If all the followers exit except master, master should continue provide query service.
+             * To prevent master exit, we should exempt OP_TIMESTAMP write.
+             * No other group takes ids before this one is finished, so just give back the ids.
+             */
+            nextJournalId.set(group.get(0).journalId);
+        }
+        for (PendingJournal journal : group) {
+            journal.succeeded = writeSucceeded;
+            journal.done = true;
         }
     }
 
@@ -30,11 +30,12 @@ import org.apache.doris.catalog.Tablet;
 import org.apache.doris.catalog.Tablet.TabletStatus;
 import org.apache.doris.catalog.TabletInvertedIndex;
 import org.apache.doris.catalog.TabletMeta;
+import org.apache.doris.clone.TabletChecker;
 import org.apache.doris.clone.TabletSchedCtx;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.MetaNotFoundException;
 import org.apache.doris.common.Pair;
-import org.apache.doris.common.util.Daemon;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.util.TimeUtils;
 import org.apache.doris.metric.GaugeMetric;
 import org.apache.doris.metric.Metric.MetricUnit;
@@ -71,11 +72,11 @@ import org.apache.doris.thrift.TTabletInfo;
 import org.apache.doris.thrift.TTabletMetaType;
 import org.apache.doris.thrift.TTaskType;
 
+import com.codahale.metrics.Histogram;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Queues;
 import com.google.common.collect.Sets;
 
 import org.apache.commons.lang.StringUtils;
@@ -87,25 +88,95 @@ import org.apache.thrift.TException;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
 
-public class ReportHandler extends Daemon {
+public class ReportHandler {
     private static final Logger LOG = LogManager.getLogger(ReportHandler.class);
 
-    private BlockingQueue<ReportTask> reportQueue = Queues.newLinkedBlockingQueue();
+    private enum ReportType {
+        TASK,
+        DISK,
+        TABLET
+    }
+
+    /*
+     * Reports of backends mapped to one worker. Only the latest report of each (backend, report type) is kept,
+     * the older one is discarded because it is useless after the newer one arrives.
+     * The reports are processed in the order they are first put.
+     */
+    private static class ReportQueue {
+        private final LinkedHashMap<Pair<Long, ReportType>, ReportTask> pendingTasks = new LinkedHashMap<>();
+
+        // return true if an older report is replaced
+        public synchronized boolean put(ReportTask task) {
+            boolean replaced = pendingTasks.put(new Pair<>(task.beId, task.type), task) != null;
+            notifyAll();
+            return replaced;
+        }
+
+        public synchronized ReportTask take() throws InterruptedException {
+            while (pendingTasks.isEmpty()) {
+                wait();
+            }
+            Iterator<ReportTask> iter = pendingTasks.values().iterator();
+            ReportTask task = iter.next();
+            iter.remove();
+            return task;
+        }
+
+        public synchronized int size() {
+            return pendingTasks.size();
+        }
+    }
+
+    // reports of one backend are always put into the same queue, so they are processed one by one,
+    // and reports of different backends are processed in parallel.
+    private final ReportQueue[] reportQueues;
+    private final ExecutorService workerPool;
+
+    private final Map<ReportType, Histogram> waitLatencyHistos = Maps.newEnumMap(ReportType.class);
+    private final Map<ReportType, Histogram> processLatencyHistos = Maps.newEnumMap(ReportType.class);
 
     public ReportHandler() {
+        int workerNum = Math.max(1, Config.report_handler_thread_num);
+        reportQueues = new ReportQueue[workerNum];
+        for (int i = 0; i < workerNum; i++) {
+            reportQueues[i] = new ReportQueue();
+        }
+        workerPool = ThreadPoolManager.newDaemonFixedThreadPool(workerNum, workerNum, "report-handler", true);
+
         GaugeMetric<Long> gaugeQueueSize = new GaugeMetric<Long>(
                 "report_queue_size", MetricUnit.NOUNIT, "report queue size") {
             @Override
             public Long getValue() {
-                return (long) reportQueue.size();
+                return (long) getQueueSize();
             }
         };
         MetricRepo.addMetric(gaugeQueueSize);
+        for (ReportType type : ReportType.values()) {
+            String typeName = type.name().toLowerCase();
+            waitLatencyHistos.put(type, MetricRepo.histogram("report", typeName, "wait", "latency", "ms"));
+            processLatencyHistos.put(type, MetricRepo.histogram("report", typeName, "process", "latency", "ms"));
+        }
+    }
+
+    public void start() {
+        for (ReportQueue reportQueue : reportQueues) {
+            workerPool.submit(() -> runWorker(reportQueue));
+        }
+    }
+
+    private int getQueueSize() {
+        int size = 0;
+        for (ReportQueue reportQueue : reportQueues) {
+            size += reportQueue.size();
+        }
+        return size;
     }
 
     public TMasterResult handleReport(TReportRequest request) throws TException {
@@ -158,31 +229,46 @@ public class ReportHandler extends Daemon {
             backend.setTabletMaxCompactionScore(request.getTablet_max_compaction_score());
         }
 
-        ReportTask reportTask = new ReportTask(beId, tasks, disks, tablets, reportVersion);
+        List<ReportTask> reportTasks = Lists.newArrayList();
+        if (tasks != null) {
+            reportTasks.add(new ReportTask(beId, ReportType.TASK, tasks, null, null, reportVersion));
+        }
+        if (disks != null) {
+            reportTasks.add(new ReportTask(beId, ReportType.DISK, null, disks, null, reportVersion));
+        }
+        if (tablets != null) {
+            reportTasks.add(new ReportTask(beId, ReportType.TABLET, null, null, tablets, reportVersion));
+        }
         try {
-            putToQueue(reportTask);
+            putToQueue(reportTasks);
         } catch (Exception e) {
             tStatus.setStatus_code(TStatusCode.INTERNAL_ERROR);
             List<String> errorMsgs = Lists.newArrayList();
-            errorMsgs.add("failed to put report task to queue. queue size: " + reportQueue.size());
+            errorMsgs.add("failed to put report task to queue. queue size: " + getQueueSize());
             errorMsgs.add("err: " + e.getMessage());
             tStatus.setError_msgs(errorMsgs);
             return result;
         }
 
         LOG.info("receive report from be {}. type: {}, current queue size: {}",
-                backend.getId(), reportType, reportQueue.size());
+                backend.getId(), reportType, getQueueSize());
         return result;
     }
 
-    private void putToQueue(ReportTask reportTask) throws Exception {
-        int currentSize = reportQueue.size();
+    private void putToQueue(List<ReportTask> reportTasks) throws Exception {
+        int currentSize = getQueueSize();
         if (currentSize > Config.report_queue_size) {
             LOG.warn("the report queue size exceeds the limit: {}. current: {}", Config.report_queue_size, currentSize);
             throw new Exception(
                     "the report queue size exceeds the limit: " + Config.report_queue_size + ". current: " + currentSize);
         }
-        reportQueue.put(reportTask);
+        for (ReportTask reportTask : reportTasks) {
+            ReportQueue reportQueue = reportQueues[(int) (Math.abs(reportTask.beId) % reportQueues.length)];
+            if (reportQueue.put(reportTask)) {
+                LOG.info("discard the previous {} report of backend {} which has not been processed",
+                        reportTask.type, reportTask.beId);
+            }
+        }
     }
 
     private Map<Long, TTablet> buildTabletMap(List<TTablet> tabletList) {
@@ -200,23 +286,29 @@ public class ReportHandler extends Daemon {
     private class ReportTask extends MasterTask {
 
         private long beId;
+        private ReportType type;
         private Map<TTaskType, Set<Long>> tasks;
         private Map<String, TDisk> disks;
         private Map<Long, TTablet> tablets;
         private long reportVersion;
+        private long createTime;
 
-        public ReportTask(long beId, Map<TTaskType, Set<Long>> tasks,
+        public ReportTask(long beId, ReportType type, Map<TTaskType, Set<Long>> tasks,
                           Map<String, TDisk> disks,
                           Map<Long, TTablet> tablets, long reportVersion) {
             this.beId = beId;
+            this.type = type;
             this.tasks = tasks;
             this.disks = disks;
             this.tablets = tablets;
             this.reportVersion = reportVersion;
+            this.createTime = System.currentTimeMillis();
         }
 
         @Override
         protected void exec() {
+            long start = System.currentTimeMillis();
+            waitLatencyHistos.get(type).update(start - createTime);
             if (tasks != null) {
                 ReportHandler.taskReport(beId, tasks);
             }
@@ -232,6 +324,7 @@ public class ReportHandler extends Daemon {
                     ReportHandler.tabletReport(beId, tablets, reportVersion);
                 }
             }
+            processLatencyHistos.get(type).update(System.currentTimeMillis() - start);
         }
     }
 
@@ -303,6 +396,12 @@ public class ReportHandler extends Daemon {
         // 10. send set tablet in memory to be
         handleSetTabletInMemory(backendId, backendTablets);
 
+        // 11. the health of these tablets may be changed, check them in next round of tablet checker
+        TabletChecker tabletChecker = Catalog.getCurrentCatalog().getTabletChecker();
+        tabletChecker.markTabletsDirty(tabletSyncMap.values());
+        tabletChecker.markTabletsDirty(tabletDeleteFromMeta.values());
+        tabletChecker.markTabletsDirty(tabletRecoveryMap.values());
+
         final SystemInfoService currentSystemInfo = Catalog.getCurrentSystemInfo();
         Backend reportBackend = currentSystemInfo.getBackend(backendId);
         if (reportBackend != null) {
@@ -608,6 +707,7 @@ public class ReportHandler extends Daemon {
                                                 dbId, tableId, partitionId, indexId, tabletId, backendId, replica.getId());
                                         tabletsInfo.addReplicaInfo(replicaPersistInfo);
                                         Catalog.getCurrentCatalog().getEditLog().logBackendTabletsInfo(tabletsInfo);
+                                        Catalog.getCurrentCatalog().getTabletChecker().markTabletDirty(tabletId);
                                     }
                                 }
                             }
@@ -824,6 +924,7 @@ public class ReportHandler extends Daemon {
                                     ReplicaPersistInfo replicaPersistInfo = ReplicaPersistInfo.createForReport(
                                             dbId, tableId, partitionId, indexId, tabletId, backendId, replica.getId());
                                     backendTabletsInfo.addReplicaInfo(replicaPersistInfo);
+                                    Catalog.getCurrentCatalog().getTabletChecker().markTabletDirty(tabletId);
                                 }
                                 break;
                             }
@@ -1069,15 +1170,15 @@ public class ReportHandler extends Daemon {
         }
     }
 
-    @Override
-    protected void runOneCycle() {
+    private void runWorker(ReportQueue reportQueue) {
         while (true) {
-            ReportTask task = null;
             try {
-                task = reportQueue.take();
+                ReportTask task = reportQueue.take();
                 task.exec();
             } catch (InterruptedException e) {
                 LOG.warn("got interupted exception when executing report", e);
+            } catch (Throwable e) {
+                LOG.error("got exception when executing report", e);
             }
         }
     }
@@ -29,6 +29,7 @@ public class MetricCalculator extends TimerTask {
     private long lastQueryCounter = -1;
     private long lastRequestCounter = -1;
     private long lastQueryErrCounter = -1;
+    private long lastTabletScheduledCounter = -1;
 
     @Override
     public void run() {
@@ -42,6 +43,7 @@ public class MetricCalculator extends TimerTask {
             lastQueryCounter = MetricRepo.COUNTER_QUERY_ALL.getValue();
             lastRequestCounter = MetricRepo.COUNTER_REQUEST_ALL.getValue();
             lastQueryErrCounter = MetricRepo.COUNTER_QUERY_ERR.getValue();
+            lastTabletScheduledCounter = MetricRepo.COUNTER_TABLET_SCHEDULED.getValue();
             return;
         }
 
@@ -65,6 +67,12 @@ public class MetricCalculator extends TimerTask {
         MetricRepo.GAUGE_QUERY_ERR_RATE.setValue(errRate < 0 ? 0.0 : errRate);
         lastQueryErrCounter = currentErrCounter;
 
+        // tablet scheduled per second
+        long currentTabletScheduledCounter = MetricRepo.COUNTER_TABLET_SCHEDULED.getValue();
+        double tabletSchedRate = (double) (currentTabletScheduledCounter - lastTabletScheduledCounter) / interval;
+        MetricRepo.GAUGE_TABLET_SCHEDULED_PER_SECOND.setValue(tabletSchedRate < 0 ? 0.0 : tabletSchedRate);
+        lastTabletScheduledCounter = currentTabletScheduledCounter;
+
         lastTs = currentTs;
 
         // max tabet compaction score of all backends
@@ -33,6 +33,7 @@ import org.apache.doris.persist.EditLog;
 import org.apache.doris.service.ExecuteEnv;
 import org.apache.doris.system.Backend;
 import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.task.AgentTaskQueue;
 
 import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
@@ -69,6 +70,8 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_CACHE_HIT_PARTITION;
     public static LongCounterMetric COUNTER_CACHE_PARTITION_ALL;
     public static LongCounterMetric COUNTER_CACHE_PARTITION_HIT;
+    public static LongCounterMetric COUNTER_PARSE_CACHE_HIT;
+    public static LongCounterMetric COUNTER_PARSE_CACHE_MISS;
     public static LongCounterMetric COUNTER_LOAD_ADD;
     public static LongCounterMetric COUNTER_LOAD_FINISHED;
     public static LongCounterMetric COUNTER_EDIT_LOG_WRITE;
@@ -83,15 +86,28 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_ROWS;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_RECEIVED_BYTES;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_ERROR_ROWS;
+    public static LongCounterMetric COUNTER_MYSQL_TASK_REJECTED;
+    public static LongCounterMetric COUNTER_TABLET_SCHEDULED;
 
     public static Histogram HISTO_QUERY_LATENCY;
+    public static Histogram HISTO_POINT_QUERY_LATENCY;
+    public static Histogram HISTO_QUERY_PARSE_LATENCY;
     public static Histogram HISTO_EDIT_LOG_WRITE_LATENCY;
+    public static Histogram HISTO_EDIT_LOG_BATCH_SIZE;
+    public static Histogram HISTO_EDIT_LOG_COMMIT_LATENCY;
+    public static Histogram HISTO_MYSQL_READ_LATENCY;
+    public static Histogram HISTO_MYSQL_TASK_WAIT_LATENCY;
+    public static Histogram HISTO_MYSQL_TASK_EXEC_LATENCY;
+    public static Histogram HISTO_AGENT_TASK_DIFF_LATENCY;
+    public static Histogram HISTO_TABLET_SCHEDULE_WAIT_LATENCY;
+    public static Histogram HISTO_TXN_GROUP_COMMIT_SIZE;
 
     // following metrics will be updated by metric calculator
     public static GaugeMetricImpl<Double> GAUGE_QUERY_PER_SECOND;
     public static GaugeMetricImpl<Double> GAUGE_REQUEST_PER_SECOND;
     public static GaugeMetricImpl<Double> GAUGE_QUERY_ERR_RATE;
     public static GaugeMetricImpl<Long> GAUGE_MAX_TABLET_COMPACTION_SCORE;
+    public static GaugeMetricImpl<Double> GAUGE_TABLET_SCHEDULED_PER_SECOND;
 
     private static ScheduledThreadPoolExecutor metricTimer = ThreadPoolManager.newDaemonScheduledThreadPool(1, "Metric-Timer-Pool", true);
     private static MetricCalculator metricCalculator = new MetricCalculator();
@@ -190,6 +206,19 @@ public final class MetricRepo {
         };
         PALO_METRIC_REGISTER.addPaloMetrics(scheduledTabletNum);
 
+        // agent tasks waiting for report
+        GaugeMetric<Long> agentTaskNum = (GaugeMetric<Long>) new GaugeMetric<Long>(
+                "agent_task_num", MetricUnit.NOUNIT, "number of agent tasks in queue") {
+            @Override
+            public Long getValue() {
+                if (!Catalog.getCurrentCatalog().isMaster()) {
+                    return 0L;
+                }
+                return (long) AgentTaskQueue.getTaskNum();
+            }
+        };
+        PALO_METRIC_REGISTER.addPaloMetrics(agentTaskNum);
+
         // qps, rps and error rate
         // these metrics should be set an init value, in case that metric calculator is not running
         GAUGE_QUERY_PER_SECOND = new GaugeMetricImpl<>("qps", MetricUnit.NOUNIT, "query per second");
@@ -205,6 +234,10 @@ public final class MetricRepo {
                 MetricUnit.NOUNIT, "max tablet compaction score of all backends");
         PALO_METRIC_REGISTER.addPaloMetrics(GAUGE_MAX_TABLET_COMPACTION_SCORE);
         GAUGE_MAX_TABLET_COMPACTION_SCORE.setValue(0L);
+        GAUGE_TABLET_SCHEDULED_PER_SECOND = new GaugeMetricImpl<>("tablet_scheduled_per_second",
+                MetricUnit.NOUNIT, "tablet scheduled per second by tablet scheduler");
+        GAUGE_TABLET_SCHEDULED_PER_SECOND.setValue(0.0);
+        PALO_METRIC_REGISTER.addPaloMetrics(GAUGE_TABLET_SCHEDULED_PER_SECOND);
 
         // 2. counter
         COUNTER_REQUEST_ALL = new LongCounterMetric("request_total", MetricUnit.REQUESTS, "total request");
@@ -236,6 +269,12 @@ public final class MetricRepo {
         COUNTER_CACHE_PARTITION_HIT = new LongCounterMetric("partition_hit", MetricUnit.REQUESTS, 
             "hit partition of cache partition model");
         PALO_METRIC_REGISTER.addPaloMetrics(COUNTER_CACHE_PARTITION_HIT);
+        COUNTER_PARSE_CACHE_HIT = new LongCounterMetric("parse_cache_hit", MetricUnit.REQUESTS,
+                "total hits of statement parse cache");
+        PALO_METRIC_REGISTER.addPaloMetrics(COUNTER_PARSE_CACHE_HIT);
+        COUNTER_PARSE_CACHE_MISS = new LongCounterMetric("parse_cache_miss", MetricUnit.REQUESTS,
+                "total misses of statement parse cache");
+        PALO_METRIC_REGISTER.addPaloMetrics(COUNTER_PARSE_CACHE_MISS);
 
         COUNTER_LOAD_FINISHED = new LongCounterMetric("load_finished", MetricUnit.REQUESTS, "total load finished");
         PALO_METRIC_REGISTER.addPaloMetrics(COUNTER_LOAD_FINISHED);
@@ -269,9 +308,34 @@ public final class MetricRepo {
                 "total error rows of routine load");
         PALO_METRIC_REGISTER.addPaloMetrics(COUNTER_ROUTINE_LOAD_ERROR_ROWS);
 
+        COUNTER_MYSQL_TASK_REJECTED = new LongCounterMetric("mysql_task_rejected", MetricUnit.REQUESTS,
+                "counter of mysql requests rejected because task threads are busy");
+        PALO_METRIC_REGISTER.addPaloMetrics(COUNTER_MYSQL_TASK_REJECTED);
+
+        COUNTER_TABLET_SCHEDULED = new LongCounterMetric("tablet_scheduled", MetricUnit.OPERATIONS,
+                "counter of tablets being scheduled by tablet scheduler");
+        PALO_METRIC_REGISTER.addPaloMetrics(COUNTER_TABLET_SCHEDULED);
+
         // 3. histogram
         HISTO_QUERY_LATENCY = METRIC_REGISTER.histogram(MetricRegistry.name("query", "latency", "ms"));
+        HISTO_POINT_QUERY_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("query", "point", "latency", "ms"));
+        HISTO_QUERY_PARSE_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("query", "parse", "latency", "ms"));
         HISTO_EDIT_LOG_WRITE_LATENCY = METRIC_REGISTER.histogram(MetricRegistry.name("editlog", "write", "latency", "ms"));
+        HISTO_EDIT_LOG_BATCH_SIZE = METRIC_REGISTER.histogram(MetricRegistry.name("editlog", "batch", "size"));
+        HISTO_EDIT_LOG_COMMIT_LATENCY = METRIC_REGISTER.histogram(MetricRegistry.name("editlog", "commit", "latency", "ms"));
+        HISTO_MYSQL_READ_LATENCY = METRIC_REGISTER.histogram(MetricRegistry.name("mysql", "read", "latency", "ms"));
+        HISTO_MYSQL_TASK_WAIT_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("mysql", "task", "wait", "latency", "ms"));
+        HISTO_MYSQL_TASK_EXEC_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("mysql", "task", "exec", "latency", "ms"));
+        HISTO_AGENT_TASK_DIFF_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("agent_task", "diff", "latency", "ms"));
+        HISTO_TABLET_SCHEDULE_WAIT_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("tablet_schedule", "wait", "latency", "ms"));
+        HISTO_TXN_GROUP_COMMIT_SIZE = METRIC_REGISTER.histogram(
+                MetricRegistry.name("txn", "group_commit", "size"));
 
         // init system metrics
         initSystemMetrics();
@@ -424,5 +488,11 @@ public final class MetricRepo {
         init();
         PALO_METRIC_REGISTER.addPaloMetrics(metric);
     }
+
+    // get or create the histogram with the given name, eg: histogram("report", "tablet", "wait", "latency", "ms")
+    public static Histogram histogram(String name, String... names) {
+        init();
+        return METRIC_REGISTER.histogram(MetricRegistry.name(name, names));
+    }
 }
 
@@ -0,0 +1,213 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.mysql;
+
+import com.google.common.collect.Lists;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Convert the rows of text protocol returned by BE to the rows of binary protocol,
+ * which is the result format of COM_STMT_EXECUTE.
+ * https://dev.mysql.com/doc/internals/en/binary-protocol-resultset-row.html
+ */
+public class MysqlBinaryRowConverter {
+    private static final int NULL_BITMAP_OFFSET = 2;
+
+    private final List<MysqlColType> colTypes;
+    private final MysqlSerializer serializer = MysqlSerializer.newInstance();
+    // value of each column in current row, null for NULL
+    private final byte[][] values;
+
+    public MysqlBinaryRowConverter(List<MysqlColType> colTypes) {
+        this.colTypes = colTypes;
+        this.values = new byte[colTypes.size()][];
+    }
+
+    public List<ByteBuffer> convert(List<ByteBuffer> rows) {
+        List<ByteBuffer> binaryRows = Lists.newArrayListWithCapacity(rows.size());
+        for (ByteBuffer row : rows) {
+            binaryRows.add(convert(row));
+        }
+        return binaryRows;
+    }
+
+    public ByteBuffer convert(ByteBuffer row) {
+        ByteBuffer buf = row.duplicate();
+        byte[] nullBitmap = new byte[(colTypes.size() + 7 + NULL_BITMAP_OFFSET) / 8];
+        for (int i = 0; i < colTypes.size(); i++) {
+            if (!buf.hasRemaining() || (buf.get(buf.position()) & 0xff) == 0xfb) {
+                if (buf.hasRemaining()) {
+                    buf.get();
+                }
+                values[i] = null;
+                int bit = i + NULL_BITMAP_OFFSET;
+                nullBitmap[bit / 8] |= (byte) (1 << (bit % 8));
+            } else {
+                values[i] = MysqlProto.readLenEncodedString(buf);
+            }
+        }
+
+        serializer.reset();
+        // packet header
+        serializer.writeInt1(0x00);
+        serializer.writeBytes(nullBitmap);
+        for (int i = 0; i < colTypes.size(); i++) {
+            if (values[i] != null) {
+                writeValue(colTypes.get(i), new String(values[i], StandardCharsets.UTF_8), values[i]);
+            }
+        }
+        return serializer.toByteBuffer();
+    }
+
+    private void writeValue(MysqlColType colType, String text, byte[] bytes) {
+        switch (colType) {
+            case MYSQL_TYPE_TINY:
+                serializer.writeInt1((int) parseLong(text));
+                break;
+            case MYSQL_TYPE_SHORT:
+                serializer.writeInt2((int) parseLong(text));
+                break;
+            case MYSQL_TYPE_LONG:
+                serializer.writeInt4((int) parseLong(text));
+                break;
+            case MYSQL_TYPE_LONGLONG:
+                serializer.writeInt8(parseLong(text));
+                break;
+            case MYSQL_TYPE_FLOAT:
+                serializer.writeInt4(Float.floatToIntBits((float) parseDouble(text)));
+                break;
+            case MYSQL_TYPE_DOUBLE:
+                serializer.writeInt8(Double.doubleToLongBits(parseDouble(text)));
+                break;
+            case MYSQL_TYPE_DATE:
+            case MYSQL_TYPE_DATETIME:
+                writeDateTime(colType, text);
+                break;
+            case MYSQL_TYPE_TIME:
+                writeTime(text);
+                break;
+            default:
+                // decimal and string types are length encoded strings in binary protocol too
+                serializer.writeVInt(bytes.length);
+                serializer.writeBytes(bytes);
+                break;
+        }
+    }
+
+    private static long parseLong(String text) {
+        if (text.equalsIgnoreCase("true")) {
+            return 1;
+        } else if (text.equalsIgnoreCase("false")) {
+            return 0;
+        }
+        return Long.parseLong(text);
+    }
+
+    private static double parseDouble(String text) {
+        switch (text.toLowerCase()) {
+            case "inf":
+            case "infinity":
+                return Double.POSITIVE_INFINITY;
+            case "-inf":
+            case "-infinity":
+                return Double.NEGATIVE_INFINITY;
+            case "nan":
+                return Double.NaN;
+            default:
+                return Double.parseDouble(text);
+        }
+    }
+
+    // text: yyyy-MM-dd[ HH:mm:ss[.SSSSSS]]
+    private void writeDateTime(MysqlColType colType, String text) {
+        int[] fields = new int[7];
+        int fieldNum = parseFields(text, fields);
+        if (fieldNum < 3) {
+            // zero value
+            serializer.writeInt1(0);
+            return;
+        }
+        if (colType == MysqlColType.MYSQL_TYPE_DATE) {
+            serializer.writeInt1(4);
+        } else if (fields[6] == 0) {
+            serializer.writeInt1(7);
+        } else {
+            serializer.writeInt1(11);
+        }
+        serializer.writeInt2(fields[0]);
+        serializer.writeInt1(fields[1]);
+        serializer.writeInt1(fields[2]);
+        if (colType != MysqlColType.MYSQL_TYPE_DATE) {
+            serializer.writeInt1(fields[3]);
+            serializer.writeInt1(fields[4]);
+            serializer.writeInt1(fields[5]);
+            if (fields[6] != 0) {
+                serializer.writeInt4(fields[6]);
+            }
+        }
+    }
+
+    // text: [-]HH:mm:ss[.SSSSSS], hours may be greater than 24
+    private void writeTime(String text) {
+        boolean negative = text.startsWith("-");
+        int[] fields = new int[4];
+        int fieldNum = parseFields(negative ? text.substring(1) : text, fields);
+        if (fieldNum < 3) {
+            serializer.writeInt1(0);
+            return;
+        }
+        serializer.writeInt1(fields[3] == 0 ? 8 : 12);
+        serializer.writeInt1(negative ? 1 : 0);
+        serializer.writeInt4(fields[0] / 24);
+        serializer.writeInt1(fields[0] % 24);
+        serializer.writeInt1(fields[1]);
+        serializer.writeInt1(fields[2]);
+        if (fields[3] != 0) {
+            serializer.writeInt4(fields[3]);
+        }
+    }
+
+    // parse the numbers separated by non-digit characters, the fraction is scaled to microseconds.
+    // return the number of parsed fields
+    private static int parseFields(String text, int[] fields) {
+        int fieldNum = 0;
+        int digits = 0;
+        int value = 0;
+        for (int i = 0; i <= text.length() && fieldNum < fields.length; i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits++;
+                continue;
+            }
+            if (digits > 0) {
+                if (fieldNum == fields.length - 1 && text.charAt(i - digits - 1) == '.') {
+                    for (int j = digits; j < 6; j++) {
+                        value *= 10;
+                    }
+                }
+                fields[fieldNum++] = value;
+            }
+            value = 0;
+            digits = 0;
+        }
+        return fieldNum;
+    }
+}
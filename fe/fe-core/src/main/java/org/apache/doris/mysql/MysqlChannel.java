@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.List;
 
 /**
  * This class used to read/write MySQL logical packet.
@@ -52,7 +53,6 @@ public class MysqlChannel {
     protected String remoteIp;
     protected boolean isSend;
 
-
     protected MysqlChannel() {
         this.sequenceId = 0;
         this.sendBuffer = ByteBuffer.allocate(2 * 1024 * 1024);
@@ -261,6 +261,42 @@ public class MysqlChannel {
         accSequenceId();
     }
 
+    /**
+     * Send rows of a result batch, each row as one packet.
+     * Header and content of every row are framed into send buffer together. If the framed batch does not fit in the
+     * rest of send buffer but fits in an empty one, the buffered data is flushed first, so the whole batch goes out
+     * in one write. Larger batches are written whenever send buffer is full, and a row too large for send buffer is
+     * sent by sendOnePacket.
+     */
+    public void sendRowBatch(List<ByteBuffer> rows) throws IOException {
+        if (null == sendBuffer) {
+            return;
+        }
+        long batchLen = 0;
+        for (ByteBuffer row : rows) {
+            batchLen += PACKET_HEADER_LEN + row.remaining();
+        }
+        if (batchLen > sendBuffer.remaining() && batchLen <= sendBuffer.capacity()) {
+            flush();
+        }
+        for (ByteBuffer row : rows) {
+            int length = row.remaining();
+            if (length >= MAX_PHYSICAL_PACKET_LENGTH || PACKET_HEADER_LEN + length > sendBuffer.capacity()) {
+                sendOnePacket(row);
+                continue;
+            }
+            if (PACKET_HEADER_LEN + length > sendBuffer.remaining()) {
+                flush();
+            }
+            sendBuffer.put((byte) length);
+            sendBuffer.put((byte) (length >> 8));
+            sendBuffer.put((byte) (length >> 16));
+            sendBuffer.put((byte) sequenceId);
+            sendBuffer.put(row);
+            accSequenceId();
+        }
+    }
+
     public void sendAndFlush(ByteBuffer packet) throws IOException {
         sendOnePacket(packet);
         flush();
@@ -17,6 +17,7 @@
 package org.apache.doris.mysql.nio;
 
 import org.apache.doris.catalog.Catalog;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.mysql.MysqlProto;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.qe.ConnectProcessor;
@@ -28,6 +29,7 @@ import org.xnio.StreamConnection;
 import org.xnio.channels.AcceptingChannel;
 
 import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * listener for accept mysql connections.
@@ -54,43 +56,53 @@ public class AcceptListener implements ChannelListener<AcceptingChannel<StreamCo
             context.setCatalog(Catalog.getCurrentCatalog());
             connectScheduler.submit(context);
 
-            channel.getWorker().execute(() -> {
-                try {
-                    // Set thread local info
-                    context.setThreadLocalInfo();
-                    context.setConnectScheduler(connectScheduler);
-                    // authenticate check failed.
-                    if (!MysqlProto.negotiate(context)) {
-                        throw new AfterConnectedException("mysql negotiate failed");
-                    }
-                    if (connectScheduler.registerConnection(context)) {
-                        MysqlProto.sendResponsePacket(context);
-                        connection.setCloseListener(streamConnection -> connectScheduler.unregisterConnection(context));
-                    } else {
-                        context.getState().setError("Reach limit of connections");
-                        MysqlProto.sendResponsePacket(context);
-                        throw new AfterConnectedException("Reach limit of connections");
-                    }
-                    context.setStartTime();
-                    ConnectProcessor processor = new ConnectProcessor(context);
-                    context.startAcceptQuery(processor);
-                } catch (AfterConnectedException e) {
-                    // do not need to print log for this kind of exception.
-                    // just clean up the context;
-                    context.cleanup();
-                } catch (Exception e) {
-                    // should be unexpected exception, so print warn log
-                    LOG.warn("connect processor exception because ", e);
-                    context.cleanup();
-                } finally {
-                    ConnectContext.remove();
+            try {
+                channel.getWorker().execute(() -> negotiate(connection, context));
+            } catch (RejectedExecutionException e) {
+                if (MetricRepo.isInit) {
+                    MetricRepo.COUNTER_MYSQL_TASK_REJECTED.increase(1L);
                 }
-            });
+                LOG.warn("Too many requests to be handled, close connection. remote={}", connection.getPeerAddress());
+                context.cleanup();
+            }
         } catch (IOException e) {
             LOG.warn("Connection accept failed.", e);
         }
     }
 
+    private void negotiate(StreamConnection connection, NConnectContext context) {
+        try {
+            // Set thread local info
+            context.setThreadLocalInfo();
+            context.setConnectScheduler(connectScheduler);
+            // authenticate check failed.
+            if (!MysqlProto.negotiate(context)) {
+                throw new AfterConnectedException("mysql negotiate failed");
+            }
+            if (connectScheduler.registerConnection(context)) {
+                MysqlProto.sendResponsePacket(context);
+                connection.setCloseListener(streamConnection -> connectScheduler.unregisterConnection(context));
+            } else {
+                context.getState().setError("Reach limit of connections");
+                MysqlProto.sendResponsePacket(context);
+                throw new AfterConnectedException("Reach limit of connections");
+            }
+            context.setStartTime();
+            ConnectProcessor processor = new ConnectProcessor(context);
+            context.startAcceptQuery(processor);
+        } catch (AfterConnectedException e) {
+            // do not need to print log for this kind of exception.
+            // just clean up the context;
+            context.cleanup();
+        } catch (Exception e) {
+            // should be unexpected exception, so print warn log
+            LOG.warn("connect processor exception because ", e);
+            context.cleanup();
+        } finally {
+            ConnectContext.remove();
+        }
+    }
+
     // this exception is only used for some expected exception after connection established.
     // so that we can catch these kind of exceptions and close the channel without printing warning logs.
     private static class AfterConnectedException extends Exception {
@@ -22,6 +22,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.xnio.StreamConnection;
 import org.xnio.channels.Channels;
+import org.xnio.conduits.ConduitStreamSinkChannel;
+import org.xnio.conduits.ConduitStreamSourceChannel;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
@@ -34,6 +36,16 @@ public class NMysqlChannel extends MysqlChannel {
     protected final Logger LOG = LogManager.getLogger(this.getClass());
     private StreamConnection conn;
 
+    // state of reading one packet in non-blocking way, only accessed by io thread until the packet is ready.
+    private final ByteBuffer readHeaderBuffer = ByteBuffer.allocate(PACKET_HEADER_LEN);
+    private ByteBuffer readPacketBuffer;
+    private int readSequenceId = 0;
+    private int lastPhysicalPacketLen = 0;
+    private long readStartTime = -1;
+    // the packet already read by io thread, returned by the next fetchOnePacket()
+    private ByteBuffer readyPacket;
+    private int readySequenceId;
+
     public NMysqlChannel(StreamConnection connection) {
         super();
         this.conn = connection;
@@ -88,6 +100,112 @@ public class NMysqlChannel extends MysqlChannel {
         isSend = true;
     }
 
+    /**
+     * Read the available data of one packet without blocking, called by io thread.
+     * The packet is returned by the next fetchOnePacket() after it is ready.
+     *
+     * @return true if the whole packet has been read
+     * @throws IOException if the channel is closed by remote or the packet is bad
+     */
+    public boolean readPacketNonBlocking() throws IOException {
+        ConduitStreamSourceChannel source = conn.getSourceChannel();
+        while (true) {
+            if (readHeaderBuffer.hasRemaining()) {
+                if (source.read(readHeaderBuffer) < 0) {
+                    throw new IOException("Remote has closed the channel.");
+                }
+                if (readStartTime < 0 && readHeaderBuffer.position() > 0) {
+                    readStartTime = System.currentTimeMillis();
+                }
+                if (readHeaderBuffer.hasRemaining()) {
+                    return false;
+                }
+                byte[] header = readHeaderBuffer.array();
+                int packetId = header[3] & 0xFF;
+                if (packetId != readSequenceId) {
+                    LOG.warn("receive packet sequence id[" + packetId + "] want to get[" + readSequenceId + "]");
+                    throw new IOException("Bad packet sequence.");
+                }
+                lastPhysicalPacketLen = (header[0] & 0xFF) | ((header[1] & 0XFF) << 8) | ((header[2] & 0XFF) << 16);
+                if (readPacketBuffer == null) {
+                    readPacketBuffer = ByteBuffer.allocate(Math.max(lastPhysicalPacketLen, defaultBuffer.capacity()));
+                } else if (readPacketBuffer.capacity() - readPacketBuffer.position() < lastPhysicalPacketLen) {
+                    ByteBuffer tmp = ByteBuffer.allocate(readPacketBuffer.position() + lastPhysicalPacketLen);
+                    readPacketBuffer.flip();
+                    tmp.put(readPacketBuffer);
+                    readPacketBuffer = tmp;
+                }
+                readPacketBuffer.limit(readPacketBuffer.position() + lastPhysicalPacketLen);
+            }
+
+            if (readPacketBuffer.hasRemaining()) {
+                if (source.read(readPacketBuffer) < 0) {
+                    throw new IOException("Remote has closed the channel.");
+                }
+                if (readPacketBuffer.hasRemaining()) {
+                    return false;
+                }
+            }
+
+            // one physical packet is finished
+            readSequenceId = (readSequenceId + 1) & 0xFF;
+            readHeaderBuffer.clear();
+            if (lastPhysicalPacketLen != MAX_PHYSICAL_PACKET_LENGTH) {
+                readPacketBuffer.flip();
+                readyPacket = readPacketBuffer;
+                readySequenceId = readSequenceId;
+                readPacketBuffer = null;
+                readSequenceId = 0;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return the time when the first byte of the ready packet is read, -1 if there is no ready packet.
+     */
+    public long getReadStartTime() {
+        return readyPacket == null ? -1 : readStartTime;
+    }
+
+    @Override
+    public ByteBuffer fetchOnePacket() throws IOException {
+        if (readyPacket == null) {
+            return super.fetchOnePacket();
+        }
+        ByteBuffer packet = readyPacket;
+        sequenceId = readySequenceId;
+        readyPacket = null;
+        readStartTime = -1;
+        return packet;
+    }
+
+    /**
+     * Send one small packet without blocking, called by io thread.
+     * It is only used to reply the client when the request can not be handled, and the channel
+     * is idle, so the packet can be written at once usually.
+     *
+     * @return true if the whole packet has been written
+     */
+    public boolean sendPacketNonBlocking(ByteBuffer packet) throws IOException {
+        // reply of the packet read by io thread
+        sequenceId = readySequenceId;
+        readyPacket = null;
+        readStartTime = -1;
+
+        ByteBuffer buffer = ByteBuffer.allocate(PACKET_HEADER_LEN + packet.remaining());
+        int length = packet.remaining();
+        buffer.put((byte) length);
+        buffer.put((byte) (length >> 8));
+        buffer.put((byte) (length >> 16));
+        buffer.put((byte) sequenceId);
+        buffer.put(packet);
+        buffer.flip();
+        ConduitStreamSinkChannel sink = conn.getSinkChannel();
+        sink.write(buffer);
+        return !buffer.hasRemaining() && sink.flush();
+    }
+
     @Override
     public void close() {
         try {
@@ -32,6 +32,9 @@ import org.xnio.channels.AcceptingChannel;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * mysql protocol implementation based on nio.
@@ -46,7 +49,9 @@ public class NMysqlServer extends MysqlServer {
     private AcceptingChannel<StreamConnection> server;
 
     // default task service.
-    private ExecutorService taskService = ThreadPoolManager.newDaemonCacheThreadPool(Config.max_mysql_service_task_threads_num, "doris-mysql-nio-pool", true);
+    // the number of task threads and waiting tasks are both bounded, tasks beyond them are rejected.
+    // idle task threads exit after a while, so there are few threads when there are few requests.
+    private ExecutorService taskService = createTaskService();
 
     public NMysqlServer(int port, ConnectScheduler connectScheduler) {
         this.port = port;
@@ -58,6 +63,17 @@ public class NMysqlServer extends MysqlServer {
         this.acceptListener = new AcceptListener(connectScheduler);
     }
 
+    private static ExecutorService createTaskService() {
+        int coreThreadsNum = Math.min(Config.mysql_service_task_core_threads_num,
+                Config.max_mysql_service_task_threads_num);
+        ThreadPoolExecutor executor = ThreadPoolManager.newDaemonThreadPool(coreThreadsNum,
+                Config.max_mysql_service_task_threads_num, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Config.mysql_service_task_queue_size),
+                new ThreadPoolExecutor.AbortPolicy(), "doris-mysql-nio-pool", true);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     // start MySQL protocol service
     // return true if success, otherwise false
     @Override
@@ -16,6 +16,7 @@
 // under the License.
 package org.apache.doris.mysql.nio;
 
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.qe.ConnectProcessor;
 import org.apache.logging.log4j.LogManager;
@@ -24,8 +25,13 @@ import org.xnio.ChannelListener;
 import org.xnio.XnioIoThread;
 import org.xnio.conduits.ConduitStreamSourceChannel;
 
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * listener for handle mysql cmd.
+ * The command packet is read in io thread without blocking, and then the command is executed in task thread.
+ * So a connection does not occupy any thread when it is idle or its packet is not fully received.
  */
 public class ReadListener implements ChannelListener<ConduitStreamSourceChannel> {
     private final Logger LOG = LogManager.getLogger(this.getClass());
@@ -42,25 +48,76 @@ public class ReadListener implements ChannelListener<ConduitStreamSourceChannel>
         // suspend must be call sync in current thread (the IO-Thread notify the read event),
         // otherwise multi handler(task thread) would be waked up by once query.
         XnioIoThread.requireCurrentThread();
+        NMysqlChannel mysqlChannel = ctx.getMysqlChannel();
+        try {
+            if (!mysqlChannel.readPacketNonBlocking()) {
+                // wait for the rest of packet
+                return;
+            }
+        } catch (IOException e) {
+            LOG.debug("Receive packet failed, remote may close the channel. session({})", ctx, e);
+            ctx.setKilled();
+            ctx.cleanup();
+            return;
+        }
         ctx.suspendAcceptQuery();
+        long readStartTime = mysqlChannel.getReadStartTime();
+        long submitTime = System.currentTimeMillis();
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_MYSQL_READ_LATENCY.update(submitTime - readStartTime);
+        }
         // start async query handle in task thread.
-        channel.getWorker().execute(() -> {
-            ctx.setThreadLocalInfo();
-            try {
-                connectProcessor.processOnce();
-                if (!ctx.isKilled()) {
-                    ctx.resumeAcceptQuery();
-                } else {
-                    ctx.stopAcceptQuery();
+        try {
+            channel.getWorker().execute(() -> {
+                long startTime = System.currentTimeMillis();
+                if (MetricRepo.isInit) {
+                    MetricRepo.HISTO_MYSQL_TASK_WAIT_LATENCY.update(startTime - submitTime);
+                }
+                ctx.setThreadLocalInfo();
+                try {
+                    connectProcessor.processOnce();
+                    if (!ctx.isKilled()) {
+                        ctx.resumeAcceptQuery();
+                    } else {
+                        ctx.stopAcceptQuery();
+                        ctx.cleanup();
+                    }
+                } catch (Exception e) {
+                    LOG.warn("Exception happened in one session(" + ctx + ").", e);
+                    ctx.setKilled();
                     ctx.cleanup();
+                } finally {
+                    ConnectContext.remove();
+                    if (MetricRepo.isInit) {
+                        MetricRepo.HISTO_MYSQL_TASK_EXEC_LATENCY.update(System.currentTimeMillis() - startTime);
+                    }
                 }
-            } catch (Exception e) {
-                LOG.warn("Exception happened in one session(" + ctx + ").", e);
-                ctx.setKilled();
-                ctx.cleanup();
-            } finally {
-                ConnectContext.remove();
+            });
+        } catch (RejectedExecutionException e) {
+            rejectCommand();
+        }
+    }
+
+    // task threads are all busy and the queue is full, reply an error and keep the connection
+    private void rejectCommand() {
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_MYSQL_TASK_REJECTED.increase(1L);
+        }
+        LOG.warn("Too many requests to be handled, reject the command of session({})", ctx);
+        try {
+            ctx.getState().setError("Too many requests to be handled by FE, please try again later");
+            ctx.getSerializer().reset();
+            ctx.getState().toResponsePacket().writeTo(ctx.getSerializer());
+            if (ctx.getMysqlChannel().sendPacketNonBlocking(ctx.getSerializer().toByteBuffer())) {
+                ctx.getState().reset();
+                ctx.resumeAcceptQuery();
+                return;
             }
-        });
+            LOG.warn("Failed to reply the rejected command at once, close session({})", ctx);
+        } catch (IOException e) {
+            LOG.warn("Failed to reply the rejected command, close session({})", ctx, e);
+        }
+        ctx.setKilled();
+        ctx.cleanup();
     }
 }
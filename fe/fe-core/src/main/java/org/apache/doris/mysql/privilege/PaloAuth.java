@@ -76,6 +76,9 @@ public class PaloAuth implements Writable {
     private RoleManager roleManager = new RoleManager();;
     private UserPropertyMgr propertyMgr = new UserPropertyMgr();
 
+    // cache of privs looked up from priv tables, cleared whenever priv tables are changed
+    private PrivCache privCache = new PrivCache();
+
     private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
     private void readLock() {
@@ -91,6 +94,8 @@ public class PaloAuth implements Writable {
     }
 
     private void writeUnlock() {
+        // all changes of priv tables are done with write lock held, including edit log replay
+        privCache.clear();
         lock.writeLock().unlock();
     }
 
@@ -325,7 +330,7 @@ public class PaloAuth implements Writable {
     private boolean checkTblWithDb(UserIdentity currentUser, String db) {
         readLock();
         try {
-            return tablePrivTable.hasPrivsOfDb(currentUser, db);
+            return privCache.hasPrivsOfDb(currentUser, db, tablePrivTable);
         } finally {
             readUnlock();
         }
@@ -429,7 +434,7 @@ public class PaloAuth implements Writable {
     private boolean checkGlobalInternal(UserIdentity currentUser, PrivPredicate wanted, PrivBitSet savedPrivs) {
         readLock();
         try {
-            userPrivTable.getPrivs(currentUser, savedPrivs);
+            savedPrivs.or(privCache.getGlobalPrivs(currentUser, userPrivTable));
             if (PaloPrivilege.satisfy(savedPrivs, wanted)) {
                 return true;
             }
@@ -443,7 +448,11 @@ public class PaloAuth implements Writable {
             PrivBitSet savedPrivs) {
         readLock();
         try {
-            dbPrivTable.getPrivs(currentUser, db, savedPrivs);
+            if (db == null) {
+                dbPrivTable.getPrivs(currentUser, db, savedPrivs);
+            } else {
+                savedPrivs.or(privCache.getDbPrivs(currentUser, db, dbPrivTable));
+            }
             if (PaloPrivilege.satisfy(savedPrivs, wanted)) {
                 return true;
             }
@@ -457,7 +466,11 @@ public class PaloAuth implements Writable {
             PrivPredicate wanted, PrivBitSet savedPrivs) {
         readLock();
         try {
-            tablePrivTable.getPrivs(currentUser, db, tbl, savedPrivs);
+            if (db == null || tbl == null) {
+                tablePrivTable.getPrivs(currentUser, db, tbl, savedPrivs);
+            } else {
+                savedPrivs.or(privCache.getTblPrivs(currentUser, db, tbl, tablePrivTable));
+            }
             if (PaloPrivilege.satisfy(savedPrivs, wanted)) {
                 return true;
             }
@@ -487,6 +500,7 @@ public class PaloAuth implements Writable {
         dbPrivTable.clear();
         tablePrivTable.clear();
         resourcePrivTable.clear();
+        privCache.clear();
     }
 
     // create user
@@ -1326,6 +1340,7 @@ public class PaloAuth implements Writable {
             resourcePrivTable = (ResourcePrivTable) PrivTable.read(in);
         }
         propertyMgr = UserPropertyMgr.read(in);
+        privCache.clear();
 
         if (userPrivTable.isEmpty()) {
             // init root and admin user
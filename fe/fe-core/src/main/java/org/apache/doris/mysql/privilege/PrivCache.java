@@ -0,0 +1,112 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql.privilege;
+
+import org.apache.doris.analysis.UserIdentity;
+import org.apache.doris.common.Pair;
+
+import com.google.common.collect.Maps;
+
+import java.util.concurrent.ConcurrentMap;
+
+/*
+ * PrivCache saves the privs of each user on global, database and table level.
+ * The privs of a user on a database or table are looked up from the priv tables only once,
+ * after that they are read from cache, instead of matching the patterns of all priv entries again.
+ *
+ * Privs are only put into cache with the read lock of PaloAuth held, and the whole cache is cleared
+ * with the write lock held, so that no stale privs will be cached after the priv tables are changed.
+ */
+public class PrivCache {
+    // max number of cached databases or tables of a user, to avoid the cache growing unlimitedly.
+    private static final int MAX_CACHED_NUM_PER_USER = 10000;
+
+    private final ConcurrentMap<UserIdentity, UserPrivs> userPrivsMap = Maps.newConcurrentMap();
+
+    private static class UserPrivs {
+        private volatile PrivBitSet globalPrivs = null;
+        private final ConcurrentMap<String, PrivBitSet> dbPrivs = Maps.newConcurrentMap();
+        private final ConcurrentMap<Pair<String, String>, PrivBitSet> tblPrivs = Maps.newConcurrentMap();
+        // db -> whether user has any privs of tables in this db
+        private final ConcurrentMap<String, Boolean> tblPrivsOfDb = Maps.newConcurrentMap();
+    }
+
+    private UserPrivs getUserPrivs(UserIdentity currentUser) {
+        return userPrivsMap.computeIfAbsent(currentUser, k -> new UserPrivs());
+    }
+
+    // the returned priv set should not be modified
+    public PrivBitSet getGlobalPrivs(UserIdentity currentUser, UserPrivTable userPrivTable) {
+        UserPrivs userPrivs = getUserPrivs(currentUser);
+        PrivBitSet privs = userPrivs.globalPrivs;
+        if (privs == null) {
+            privs = PrivBitSet.of();
+            userPrivTable.getPrivs(currentUser, privs);
+            userPrivs.globalPrivs = privs;
+        }
+        return privs;
+    }
+
+    // the returned priv set should not be modified
+    public PrivBitSet getDbPrivs(UserIdentity currentUser, String db, DbPrivTable dbPrivTable) {
+        UserPrivs userPrivs = getUserPrivs(currentUser);
+        PrivBitSet privs = userPrivs.dbPrivs.get(db);
+        if (privs == null) {
+            privs = PrivBitSet.of();
+            dbPrivTable.getPrivs(currentUser, db, privs);
+            if (userPrivs.dbPrivs.size() >= MAX_CACHED_NUM_PER_USER) {
+                userPrivs.dbPrivs.clear();
+            }
+            userPrivs.dbPrivs.put(db, privs);
+        }
+        return privs;
+    }
+
+    // the returned priv set should not be modified
+    public PrivBitSet getTblPrivs(UserIdentity currentUser, String db, String tbl, TablePrivTable tablePrivTable) {
+        UserPrivs userPrivs = getUserPrivs(currentUser);
+        Pair<String, String> key = new Pair<>(db, tbl);
+        PrivBitSet privs = userPrivs.tblPrivs.get(key);
+        if (privs == null) {
+            privs = PrivBitSet.of();
+            tablePrivTable.getPrivs(currentUser, db, tbl, privs);
+            if (userPrivs.tblPrivs.size() >= MAX_CACHED_NUM_PER_USER) {
+                userPrivs.tblPrivs.clear();
+            }
+            userPrivs.tblPrivs.put(key, privs);
+        }
+        return privs;
+    }
+
+    public boolean hasPrivsOfDb(UserIdentity currentUser, String db, TablePrivTable tablePrivTable) {
+        UserPrivs userPrivs = getUserPrivs(currentUser);
+        Boolean hasPrivs = userPrivs.tblPrivsOfDb.get(db);
+        if (hasPrivs == null) {
+            hasPrivs = tablePrivTable.hasPrivsOfDb(currentUser, db);
+            if (userPrivs.tblPrivsOfDb.size() >= MAX_CACHED_NUM_PER_USER) {
+                userPrivs.tblPrivsOfDb.clear();
+            }
+            userPrivs.tblPrivsOfDb.put(db, hasPrivs);
+        }
+        return hasPrivs;
+    }
+
+    public void clear() {
+        userPrivsMap.clear();
+    }
+}
@@ -0,0 +1,67 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.persist;
+package org.apache.doris.persist;
+
+import org.apache.doris.common.io.Writable;
+import org.apache.doris.transaction.TransactionState;
+
+import com.google.common.collect.Lists;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+/*
+ * used for batch persist transaction states of a group commit or publish in one operation.
+ * TransactionState is not serialized by gson, so the states are written one by one.
+ */
+public class BatchTransactionStateInfo implements Writable {
+    private List<TransactionState> transactionStates;
+
+    private BatchTransactionStateInfo() {
+        this.transactionStates = Lists.newArrayList();
+    }
+
+    public BatchTransactionStateInfo(List<TransactionState> transactionStates) {
+        this.transactionStates = transactionStates;
+    }
+
+    public List<TransactionState> getTransactionStates() {
+        return transactionStates;
+    }
+
+    @Override
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(transactionStates.size());
+        for (TransactionState transactionState : transactionStates) {
+            transactionState.write(out);
+        }
+    }
+
+    public static BatchTransactionStateInfo read(DataInput in) throws IOException {
+        BatchTransactionStateInfo info = new BatchTransactionStateInfo();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            TransactionState transactionState = new TransactionState();
+            transactionState.readFields(in);
+            info.transactionStates.add(transactionState);
+        }
+        return info;
+    }
+}
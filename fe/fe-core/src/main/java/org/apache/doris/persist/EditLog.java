@@ -595,6 +595,14 @@ public class EditLog {
                     LOG.debug("opcode: {}, tid: {}", opCode, state.getTransactionId());
                     break;
                 }
+                case OperationType.OP_BATCH_UPSERT_TRANSACTION_STATE: {
+                    final BatchTransactionStateInfo info = (BatchTransactionStateInfo) journal.getData();
+                    for (TransactionState state : info.getTransactionStates()) {
+                        Catalog.getCurrentGlobalTransactionMgr().replayUpsertTransactionState(state);
+                        LOG.debug("opcode: {}, tid: {}", opCode, state.getTransactionId());
+                    }
+                    break;
+                }
                 case OperationType.OP_DELETE_TRANSACTION_STATE: {
                     final TransactionState state = (TransactionState) journal.getData();
                     Catalog.getCurrentGlobalTransactionMgr().replayDeleteTransactionState(state);
@@ -707,6 +715,11 @@ public class EditLog {
                     catalog.getResourceMgr().replayDropResource(operationLog);
                     break;
                 }
+                case OperationType.OP_UPDATE_COLUMN_STATS: {
+                    final ColumnStatsInfo info = (ColumnStatsInfo) journal.getData();
+                    catalog.getStatisticsManager().replayUpdateColumnStats(info);
+                    break;
+                }
                 case OperationType.OP_CREATE_SMALL_FILE: {
                     SmallFile smallFile = (SmallFile) journal.getData();
                     catalog.getSmallFileMgr().replayCreateFile(smallFile);
@@ -832,8 +845,9 @@ public class EditLog {
 
     /**
      * Write an operation to the edit log. Do not sync to persistent store yet.
+     * Not synchronized, so that concurrent journals can be grouped and committed together by journal.
      */
-    private synchronized void logEdit(short op, Writable writable) {
+    private void logEdit(short op, Writable writable) {
         if (this.getNumEditStreams() == 0) {
             LOG.error("Fatal Error : no editLog stream", new Exception());
             throw new Error("Fatal Error : no editLog stream");
@@ -848,27 +862,30 @@ public class EditLog {
             System.exit(-1);
         }
 
-        // get a new transactionId
-        txId++;
-
-        // update statistics
         long end = System.currentTimeMillis();
-        numTransactions++;
-        totalTimeTransactions += (end - start);
         if (MetricRepo.isInit) {
             MetricRepo.HISTO_EDIT_LOG_WRITE_LATENCY.update((end - start));
         }
 
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("nextId = {}, numTransactions = {}, totalTimeTransactions = {}, op = {}",
-                    txId, numTransactions, totalTimeTransactions, op);
-        }
+        synchronized (this) {
+            // get a new transactionId
+            txId++;
+
+            // update statistics
+            numTransactions++;
+            totalTimeTransactions += (end - start);
 
-        if (txId >= Config.edit_log_roll_num) {
-            LOG.info("txId {} is equal to or larger than edit_log_roll_num {}, will roll edit.",
-                    txId, Config.edit_log_roll_num);
-            rollEditLog();
-            txId = 0;
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("nextId = {}, numTransactions = {}, totalTimeTransactions = {}, op = {}",
+                        txId, numTransactions, totalTimeTransactions, op);
+            }
+
+            if (txId >= Config.edit_log_roll_num) {
+                LOG.info("txId {} is equal to or larger than edit_log_roll_num {}, will roll edit.",
+                        txId, Config.edit_log_roll_num);
+                rollEditLog();
+                txId = 0;
+            }
         }
 
         if (MetricRepo.isInit) {
@@ -1205,6 +1222,14 @@ public class EditLog {
         logEdit(OperationType.OP_UPSERT_TRANSACTION_STATE, transactionState);
     }
 
+    public void logBatchUpsertTransactionState(List<TransactionState> transactionStates) {
+        if (transactionStates.size() == 1) {
+            logInsertTransactionState(transactionStates.get(0));
+        } else {
+            logEdit(OperationType.OP_BATCH_UPSERT_TRANSACTION_STATE, new BatchTransactionStateInfo(transactionStates));
+        }
+    }
+
     public void logDeleteTransactionState(TransactionState transactionState) {
         logEdit(OperationType.OP_DELETE_TRANSACTION_STATE, transactionState);
     }
@@ -1305,6 +1330,10 @@ public class EditLog {
         logEdit(OperationType.OP_DROP_RESOURCE, operationLog);
     }
 
+    public void logUpdateColumnStats(ColumnStatsInfo info) {
+        logEdit(OperationType.OP_UPDATE_COLUMN_STATS, info);
+    }
+
     public void logCreateSmallFile(SmallFile info) {
         logEdit(OperationType.OP_CREATE_SMALL_FILE, info);
     }
@@ -141,6 +141,7 @@ public class OperationType {
     public static final short OP_FINISHING_ROLLUP = 102;
     public static final short OP_FINISHING_SCHEMA_CHANGE = 103;
     public static final short OP_SAVE_TRANSACTION_ID = 104;
+    public static final short OP_BATCH_UPSERT_TRANSACTION_STATE = 105;
 
     // routine load 110~120
     public static final short OP_ROUTINE_LOAD_JOB = 110;
@@ -182,4 +183,7 @@ public class OperationType {
     // resource 276~290
     public static final short OP_CREATE_RESOURCE = 276;
     public static final short OP_DROP_RESOURCE = 277;
+
+    // statistics 291~300
+    public static final short OP_UPDATE_COLUMN_STATS = 291;
 }
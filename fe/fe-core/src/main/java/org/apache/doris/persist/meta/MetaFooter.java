@@ -0,0 +1,122 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.persist.meta;
+
+import com.google.common.collect.Lists;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The layout of sectioned image:
+ *
+ * | MAGIC | format version | section 1 | section 2 | ... | footer | footer offset | MAGIC |
+ *
+ * The footer contains the index of all sections, see {@link MetaIndex}.
+ * Image of old format begins with the meta version, so it can be told apart by the MAGIC at head.
+ */
+public class MetaFooter {
+    public static final byte[] MAGIC = "DORISIMG".getBytes(StandardCharsets.UTF_8);
+    public static final int FORMAT_VERSION = 1;
+    // MAGIC and format version
+    public static final int HEAD_LENGTH = MAGIC.length + 4;
+    // footer offset and MAGIC
+    public static final int TAIL_LENGTH = 8 + MAGIC.length;
+
+    private List<MetaIndex> indexes;
+
+    public MetaFooter() {
+        indexes = Lists.newArrayList();
+    }
+
+    public MetaFooter(List<MetaIndex> indexes) {
+        this.indexes = indexes;
+    }
+
+    public List<MetaIndex> getIndexes() {
+        return indexes;
+    }
+
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(indexes.size());
+        for (MetaIndex index : indexes) {
+            index.write(out);
+        }
+    }
+
+    public void readFields(DataInput in) throws IOException {
+        int size = in.readInt();
+        indexes = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < size; i++) {
+            indexes.add(MetaIndex.read(in));
+        }
+    }
+
+    public static boolean isSectionedImage(File imageFile) throws IOException {
+        if (imageFile.length() < HEAD_LENGTH + TAIL_LENGTH) {
+            return false;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(imageFile, "r")) {
+            byte[] head = new byte[MAGIC.length];
+            raf.readFully(head);
+            return Arrays.equals(head, MAGIC);
+        }
+    }
+
+    /**
+     * Read the footer from the end of image file, and check the magic and format version.
+     */
+    public static MetaFooter read(RandomAccessFile raf) throws IOException {
+        long fileLength = raf.length();
+        byte[] magic = new byte[MAGIC.length];
+        raf.seek(0);
+        raf.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("invalid magic at the head of image");
+        }
+        int formatVersion = raf.readInt();
+        if (formatVersion > FORMAT_VERSION) {
+            throw new IOException("unknown image format version " + formatVersion);
+        }
+
+        raf.seek(fileLength - TAIL_LENGTH);
+        long footerOffset = raf.readLong();
+        raf.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("invalid magic at the tail of image, the image may be truncated");
+        }
+        if (footerOffset < HEAD_LENGTH || footerOffset > fileLength - TAIL_LENGTH) {
+            throw new IOException("invalid footer offset " + footerOffset + " of image");
+        }
+
+        raf.seek(footerOffset);
+        MetaFooter footer = new MetaFooter();
+        footer.readFields(raf);
+        for (MetaIndex index : footer.getIndexes()) {
+            if (index.getOffset() < HEAD_LENGTH || index.getOffset() + index.getLength() > footerOffset) {
+                throw new IOException("invalid " + index);
+            }
+        }
+        return footer;
+    }
+}
@@ -0,0 +1,86 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.common.io.Text;
+import org.apache.doris.common.io.Writable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The position of a section in the image file, and the CRC32 checksum of its bytes.
+ */
+public class MetaIndex implements Writable {
+    private String name;
+    private long offset;
+    private long length;
+    private long checksum;
+
+    private MetaIndex() {
+    }
+
+    public MetaIndex(String name, long offset, long length, long checksum) {
+        this.name = name;
+        this.offset = offset;
+        this.length = length;
+        this.checksum = checksum;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public long getChecksum() {
+        return checksum;
+    }
+
+    @Override
+    public void write(DataOutput out) throws IOException {
+        Text.writeString(out, name);
+        out.writeLong(offset);
+        out.writeLong(length);
+        out.writeLong(checksum);
+    }
+
+    public void readFields(DataInput in) throws IOException {
+        name = Text.readString(in);
+        offset = in.readLong();
+        length = in.readLong();
+        checksum = in.readLong();
+    }
+
+    public static MetaIndex read(DataInput in) throws IOException {
+        MetaIndex index = new MetaIndex();
+        index.readFields(in);
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "section: " + name + ", offset: " + offset + ", length: " + length + ", checksum: " + checksum;
+    }
+}
@@ -0,0 +1,202 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.common.DdlException;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.zip.CRC32;
+
+/**
+ * Load sections of image concurrently, following the dependencies between sections.
+ * Each section is read by positional reads of the image file, so sections can be read by different threads
+ * at the same time. The CRC32 checksum of a section is computed while it is read, and verified after it is
+ * loaded. The section must be fully read by its loader.
+ */
+public class MetaReader implements Closeable {
+    private static final Logger LOG = LogManager.getLogger(MetaReader.class);
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+    private final File imageFile;
+    private final RandomAccessFile raf;
+    private final Map<String, MetaIndex> indexes = Maps.newHashMap();
+
+    public MetaReader(File imageFile) throws IOException {
+        this.imageFile = imageFile;
+        this.raf = new RandomAccessFile(imageFile, "r");
+        try {
+            MetaFooter footer = MetaFooter.read(raf);
+            for (MetaIndex index : footer.getIndexes()) {
+                indexes.put(index.getName(), index);
+            }
+        } catch (IOException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Load the sections by at most parallelNum threads.
+     * Sections are grouped by depth in the dependency graph. The groups are loaded one after another, and the
+     * sections of a group are loaded concurrently. The section which is not in the image is skipped, it is saved
+     * by newer version.
+     */
+    public void loadSections(List<MetaSection> sections, int parallelNum) throws IOException, DdlException {
+        Map<String, MetaSection> nameToSection = Maps.newHashMap();
+        for (MetaSection section : sections) {
+            nameToSection.put(section.getName(), section);
+        }
+        TreeMap<Integer, List<MetaSection>> depthToSections = new TreeMap<>();
+        Map<String, Integer> depths = Maps.newHashMap();
+        for (MetaSection section : sections) {
+            int depth = getDepth(section, nameToSection, depths, Lists.newArrayList());
+            depthToSections.computeIfAbsent(depth, k -> Lists.newArrayList()).add(section);
+        }
+
+        try (MetaTaskExecutor executor = new MetaTaskExecutor("image-reader", parallelNum)) {
+            for (List<MetaSection> group : depthToSections.values()) {
+                List<Callable<Void>> tasks = Lists.newArrayListWithCapacity(group.size());
+                for (MetaSection section : group) {
+                    MetaIndex index = indexes.get(section.getName());
+                    if (index == null) {
+                        LOG.info("section {} is not in image {}, skip it", section.getName(),
+                                imageFile.getAbsolutePath());
+                        continue;
+                    }
+                    tasks.add(() -> {
+                        loadSection(section, index);
+                        return null;
+                    });
+                }
+                if (!tasks.isEmpty()) {
+                    executor.invokeAll(tasks);
+                }
+            }
+        }
+    }
+
+    // depth of section without dependency is 0, otherwise it is 1 more than the max depth of its dependencies
+    private static int getDepth(MetaSection section, Map<String, MetaSection> nameToSection,
+                                Map<String, Integer> depths, List<String> path) {
+        Integer depth = depths.get(section.getName());
+        if (depth != null) {
+            return depth;
+        }
+        if (path.contains(section.getName())) {
+            throw new IllegalStateException("circular dependency of image sections: " + path);
+        }
+        path.add(section.getName());
+        int maxDepth = -1;
+        for (String name : section.getDependencies()) {
+            MetaSection dependency = nameToSection.get(name);
+            if (dependency == null) {
+                throw new IllegalStateException("section " + section.getName() + " depends on unknown section "
+                        + name);
+            }
+            maxDepth = Math.max(maxDepth, getDepth(dependency, nameToSection, depths, path));
+        }
+        path.remove(path.size() - 1);
+        depths.put(section.getName(), maxDepth + 1);
+        return maxDepth + 1;
+    }
+
+    private void loadSection(MetaSection section, MetaIndex index) throws IOException, DdlException {
+        long start = System.currentTimeMillis();
+        CRC32 crc = new CRC32();
+        DataInputStream dis = new DataInputStream(new BufferedInputStream(
+                new SectionInputStream(raf.getChannel(), index.getOffset(), index.getLength(), crc),
+                READ_BUFFER_SIZE));
+        section.getLoader().load(dis, 0);
+        if (dis.available() != 0) {
+            throw new IOException("section " + section.getName() + " of " + index.getLength()
+                    + " bytes is not fully read");
+        }
+        if (crc.getValue() != index.getChecksum()) {
+            throw new IOException("checksum of section " + section.getName() + " mismatch: "
+                    + crc.getValue() + " vs. " + index.getChecksum());
+        }
+        LOG.info("finished to load section {} in {} ms", section.getName(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void close() throws IOException {
+        raf.close();
+    }
+
+    // read a section by positional reads, which do not change the position of the channel,
+    // and update the checksum with the bytes read
+    private static class SectionInputStream extends InputStream {
+        private final FileChannel channel;
+        private final CRC32 crc;
+        private long position;
+        private final long end;
+
+        public SectionInputStream(FileChannel channel, long offset, long length, CRC32 crc) {
+            this.channel = channel;
+            this.crc = crc;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] bytes = new byte[1];
+            return read(bytes, 0, 1) < 0 ? -1 : bytes[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= end) {
+                return -1;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, off, (int) Math.min(len, end - position));
+            int num = channel.read(buffer, position);
+            if (num < 0) {
+                throw new IOException("unexpected end of image file");
+            }
+            crc.update(bytes, off, num);
+            position += num;
+            return num;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(end - position, Integer.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.common.DdlException;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A section of the image, such as databases or load jobs.
+ * Sections are saved concurrently. When loading, a section starts after all the sections it depends on are loaded,
+ * and sections without dependency between each other are loaded concurrently. So a section must depend on every
+ * section whose loaded data it reads, and on every section that modifies the same non thread safe state as it.
+ */
+public class MetaSection {
+
+    public interface Saver {
+        long save(DataOutputStream dos, long checksum) throws IOException;
+    }
+
+    public interface Loader {
+        long load(DataInputStream dis, long checksum) throws IOException, DdlException;
+    }
+
+    private final String name;
+    private final Saver saver;
+    private final Loader loader;
+    // names of the sections which must be loaded before this one
+    private final List<String> dependencies;
+
+    public MetaSection(String name, Saver saver, Loader loader, String... dependencies) {
+        this.name = name;
+        this.saver = saver;
+        this.loader = loader;
+        this.dependencies = ImmutableList.copyOf(dependencies);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Saver getSaver() {
+        return saver;
+    }
+
+    public Loader getLoader() {
+        return loader;
+    }
+
+    public List<String> getDependencies() {
+        return dependencies;
+    }
+}
@@ -0,0 +1,128 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.common.DdlException;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.meta.MetaContext;
+
+import com.google.common.collect.Lists;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Run tasks of saving or loading image sections concurrently.
+ * The worker threads share the meta context of the calling thread, and act as the checkpoint thread
+ * if the calling thread is, so that they see the same Catalog instance as the calling thread.
+ */
+public class MetaTaskExecutor implements Closeable {
+    private final ThreadPoolExecutor executor;
+    private final MetaContext metaContext;
+    private final boolean isCheckpoint;
+
+    public MetaTaskExecutor(String name, int parallelNum) {
+        if (parallelNum > 1) {
+            executor = ThreadPoolManager.newDaemonFixedThreadPool(parallelNum, Integer.MAX_VALUE, name, false);
+        } else {
+            executor = null;
+        }
+        metaContext = MetaContext.get();
+        isCheckpoint = Catalog.isCheckpointThread();
+    }
+
+    /**
+     * Run all tasks and wait for them finished. Tasks run in the calling thread if there is only one.
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) throws IOException, DdlException {
+        List<T> results = Lists.newArrayListWithCapacity(tasks.size());
+        if (executor == null || tasks.size() == 1) {
+            for (Callable<T> task : tasks) {
+                results.add(call(task));
+            }
+            return results;
+        }
+
+        List<Future<T>> futures = Lists.newArrayListWithCapacity(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(executor.submit(() -> {
+                if (metaContext != null) {
+                    metaContext.setThreadLocalInfo();
+                }
+                Catalog.setCheckpointWorker(isCheckpoint);
+                try {
+                    return task.call();
+                } finally {
+                    Catalog.setCheckpointWorker(false);
+                    MetaContext.remove();
+                }
+            }));
+        }
+
+        Exception firstException = null;
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (firstException == null) {
+                    firstException = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            } catch (InterruptedException e) {
+                if (firstException == null) {
+                    firstException = e;
+                }
+            }
+        }
+        if (firstException != null) {
+            throwException(firstException);
+        }
+        return results;
+    }
+
+    private <T> T call(Callable<T> task) throws IOException, DdlException {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            throwException(e);
+            return null;
+        }
+    }
+
+    private static void throwException(Exception e) throws IOException, DdlException {
+        if (e instanceof IOException) {
+            throw (IOException) e;
+        } else if (e instanceof DdlException) {
+            throw (DdlException) e;
+        } else if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        throw new IOException(e.getMessage(), e);
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
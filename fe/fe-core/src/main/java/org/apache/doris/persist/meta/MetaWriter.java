@@ -0,0 +1,125 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.common.DdlException;
+import org.apache.doris.common.io.DataOutputBuffer;
+
+import com.google.common.collect.Lists;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Save image in sections. Sections are serialized concurrently to temporary files beside the image,
+ * then concatenated to the image file, followed by the footer of section indexes.
+ */
+public class MetaWriter {
+    private static final Logger LOG = LogManager.getLogger(MetaWriter.class);
+    private static final String PART_FILE_SUFFIX = ".part.";
+
+    public static void write(File imageFile, List<MetaSection> sections, int parallelNum) throws IOException {
+        List<File> partFiles = Lists.newArrayListWithCapacity(sections.size());
+        for (MetaSection section : sections) {
+            partFiles.add(new File(imageFile.getParentFile(), imageFile.getName() + PART_FILE_SUFFIX
+                    + section.getName()));
+        }
+
+        try {
+            List<Callable<Long>> tasks = Lists.newArrayListWithCapacity(sections.size());
+            for (int i = 0; i < sections.size(); i++) {
+                MetaSection section = sections.get(i);
+                File partFile = partFiles.get(i);
+                tasks.add(() -> {
+                    // the checksum returned by saver only covers some fields, so CRC32 of all bytes is used
+                    CRC32 crc = new CRC32();
+                    try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(
+                            new CheckedOutputStream(new FileOutputStream(partFile), crc)))) {
+                        section.getSaver().save(dos, 0);
+                    }
+                    return crc.getValue();
+                });
+            }
+            List<Long> checksums;
+            try (MetaTaskExecutor executor = new MetaTaskExecutor("image-writer", parallelNum)) {
+                checksums = executor.invokeAll(tasks);
+            } catch (DdlException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+
+            try (FileOutputStream fos = new FileOutputStream(imageFile); FileChannel out = fos.getChannel()) {
+                ByteBuffer head = ByteBuffer.allocate(MetaFooter.HEAD_LENGTH);
+                head.put(MetaFooter.MAGIC);
+                head.putInt(MetaFooter.FORMAT_VERSION);
+                head.flip();
+                writeFully(out, head);
+
+                List<MetaIndex> indexes = Lists.newArrayListWithCapacity(sections.size());
+                for (int i = 0; i < sections.size(); i++) {
+                    long offset = out.position();
+                    try (FileInputStream fis = new FileInputStream(partFiles.get(i));
+                         FileChannel in = fis.getChannel()) {
+                        long length = in.size();
+                        long transferred = 0;
+                        while (transferred < length) {
+                            transferred += in.transferTo(transferred, length - transferred, out);
+                        }
+                        out.position(offset + length);
+                        indexes.add(new MetaIndex(sections.get(i).getName(), offset, length, checksums.get(i)));
+                    }
+                }
+
+                long footerOffset = out.position();
+                DataOutputBuffer footerBuffer = new DataOutputBuffer();
+                new MetaFooter(indexes).write(footerBuffer);
+                footerBuffer.writeLong(footerOffset);
+                footerBuffer.write(MetaFooter.MAGIC);
+                writeFully(out, ByteBuffer.wrap(footerBuffer.getData(), 0, footerBuffer.getLength()));
+                out.force(true);
+
+                for (MetaIndex index : indexes) {
+                    LOG.debug("saved image {}", index);
+                }
+            }
+        } finally {
+            for (File partFile : partFiles) {
+                if (partFile.exists() && !partFile.delete()) {
+                    LOG.warn("failed to delete temporary image file {}", partFile.getAbsolutePath());
+                }
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -23,10 +23,11 @@ import org.apache.doris.analysis.TupleDescriptor;
 import org.apache.doris.catalog.Catalog;
 import org.apache.doris.catalog.EsTable;
 import org.apache.doris.catalog.PartitionInfo;
-import org.apache.doris.catalog.PartitionKey;
 import org.apache.doris.catalog.RangePartitionInfo;
 import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.UserException;
+import org.apache.doris.external.elasticsearch.EsMajorVersion;
 import org.apache.doris.external.elasticsearch.EsShardPartitions;
 import org.apache.doris.external.elasticsearch.EsShardRouting;
 import org.apache.doris.external.elasticsearch.EsTablePartitions;
@@ -45,7 +46,6 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Range;
 import com.google.common.collect.Sets;
 
 import org.apache.logging.log4j.LogManager;
@@ -119,11 +119,7 @@ public class EsScanNode extends ScanNode {
      * @return
      */
     private int useDocValueScan(TupleDescriptor desc, Map<String, String> docValueContext) {
-        ArrayList<SlotDescriptor> slotDescriptors = desc.getSlots();
-        List<String> selectedFields = new ArrayList<>(slotDescriptors.size());
-        for (SlotDescriptor slotDescriptor : slotDescriptors) {
-            selectedFields.add(slotDescriptor.getColumn().getName());
-        }
+        List<String> selectedFields = getSelectedFields(desc);
         if (selectedFields.size() > table.maxDocValueFields()) {
             return 0;
         }
@@ -138,6 +134,49 @@ public class EsScanNode extends ScanNode {
         return useDocValue ? 1 : 0;
     }
 
+    // only the materialized columns are fetched from ES
+    private static List<String> getSelectedFields(TupleDescriptor desc) {
+        ArrayList<SlotDescriptor> slotDescriptors = desc.getSlots();
+        List<String> selectedFields = new ArrayList<>(slotDescriptors.size());
+        for (SlotDescriptor slotDescriptor : slotDescriptors) {
+            if (slotDescriptor.isMaterialized()) {
+                selectedFields.add(slotDescriptor.getColumn().getName());
+            }
+        }
+        return selectedFields;
+    }
+
+    /**
+     * Only send the docvalue fields of the selected columns to BE,
+     * the docvalue context of a wide index may be much larger than the columns a query needs.
+     */
+    private static Map<String, String> selectDocValueContext(TupleDescriptor desc, Map<String, String> docValueContext) {
+        Map<String, String> selectedContext = Maps.newHashMap();
+        for (String field : getSelectedFields(desc)) {
+            String docValueField = docValueContext.get(field);
+            if (docValueField != null) {
+                selectedContext.put(field, docValueField);
+            }
+        }
+        return selectedContext;
+    }
+
+    /**
+     * Decide how many sliced scrolls scan one shard.
+     * If not specified by the table, split the shards so that every alive backend has about one scan range,
+     * but no more than es_max_slices_per_shard slices per shard.
+     */
+    static int getSlicesPerShard(int tableSlicesPerShard, int shardNum, int backendNum, int maxSlicesPerShard) {
+        if (tableSlicesPerShard > 0) {
+            return tableSlicesPerShard;
+        }
+        if (shardNum <= 0 || shardNum >= backendNum) {
+            return 1;
+        }
+        int slices = (backendNum + shardNum - 1) / shardNum;
+        return Math.max(1, Math.min(slices, maxSlicesPerShard));
+    }
+
     @Override
     protected void toThrift(TPlanNode msg) {
         if (EsTable.TRANSPORT_HTTP.equals(table.getTransport())) {
@@ -151,7 +190,7 @@ public class EsScanNode extends ScanNode {
         TEsScanNode esScanNode = new TEsScanNode(desc.getId().asInt());
         esScanNode.setProperties(properties);
         if (table.isDocValueScanEnable()) {
-            esScanNode.setDocvalue_context(table.docValueContext());
+            esScanNode.setDocvalue_context(selectDocValueContext(desc, table.docValueContext()));
             properties.put(EsTable.DOC_VALUES_MODE, String.valueOf(useDocValueScan(desc, table.docValueContext())));
         }
         if (table.isKeywordSniffEnable() && table.fieldsContext().size() > 0) {
@@ -206,6 +245,16 @@ public class EsScanNode extends ScanNode {
         }
         int size = backendList.size();
         int beIndex = random.nextInt(size);
+        int shardNum = 0;
+        for (EsShardPartitions indexState : selectedIndex) {
+            shardNum += indexState.getShardRoutings().size();
+        }
+        int slicesPerShard = 1;
+        // sliced scroll is supported since ES 5.0, and only by http transport
+        if (EsTable.TRANSPORT_HTTP.equals(table.getTransport())
+                && (table.majorVersion == null || table.majorVersion.onOrAfter(EsMajorVersion.V_5_X))) {
+            slicesPerShard = getSlicesPerShard(table.slicesPerShard(), shardNum, size, Config.es_max_slices_per_shard);
+        }
         List<TScanRangeLocations> result = Lists.newArrayList();
         for (EsShardPartitions indexState : selectedIndex) {
             for (List<EsShardRouting> shardRouting : indexState.getShardRoutings().values()) {
@@ -224,7 +273,8 @@ public class EsScanNode extends ScanNode {
                 boolean usingRandomBackend = colocatedBes.size() == 0;
                 List<Backend> candidateBeList = Lists.newArrayList();
                 if (usingRandomBackend) {
-                    for (int i = 0; i < numBe; ++i) {
+                    // different slices of one shard prefer different backends
+                    for (int i = 0; i < Math.min(Math.max(numBe, slicesPerShard), size); ++i) {
                         candidateBeList.add(backendList.get(beIndex++ % size));
                     }
                 } else {
@@ -232,28 +282,34 @@ public class EsScanNode extends ScanNode {
                     Collections.shuffle(candidateBeList);
                 }
 
-                // Locations
-                TScanRangeLocations locations = new TScanRangeLocations();
-                for (int i = 0; i < numBe && i < candidateBeList.size(); ++i) {
-                    TScanRangeLocation location = new TScanRangeLocation();
-                    Backend be = candidateBeList.get(i);
-                    location.setBackend_id(be.getId());
-                    location.setServer(new TNetworkAddress(be.getHost(), be.getBePort()));
-                    locations.addToLocations(location);
-                }
+                for (int sliceId = 0; sliceId < slicesPerShard; sliceId++) {
+                    // Locations
+                    TScanRangeLocations locations = new TScanRangeLocations();
+                    for (int i = 0; i < numBe && i < candidateBeList.size(); ++i) {
+                        TScanRangeLocation location = new TScanRangeLocation();
+                        Backend be = candidateBeList.get((sliceId + i) % candidateBeList.size());
+                        location.setBackend_id(be.getId());
+                        location.setServer(new TNetworkAddress(be.getHost(), be.getBePort()));
+                        locations.addToLocations(location);
+                    }
 
-                // Generate on es scan range
-                TEsScanRange esScanRange = new TEsScanRange();
-                esScanRange.setEs_hosts(shardAllocations);
-                esScanRange.setIndex(shardRouting.get(0).getIndexName());
-                esScanRange.setType(table.getMappingType());
-                esScanRange.setShard_id(shardRouting.get(0).getShardId());
-                // Scan range
-                TScanRange scanRange = new TScanRange();
-                scanRange.setEs_scan_range(esScanRange);
-                locations.setScan_range(scanRange);
-                // result
-                result.add(locations);
+                    // Generate on es scan range
+                    TEsScanRange esScanRange = new TEsScanRange();
+                    esScanRange.setEs_hosts(shardAllocations);
+                    esScanRange.setIndex(shardRouting.get(0).getIndexName());
+                    esScanRange.setType(table.getMappingType());
+                    esScanRange.setShard_id(shardRouting.get(0).getShardId());
+                    if (slicesPerShard > 1) {
+                        esScanRange.setSlice_id(sliceId);
+                        esScanRange.setSlice_num(slicesPerShard);
+                    }
+                    // Scan range
+                    TScanRange scanRange = new TScanRange();
+                    scanRange.setEs_scan_range(esScanRange);
+                    locations.setScan_range(scanRange);
+                    // result
+                    result.add(locations);
+                }
             }
 
         }
@@ -285,8 +341,8 @@ public class EsScanNode extends ScanNode {
         switch (partitionInfo.getType()) {
             case RANGE: {
                 RangePartitionInfo rangePartitionInfo = (RangePartitionInfo) partitionInfo;
-                Map<Long, Range<PartitionKey>> keyRangeById = rangePartitionInfo.getIdToRange(false);
-                partitionPruner = new RangePartitionPruner(keyRangeById, rangePartitionInfo.getPartitionColumns(),
+                partitionPruner = new RangePartitionPruner(rangePartitionInfo.getRangeIndex(),
+                        rangePartitionInfo.getPartitionColumns(),
                         columnFilters);
                 return partitionPruner.prune();
             }
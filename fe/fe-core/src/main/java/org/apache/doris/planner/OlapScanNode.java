@@ -24,6 +24,8 @@ import org.apache.doris.analysis.CastExpr;
 import org.apache.doris.analysis.Expr;
 import org.apache.doris.analysis.InPredicate;
 import org.apache.doris.analysis.PartitionNames;
+import org.apache.doris.analysis.Predicate;
+import org.apache.doris.analysis.SlotId;
 import org.apache.doris.analysis.SlotDescriptor;
 import org.apache.doris.analysis.SlotRef;
 import org.apache.doris.analysis.TupleDescriptor;
@@ -70,6 +72,7 @@ import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -302,6 +305,11 @@ public class OlapScanNode extends ScanNode {
     public void computeStats(Analyzer analyzer) {
         if (cardinality > 0) {
             avgRowSize = totalBytes / (float) cardinality;
+            // only the rows satisfying conjuncts are returned, which decides the cost of broadcast or shuffle.
+            if (ConnectContext.get() != null
+                    && ConnectContext.get().getSessionVariable().isEnableCostBasedJoinReorder()) {
+                cardinality = Math.max(1, Math.round(cardinality * computeConjunctsSelectivity()));
+            }
             if (hasLimit()) {
                 cardinality = Math.min(cardinality, limit);
             }
@@ -313,10 +321,42 @@ public class OlapScanNode extends ScanNode {
         cardinality = cardinality == -1 ? 0 : cardinality;
     }
 
+    // Only the selectivity estimated by column statistics is used. The conjuncts on partition and distribution
+    // columns are skipped, because the row count of pruned partitions and tablets is already excluded.
+    private double computeConjunctsSelectivity() {
+        Set<String> pruningColumns = Sets.newHashSet();
+        if (olapTable.getPartitionInfo().getType() == PartitionType.RANGE) {
+            for (Column column : ((RangePartitionInfo) olapTable.getPartitionInfo()).getPartitionColumns()) {
+                pruningColumns.add(column.getName());
+            }
+        }
+        if (olapTable.getDefaultDistributionInfo() instanceof HashDistributionInfo) {
+            for (Column column : ((HashDistributionInfo) olapTable.getDefaultDistributionInfo())
+                    .getDistributionColumns()) {
+                pruningColumns.add(column.getName());
+            }
+        }
+        List<SlotId> pruningSlotIds = Lists.newArrayList();
+        for (SlotDescriptor slot : desc.getSlots()) {
+            if (slot.getColumn() != null && pruningColumns.contains(slot.getColumn().getName())) {
+                pruningSlotIds.add(slot.getId());
+            }
+        }
+
+        double selectivity = 1.0;
+        for (Expr conjunct : conjuncts) {
+            double conjunctSelectivity = Predicate.getSelectivityByStats(conjunct);
+            if (conjunctSelectivity >= 0 && !conjunct.isBound(pruningSlotIds)) {
+                selectivity *= conjunctSelectivity;
+            }
+        }
+        return selectivity;
+    }
+
     private Collection<Long> partitionPrune(RangePartitionInfo partitionInfo, PartitionNames partitionNames) throws AnalysisException {
-        Map<Long, Range<PartitionKey>> keyRangeById = null;
+        PartitionPruner partitionPruner = null;
         if (partitionNames != null) {
-            keyRangeById = Maps.newHashMap();
+            Map<Long, Range<PartitionKey>> keyRangeById = Maps.newHashMap();
             for (String partName : partitionNames.getPartitionNames()) {
                 Partition part = olapTable.getPartition(partName, partitionNames.isTemp());
                 if (part == null) {
@@ -324,11 +364,13 @@ public class OlapScanNode extends ScanNode {
                 }
                 keyRangeById.put(part.getId(), partitionInfo.getRange(part.getId()));
             }
+            partitionPruner = new RangePartitionPruner(keyRangeById,
+                    partitionInfo.getPartitionColumns(), columnFilters);
         } else {
-            keyRangeById = partitionInfo.getIdToRange(false);
+            // use the sorted index of all formal partitions, which is shared by queries
+            partitionPruner = new RangePartitionPruner(partitionInfo.getRangeIndex(),
+                    partitionInfo.getPartitionColumns(), columnFilters);
         }
-        PartitionPruner partitionPruner = new RangePartitionPruner(keyRangeById,
-                partitionInfo.getPartitionColumns(), columnFilters);
         return partitionPruner.prune();
     }
 
@@ -607,6 +649,27 @@ public class OlapScanNode extends ScanNode {
         return result.size();
     }
 
+    /**
+     * Whether the scan looks up one row of a unique key table,
+     * that is all the key columns are equal to one value and only one tablet is selected.
+     * Must be called after finalize().
+     */
+    public boolean isPointQuery() {
+        if (olapTable.getKeysType() != KeysType.UNIQUE_KEYS || selectedTabletsNum != 1 || columnFilters == null) {
+            return false;
+        }
+        for (Column column : olapTable.getBaseSchema()) {
+            if (!column.isKey()) {
+                continue;
+            }
+            PartitionColumnFilter filter = columnFilters.get(column.getName());
+            if (filter == null || !filter.isPoint()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     protected void toThrift(TPlanNode msg) {
         List<String> keyColumnNames = new ArrayList<String>();
@@ -90,6 +90,13 @@ public class PartitionColumnFilter {
         }
     }
 
+    // whether the column is equal to one value
+    public boolean isPoint() {
+        return lowerBoundInclusive && upperBoundInclusive
+                && lowerBound != null && upperBound != null
+                && 0 == lowerBound.compareLiteral(upperBound);
+    }
+
     public Range<PartitionKey> getRange(List<Column> columns) {
         LOG.info("range is " + toString());
         BoundType lowerType = lowerBoundInclusive ? BoundType.CLOSED : BoundType.OPEN;
@@ -41,6 +41,7 @@ import org.apache.logging.log4j.Logger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Each PlanNode represents a single relational operator
@@ -100,6 +101,9 @@ abstract public class PlanNode extends TreeNode<PlanNode> {
     protected boolean compactData;
     protected int numInstances;
 
+    // runtime filters built by this node (hash join) or applied by this node (scan)
+    protected List<RuntimeFilter> runtimeFilters = Lists.newArrayList();
+
     protected PlanNode(PlanNodeId id, ArrayList<TupleId> tupleIds, String planNodeName) {
         this.id = id;
         this.limit = -1;
@@ -236,6 +240,14 @@ abstract public class PlanNode extends TreeNode<PlanNode> {
         tblRefIds = ids;
     }
 
+    public List<RuntimeFilter> getRuntimeFilters() {
+        return runtimeFilters;
+    }
+
+    public void addRuntimeFilter(RuntimeFilter filter) {
+        runtimeFilters.add(filter);
+    }
+
     public Set<TupleId> getNullableTupleIds() {
         Preconditions.checkState(nullableTupleIds != null);
         return nullableTupleIds;
@@ -318,6 +330,12 @@ abstract public class PlanNode extends TreeNode<PlanNode> {
         // will be prefixed by detailPrefix.
         expBuilder.append(rootPrefix + id.asInt() + ":" + planNodeName + "\n");
         expBuilder.append(getNodeExplainString(detailPrefix, detailLevel));
+        if (!runtimeFilters.isEmpty()) {
+            expBuilder.append(detailPrefix + "runtime filters: ");
+            expBuilder.append(runtimeFilters.stream().map(filter -> filter.getExplainString(this))
+                    .collect(Collectors.joining(", ")));
+            expBuilder.append("\n");
+        }
         if (limit != -1) {
             expBuilder.append(detailPrefix + "limit: " + limit + "\n");
         }
@@ -378,6 +396,9 @@ abstract public class PlanNode extends TreeNode<PlanNode> {
             msg.addToConjuncts(e.treeToThrift());
         }
         msg.compact_data = compactData;
+        for (RuntimeFilter filter : runtimeFilters) {
+            msg.addToRuntime_filters(filter.toThrift());
+        }
         toThrift(msg);
         container.addToNodes(msg);
         if (this instanceof ExchangeNode) {
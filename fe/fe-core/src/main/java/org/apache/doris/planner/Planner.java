@@ -27,6 +27,7 @@ import org.apache.doris.analysis.SlotId;
 import org.apache.doris.analysis.StatementBase;
 import org.apache.doris.analysis.TupleDescriptor;
 import org.apache.doris.catalog.PrimitiveType;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.UserException;
 import org.apache.doris.rewrite.mvrewrite.MVSelectFailedException;
 import org.apache.doris.thrift.TExplainLevel;
@@ -50,8 +51,10 @@ public class Planner {
     private static final Logger LOG = LogManager.getLogger(Planner.class);
 
     private boolean isBlockQuery = false;
+    private boolean isPointQuery = false;
 
     private ArrayList<PlanFragment> fragments = Lists.newArrayList();
+    private List<RuntimeFilter> runtimeFilters = Lists.newArrayList();
 
     private PlannerContext plannerContext;
     private SingleNodePlanner singleNodePlanner;
@@ -61,10 +64,18 @@ public class Planner {
         return isBlockQuery;
     }
 
+    public boolean isPointQuery() {
+        return isPointQuery;
+    }
+
     public List<PlanFragment> getFragments() {
         return fragments;
     }
 
+    public List<RuntimeFilter> getRuntimeFilters() {
+        return runtimeFilters;
+    }
+
     public PlannerContext getPlannerContext() { return plannerContext;}
 
     public List<ScanNode> getScanNodes() {
@@ -174,6 +185,11 @@ public class Planner {
             singleNodePlan = addUnassignedConjuncts(analyzer, singleNodePlan);
             fragments.add(new PlanFragment(plannerContext.getNextFragmentId(), singleNodePlan,
                     DataPartition.UNPARTITIONED));
+        } else if (isPointQuery(statement, singleNodePlan)) {
+            // the only scan fragment sends the result directly, no need to plan the exchange
+            isPointQuery = true;
+            fragments.add(new PlanFragment(plannerContext.getNextFragmentId(), singleNodePlan,
+                    DataPartition.RANDOM));
         } else {
             // all select query are unpartitioned.
             distributedPlanner = new DistributedPlanner(plannerContext);
@@ -185,6 +201,9 @@ public class Planner {
         QueryStatisticsTransferOptimizer queryStatisticTransferOptimizer = new QueryStatisticsTransferOptimizer(rootFragment);
         queryStatisticTransferOptimizer.optimizeQueryStatisticsTransfer();
 
+        // the plan tree of root fragment contains the whole plan, the children of exchange nodes are not cut off
+        runtimeFilters = RuntimeFilterGenerator.generateRuntimeFilters(rootFragment.getPlanRoot());
+
         if (statement instanceof InsertStmt) {
             InsertStmt insertStmt = (InsertStmt) statement;
             rootFragment = distributedPlanner.createInsertFragment(rootFragment, insertStmt, fragments);
@@ -220,6 +239,19 @@ public class Planner {
         }
     }
 
+    // A select looking up one row of a unique key table by all the key columns, so that the plan is only one
+    // olap scan node on one tablet.
+    private boolean isPointQuery(StatementBase statement, PlanNode singleNodePlan) {
+        if (!Config.enable_point_query_fast_path || !(statement instanceof SelectStmt)
+                || ((SelectStmt) statement).hasOutFileClause()) {
+            return false;
+        }
+        if (!(singleNodePlan instanceof OlapScanNode)) {
+            return false;
+        }
+        return ((OlapScanNode) singleNodePlan).isPointQuery();
+    }
+
     // if query stmt has OUTFILE clause, set info into ResultSink.
     // this should be done after fragments are generated.
     private void setOutfileSink(QueryStmt queryStmt) {
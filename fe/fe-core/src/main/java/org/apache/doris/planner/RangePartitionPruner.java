@@ -22,15 +22,14 @@ import org.apache.doris.analysis.LiteralExpr;
 import org.apache.doris.analysis.NullLiteral;
 import org.apache.doris.catalog.Column;
 import org.apache.doris.catalog.PartitionKey;
+import org.apache.doris.catalog.RangePartitionIndex;
 import org.apache.doris.catalog.Type;
 import org.apache.doris.common.AnalysisException;
 
 import com.google.common.collect.BoundType;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
-import com.google.common.collect.RangeMap;
 import com.google.common.collect.Sets;
-import com.google.common.collect.TreeRangeMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -43,19 +42,25 @@ import java.util.Set;
 public class RangePartitionPruner implements PartitionPruner {
     private static final Logger LOG = LogManager.getLogger(RangePartitionPruner.class);
 
-    private Map<Long, Range<PartitionKey>> partitionRangeMap;
+    private RangePartitionIndex rangeIndex;
     private List<Column> partitionColumns;
     private Map<String, PartitionColumnFilter> partitionColumnFilters;
 
     public RangePartitionPruner(Map<Long, Range<PartitionKey>> rangeMap,
                                 List<Column> columns,
                                 Map<String, PartitionColumnFilter> filters) {
-        partitionRangeMap = rangeMap;
+        this(new RangePartitionIndex(rangeMap), columns, filters);
+    }
+
+    public RangePartitionPruner(RangePartitionIndex index,
+                                List<Column> columns,
+                                Map<String, PartitionColumnFilter> filters) {
+        rangeIndex = index;
         partitionColumns = columns;
         partitionColumnFilters = filters;
     }
 
-    private Collection<Long> prune(RangeMap<PartitionKey, Long> rangeMap,
+    private Collection<Long> prune(RangePartitionIndex rangeIndex,
                                    int columnIdx,
                                    PartitionKey minKey,
                                    PartitionKey maxKey,
@@ -65,7 +70,7 @@ public class RangePartitionPruner implements PartitionPruner {
         // the last column in partition Key
         if (columnIdx == partitionColumns.size()) {
             try {
-                return Lists.newArrayList(rangeMap.subRangeMap(Range.closed(minKey, maxKey)).asMapOfRanges().values());
+                return rangeIndex.getIntersectedIds(Range.closed(minKey, maxKey));
             } catch (IllegalArgumentException e) {
                 return Lists.newArrayList();
             }
@@ -80,8 +85,7 @@ public class RangePartitionPruner implements PartitionPruner {
                     keyColumn.getDataType());
             Collection<Long> result = null;
             try {
-                result = Lists.newArrayList(
-                        rangeMap.subRangeMap(Range.closed(minKey, maxKey)).asMapOfRanges().values());
+                result = rangeIndex.getIntersectedIds(Range.closed(minKey, maxKey));
             } catch (IllegalArgumentException e) {
                 result = Lists.newArrayList();
             }
@@ -106,7 +110,7 @@ public class RangePartitionPruner implements PartitionPruner {
                     minKey.pushColumn(filter.lowerBound, keyColumn.getDataType());
                     maxKey.pushColumn(filter.upperBound, keyColumn.getDataType());
                 }
-                Collection<Long> result = prune(rangeMap, columnIdx + 1, minKey, maxKey, complex);
+                Collection<Long> result = prune(rangeIndex, columnIdx + 1, minKey, maxKey, complex);
                 minKey.popColumn();
                 maxKey.popColumn();
                 return result;
@@ -149,8 +153,7 @@ public class RangePartitionPruner implements PartitionPruner {
 
             Collection<Long> result = null;
             try {
-                result = Lists.newArrayList(rangeMap.subRangeMap(
-                            Range.range(minKey, lowerType, maxKey, upperType)).asMapOfRanges().values());
+                result = rangeIndex.getIntersectedIds(Range.range(minKey, lowerType, maxKey, upperType));
             } catch (IllegalArgumentException e) {
                 result = Lists.newArrayList();
             }
@@ -165,12 +168,29 @@ public class RangePartitionPruner implements PartitionPruner {
         }
         Set<Long> resultSet = Sets.newHashSet();
         int childrenNum = inPredicate.getChildren().size();
+        if (columnIdx == partitionColumns.size() - 1) {
+            // the last column in partition key, search all values in ascending order in one pass
+            List<LiteralExpr> values = Lists.newArrayListWithCapacity(childrenNum - 1);
+            for (int i = 1; i < childrenNum; ++i) {
+                values.add((LiteralExpr) inPredicate.getChild(i));
+            }
+            values.sort(PartitionKey::compareLiteralExpr);
+            int fromIdx = 0;
+            for (LiteralExpr expr : values) {
+                minKey.pushColumn(expr, keyColumn.getDataType());
+                maxKey.pushColumn(expr, keyColumn.getDataType());
+                fromIdx = rangeIndex.search(Range.closed(minKey, maxKey), fromIdx, resultSet);
+                minKey.popColumn();
+                maxKey.popColumn();
+            }
+            return resultSet;
+        }
         int newComplex = inPredicate.getChildren().size() * complex;
         for (int i = 1; i < childrenNum; ++i) {
             LiteralExpr expr = (LiteralExpr) inPredicate.getChild(i);
             minKey.pushColumn(expr, keyColumn.getDataType());
             maxKey.pushColumn(expr, keyColumn.getDataType());
-            Collection<Long> subList = prune(rangeMap, columnIdx + 1, minKey, maxKey, newComplex);
+            Collection<Long> subList = prune(rangeIndex, columnIdx + 1, minKey, maxKey, newComplex);
             for (long partId : subList) {
                 resultSet.add(partId);
             }
@@ -184,11 +204,6 @@ public class RangePartitionPruner implements PartitionPruner {
     public Collection<Long> prune() throws AnalysisException {
         PartitionKey minKey = new PartitionKey();
         PartitionKey maxKey = new PartitionKey();
-        // Map to RangeMapTree
-        RangeMap<PartitionKey, Long> rangeMap = TreeRangeMap.create();
-        for (Map.Entry<Long, Range<PartitionKey>> entry : partitionRangeMap.entrySet()) {
-            rangeMap.put(entry.getValue(), entry.getKey());
-        }
-        return prune(rangeMap, 0, minKey, maxKey, 1);
+        return prune(rangeIndex, 0, minKey, maxKey, 1);
     }
 }
@@ -0,0 +1,162 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.planner;
+
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.thrift.TRuntimeFilterDesc;
+import org.apache.doris.thrift.TRuntimeFilterType;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * Runtime filter built on the build side of a hash join and applied to the scan nodes of the probe side.
+ * For the equal join conjunct "probe_expr = build_expr", the filter is built on the values of build_expr
+ * and each target scan node filters its rows by evaluating probe_expr against it.
+ * A target is local if it is in the same fragment as the join node, otherwise the filters of all the
+ * producer instances are merged by the merge instance and then sent to the instances of target scan node.
+ */
+public class RuntimeFilter {
+    private final RuntimeFilterId id;
+    // the hash join node which builds the filter
+    private final HashJoinNode builderNode;
+    // expr on the build side of equal join conjunct
+    private final Expr srcExpr;
+    // the order of the equal join conjunct in hash join node
+    private final int exprOrder;
+    private final TRuntimeFilterType type;
+    // estimated number of distinct values of build side, -1 if unknown
+    private final long ndvEstimate;
+    private final long bloomFilterSizeBytes;
+    private final List<RuntimeFilterTarget> targets = Lists.newArrayList();
+
+    public RuntimeFilter(RuntimeFilterId id, HashJoinNode builderNode, Expr srcExpr, int exprOrder,
+                         TRuntimeFilterType type, long ndvEstimate, long bloomFilterSizeBytes) {
+        this.id = id;
+        this.builderNode = builderNode;
+        this.srcExpr = srcExpr;
+        this.exprOrder = exprOrder;
+        this.type = type;
+        this.ndvEstimate = ndvEstimate;
+        this.bloomFilterSizeBytes = bloomFilterSizeBytes;
+    }
+
+    public RuntimeFilterId getId() {
+        return id;
+    }
+
+    public HashJoinNode getBuilderNode() {
+        return builderNode;
+    }
+
+    public Expr getSrcExpr() {
+        return srcExpr;
+    }
+
+    public TRuntimeFilterType getType() {
+        return type;
+    }
+
+    public long getNdvEstimate() {
+        return ndvEstimate;
+    }
+
+    public long getBloomFilterSizeBytes() {
+        return bloomFilterSizeBytes;
+    }
+
+    public List<RuntimeFilterTarget> getTargets() {
+        return targets;
+    }
+
+    public void addTarget(RuntimeFilterTarget target) {
+        targets.add(target);
+    }
+
+    public boolean hasLocalTargets() {
+        return targets.stream().anyMatch(RuntimeFilterTarget::isLocal);
+    }
+
+    public boolean hasRemoteTargets() {
+        return targets.stream().anyMatch(target -> !target.isLocal());
+    }
+
+    public boolean isBroadcastJoin() {
+        return builderNode.getDistributionMode() == HashJoinNode.DistributionMode.BROADCAST;
+    }
+
+    public TRuntimeFilterDesc toThrift() {
+        TRuntimeFilterDesc tFilter = new TRuntimeFilterDesc();
+        tFilter.setFilter_id(id.asInt());
+        tFilter.setSrc_expr(srcExpr.treeToThrift());
+        tFilter.setExpr_order(exprOrder);
+        for (RuntimeFilterTarget target : targets) {
+            tFilter.putToPlanId_to_target_expr(target.getNode().getId().asInt(), target.getExpr().treeToThrift());
+        }
+        tFilter.setIs_broadcast_join(isBroadcastJoin());
+        tFilter.setHas_local_targets(hasLocalTargets());
+        tFilter.setHas_remote_targets(hasRemoteTargets());
+        tFilter.setType(type);
+        if (type == TRuntimeFilterType.BLOOM) {
+            tFilter.setBloom_filter_size_bytes(bloomFilterSizeBytes);
+        }
+        return tFilter;
+    }
+
+    // RF000[in] <- `t2`.`k1` for the builder node and RF000[in] -> `t1`.`k1` for the target node
+    public String getExplainString(PlanNode node) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(id).append("[").append(type.toString().toLowerCase()).append("]");
+        if (node == builderNode) {
+            sb.append(" <- ").append(srcExpr.toSql());
+        } else {
+            for (RuntimeFilterTarget target : targets) {
+                if (target.getNode() == node) {
+                    sb.append(" -> ").append(target.getExpr().toSql());
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    // target scan node of the runtime filter and the expr evaluated against the filter
+    public static class RuntimeFilterTarget {
+        private final ScanNode node;
+        private final Expr expr;
+        private final boolean isLocal;
+
+        public RuntimeFilterTarget(ScanNode node, Expr expr, boolean isLocal) {
+            this.node = node;
+            this.expr = expr;
+            this.isLocal = isLocal;
+        }
+
+        public ScanNode getNode() {
+            return node;
+        }
+
+        public Expr getExpr() {
+            return expr;
+        }
+
+        public boolean isLocal() {
+            return isLocal;
+        }
+    }
+}
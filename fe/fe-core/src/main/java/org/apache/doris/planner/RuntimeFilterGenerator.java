@@ -0,0 +1,234 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.planner;
+
+import org.apache.doris.analysis.BinaryPredicate;
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.analysis.JoinOperator;
+import org.apache.doris.analysis.SlotId;
+import org.apache.doris.analysis.SlotRef;
+import org.apache.doris.analysis.TupleId;
+import org.apache.doris.catalog.ColumnStats;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.IdGenerator;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.SessionVariable;
+import org.apache.doris.thrift.TRuntimeFilterType;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.math.LongMath;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generate the runtime filters of hash joins after the plan is fragmented.
+ *
+ * For each equal join conjunct "probe_expr = build_expr" of a hash join whose unmatched probe rows
+ * are discarded, a filter is built on build_expr if probe_expr is bound by a single tuple which
+ * is materialized by an olap scan node on the probe side. The scan node is only searched through
+ * exchange, hash join and select nodes without limit, so that all the rows filtered out can never
+ * be output by the join.
+ *
+ * The type of filter is chosen by the estimated number of distinct values of the build side:
+ *   ndv <= runtime_filter_max_in_num: IN, which can also be pushed down to the storage engine
+ *   otherwise: BLOOM sized by the ndv for a false positive probability of 5%
+ *   if the bloom filter of max size can not hold the ndv: MIN_MAX for numeric and date types
+ */
+public final class RuntimeFilterGenerator {
+    private static final Logger LOG = LogManager.getLogger(RuntimeFilterGenerator.class);
+
+    private static final double BLOOM_FILTER_FPP = 0.05;
+    private static final long MIN_BLOOM_FILTER_SIZE = 4096L;
+
+    public enum RuntimeFilterMode {
+        OFF,
+        // only generate the filters whose targets are in the same fragment as the join node
+        LOCAL,
+        GLOBAL
+    }
+
+    private final IdGenerator<RuntimeFilterId> filterIdGenerator = RuntimeFilterId.createGenerator();
+    private final RuntimeFilterMode mode;
+    private final int maxInNum;
+    private final long maxBloomFilterSize;
+    private final List<RuntimeFilter> runtimeFilters = Lists.newArrayList();
+
+    private RuntimeFilterGenerator(RuntimeFilterMode mode, int maxInNum, long maxBloomFilterSize) {
+        this.mode = mode;
+        this.maxInNum = maxInNum;
+        this.maxBloomFilterSize = Math.max(maxBloomFilterSize, MIN_BLOOM_FILTER_SIZE);
+    }
+
+    /**
+     * Generate the runtime filters of the plan tree and add them to the join and scan nodes.
+     * The root must be the root of the whole plan, and the plan must have been fragmented.
+     */
+    public static List<RuntimeFilter> generateRuntimeFilters(PlanNode root) {
+        ConnectContext ctx = ConnectContext.get();
+        if (ctx == null) {
+            return Lists.newArrayList();
+        }
+        SessionVariable sessionVariable = ctx.getSessionVariable();
+        RuntimeFilterMode mode;
+        try {
+            mode = RuntimeFilterMode.valueOf(sessionVariable.getRuntimeFilterMode().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LOG.warn("invalid runtime filter mode: {}, runtime filter is disabled",
+                    sessionVariable.getRuntimeFilterMode());
+            mode = RuntimeFilterMode.OFF;
+        }
+        if (mode == RuntimeFilterMode.OFF) {
+            return Lists.newArrayList();
+        }
+        RuntimeFilterGenerator generator = new RuntimeFilterGenerator(mode,
+                sessionVariable.getRuntimeFilterMaxInNum(), sessionVariable.getRuntimeBloomFilterMaxSize());
+        generator.generateFilters(root);
+        return generator.runtimeFilters;
+    }
+
+    private void generateFilters(PlanNode node) {
+        // generate the filters of parent joins first, so the ids of filters follow the order of plan tree
+        if (node instanceof HashJoinNode) {
+            generateFilters((HashJoinNode) node);
+        }
+        for (PlanNode child : node.getChildren()) {
+            generateFilters(child);
+        }
+    }
+
+    private void generateFilters(HashJoinNode joinNode) {
+        if (!canGenerateFilter(joinNode.getJoinOp())) {
+            return;
+        }
+        List<BinaryPredicate> eqJoinConjuncts = joinNode.getEqJoinConjuncts();
+        for (int i = 0; i < eqJoinConjuncts.size(); i++) {
+            BinaryPredicate eqJoinConjunct = eqJoinConjuncts.get(i);
+            // null values are filtered out by the filter, but they are matched by <=>
+            if (eqJoinConjunct.getOp() == BinaryPredicate.Operator.EQ_FOR_NULL) {
+                continue;
+            }
+            Expr probeExpr = eqJoinConjunct.getChild(0);
+            Expr buildExpr = eqJoinConjunct.getChild(1);
+            if (!buildExpr.isBoundByTupleIds(joinNode.getChild(1).getTupleIds())) {
+                continue;
+            }
+            TupleId targetTupleId = getSingleTupleId(probeExpr);
+            if (targetTupleId == null || !joinNode.getChild(0).getTupleIds().contains(targetTupleId)) {
+                continue;
+            }
+            ScanNode scanNode = findTargetScanNode(joinNode.getChild(0), targetTupleId);
+            if (scanNode == null) {
+                continue;
+            }
+            boolean isLocal = scanNode.getFragmentId().equals(joinNode.getFragmentId());
+            if (!isLocal && mode == RuntimeFilterMode.LOCAL) {
+                continue;
+            }
+
+            long ndv = estimateNdv(joinNode.getChild(1), buildExpr);
+            TRuntimeFilterType type;
+            long bloomFilterSize = 0;
+            if (ndv != -1 && ndv <= maxInNum) {
+                type = TRuntimeFilterType.IN;
+            } else if (ndv != -1 && computeBloomFilterSize(ndv) > maxBloomFilterSize
+                    && isMinMaxType(buildExpr.getType())) {
+                type = TRuntimeFilterType.MIN_MAX;
+            } else {
+                type = TRuntimeFilterType.BLOOM;
+                bloomFilterSize = ndv == -1 ? maxBloomFilterSize : Math.max(MIN_BLOOM_FILTER_SIZE,
+                        Math.min(computeBloomFilterSize(ndv), maxBloomFilterSize));
+            }
+
+            RuntimeFilter filter = new RuntimeFilter(filterIdGenerator.getNextId(), joinNode, buildExpr, i,
+                    type, ndv, bloomFilterSize);
+            filter.addTarget(new RuntimeFilter.RuntimeFilterTarget(scanNode, probeExpr, isLocal));
+            joinNode.addRuntimeFilter(filter);
+            scanNode.addRuntimeFilter(filter);
+            runtimeFilters.add(filter);
+            LOG.debug("generate runtime filter {} of join node {}, type: {}, ndv: {}, target: {}",
+                    filter.getId(), joinNode.getId(), type, ndv, scanNode.getId());
+        }
+    }
+
+    // the probe rows which do not match any build row must be discarded by the join
+    private static boolean canGenerateFilter(JoinOperator joinOp) {
+        return joinOp == JoinOperator.INNER_JOIN || joinOp == JoinOperator.LEFT_SEMI_JOIN
+                || joinOp == JoinOperator.RIGHT_OUTER_JOIN || joinOp == JoinOperator.RIGHT_SEMI_JOIN;
+    }
+
+    private static TupleId getSingleTupleId(Expr expr) {
+        List<TupleId> tupleIds = Lists.newArrayList();
+        List<SlotId> slotIds = Lists.newArrayList();
+        expr.getIds(tupleIds, slotIds);
+        Set<TupleId> tupleIdSet = Sets.newHashSet(tupleIds);
+        return tupleIdSet.size() == 1 ? tupleIdSet.iterator().next() : null;
+    }
+
+    // find the olap scan node which materializes the tuple, return null if the filter can not be
+    // applied to it without changing the result
+    private static ScanNode findTargetScanNode(PlanNode node, TupleId tupleId) {
+        if (node.hasLimit()) {
+            return null;
+        }
+        if (node instanceof OlapScanNode) {
+            return node.getTupleIds().contains(tupleId) ? (ScanNode) node : null;
+        }
+        if (!(node instanceof ExchangeNode) && !(node instanceof HashJoinNode) && !(node instanceof SelectNode)) {
+            return null;
+        }
+        for (PlanNode child : node.getChildren()) {
+            if (child.getTupleIds().contains(tupleId)) {
+                return findTargetScanNode(child, tupleId);
+            }
+        }
+        return null;
+    }
+
+    // the ndv of build expr can not be greater than the row count of build side, return -1 if unknown
+    private static long estimateNdv(PlanNode buildNode, Expr buildExpr) {
+        long ndv = -1;
+        SlotRef slotRef = buildExpr.unwrapSlotRef();
+        if (slotRef != null && slotRef.getDesc() != null) {
+            ColumnStats stats = slotRef.getDesc().getStats();
+            if (stats.hasNumDistinctValues()) {
+                ndv = stats.getNumDistinctValues();
+            }
+        }
+        long cardinality = buildNode.getCardinality();
+        if (cardinality != -1) {
+            ndv = ndv == -1 ? cardinality : Math.min(ndv, cardinality);
+        }
+        return ndv;
+    }
+
+    // m = -n * ln(p) / (ln2)^2 bits, rounded up to the power of 2 in bytes
+    private static long computeBloomFilterSize(long ndv) {
+        double bits = -ndv * Math.log(BLOOM_FILTER_FPP) / (Math.log(2) * Math.log(2));
+        long bytes = Math.max(1L, (long) Math.ceil(bits / 8));
+        return bytes >= (1L << 62) ? Long.MAX_VALUE : LongMath.ceilingPowerOfTwo(bytes);
+    }
+
+    private static boolean isMinMaxType(Type type) {
+        return type.isNumericType() || type.isDateType();
+    }
+}
@@ -30,12 +30,14 @@ import org.apache.doris.thrift.TResourceInfo;
 import org.apache.doris.thrift.TUniqueId;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.nio.channels.SocketChannel;
 import java.util.List;
+import java.util.Map;
 
 // When one client connect in, we create a connect context for it.
 // We store session information here. Meanwhile ConnectScheduler all
@@ -100,6 +102,10 @@ public class ConnectContext {
 
     protected QueryDetail queryDetail;
 
+    // Server side prepared statements of this connection, only accessed by the thread of this connection.
+    protected Map<Integer, PreparedStmtContext> preparedStmts = Maps.newHashMap();
+    protected int nextPreparedStmtId = 1;
+
     public static ConnectContext get() {
         return threadLocalInfo.get();
     }
@@ -307,6 +313,27 @@ public class ConnectContext {
         mysqlChannel.close();
         threadLocalInfo.remove();
         returnRows = 0;
+        preparedStmts.clear();
+    }
+
+    public int nextPreparedStmtId() {
+        return nextPreparedStmtId++;
+    }
+
+    public void addPreparedStmt(PreparedStmtContext preparedStmt) {
+        preparedStmts.put(preparedStmt.getStmtId(), preparedStmt);
+    }
+
+    public PreparedStmtContext getPreparedStmt(int stmtId) {
+        return preparedStmts.get(stmtId);
+    }
+
+    public void removePreparedStmt(int stmtId) {
+        preparedStmts.remove(stmtId);
+    }
+
+    public int getPreparedStmtNum() {
+        return preparedStmts.size();
     }
 
     public boolean isKilled() {
@@ -17,7 +17,11 @@
 
 package org.apache.doris.qe;
 
+import org.apache.doris.analysis.Analyzer;
 import org.apache.doris.analysis.KillStmt;
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.NullLiteral;
+import org.apache.doris.analysis.QueryStmt;
 import org.apache.doris.analysis.SqlParser;
 import org.apache.doris.analysis.SqlScanner;
 import org.apache.doris.analysis.StatementBase;
@@ -25,9 +29,11 @@ import org.apache.doris.analysis.UserIdentity;
 import org.apache.doris.catalog.Catalog;
 import org.apache.doris.catalog.Column;
 import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.PrimitiveType;
 import org.apache.doris.catalog.Table;
 import org.apache.doris.cluster.ClusterNamespace;
 import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.ErrorCode;
 import org.apache.doris.common.ErrorReport;
@@ -37,6 +43,7 @@ import org.apache.doris.common.util.SqlParserUtils;
 import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.mysql.MysqlChannel;
 import org.apache.doris.mysql.MysqlCommand;
+import org.apache.doris.mysql.MysqlEofPacket;
 import org.apache.doris.mysql.MysqlPacket;
 import org.apache.doris.mysql.MysqlProto;
 import org.apache.doris.mysql.MysqlSerializer;
@@ -51,6 +58,8 @@ import org.apache.doris.thrift.TMasterOpResult;
 import org.apache.doris.thrift.TQueryOptions;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -60,7 +69,9 @@ import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousCloseException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Process one mysql connection, receive one pakcet, process, send one packet.
@@ -128,6 +139,9 @@ public class ConnectProcessor {
             } else {
                 // ok query
                 MetricRepo.HISTO_QUERY_LATENCY.update(elapseMs);
+                if (executor != null && executor.isPointQuery()) {
+                    MetricRepo.HISTO_POINT_QUERY_LATENCY.update(elapseMs);
+                }
             }
             ctx.getAuditEventBuilder().setIsQuery(true);
             ctx.getQueryDetail().setEventTime(endTime);
@@ -170,12 +184,7 @@ public class ConnectProcessor {
             ctx.getState().setError("Unsupported character set(UTF-8)");
             return;
         }
-        ctx.getAuditEventBuilder().reset();
-        ctx.getAuditEventBuilder()
-            .setTimestamp(System.currentTimeMillis())
-            .setClientIp(ctx.getMysqlChannel().getRemoteHostPortString())
-            .setUser(ctx.getQualifiedUser())
-            .setDb(ctx.getDatabase());
+        resetAuditEvent();
 
         // execute this query.
         StatementBase parsedStmt = null;
@@ -197,41 +206,232 @@ public class ConnectProcessor {
                     finalizeCommand();
                 }
             }
-        } catch (IOException e) {
+        } catch (Throwable e) {
+            handleQueryException(e, parsedStmt);
+        }
+
+        // audit after exec
+        // TODO(cmy): when user send multi-statement, the executor is the last statement's executor.
+        // We may need to find some way to resolve this.
+        auditAfterExec(originStmt);
+    }
+
+    private void resetAuditEvent() {
+        ctx.getAuditEventBuilder().reset();
+        ctx.getAuditEventBuilder()
+            .setTimestamp(System.currentTimeMillis())
+            .setClientIp(ctx.getMysqlChannel().getRemoteHostPortString())
+            .setUser(ctx.getQualifiedUser())
+            .setDb(ctx.getDatabase());
+    }
+
+    private void auditAfterExec(String originStmt) {
+        // replace '\n' to '\\n' to make string in one line
+        if (executor != null) {
+            auditAfterExec(originStmt.replace("\n", " "), executor.getParsedStmt(), executor.getQueryStatisticsForAuditLog());
+        } else {
+            // executor can be null if we encounter analysis error.
+            auditAfterExec(originStmt.replace("\n", " "), null, null);
+        }
+    }
+
+    private void handleQueryException(Throwable throwable, StatementBase parsedStmt) {
+        if (throwable instanceof IOException) {
             // Client failed.
-            LOG.warn("Process one query failed because IOException: ", e);
+            LOG.warn("Process one query failed because IOException: ", throwable);
             ctx.getState().setError("Doris process failed");
-        } catch (UserException e) {
-            LOG.warn("Process one query failed because.", e);
-            ctx.getState().setError(e.getMessage());
+        } else if (throwable instanceof UserException) {
+            LOG.warn("Process one query failed because.", throwable);
+            ctx.getState().setError(throwable.getMessage());
             // set is as ANALYSIS_ERR so that it won't be treated as a query failure.
             ctx.getState().setErrType(QueryState.ErrType.ANALYSIS_ERR);
-        } catch (Throwable e) {
+        } else {
             // Catch all throwable.
             // If reach here, maybe palo bug.
-            LOG.warn("Process one query failed because unknown reason: ", e);
-            ctx.getState().setError("Unexpected exception: " + e.getMessage());
+            LOG.warn("Process one query failed because unknown reason: ", throwable);
+            ctx.getState().setError("Unexpected exception: " + throwable.getMessage());
             if (parsedStmt instanceof KillStmt) {
                 // ignore kill stmt execute err(not monitor it)
                 ctx.getState().setErrType(QueryState.ErrType.ANALYSIS_ERR);
             }
         }
+    }
 
-        // audit after exec
-        // replace '\n' to '\\n' to make string in one line
-        // TODO(cmy): when user send multi-statement, the executor is the last statement's executor.
-        // We may need to find some way to resolve this.
-        if (executor != null) {
-            auditAfterExec(originStmt.replace("\n", " "), executor.getParsedStmt(), executor.getQueryStatisticsForAuditLog());
-        } else {
-            // executor can be null if we encounter analysis error.
-            auditAfterExec(originStmt.replace("\n", " "), null, null);
+    // COM_STMT_PREPARE: parse the statement into a template, and send the statement id,
+    // the number of parameters and the result columns.
+    private void handleStmtPrepare() throws IOException {
+        if (ctx.getPreparedStmtNum() >= Config.max_prepared_stmt_count) {
+            ctx.getState().setError(ErrorCode.ERR_MAX_PREPARED_STMT_COUNT_REACHED,
+                    ErrorCode.ERR_MAX_PREPARED_STMT_COUNT_REACHED.formatErrorMsg(Config.max_prepared_stmt_count));
+            return;
+        }
+        String sql = new String(packetBuf.array(), 1, packetBuf.limit() - 1, StandardCharsets.UTF_8);
+        PreparedStmtTemplate template;
+        try {
+            template = PreparedStmtTemplate.getOrCreate(sql, ctx.getSessionVariable().getSqlMode());
+        } catch (AnalysisException e) {
+            ctx.getState().setError(e.getMessage());
+            return;
         }
+        List<String> colLabels = Lists.newArrayList();
+        List<PrimitiveType> colTypes = Lists.newArrayList();
+        analyzeResultColumns(template, colLabels, colTypes);
+        PreparedStmtContext preparedStmt = new PreparedStmtContext(ctx.nextPreparedStmtId(), template,
+                colLabels, colTypes);
+        ctx.addPreparedStmt(preparedStmt);
+
+        MysqlSerializer serializer = ctx.getSerializer();
+        MysqlChannel channel = ctx.getMysqlChannel();
+        serializer.reset();
+        // status: OK
+        serializer.writeInt1(0x00);
+        serializer.writeInt4(preparedStmt.getStmtId());
+        serializer.writeInt2(colLabels.size());
+        serializer.writeInt2(template.getParamNum());
+        // reserved
+        serializer.writeInt1(0x00);
+        // warning count
+        serializer.writeInt2(0);
+        channel.sendOnePacket(serializer.toByteBuffer());
+        if (template.getParamNum() > 0) {
+            for (int i = 0; i < template.getParamNum(); i++) {
+                serializer.reset();
+                serializer.writeField("?", PrimitiveType.VARCHAR);
+                channel.sendOnePacket(serializer.toByteBuffer());
+            }
+            sendEof();
+        }
+        if (!colLabels.isEmpty()) {
+            for (int i = 0; i < colLabels.size(); i++) {
+                serializer.reset();
+                serializer.writeField(colLabels.get(i), colTypes.get(i));
+                channel.sendOnePacket(serializer.toByteBuffer());
+            }
+            sendEof();
+        }
+        channel.flush();
+        // all response packets are sent
+        ctx.getState().setNoop();
+    }
+
+    // Analyze the statement with NULL parameters to get the result columns.
+    // The result columns are left empty if failed, and will be sent when executing.
+    private void analyzeResultColumns(PreparedStmtTemplate template, List<String> colLabels,
+                                      List<PrimitiveType> colTypes) {
+        List<LiteralExpr> nullParams = Lists.newArrayList();
+        for (int i = 0; i < template.getParamNum(); i++) {
+            nullParams.add(new NullLiteral());
+        }
+        QueryStmt stmt = template.bind(nullParams);
+        Analyzer analyzer = new Analyzer(ctx.getCatalog(), ctx);
+        Map<String, Database> dbs = Maps.newTreeMap();
+        try {
+            stmt.getDbs(analyzer, dbs);
+            for (Database db : dbs.values()) {
+                db.readLock();
+            }
+            try {
+                stmt.analyze(analyzer);
+            } finally {
+                for (Database db : dbs.values()) {
+                    db.readUnlock();
+                }
+            }
+            for (int i = 0; i < stmt.getColLabels().size(); i++) {
+                colLabels.add(stmt.getColLabels().get(i));
+                colTypes.add(stmt.getResultExprs().get(i).getType().getPrimitiveType());
+            }
+        } catch (Exception e) {
+            LOG.debug("failed to analyze result columns of prepared stmt: {}", template.getSql(), e);
+            colLabels.clear();
+            colTypes.clear();
+        }
+    }
+
+    private void sendEof() throws IOException {
+        MysqlSerializer serializer = ctx.getSerializer();
+        serializer.reset();
+        MysqlEofPacket eofPacket = new MysqlEofPacket(ctx.getState());
+        eofPacket.writeTo(serializer);
+        ctx.getMysqlChannel().sendOnePacket(serializer.toByteBuffer());
+    }
+
+    // COM_STMT_EXECUTE: bind the parameters to the template of prepared statement and execute it,
+    // the result rows are sent in binary protocol.
+    private void handleStmtExecute() {
+        MetricRepo.COUNTER_REQUEST_ALL.increase(1L);
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        PreparedStmtContext preparedStmt = ctx.getPreparedStmt(stmtId);
+        if (preparedStmt == null) {
+            ctx.getState().setError(ErrorCode.ERR_UNKNOWN_STMT_HANDLER,
+                    ErrorCode.ERR_UNKNOWN_STMT_HANDLER.formatErrorMsg(stmtId, "mysqld_stmt_execute"));
+            return;
+        }
+        // flags, only CURSOR_TYPE_NO_CURSOR is supported
+        MysqlProto.readInt1(packetBuf);
+        // iteration count, always 1
+        MysqlProto.readInt4(packetBuf);
+        resetAuditEvent();
+
+        StatementBase parsedStmt = null;
+        try {
+            List<LiteralExpr> params = preparedStmt.readParams(packetBuf);
+            parsedStmt = preparedStmt.getTemplate().bind(params);
+            executor = new StmtExecutor(ctx, parsedStmt);
+            ctx.setExecutor(executor);
+            executor.execute();
+        } catch (Throwable e) {
+            handleQueryException(e, parsedStmt);
+        }
+        auditAfterExec(preparedStmt.getTemplate().getSql());
+    }
+
+    // COM_STMT_SEND_LONG_DATA: append data to a parameter, no response.
+    private void handleStmtSendLongData() {
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        int paramIndex = MysqlProto.readInt2(packetBuf);
+        PreparedStmtContext preparedStmt = ctx.getPreparedStmt(stmtId);
+        if (preparedStmt != null) {
+            preparedStmt.appendLongData(paramIndex, MysqlProto.readEofString(packetBuf));
+        }
+        ctx.getState().setNoop();
+    }
+
+    // COM_STMT_RESET: clear the data sent by COM_STMT_SEND_LONG_DATA.
+    private void handleStmtReset() {
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        PreparedStmtContext preparedStmt = ctx.getPreparedStmt(stmtId);
+        if (preparedStmt == null) {
+            ctx.getState().setError(ErrorCode.ERR_UNKNOWN_STMT_HANDLER,
+                    ErrorCode.ERR_UNKNOWN_STMT_HANDLER.formatErrorMsg(stmtId, "mysqld_stmt_reset"));
+            return;
+        }
+        preparedStmt.reset();
+        ctx.getState().setOk();
+    }
+
+    // COM_STMT_CLOSE: deallocate the prepared statement, no response.
+    private void handleStmtClose() {
+        ctx.removePreparedStmt(MysqlProto.readInt4(packetBuf));
+        ctx.getState().setNoop();
     }
 
     // analyze the origin stmt and return multi-statements
     private List<StatementBase> analyze(String originStmt) throws AnalysisException {
         LOG.debug("the originStmts are: {}", originStmt);
+        long parseStartTime = System.currentTimeMillis();
+        try {
+            return parse(originStmt);
+        } finally {
+            MetricRepo.HISTO_QUERY_PARSE_LATENCY.update(System.currentTimeMillis() - parseStartTime);
+        }
+    }
+
+    private List<StatementBase> parse(String originStmt) throws AnalysisException {
+        StatementBase cachedStmt = StmtParseCache.parse(originStmt, ctx.getSessionVariable().getSqlMode());
+        if (cachedStmt != null) {
+            return Lists.newArrayList(cachedStmt);
+        }
         // Parse statement with parser generated by CUP&FLEX
         SqlScanner input = new SqlScanner(new StringReader(originStmt), ctx.getSessionVariable().getSqlMode());
         SqlParser parser = new SqlParser(input);
@@ -331,6 +531,22 @@ public class ConnectProcessor {
             case COM_PING:
                 handlePing();
                 break;
+            case COM_STMT_PREPARE:
+                handleStmtPrepare();
+                break;
+            case COM_STMT_EXECUTE:
+                handleStmtExecute();
+                ctx.setStartTime();
+                break;
+            case COM_STMT_SEND_LONG_DATA:
+                handleStmtSendLongData();
+                break;
+            case COM_STMT_RESET:
+                handleStmtReset();
+                break;
+            case COM_STMT_CLOSE:
+                handleStmtClose();
+                break;
             default:
                 ctx.getState().setError("Unsupported command(" + command + ")");
                 LOG.warn("Unsupported command(" + command + ")");
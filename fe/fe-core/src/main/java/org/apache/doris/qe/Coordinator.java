@@ -48,6 +48,7 @@ import org.apache.doris.planner.PlanNode;
 import org.apache.doris.planner.PlanNodeId;
 import org.apache.doris.planner.Planner;
 import org.apache.doris.planner.ResultSink;
+import org.apache.doris.planner.RuntimeFilter;
 import org.apache.doris.planner.ScanNode;
 import org.apache.doris.planner.SetOperationNode;
 import org.apache.doris.planner.UnionNode;
@@ -74,6 +75,8 @@ import org.apache.doris.thrift.TQueryOptions;
 import org.apache.doris.thrift.TQueryType;
 import org.apache.doris.thrift.TReportExecStatusParams;
 import org.apache.doris.thrift.TResourceInfo;
+import org.apache.doris.thrift.TRuntimeFilterParams;
+import org.apache.doris.thrift.TRuntimeFilterTargetParams;
 import org.apache.doris.thrift.TScanRange;
 import org.apache.doris.thrift.TScanRangeLocation;
 import org.apache.doris.thrift.TScanRangeLocations;
@@ -166,6 +169,15 @@ public class Coordinator {
     private List<BackendExecState> needCheckBackendExecStates = Lists.newArrayList();
     private ResultReceiver receiver;
     private List<ScanNode> scanNodes;
+    private List<RuntimeFilter> runtimeFilters;
+    // the instance which merges the runtime filters with remote targets and sends them to the targets,
+    // set in computeFragmentExecParams()
+    private TUniqueId runtimeFilterMergeInstanceId;
+    private TNetworkAddress runtimeFilterMergeAddr;
+    // runtime filter id -> the instances of target scan nodes in other fragments
+    private Map<Integer, List<TRuntimeFilterTargetParams>> ridToTargetParam = Maps.newHashMap();
+    // runtime filter id -> the number of instances which build the filter
+    private Map<Integer, Integer> ridToBuilderNum = Maps.newHashMap();
     // number of instances of this query, equals to
     // number of backends executing plan fragments on behalf of this query;
     // set in computeFragmentExecParams();
@@ -203,6 +215,7 @@ public class Coordinator {
         this.queryId = context.queryId();
         this.fragments = planner.getFragments();
         this.scanNodes = planner.getScanNodes();
+        this.runtimeFilters = planner.getRuntimeFilters();
         this.descTable = analyzer.getDescTbl().toThrift();
         this.returnedAllResults = false;
         this.queryOptions = context.getSessionVariable().toThrift();
@@ -231,6 +244,7 @@ public class Coordinator {
         this.descTable = descTable.toThrift();
         this.fragments = fragments;
         this.scanNodes = scanNodes;
+        this.runtimeFilters = Lists.newArrayList();
         this.queryOptions = new TQueryOptions();
         this.queryGlobals.setNow_string(DATE_FORMAT.format(new Date()));
         this.queryGlobals.setTimestamp_ms(new Date().getTime());
@@ -792,6 +806,50 @@ public class Coordinator {
                 params.destinations.add(dest);
             }
         }
+
+        assignRuntimeFilterParams();
+    }
+
+    // The filters with remote targets are sent to the first instance of root fragment, which waits for
+    // the filters of all the builder instances, merges them and then sends the result to all the target instances.
+    private void assignRuntimeFilterParams() throws Exception {
+        runtimeFilterMergeInstanceId = null;
+        runtimeFilterMergeAddr = null;
+        ridToTargetParam.clear();
+        ridToBuilderNum.clear();
+        if (runtimeFilters.stream().noneMatch(RuntimeFilter::hasRemoteTargets)) {
+            return;
+        }
+
+        FInstanceExecParam mergeInstance = fragmentExecParamsMap.get(fragments.get(0).getFragmentId())
+                .instanceExecParams.get(0);
+        runtimeFilterMergeInstanceId = mergeInstance.instanceId;
+        runtimeFilterMergeAddr = toBrpcHost(mergeInstance.host);
+        if (runtimeFilterMergeAddr == null) {
+            // the filters with remote targets are not sent, the targets start to scan after waiting timeout
+            LOG.warn("no brpc address of runtime filter merge instance {}", DebugUtil.printId(mergeInstance.instanceId));
+            runtimeFilterMergeInstanceId = null;
+            return;
+        }
+        for (RuntimeFilter filter : runtimeFilters) {
+            if (!filter.hasRemoteTargets()) {
+                continue;
+            }
+            List<TRuntimeFilterTargetParams> targetParams = Lists.newArrayList();
+            for (RuntimeFilter.RuntimeFilterTarget target : filter.getTargets()) {
+                if (target.isLocal()) {
+                    continue;
+                }
+                FragmentExecParams targetFragmentParams = fragmentExecParamsMap.get(target.getNode().getFragmentId());
+                for (FInstanceExecParam instanceExecParam : targetFragmentParams.instanceExecParams) {
+                    targetParams.add(new TRuntimeFilterTargetParams(instanceExecParam.instanceId,
+                            toBrpcHost(instanceExecParam.host)));
+                }
+            }
+            ridToTargetParam.put(filter.getId().asInt(), targetParams);
+            ridToBuilderNum.put(filter.getId().asInt(),
+                    fragmentExecParamsMap.get(filter.getBuilderNode().getFragmentId()).instanceExecParams.size());
+        }
     }
 
     private TNetworkAddress toRpcHost(TNetworkAddress host) throws Exception {
@@ -1574,6 +1632,9 @@ public class Coordinator {
                 params.setQuery_options(queryOptions);
                 params.params.setSend_query_statistics_with_every_batch(
                         fragment.isTransferQueryStatisticsWithEveryBatch());
+                if (runtimeFilterMergeInstanceId != null) {
+                    params.params.setRuntime_filter_params(toRuntimeFilterParams(instanceExecParam));
+                }
                 if (queryOptions.getQuery_type() == TQueryType.LOAD) {
                     LoadErrorHub.Param param = Catalog.getCurrentCatalog().getLoadInstance().getLoadErrorHubInfo();
                     if (param != null) {
@@ -1589,6 +1650,24 @@ public class Coordinator {
             return paramsList;
         }
 
+        // only the merge instance needs to know the builders and targets of the filters
+        private TRuntimeFilterParams toRuntimeFilterParams(FInstanceExecParam instanceExecParam) {
+            TRuntimeFilterParams runtimeFilterParams = new TRuntimeFilterParams();
+            runtimeFilterParams.setRuntime_filter_merge_addr(runtimeFilterMergeAddr);
+            if (instanceExecParam.instanceId.equals(runtimeFilterMergeInstanceId)) {
+                for (RuntimeFilter filter : runtimeFilters) {
+                    if (!filter.hasRemoteTargets()) {
+                        continue;
+                    }
+                    int rid = filter.getId().asInt();
+                    runtimeFilterParams.putToRid_to_runtime_filter(rid, filter.toThrift());
+                    runtimeFilterParams.putToRid_to_target_param(rid, ridToTargetParam.get(rid));
+                    runtimeFilterParams.putToRuntime_filter_builder_num(rid, ridToBuilderNum.get(rid));
+                }
+            }
+            return runtimeFilterParams;
+        }
+
         // Append range information
         // [tablet_id(version),tablet_id(version)]
         public void appendScanRange(StringBuilder sb, List<TScanRangeParams> params) {
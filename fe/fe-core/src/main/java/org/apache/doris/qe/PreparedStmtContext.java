@@ -0,0 +1,226 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.DecimalLiteral;
+import org.apache.doris.analysis.FloatLiteral;
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.LargeIntLiteral;
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.NullLiteral;
+import org.apache.doris.analysis.StringLiteral;
+import org.apache.doris.catalog.PrimitiveType;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.mysql.MysqlColType;
+import org.apache.doris.mysql.MysqlProto;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A server side prepared statement of one connection.
+ * https://dev.mysql.com/doc/internals/en/com-stmt-execute.html
+ */
+public class PreparedStmtContext {
+    private static final int UNSIGNED_FLAG = 0x8000;
+
+    private final int stmtId;
+    private final PreparedStmtTemplate template;
+    // result metadata sent in response of COM_STMT_PREPARE, empty if unknown before executing
+    private final List<String> colLabels;
+    private final List<PrimitiveType> colTypes;
+    // types of parameters sent by the last COM_STMT_EXECUTE with new-params-bound flag
+    private int[] paramTypes;
+    // parameter index -> data sent by COM_STMT_SEND_LONG_DATA, cleared after executing
+    private final Map<Integer, ByteArrayOutputStream> longData = Maps.newHashMap();
+
+    public PreparedStmtContext(int stmtId, PreparedStmtTemplate template,
+                               List<String> colLabels, List<PrimitiveType> colTypes) {
+        this.stmtId = stmtId;
+        this.template = template;
+        this.colLabels = colLabels;
+        this.colTypes = colTypes;
+    }
+
+    public int getStmtId() {
+        return stmtId;
+    }
+
+    public PreparedStmtTemplate getTemplate() {
+        return template;
+    }
+
+    public List<String> getColLabels() {
+        return colLabels;
+    }
+
+    public List<PrimitiveType> getColTypes() {
+        return colTypes;
+    }
+
+    public void appendLongData(int paramIndex, byte[] data) {
+        longData.computeIfAbsent(paramIndex, k -> new ByteArrayOutputStream()).write(data, 0, data.length);
+    }
+
+    public void reset() {
+        longData.clear();
+    }
+
+    /**
+     * Read the parameter values from the COM_STMT_EXECUTE packet, after the iteration count.
+     */
+    public List<LiteralExpr> readParams(ByteBuffer buffer) throws AnalysisException {
+        int paramNum = template.getParamNum();
+        List<LiteralExpr> params = Lists.newArrayListWithCapacity(paramNum);
+        if (paramNum == 0) {
+            return params;
+        }
+        byte[] nullBitmap = MysqlProto.readFixedString(buffer, (paramNum + 7) / 8);
+        int newParamsBound = MysqlProto.readInt1(buffer);
+        if (newParamsBound == 1) {
+            paramTypes = new int[paramNum];
+            for (int i = 0; i < paramNum; i++) {
+                paramTypes[i] = MysqlProto.readInt2(buffer);
+            }
+        }
+        if (paramTypes == null) {
+            throw new AnalysisException("The types of parameters are not sent");
+        }
+        try {
+            for (int i = 0; i < paramNum; i++) {
+                if ((nullBitmap[i / 8] & (1 << (i % 8))) != 0) {
+                    params.add(new NullLiteral());
+                } else if (longData.containsKey(i)) {
+                    params.add(new StringLiteral(new String(longData.get(i).toByteArray(), StandardCharsets.UTF_8)));
+                } else {
+                    params.add(readParam(buffer, paramTypes[i]));
+                }
+            }
+        } finally {
+            longData.clear();
+        }
+        return params;
+    }
+
+    private static LiteralExpr readParam(ByteBuffer buffer, int paramType) throws AnalysisException {
+        boolean unsigned = (paramType & UNSIGNED_FLAG) != 0;
+        MysqlColType type = MysqlColType.fromCode(paramType & 0xff);
+        if (type == null) {
+            throw new AnalysisException("Unknown parameter type " + paramType);
+        }
+        switch (type) {
+            case MYSQL_TYPE_TINY:
+                return new IntLiteral(unsigned ? MysqlProto.readInt1(buffer) : MysqlProto.readByte(buffer));
+            case MYSQL_TYPE_SHORT:
+            case MYSQL_TYPE_YEAR: {
+                int value = MysqlProto.readInt2(buffer);
+                return new IntLiteral(unsigned ? value : (short) value);
+            }
+            case MYSQL_TYPE_LONG:
+            case MYSQL_TYPE_INT24: {
+                int value = MysqlProto.readInt4(buffer);
+                return new IntLiteral(unsigned ? value & 0xFFFFFFFFL : value);
+            }
+            case MYSQL_TYPE_LONGLONG: {
+                long value = MysqlProto.readInt8(buffer);
+                if (unsigned && value < 0) {
+                    return new LargeIntLiteral(Long.toUnsignedString(value));
+                }
+                return new IntLiteral(value);
+            }
+            case MYSQL_TYPE_FLOAT:
+                return new FloatLiteral((double) Float.intBitsToFloat(MysqlProto.readInt4(buffer)));
+            case MYSQL_TYPE_DOUBLE:
+                return new FloatLiteral(Double.longBitsToDouble(MysqlProto.readInt8(buffer)));
+            case MYSQL_TYPE_DATE:
+            case MYSQL_TYPE_DATETIME:
+            case MYSQL_TYPE_TIMESTAMP:
+                return new StringLiteral(readDateTime(buffer, type == MysqlColType.MYSQL_TYPE_DATE));
+            case MYSQL_TYPE_TIME:
+                return new StringLiteral(readTime(buffer));
+            case MYSQL_TYPE_DECIMAL:
+            case MYSQL_TYPE_NEWDECIMAL:
+                return new DecimalLiteral(new String(MysqlProto.readLenEncodedString(buffer), StandardCharsets.UTF_8));
+            case MYSQL_TYPE_NULL:
+                return new NullLiteral();
+            default:
+                // string and blob types
+                return new StringLiteral(new String(MysqlProto.readLenEncodedString(buffer), StandardCharsets.UTF_8));
+        }
+    }
+
+    // length, year(2), month, day, [hour, minute, second, [microsecond(4)]]
+    private static String readDateTime(ByteBuffer buffer, boolean isDate) {
+        int length = MysqlProto.readInt1(buffer);
+        int year = 0;
+        int month = 0;
+        int day = 0;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int microsecond = 0;
+        if (length >= 4) {
+            year = MysqlProto.readInt2(buffer);
+            month = MysqlProto.readInt1(buffer);
+            day = MysqlProto.readInt1(buffer);
+        }
+        if (length >= 7) {
+            hour = MysqlProto.readInt1(buffer);
+            minute = MysqlProto.readInt1(buffer);
+            second = MysqlProto.readInt1(buffer);
+        }
+        if (length >= 11) {
+            microsecond = MysqlProto.readInt4(buffer);
+        }
+        if (isDate) {
+            return String.format("%04d-%02d-%02d", year, month, day);
+        }
+        if (microsecond == 0) {
+            return String.format("%04d-%02d-%02d %02d:%02d:%02d", year, month, day, hour, minute, second);
+        }
+        return String.format("%04d-%02d-%02d %02d:%02d:%02d.%06d", year, month, day, hour, minute, second,
+                microsecond);
+    }
+
+    // length, is negative, days(4), hour, minute, second, [microsecond(4)]
+    private static String readTime(ByteBuffer buffer) {
+        int length = MysqlProto.readInt1(buffer);
+        boolean negative = false;
+        long hours = 0;
+        int minute = 0;
+        int second = 0;
+        int microsecond = 0;
+        if (length >= 8) {
+            negative = MysqlProto.readInt1(buffer) == 1;
+            hours = MysqlProto.readInt4(buffer) * 24L;
+            hours += MysqlProto.readInt1(buffer);
+            minute = MysqlProto.readInt1(buffer);
+            second = MysqlProto.readInt1(buffer);
+        }
+        if (length >= 12) {
+            microsecond = MysqlProto.readInt4(buffer);
+        }
+        String time = String.format("%s%02d:%02d:%02d", negative ? "-" : "", hours, minute, second);
+        return microsecond == 0 ? time : time + String.format(".%06d", microsecond);
+    }
+}
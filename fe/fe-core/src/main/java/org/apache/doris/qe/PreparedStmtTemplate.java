@@ -0,0 +1,118 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.PlaceHolderExpr;
+import org.apache.doris.analysis.QueryStmt;
+import org.apache.doris.analysis.SqlParser;
+import org.apache.doris.analysis.SqlScanner;
+import org.apache.doris.analysis.StatementBase;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.util.SqlParserUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * The parsed statement of a server side prepared statement, with placeholders '?' for the parameters.
+ * Templates are cached by sql and sql mode, and shared by all connections preparing the same sql,
+ * so that executing a prepared statement only binds the parameters and clones the template,
+ * without lexing and parsing the sql again.
+ */
+public class PreparedStmtTemplate {
+    private static final Logger LOG = LogManager.getLogger(PreparedStmtTemplate.class);
+
+    private static final Cache<String, PreparedStmtTemplate> TEMPLATES = CacheBuilder.newBuilder()
+            .maximumSize(Config.prepared_stmt_template_cache_size).build();
+
+    private final String sql;
+    // never analyzed, only cloned
+    private final QueryStmt stmt;
+    private final List<PlaceHolderExpr> placeholders;
+
+    PreparedStmtTemplate(String sql, QueryStmt stmt, List<PlaceHolderExpr> placeholders) {
+        this.sql = sql;
+        this.stmt = stmt;
+        this.placeholders = placeholders;
+    }
+
+    public static PreparedStmtTemplate getOrCreate(String sql, long sqlMode) throws AnalysisException {
+        String key = sqlMode + ":" + sql;
+        PreparedStmtTemplate template = TEMPLATES.getIfPresent(key);
+        if (template == null) {
+            template = parse(sql, sqlMode);
+            TEMPLATES.put(key, template);
+        }
+        return template;
+    }
+
+    private static PreparedStmtTemplate parse(String sql, long sqlMode) throws AnalysisException {
+        SqlParser parser = new SqlParser(new SqlScanner(new StringReader(sql), sqlMode));
+        List<StatementBase> stmts;
+        try {
+            stmts = SqlParserUtils.getMultiStmts(parser);
+        } catch (Error e) {
+            throw new AnalysisException("Please check your sql, we meet an error when parsing.", e);
+        } catch (AnalysisException e) {
+            LOG.warn("prepared stmt: {}; Analyze error message: {}", sql, parser.getErrorMsg(sql), e);
+            String errorMessage = parser.getErrorMsg(sql);
+            if (errorMessage == null) {
+                throw e;
+            } else {
+                throw new AnalysisException(errorMessage, e);
+            }
+        } catch (Exception e) {
+            throw new AnalysisException("Internal Error, maybe this is a bug, please contact with Palo RD.");
+        }
+        if (stmts.size() != 1 || !(stmts.get(0) instanceof QueryStmt)) {
+            throw new AnalysisException("Only single select statement can be prepared");
+        }
+        QueryStmt stmt = (QueryStmt) stmts.get(0);
+        if (stmt.isExplain() || stmt.hasOutFileClause()) {
+            throw new AnalysisException("Explain or outfile statement can not be prepared");
+        }
+        return new PreparedStmtTemplate(sql, stmt, parser.placeholders);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public int getParamNum() {
+        return placeholders.size();
+    }
+
+    /**
+     * Return a new statement with the placeholders replaced by the values, ready to be analyzed.
+     * The template is not modified, so it can be bound by multiple connections concurrently.
+     */
+    public QueryStmt bind(List<LiteralExpr> values) {
+        Preconditions.checkArgument(values.size() == placeholders.size());
+        QueryStmt boundStmt = PlaceHolderExpr.cloneWithValues(values, stmt::clone);
+        boundStmt.setOrigStmt(new OriginStatement(sql, 0));
+        return boundStmt;
+    }
+}
@@ -75,6 +75,12 @@ public class SessionVariable implements Serializable, Writable {
     public static final String ENABLE_INSERT_STRICT = "enable_insert_strict";
     public static final String ENABLE_SPILLING = "enable_spilling";
     public static final String PREFER_JOIN_METHOD = "prefer_join_method";
+    public static final String ENABLE_COST_BASED_JOIN_REORDER = "enable_cost_based_join_reorder";
+    // OFF, LOCAL or GLOBAL, see RuntimeFilterGenerator
+    public static final String RUNTIME_FILTER_MODE = "runtime_filter_mode";
+    public static final String RUNTIME_FILTER_WAIT_TIME_MS = "runtime_filter_wait_time_ms";
+    public static final String RUNTIME_FILTER_MAX_IN_NUM = "runtime_filter_max_in_num";
+    public static final String RUNTIME_BLOOM_FILTER_MAX_SIZE = "runtime_bloom_filter_max_size";
     
     public static final String ENABLE_SQL_CACHE = "enable_sql_cache";
     public static final String ENABLE_PARTITION_CACHE = "enable_partition_cache";
@@ -217,6 +223,25 @@ public class SessionVariable implements Serializable, Writable {
     @VariableMgr.VarAttr(name = PREFER_JOIN_METHOD)
     private String preferJoinMethod = "broadcast";
 
+    // if true, inner joins are reordered by the cardinality estimated with the statistics of ANALYZE TABLE
+    @VariableMgr.VarAttr(name = ENABLE_COST_BASED_JOIN_REORDER)
+    private boolean enableCostBasedJoinReorder = true;
+
+    // OFF by default because the planned filters are not applied by BE yet
+    @VariableMgr.VarAttr(name = RUNTIME_FILTER_MODE)
+    private String runtimeFilterMode = "OFF";
+
+    // the max time that scan node waits for the runtime filters, the scan starts without filters after timeout
+    @VariableMgr.VarAttr(name = RUNTIME_FILTER_WAIT_TIME_MS)
+    private int runtimeFilterWaitTimeMs = 1000;
+
+    // IN filter is planned if the estimated number of distinct values of build side is not greater than it
+    @VariableMgr.VarAttr(name = RUNTIME_FILTER_MAX_IN_NUM)
+    private int runtimeFilterMaxInNum = 1024;
+
+    @VariableMgr.VarAttr(name = RUNTIME_BLOOM_FILTER_MAX_SIZE)
+    private long runtimeBloomFilterMaxSize = 16777216L;
+
     /*
      * the parallel exec instance num for one Fragment in one BE
      * 1 means disable this feature
@@ -415,6 +440,34 @@ public class SessionVariable implements Serializable, Writable {
 
     public void setPreferJoinMethod(String preferJoinMethod) {this.preferJoinMethod = preferJoinMethod; }
 
+    public boolean isEnableCostBasedJoinReorder() {
+        return enableCostBasedJoinReorder;
+    }
+
+    public void setEnableCostBasedJoinReorder(boolean enableCostBasedJoinReorder) {
+        this.enableCostBasedJoinReorder = enableCostBasedJoinReorder;
+    }
+
+    public String getRuntimeFilterMode() {
+        return runtimeFilterMode;
+    }
+
+    public void setRuntimeFilterMode(String runtimeFilterMode) {
+        this.runtimeFilterMode = runtimeFilterMode;
+    }
+
+    public int getRuntimeFilterWaitTimeMs() {
+        return runtimeFilterWaitTimeMs;
+    }
+
+    public int getRuntimeFilterMaxInNum() {
+        return runtimeFilterMaxInNum;
+    }
+
+    public long getRuntimeBloomFilterMaxSize() {
+        return runtimeBloomFilterMaxSize;
+    }
+
     public int getParallelExecInstanceNum() {
         return parallelExecInstanceNum;
     }
@@ -536,6 +589,8 @@ public class SessionVariable implements Serializable, Writable {
             tResult.setMax_pushdown_conditions_per_column(maxPushdownConditionsPerColumn);
         }
         tResult.setEnable_spilling(enableSpilling);
+        tResult.setRuntime_filter_wait_time_ms(runtimeFilterWaitTimeMs);
+        tResult.setRuntime_filter_max_in_num(runtimeFilterMaxInNum);
         return tResult;
     }
 
@@ -58,13 +58,20 @@ import org.apache.doris.common.util.SqlParserUtils;
 import org.apache.doris.common.util.TimeUtils;
 import org.apache.doris.load.EtlJobType;
 import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.mysql.MysqlBinaryRowConverter;
 import org.apache.doris.mysql.MysqlChannel;
+import org.apache.doris.mysql.MysqlColType;
+import org.apache.doris.mysql.MysqlCommand;
 import org.apache.doris.mysql.MysqlEofPacket;
+import org.apache.doris.mysql.MysqlProto;
 import org.apache.doris.mysql.MysqlSerializer;
 import org.apache.doris.mysql.privilege.PrivPredicate;
 import org.apache.doris.planner.Planner;
 import org.apache.doris.proto.PQueryStatistics;
 import org.apache.doris.qe.QueryState.MysqlStateType;
+import org.apache.doris.qe.cache.Cache;
+import org.apache.doris.qe.cache.CacheAnalyzer;
+import org.apache.doris.qe.cache.CacheProxy;
 import org.apache.doris.rewrite.ExprRewriter;
 import org.apache.doris.rewrite.mvrewrite.MVSelectFailedException;
 import org.apache.doris.rpc.RpcException;
@@ -87,6 +94,7 @@ import org.apache.logging.log4j.Logger;
 import java.io.IOException;
 import java.io.StringReader;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -114,6 +122,8 @@ public class StmtExecutor {
     private boolean isProxy;
     private ShowResultSet proxyResultSet = null;
     private PQueryStatistics statisticsForAuditLog;
+    // not null if the rows are sent in binary protocol, for executing prepared statement
+    private MysqlBinaryRowConverter binaryRowConverter;
 
     // this constructor is mainly for proxy
     public StmtExecutor(ConnectContext context, OriginStatement originStmt, boolean isProxy) {
@@ -168,6 +178,10 @@ public class StmtExecutor {
         return planner;
     }
 
+    public boolean isPointQuery() {
+        return planner != null && planner.isPointQuery();
+    }
+
     public boolean isForwardToMaster() {
         if (Catalog.getCurrentCatalog().isMaster()) {
             return false;
@@ -379,6 +393,12 @@ public class StmtExecutor {
         LOG.info("begin to analyze stmt: {}, forwarded stmt id: {}", context.getStmtId(), context.getForwardedStmtId());
 
         // parsedStmt may already by set when constructing this StmtExecutor();
+        if (parsedStmt == null && originStmt.idx == 0) {
+            parsedStmt = StmtParseCache.parse(originStmt.originStmt, context.getSessionVariable().getSqlMode());
+            if (parsedStmt != null) {
+                parsedStmt.setOrigStmt(originStmt);
+            }
+        }
         if (parsedStmt == null) {
             // Parse statement with parser generated by CUP&FLEX
             SqlScanner input = new SqlScanner(new StringReader(originStmt.originStmt), context.getSessionVariable().getSqlMode());
@@ -601,6 +621,15 @@ public class StmtExecutor {
             handleExplainStmt(explainString);
             return;
         }
+
+        MysqlChannel channel = context.getMysqlChannel();
+        boolean isOutfileQuery = queryStmt.hasOutFileClause();
+        CacheAnalyzer cacheAnalyzer = new CacheAnalyzer(context, parsedStmt, planner);
+        if (!isOutfileQuery && cacheAnalyzer.enableCache()) {
+            handleCacheStmt(cacheAnalyzer, channel);
+            return;
+        }
+
         coord = new Coordinator(context, analyzer, planner);
 
         QeProcessorImpl.INSTANCE.registerQuery(context.queryId(), 
@@ -620,8 +649,6 @@ public class StmtExecutor {
         //
         // 2. If this is a query, send the result expr fields first, and send result data back to client.
         RowBatch batch;
-        MysqlChannel channel = context.getMysqlChannel();
-        boolean isOutfileQuery = queryStmt.hasOutFileClause();
         if (!isOutfileQuery) {
             sendFields(queryStmt.getColLabels(), queryStmt.getResultExprs());
         }
@@ -629,9 +656,7 @@ public class StmtExecutor {
             batch = coord.getNext();
             // for outfile query, there will be only one empty batch send back with eos flag
             if (batch.getBatch() != null && !isOutfileQuery) {
-                for (ByteBuffer row : batch.getBatch().getRows()) {
-                    channel.sendOnePacket(row);
-                }            
+                sendRowBatch(channel, batch.getBatch().getRows());
                 context.updateReturnRows(batch.getBatch().getRows().size());    
             }
             if (batch.isEos()) {
@@ -647,6 +672,173 @@ public class StmtExecutor {
         }
     }
 
+    /**
+     * Execute a query issued by FE itself, such as the statistics query of ANALYZE TABLE.
+     * The result rows are returned as text values instead of being sent to the client, NULL value is null.
+     */
+    public List<List<String>> executeInternalQuery() throws Exception {
+        analyze(context.getSessionVariable().toThrift());
+        if (!(parsedStmt instanceof QueryStmt)) {
+            throw new UserException("Only query is supported to be executed internally: " + originStmt.originStmt);
+        }
+        int columnNum = ((QueryStmt) parsedStmt).getColLabels().size();
+
+        coord = new Coordinator(context, analyzer, planner);
+        QeProcessorImpl.INSTANCE.registerQuery(context.queryId(),
+                new QeProcessorImpl.QueryInfo(context, originStmt.originStmt, coord));
+        List<List<String>> resultRows = Lists.newArrayList();
+        try {
+            coord.exec();
+            while (true) {
+                RowBatch batch = coord.getNext();
+                if (batch.getBatch() != null) {
+                    for (ByteBuffer row : batch.getBatch().getRows()) {
+                        resultRows.add(readTextRow(row.duplicate(), columnNum));
+                    }
+                }
+                if (batch.isEos()) {
+                    break;
+                }
+            }
+        } finally {
+            QeProcessorImpl.INSTANCE.unregisterQuery(context.queryId());
+        }
+        return resultRows;
+    }
+
+    private static List<String> readTextRow(ByteBuffer buf, int columnNum) {
+        List<String> values = Lists.newArrayListWithCapacity(columnNum);
+        for (int i = 0; i < columnNum; i++) {
+            if (!buf.hasRemaining() || (buf.get(buf.position()) & 0xff) == 0xfb) {
+                if (buf.hasRemaining()) {
+                    buf.get();
+                }
+                values.add(null);
+            } else {
+                values.add(new String(MysqlProto.readLenEncodedString(buf), StandardCharsets.UTF_8));
+            }
+        }
+        return values;
+    }
+
+    private void sendRowBatch(MysqlChannel channel, List<ByteBuffer> rows) throws IOException {
+        if (binaryRowConverter != null) {
+            rows = binaryRowConverter.convert(rows);
+        }
+        channel.sendRowBatch(rows);
+    }
+
+    private void sendCachedValues(MysqlChannel channel, List<CacheProxy.CacheValue> cacheValues) throws IOException {
+        for (CacheProxy.CacheValue value : cacheValues) {
+            List<ByteBuffer> rows = Lists.newArrayListWithCapacity(value.rows.size());
+            for (byte[] row : value.rows) {
+                rows.add(ByteBuffer.wrap(row));
+            }
+            sendRowBatch(channel, rows);
+            context.updateReturnRows(value.rows.size());
+        }
+    }
+
+    /**
+     * Send the result from cache, and query the rest from BE if the cache is not fully hit.
+     * For partition cache, the cached values before the queried range are sent first,
+     * then the result of BE, and then the cached values after the range.
+     * The cached values inside the queried range are dropped, they are returned by BE.
+     */
+    private void handleCacheStmt(CacheAnalyzer cacheAnalyzer, MysqlChannel channel) throws Exception {
+        QueryStmt queryStmt = (QueryStmt) parsedStmt;
+        CacheProxy.FetchCacheResult cacheResult = cacheAnalyzer.getCacheData();
+        Cache.HitRange hitRange = cacheAnalyzer.getHitRange();
+        List<CacheProxy.CacheValue> leftValues = Lists.newArrayList();
+        List<CacheProxy.CacheValue> rightValues = Lists.newArrayList();
+        if (cacheResult != null) {
+            for (CacheProxy.CacheValue value : cacheResult.getValueList()) {
+                if (hitRange == Cache.HitRange.Full) {
+                    leftValues.add(value);
+                    continue;
+                }
+                int cmp = cacheAnalyzer.compareToQueryRange(value);
+                if (cmp < 0) {
+                    leftValues.add(value);
+                } else if (cmp > 0) {
+                    rightValues.add(value);
+                }
+            }
+        }
+
+        if (cacheResult != null && hitRange == Cache.HitRange.Full) {
+            sendFields(queryStmt.getColLabels(), queryStmt.getResultExprs());
+            sendCachedValues(channel, leftValues);
+            context.getState().setEof();
+            return;
+        }
+
+        SelectStmt rewriteStmt = cacheAnalyzer.getRewriteStmt();
+        if (cacheResult != null && rewriteStmt != null) {
+            // query the key values missing in cache only
+            replanRewriteStmt(rewriteStmt, queryStmt);
+        } else {
+            leftValues.clear();
+            rightValues.clear();
+        }
+
+        coord = new Coordinator(context, analyzer, planner);
+        QeProcessorImpl.INSTANCE.registerQuery(context.queryId(),
+                new QeProcessorImpl.QueryInfo(context, originStmt.originStmt, coord));
+        coord.exec();
+
+        // send fields after first batch arrived, same as handleQueryStmt
+        RowBatch batch;
+        boolean isSendFields = false;
+        while (true) {
+            batch = coord.getNext();
+            if (!isSendFields) {
+                sendFields(queryStmt.getColLabels(), queryStmt.getResultExprs());
+                sendCachedValues(channel, leftValues);
+                isSendFields = true;
+            }
+            if (batch.getBatch() != null) {
+                cacheAnalyzer.copyRowBatch(batch);
+                sendRowBatch(channel, batch.getBatch().getRows());
+                context.updateReturnRows(batch.getBatch().getRows().size());
+            }
+            if (batch.isEos()) {
+                break;
+            }
+        }
+
+        sendCachedValues(channel, rightValues);
+        cacheAnalyzer.updateCache();
+
+        statisticsForAuditLog = batch.getQueryStatistics();
+        context.getState().setEof();
+    }
+
+    private void replanRewriteStmt(SelectStmt rewriteStmt, QueryStmt origStmt) throws UserException {
+        List<Type> origResultTypes = Lists.newArrayList();
+        for (Expr e : origStmt.getResultExprs()) {
+            origResultTypes.add(e.getType());
+        }
+        List<String> origColLabels = Lists.newArrayList(origStmt.getColLabels());
+
+        analyzer = new Analyzer(context.getCatalog(), context);
+        rewriteStmt.reset();
+        Map<String, Database> dbs = Maps.newTreeMap();
+        rewriteStmt.getDbs(analyzer, dbs);
+        lock(dbs);
+        try {
+            rewriteStmt.analyze(analyzer);
+            rewriteStmt.castResultExprs(origResultTypes);
+            rewriteStmt.setColLabels(origColLabels);
+            planner = new Planner();
+            planner.plan(rewriteStmt, analyzer, context.getSessionVariable().toThrift());
+        } finally {
+            unLock(dbs);
+        }
+        LOG.debug("rewrite stmt for partition cache, queryid {}, sql {}", DebugUtil.printId(context.queryId()),
+                rewriteStmt.toSql());
+    }
+
     // Process a select statement.
     private void handleInsertStmt() throws Exception {
         // Every time set no send flag and clean all data in buffer
@@ -857,6 +1049,13 @@ public class StmtExecutor {
             serializer.writeField(colNames.get(i), exprs.get(i).getType().getPrimitiveType());
             context.getMysqlChannel().sendOnePacket(serializer.toByteBuffer());
         }
+        if (context.getCommand() == MysqlCommand.COM_STMT_EXECUTE) {
+            List<MysqlColType> colTypes = Lists.newArrayListWithCapacity(exprs.size());
+            for (int i = 0; i < colNames.size(); ++i) {
+                colTypes.add(exprs.get(i).getType().getPrimitiveType().toMysqlType());
+            }
+            binaryRowConverter = new MysqlBinaryRowConverter(colTypes);
+        }
         // send EOF
         serializer.reset();
         MysqlEofPacket eofPacket = new MysqlEofPacket(context.getState());
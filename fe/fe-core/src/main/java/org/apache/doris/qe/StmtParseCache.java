@@ -0,0 +1,268 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.DecimalLiteral;
+import org.apache.doris.analysis.FloatLiteral;
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.LargeIntLiteral;
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.QueryStmt;
+import org.apache.doris.analysis.SqlParser;
+import org.apache.doris.analysis.SqlParserSymbols;
+import org.apache.doris.analysis.SqlScanner;
+import org.apache.doris.analysis.StatementBase;
+import org.apache.doris.analysis.StringLiteral;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.util.SqlParserUtils;
+import org.apache.doris.metric.MetricRepo;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import java_cup.runtime.Symbol;
+
+/**
+ * Cache the parsed select statements by normalized sql, in which the literals are replaced by placeholders '?',
+ * so that statements of the same shape with different literals, such as long IN lists generated by BI tools,
+ * are only parsed once. A cached statement is a PreparedStmtTemplate, bound with the literals and cloned when hit.
+ *
+ * The lexer is used to normalize the sql, which is much cheaper than parsing. Literals at the positions
+ * where the grammar requires a literal token instead of an expression are kept, such as limit, type length
+ * and alias. If the normalized sql still can not be parsed, it is cached as not cacheable,
+ * and the original sql is parsed every time.
+ *
+ * The parsed statement does not depend on the current database or the schema of tables,
+ * which are resolved when analyzing, so they are not part of the key and no invalidation is needed.
+ */
+public class StmtParseCache {
+    private static final Logger LOG = LogManager.getLogger(StmtParseCache.class);
+
+    // the cached value of normalized sql which can not be parsed
+    private static final Entry NOT_CACHEABLE = new Entry(null);
+
+    // estimated memory of the parsed statement for each char of the normalized sql, and for each placeholder
+    private static final int ESTIMATED_BYTES_PER_CHAR = 16;
+    private static final int ESTIMATED_BYTES_PER_PLACEHOLDER = 256;
+
+    // the weight is the estimated memory used by the key and the parsed statement
+    private static final Cache<String, Entry> ENTRIES = CacheBuilder.newBuilder()
+            .maximumWeight(Config.stmt_parse_cache_capacity)
+            .weigher((String key, Entry value) -> weigh(key, value))
+            .build();
+
+    private static final Set<Integer> TYPE_KEYWORDS = ImmutableSet.of(SqlParserSymbols.KW_TINYINT,
+            SqlParserSymbols.KW_SMALLINT, SqlParserSymbols.KW_INT, SqlParserSymbols.KW_BIGINT,
+            SqlParserSymbols.KW_LARGEINT, SqlParserSymbols.KW_CHAR, SqlParserSymbols.KW_VARCHAR,
+            SqlParserSymbols.KW_DECIMAL);
+
+    private static class Entry {
+        private final PreparedStmtTemplate template;
+
+        private Entry(PreparedStmtTemplate template) {
+            this.template = template;
+        }
+    }
+
+    // sql with literals replaced by '?', and the replaced literals in order
+    static class NormalizedSql {
+        final String sql;
+        final List<LiteralExpr> literals;
+
+        NormalizedSql(String sql, List<LiteralExpr> literals) {
+            this.sql = sql;
+            this.literals = literals;
+        }
+    }
+
+    private static int weigh(String key, Entry entry) {
+        // chars of the key
+        long weight = key.length() * 2L;
+        if (entry.template != null) {
+            weight += (long) key.length() * ESTIMATED_BYTES_PER_CHAR
+                    + (long) entry.template.getParamNum() * ESTIMATED_BYTES_PER_PLACEHOLDER;
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Return the parsed statement of a single select statement from cache, null if the sql is not cacheable,
+     * and should be parsed in the normal way.
+     */
+    public static StatementBase parse(String sql, long sqlMode) {
+        if (Config.stmt_parse_cache_capacity <= 0) {
+            return null;
+        }
+        NormalizedSql normalizedSql = normalize(sql, sqlMode);
+        if (normalizedSql == null) {
+            return null;
+        }
+        String key = sqlMode + ":" + normalizedSql.sql;
+        Entry entry = ENTRIES.getIfPresent(key);
+        if (entry == null) {
+            entry = parseNormalizedSql(normalizedSql, sqlMode);
+            ENTRIES.put(key, entry);
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_PARSE_CACHE_MISS.increase(1L);
+            }
+        } else if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_PARSE_CACHE_HIT.increase(1L);
+        }
+        if (entry.template == null) {
+            return null;
+        }
+        return entry.template.bind(normalizedSql.literals);
+    }
+
+    private static Entry parseNormalizedSql(NormalizedSql normalizedSql, long sqlMode) {
+        SqlParser parser = new SqlParser(new SqlScanner(new StringReader(normalizedSql.sql), sqlMode));
+        List<StatementBase> stmts;
+        try {
+            stmts = SqlParserUtils.getMultiStmts(parser);
+        } catch (Throwable e) {
+            LOG.debug("failed to parse normalized sql: {}", normalizedSql.sql, e);
+            return NOT_CACHEABLE;
+        }
+        if (stmts.size() != 1 || !(stmts.get(0) instanceof QueryStmt)
+                || parser.placeholders.size() != normalizedSql.literals.size()) {
+            return NOT_CACHEABLE;
+        }
+        return new Entry(new PreparedStmtTemplate(normalizedSql.sql, (QueryStmt) stmts.get(0), parser.placeholders));
+    }
+
+    /**
+     * Replace the literals in a select statement by '?', return null if the sql is not a single select statement,
+     * or it can not be normalized.
+     */
+    static NormalizedSql normalize(String sql, long sqlMode) {
+        SqlScanner scanner = new SqlScanner(new StringReader(sql), sqlMode);
+        StringBuilder normalized = new StringBuilder(sql.length());
+        List<LiteralExpr> literals = Lists.newArrayList();
+        int copiedOffset = 0;
+        int prevSym = -1;
+        boolean inHint = false;
+        boolean inLimit = false;
+        boolean inTypeLength = false;
+        try {
+            for (Symbol token = scanner.next_token(); token.sym != SqlParserSymbols.EOF;
+                    token = scanner.next_token()) {
+                switch (token.sym) {
+                    case SqlParserSymbols.PLACEHOLDER:
+                    case SqlParserSymbols.UNMATCHED_STRING_LITERAL:
+                    case SqlParserSymbols.NUMERIC_OVERFLOW:
+                        return null;
+                    case SqlParserSymbols.SEMICOLON:
+                        // only a single statement with optional ';' at the end
+                        if (scanner.next_token().sym != SqlParserSymbols.EOF) {
+                            return null;
+                        }
+                        break;
+                    case SqlParserSymbols.COMMENTED_PLAN_HINT_START:
+                        inHint = true;
+                        break;
+                    case SqlParserSymbols.COMMENTED_PLAN_HINT_END:
+                        inHint = false;
+                        break;
+                    case SqlParserSymbols.KW_LIMIT:
+                        inLimit = true;
+                        break;
+                    case SqlParserSymbols.LPAREN:
+                        inTypeLength = TYPE_KEYWORDS.contains(prevSym);
+                        break;
+                    case SqlParserSymbols.RPAREN:
+                        inTypeLength = false;
+                        break;
+                    default:
+                        break;
+                }
+                if (prevSym == -1 && token.sym != SqlParserSymbols.KW_SELECT
+                        && token.sym != SqlParserSymbols.KW_WITH) {
+                    return null;
+                }
+                if (inLimit && token.sym != SqlParserSymbols.KW_LIMIT && token.sym != SqlParserSymbols.INTEGER_LITERAL
+                        && token.sym != SqlParserSymbols.COMMA && token.sym != SqlParserSymbols.KW_OFFSET) {
+                    inLimit = false;
+                }
+
+                LiteralExpr literal = null;
+                if (!inHint && !inLimit && !inTypeLength && !isSignOrAlias(token.sym, prevSym)) {
+                    literal = createLiteral(token);
+                }
+                if (literal != null) {
+                    int offset = scanner.getTokenOffset();
+                    normalized.append(sql, copiedOffset, offset).append('?');
+                    copiedOffset = offset + scanner.yylength();
+                    literals.add(literal);
+                }
+                prevSym = token.sym;
+            }
+        } catch (Exception e) {
+            LOG.debug("failed to normalize sql: {}", sql, e);
+            return null;
+        }
+        if (prevSym == -1) {
+            return null;
+        }
+        normalized.append(sql, copiedOffset, sql.length());
+        return new NormalizedSql(normalized.toString(), literals);
+    }
+
+    // A numeric literal with sign is a negative literal, which is different from a sign on placeholder.
+    // A string literal after an expression is an alias.
+    private static boolean isSignOrAlias(int sym, int prevSym) {
+        if (sym == SqlParserSymbols.STRING_LITERAL) {
+            return prevSym == SqlParserSymbols.KW_AS || prevSym == SqlParserSymbols.IDENT
+                    || prevSym == SqlParserSymbols.RPAREN || isLiteral(prevSym);
+        }
+        return prevSym == SqlParserSymbols.SUBTRACT || prevSym == SqlParserSymbols.ADD;
+    }
+
+    private static boolean isLiteral(int sym) {
+        return sym == SqlParserSymbols.INTEGER_LITERAL || sym == SqlParserSymbols.LARGE_INTEGER_LITERAL
+                || sym == SqlParserSymbols.FLOATINGPOINT_LITERAL || sym == SqlParserSymbols.DECIMAL_LITERAL
+                || sym == SqlParserSymbols.STRING_LITERAL;
+    }
+
+    // same as the literals created by parser
+    private static LiteralExpr createLiteral(Symbol token) throws Exception {
+        switch (token.sym) {
+            case SqlParserSymbols.INTEGER_LITERAL:
+                return new IntLiteral((Long) token.value);
+            case SqlParserSymbols.LARGE_INTEGER_LITERAL:
+                return new LargeIntLiteral((String) token.value);
+            case SqlParserSymbols.FLOATINGPOINT_LITERAL:
+                return new FloatLiteral((Double) token.value);
+            case SqlParserSymbols.DECIMAL_LITERAL:
+                return new DecimalLiteral((BigDecimal) token.value);
+            case SqlParserSymbols.STRING_LITERAL:
+                return new StringLiteral((String) token.value);
+            default:
+                return null;
+        }
+    }
+}
@@ -18,7 +18,7 @@
 package org.apache.doris.qe.cache;
 
 import org.apache.doris.analysis.SelectStmt;
-//import org.apache.doris.common.Config;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.Status;
 import org.apache.doris.qe.RowBatch;
 import org.apache.doris.thrift.TUniqueId;
@@ -38,8 +38,8 @@ public abstract class Cache {
 
     protected TUniqueId queryId;
     protected SelectStmt selectStmt;
-    //protected RowBatchBuilder rowBatchBuilder;
-    //protected CacheAnalyzer.CacheTable latestTable;
+    protected RowBatchBuilder rowBatchBuilder;
+    protected CacheAnalyzer.CacheTable latestTable;
     protected CacheProxy proxy;
     protected HitRange hitRange;
 
@@ -72,17 +72,16 @@ public abstract class Cache {
     public abstract void updateCache();
 
     protected boolean checkRowLimit() {
-        /*
         if (rowBatchBuilder == null) {
             return false;
         }
-        if (rowBatchBuilder.getRowSize() > Config.cache_result_max_row_count) {
-            LOG.info("can not be cached. rowbatch size {} is more than {}", rowBatchBuilder.getRowSize(),
-                    Config.cache_result_max_row_count);
+        if (!rowBatchBuilder.isCacheable()) {
+            LOG.info("can not be cached. row count {}, data size {}, exceeds limit {} rows or {} bytes",
+                    rowBatchBuilder.getRowSize(), rowBatchBuilder.getDataSize(),
+                    Config.cache_result_max_row_count, Config.cache_result_max_data_size);
             return false;
         } else {
             return true;
-        }*/
-        return false;
+        }
     }
 }
@@ -0,0 +1,494 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.analysis.AggregateInfo;
+import org.apache.doris.analysis.BinaryPredicate;
+import org.apache.doris.analysis.CastExpr;
+import org.apache.doris.analysis.CompoundPredicate;
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.analysis.InlineViewRef;
+import org.apache.doris.analysis.OrderByElement;
+import org.apache.doris.analysis.QueryStmt;
+import org.apache.doris.analysis.SelectStmt;
+import org.apache.doris.analysis.SlotRef;
+import org.apache.doris.analysis.StatementBase;
+import org.apache.doris.analysis.TableRef;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.PartitionType;
+import org.apache.doris.catalog.RangePartitionInfo;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Status;
+import org.apache.doris.common.util.DebugUtil;
+import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.planner.OlapScanNode;
+import org.apache.doris.planner.Planner;
+import org.apache.doris.planner.ScanNode;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.RowBatch;
+import org.apache.doris.thrift.TUniqueId;
+
+import com.google.common.collect.Lists;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Analyze which caching mode a SQL is suitable for
+ * 1. T + 1 update is suitable for SQL mode
+ * 2. Partition by date, update the data of the day in near real time, which is suitable for Partition mode
+ */
+public class CacheAnalyzer {
+    private static final Logger LOG = LogManager.getLogger(CacheAnalyzer.class);
+
+    /**
+     * NoNeed : disable config or variable, not query, not scan table etc.
+     */
+    public enum CacheMode {
+        NoNeed,
+        None,
+        TTL,
+        Sql,
+        Partition
+    }
+
+    private ConnectContext context;
+    private boolean enableSqlCache = false;
+    private boolean enablePartitionCache = false;
+    private TUniqueId queryId;
+    private CacheMode cacheMode;
+    private CacheTable latestTable;
+    private StatementBase parsedStmt;
+    private SelectStmt selectStmt;
+    private List<ScanNode> scanNodes;
+    private OlapTable olapTable;
+    private RangePartitionInfo partitionInfo;
+    private Column partColumn;
+    private CompoundPredicate partitionPredicate;
+    private Cache cache;
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public CacheAnalyzer(ConnectContext context, StatementBase parsedStmt, Planner planner) {
+        this(context, parsedStmt, planner.getScanNodes());
+    }
+
+    public CacheAnalyzer(ConnectContext context, StatementBase parsedStmt, List<ScanNode> scanNodes) {
+        this.context = context;
+        this.queryId = context.queryId();
+        this.parsedStmt = parsedStmt;
+        this.scanNodes = scanNodes;
+        this.cacheMode = CacheMode.NoNeed;
+        checkCacheConfig();
+    }
+
+    private void checkCacheConfig() {
+        if (Config.cache_enable_sql_mode) {
+            if (context.getSessionVariable().isEnableSqlCache()) {
+                enableSqlCache = true;
+            }
+        }
+        if (Config.cache_enable_partition_mode) {
+            if (context.getSessionVariable().isEnablePartitionCache()) {
+                enablePartitionCache = true;
+            }
+        }
+    }
+
+    public CacheMode getCacheMode() {
+        return cacheMode;
+    }
+
+    /**
+     * The latest updated partition of a table
+     */
+    public static class CacheTable implements Comparable<CacheTable> {
+        public OlapTable olapTable;
+        public long latestPartitionId;
+        public long latestVersion;
+        public long latestTime;
+
+        public CacheTable() {
+            olapTable = null;
+            latestPartitionId = 0;
+            latestVersion = 0;
+            latestTime = 0;
+        }
+
+        // The table updated latest is at the front
+        @Override
+        public int compareTo(CacheTable table) {
+            return Long.compare(table.latestTime, this.latestTime);
+        }
+
+        public void debug() {
+            LOG.debug("table {}, partition id {}, ver {}, time {}", olapTable.getName(), latestPartitionId,
+                    latestVersion, latestTime);
+        }
+    }
+
+    public boolean enableCache() {
+        return enableSqlCache || enablePartitionCache;
+    }
+
+    public boolean enableSqlCache() {
+        return enableSqlCache;
+    }
+
+    public boolean enablePartitionCache() {
+        return enablePartitionCache;
+    }
+
+    /**
+     * Check the last version time of tables
+     * 1. check if the tables have not been updated for cache_last_version_interval_second, use sql cache
+     * 2. check if only the range partitioned table of latest version is updated recently,
+     *    and the query is grouped by the partition key, use partition cache
+     */
+    public void checkCacheMode(long now) {
+        cacheMode = innerCheckCacheMode(now);
+    }
+
+    private CacheMode innerCheckCacheMode(long now) {
+        if (!enableCache()) {
+            return CacheMode.NoNeed;
+        }
+        if (!(parsedStmt instanceof SelectStmt) || scanNodes.size() == 0) {
+            return CacheMode.NoNeed;
+        }
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_QUERY_TABLE.increase(1L);
+        }
+
+        this.selectStmt = (SelectStmt) parsedStmt;
+        if (selectStmt.hasOutFileClause()) {
+            return CacheMode.NoNeed;
+        }
+        // Check the last version time of the table
+        List<CacheTable> tblTimeList = Lists.newArrayList();
+        for (ScanNode node : scanNodes) {
+            if (!(node instanceof OlapScanNode)) {
+                return CacheMode.None;
+            }
+            OlapScanNode oNode = (OlapScanNode) node;
+            tblTimeList.add(getLastUpdateTime(oNode.getOlapTable()));
+        }
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_QUERY_OLAP_TABLE.increase(1L);
+        }
+        Collections.sort(tblTimeList);
+        latestTable = tblTimeList.get(0);
+        if (LOG.isDebugEnabled()) {
+            latestTable.debug();
+        }
+
+        if (now == 0) {
+            now = System.currentTimeMillis();
+        }
+        long intervalMs = Config.cache_last_version_interval_second * 1000L;
+        if (enableSqlCache() && (now - latestTable.latestTime) >= intervalMs) {
+            cache = new SqlCache(this.queryId, this.selectStmt);
+            ((SqlCache) cache).setCacheInfo(this.latestTable);
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_CACHE_MODE_SQL.increase(1L);
+            }
+            return CacheMode.Sql;
+        }
+
+        if (!enablePartitionCache()) {
+            return CacheMode.None;
+        }
+
+        // Only one table can be updated in cache_last_version_interval_second range
+        for (int i = 1; i < tblTimeList.size(); i++) {
+            if ((now - tblTimeList.get(i).latestTime) < intervalMs) {
+                LOG.debug("the time of other tables is newer than {} s, queryid {}",
+                        Config.cache_last_version_interval_second, DebugUtil.printId(queryId));
+                return CacheMode.None;
+            }
+        }
+        olapTable = latestTable.olapTable;
+        if (olapTable.getPartitionInfo().getType() != PartitionType.RANGE) {
+            LOG.debug("the partition of OlapTable not RANGE type, queryid {}", DebugUtil.printId(queryId));
+            return CacheMode.None;
+        }
+        partitionInfo = (RangePartitionInfo) olapTable.getPartitionInfo();
+        List<Column> columns = partitionInfo.getPartitionColumns();
+        // Partition key has only one column
+        if (columns.size() != 1) {
+            LOG.debug("more than one partition column {}, queryid {}", columns.size(), DebugUtil.printId(queryId));
+            return CacheMode.None;
+        }
+        partColumn = columns.get(0);
+        // The result of each key value is cached separately, so the rows must be split by the key
+        if (!checkResultContainsPartitionKey(this.selectStmt, partColumn)) {
+            LOG.debug("result not contain partition column {}, queryid {}", partColumn.getName(),
+                    DebugUtil.printId(queryId));
+            return CacheMode.None;
+        }
+        if (!checkGroupByPartitionKey(this.selectStmt, partColumn)) {
+            LOG.debug("group by columns not contain partition column {}, queryid {}", partColumn.getName(),
+                    DebugUtil.printId(queryId));
+            return CacheMode.None;
+        }
+        // The results from cache and BE are concatenated, only the order of partition key can be kept
+        if (!checkOrderByPartitionKey(this.selectStmt, partColumn)) {
+            LOG.debug("limit or order by other columns, queryid {}", DebugUtil.printId(queryId));
+            return CacheMode.None;
+        }
+        // Check if whereClause has one CompoundPredicate of partition column
+        List<CompoundPredicate> compoundPredicates = Lists.newArrayList();
+        getPartitionKeyFromSelectStmt(this.selectStmt, partColumn, compoundPredicates);
+        if (compoundPredicates.size() != 1) {
+            LOG.debug("{} partition range predicates, queryid {}", compoundPredicates.size(),
+                    DebugUtil.printId(queryId));
+            return CacheMode.None;
+        }
+        partitionPredicate = compoundPredicates.get(0);
+        cache = new PartitionCache(this.queryId, this.selectStmt);
+        ((PartitionCache) cache).setCacheInfo(this.latestTable, this.partitionInfo, this.partColumn,
+                this.partitionPredicate);
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_CACHE_MODE_PARTITION.increase(1L);
+        }
+        return CacheMode.Partition;
+    }
+
+    public CacheProxy.FetchCacheResult getCacheData() {
+        CacheProxy.FetchCacheResult cacheResult = null;
+        cacheMode = innerCheckCacheMode(0);
+        if (cacheMode == CacheMode.NoNeed) {
+            return cacheResult;
+        }
+        if (cacheMode == CacheMode.None) {
+            LOG.debug("check cache mode none, queryid {}", DebugUtil.printId(queryId));
+            return cacheResult;
+        }
+        Status status = new Status();
+        cacheResult = cache.getCacheData(status);
+
+        if (status.ok() && cacheResult != null) {
+            LOG.debug("hit cache, mode {}, queryid {}, all count {}, value count {}, row count {}, data size {}",
+                    cacheMode, DebugUtil.printId(queryId),
+                    cacheResult.all_count, cacheResult.value_count,
+                    cacheResult.row_count, cacheResult.data_size);
+            if (MetricRepo.isInit) {
+                if (cacheMode == CacheMode.Sql) {
+                    MetricRepo.COUNTER_CACHE_HIT_SQL.increase(1L);
+                } else if (cacheMode == CacheMode.Partition) {
+                    MetricRepo.COUNTER_CACHE_HIT_PARTITION.increase(1L);
+                }
+            }
+        } else {
+            LOG.debug("miss cache, mode {}, queryid {}, code {}, msg {}", cacheMode,
+                    DebugUtil.printId(queryId), status.getErrorCode(), status.getErrorMsg());
+            cacheResult = null;
+        }
+        return cacheResult;
+    }
+
+    public Cache.HitRange getHitRange() {
+        if (cacheMode == CacheMode.None || cacheMode == CacheMode.NoNeed) {
+            return Cache.HitRange.None;
+        }
+        return cache.getHitRange();
+    }
+
+    public SelectStmt getRewriteStmt() {
+        if (cacheMode != CacheMode.Partition) {
+            return null;
+        }
+        return cache.getRewriteStmt();
+    }
+
+    /**
+     * The cached values whose keys are before the range queried from BE should be sent first,
+     * and the ones after the range are sent last. The ones inside the range are queried from BE again,
+     * so they should not be sent.
+     *
+     * @return negative if before the range, positive if after the range, 0 if inside the range
+     */
+    public int compareToQueryRange(CacheProxy.CacheValue value) {
+        if (cacheMode != CacheMode.Partition) {
+            return -1;
+        }
+        return ((PartitionCache) cache).compareToQueryRange(value.param.partition_key);
+    }
+
+    public void copyRowBatch(RowBatch rowBatch) {
+        if (cacheMode == CacheMode.None || cacheMode == CacheMode.NoNeed) {
+            return;
+        }
+        cache.copyRowBatch(rowBatch);
+    }
+
+    public void updateCache() {
+        if (cacheMode == CacheMode.None || cacheMode == CacheMode.NoNeed) {
+            return;
+        }
+        cache.updateCache();
+    }
+
+    private boolean checkResultContainsPartitionKey(SelectStmt stmt, Column partColumn) {
+        for (String label : stmt.getColLabels()) {
+            if (label.equalsIgnoreCase(partColumn.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean checkGroupByPartitionKey(SelectStmt stmt, Column partColumn) {
+        List<SelectStmt> stmtList = Lists.newArrayList();
+        getSelectStmtList(stmt, stmtList);
+        int groupbyCount = 0;
+        for (SelectStmt oneStmt : stmtList) {
+            // The result of window function depends on the rows of other keys
+            if (oneStmt.getAnalyticInfo() != null) {
+                return false;
+            }
+            AggregateInfo aggInfo = oneStmt.getAggInfo();
+            if (aggInfo == null) {
+                continue;
+            }
+            if (aggInfo.isDistinctAgg()) {
+                return false;
+            }
+            List<Expr> groupExprs = aggInfo.getGroupingExprs();
+            if (groupExprs == null || groupExprs.isEmpty()) {
+                return false;
+            }
+            groupbyCount += 1;
+            boolean matched = false;
+            for (Expr groupExpr : groupExprs) {
+                if (groupExpr instanceof SlotRef
+                        && partColumn.getName().equalsIgnoreCase(((SlotRef) groupExpr).getColumnName())) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return groupbyCount > 0;
+    }
+
+    private boolean checkOrderByPartitionKey(SelectStmt stmt, Column partColumn) {
+        if (stmt.hasLimit() || stmt.hasOffset()) {
+            return false;
+        }
+        List<OrderByElement> orderByElements = stmt.getOrderByElements();
+        if (orderByElements == null || orderByElements.isEmpty()) {
+            return true;
+        }
+        if (orderByElements.size() != 1 || !orderByElements.get(0).getIsAsc()) {
+            return false;
+        }
+        Expr expr = orderByElements.get(0).getExpr();
+        return expr instanceof SlotRef && partColumn.getName().equalsIgnoreCase(((SlotRef) expr).getColumnName());
+    }
+
+    private void getSelectStmtList(SelectStmt stmt, List<SelectStmt> stmtList) {
+        stmtList.add(stmt);
+        for (TableRef tblRef : stmt.getTableRefs()) {
+            if (tblRef instanceof InlineViewRef) {
+                QueryStmt queryStmt = ((InlineViewRef) tblRef).getViewStmt();
+                if (queryStmt instanceof SelectStmt) {
+                    getSelectStmtList((SelectStmt) queryStmt, stmtList);
+                }
+            }
+        }
+    }
+
+    private void getPartitionKeyFromSelectStmt(SelectStmt stmt, Column partColumn,
+                                               List<CompoundPredicate> compoundPredicates) {
+        List<SelectStmt> stmtList = Lists.newArrayList();
+        getSelectStmtList(stmt, stmtList);
+        for (SelectStmt oneStmt : stmtList) {
+            getPartitionKeyFromWhereClause(oneStmt.getWhereClause(), partColumn, compoundPredicates);
+        }
+    }
+
+    /**
+     * Only support the conjunct like "key >= a and key <= b", "key > a and key < b" etc.
+     * The conjunct can't be under OR, otherwise narrowing the range changes the result.
+     */
+    private void getPartitionKeyFromWhereClause(Expr expr, Column partColumn,
+                                                List<CompoundPredicate> compoundPredicates) {
+        if (!(expr instanceof CompoundPredicate)) {
+            return;
+        }
+        CompoundPredicate cp = (CompoundPredicate) expr;
+        if (cp.getOp() != CompoundPredicate.Operator.AND) {
+            return;
+        }
+        if (cp.getChildren().size() == 2 && cp.getChild(0) instanceof BinaryPredicate
+                && cp.getChild(1) instanceof BinaryPredicate) {
+            BinaryPredicate leftPre = (BinaryPredicate) cp.getChild(0);
+            BinaryPredicate rightPre = (BinaryPredicate) cp.getChild(1);
+            String leftColumn = getColumnName(leftPre);
+            String rightColumn = getColumnName(rightPre);
+            if (leftColumn.equalsIgnoreCase(partColumn.getName())
+                    && rightColumn.equalsIgnoreCase(partColumn.getName())) {
+                compoundPredicates.add(cp);
+                return;
+            }
+        }
+        for (Expr subExpr : expr.getChildren()) {
+            getPartitionKeyFromWhereClause(subExpr, partColumn, compoundPredicates);
+        }
+    }
+
+    private String getColumnName(BinaryPredicate predicate) {
+        SlotRef slot = null;
+        if (predicate.getChild(0) instanceof SlotRef) {
+            slot = (SlotRef) predicate.getChild(0);
+        } else if (predicate.getChild(0) instanceof CastExpr) {
+            CastExpr expr = (CastExpr) predicate.getChild(0);
+            if (expr.getChild(0) instanceof SlotRef) {
+                slot = (SlotRef) expr.getChild(0);
+            }
+        }
+
+        if (slot != null) {
+            return slot.getColumnName();
+        }
+        return "";
+    }
+
+    private CacheTable getLastUpdateTime(OlapTable olapTable) {
+        CacheTable table = new CacheTable();
+        table.olapTable = olapTable;
+        for (Partition partition : olapTable.getPartitions()) {
+            if (partition.getVisibleVersionTime() >= table.latestTime) {
+                table.latestPartitionId = partition.getId();
+                table.latestTime = partition.getVisibleVersionTime();
+                table.latestVersion = partition.getVisibleVersion();
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,212 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.analysis.CompoundPredicate;
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.analysis.InlineViewRef;
+import org.apache.doris.analysis.QueryStmt;
+import org.apache.doris.analysis.SelectStmt;
+import org.apache.doris.analysis.TableRef;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.RangePartitionInfo;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.Status;
+import org.apache.doris.common.util.DebugUtil;
+import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.qe.RowBatch;
+import org.apache.doris.thrift.TUniqueId;
+
+import com.google.common.collect.Lists;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+
+/**
+ * Cache the result of each partition key value separately, such as one day of a date partitioned table.
+ * Only the key values missing in cache are queried from BE, by narrowing the partition predicate.
+ */
+public class PartitionCache extends Cache {
+    private static final Logger LOG = LogManager.getLogger(PartitionCache.class);
+
+    // The sql without partition predicate, used as the key of cache
+    private SelectStmt nokeyStmt;
+    private SelectStmt rewriteStmt;
+    private CompoundPredicate partitionPredicate;
+    private OlapTable olapTable;
+    private RangePartitionInfo partitionInfo;
+    private Column partColumn;
+
+    private PartitionRange range;
+    private List<PartitionRange.PartitionSingle> updateList;
+
+    public PartitionCache(TUniqueId queryId, SelectStmt selectStmt) {
+        super(queryId, selectStmt);
+        updateList = Lists.newArrayList();
+    }
+
+    public void setCacheInfo(CacheAnalyzer.CacheTable latestTable, RangePartitionInfo partitionInfo, Column partColumn,
+                             CompoundPredicate partitionPredicate) {
+        this.latestTable = latestTable;
+        this.olapTable = latestTable.olapTable;
+        this.partitionInfo = partitionInfo;
+        this.partColumn = partColumn;
+        this.partitionPredicate = partitionPredicate;
+        this.nokeyStmt = (SelectStmt) this.selectStmt.clone();
+        rewriteSelectStmt(nokeyStmt, this.partitionPredicate, null);
+    }
+
+    public CacheProxy.FetchCacheResult getCacheData(Status status) {
+        range = new PartitionRange(this.partitionPredicate, this.olapTable, this.partitionInfo);
+        if (!range.analytics()) {
+            status.setStatus("analytics range error");
+            return null;
+        }
+
+        CacheProxy.FetchCacheRequest request = new CacheProxy.FetchCacheRequest(nokeyStmt.toSql());
+        int paramCount = 0;
+        for (PartitionRange.PartitionSingle single : range.getPartitionSingleList()) {
+            if (single.getPartition() == null) {
+                continue;
+            }
+            request.addParam(single.getCacheKey().realValue(), single.getPartition().getVisibleVersion(),
+                    single.getPartition().getVisibleVersionTime());
+            paramCount++;
+        }
+        CacheProxy.FetchCacheResult cacheResult = null;
+        if (paramCount > 0) {
+            cacheResult = proxy.fetchCache(request, CacheProxy.FETCH_TIMEOUT, status);
+        }
+        if (status.ok() && cacheResult != null) {
+            cacheResult.all_count = paramCount;
+            for (CacheProxy.CacheValue value : cacheResult.getValueList()) {
+                range.setCacheFlag(value.param.partition_key);
+            }
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_CACHE_PARTITION_ALL.increase((long) paramCount);
+                MetricRepo.COUNTER_CACHE_PARTITION_HIT.increase((long) cacheResult.getValueList().size());
+            }
+        } else {
+            cacheResult = null;
+        }
+
+        hitRange = range.buildDiskPartitionRange();
+        if (hitRange == HitRange.Left || hitRange == HitRange.Right || hitRange == HitRange.Middle) {
+            try {
+                rewriteStmt = (SelectStmt) selectStmt.clone();
+                rewriteSelectStmt(rewriteStmt, this.partitionPredicate, range.buildQueryPredicate());
+            } catch (AnalysisException e) {
+                LOG.warn("failed to rewrite partition predicate, queryid {}", DebugUtil.printId(queryId), e);
+                rewriteStmt = null;
+                hitRange = HitRange.None;
+                cacheResult = null;
+            }
+        }
+        updateList = range.buildUpdatePartitionRange();
+        return cacheResult;
+    }
+
+    /**
+     * The stmt only queries the key values missing in cache, null if the original stmt should be used
+     */
+    public SelectStmt getRewriteStmt() {
+        if (hitRange != HitRange.Left && hitRange != HitRange.Right && hitRange != HitRange.Middle) {
+            return null;
+        }
+        return rewriteStmt;
+    }
+
+    public PartitionRange.PartitionKeyType getQueryBeginKey() {
+        return range == null ? null : range.getQueryBeginKey();
+    }
+
+    public PartitionRange.PartitionKeyType getQueryEndKey() {
+        return range == null ? null : range.getQueryEndKey();
+    }
+
+    public int compareToQueryRange(long key) {
+        return range == null ? -1 : range.compareToQueryRange(key);
+    }
+
+    public void copyRowBatch(RowBatch rowBatch) {
+        if (rowBatchBuilder == null) {
+            rowBatchBuilder = new RowBatchBuilder(CacheAnalyzer.CacheMode.Partition);
+            rowBatchBuilder.buildPartitionIndex(selectStmt.getResultExprs(), selectStmt.getColLabels(),
+                    partColumn, updateList);
+        }
+        rowBatchBuilder.copyRowData(rowBatch);
+    }
+
+    public void updateCache() {
+        if (updateList.isEmpty() || !checkRowLimit()) {
+            return;
+        }
+
+        CacheProxy.UpdateCacheRequest updateRequest = rowBatchBuilder.buildPartitionUpdateRequest(nokeyStmt.toSql());
+        if (updateRequest.value_count > 0) {
+            Status status = new Status();
+            proxy.updateCache(updateRequest, CacheProxy.UPDATE_TIMEOUT, status);
+            LOG.info("update cache model {}, queryid {}, sqlkey {}, value count {}, row count {}, data size {}",
+                    CacheAnalyzer.CacheMode.Partition, DebugUtil.printId(queryId),
+                    DebugUtil.printId(updateRequest.sql_key),
+                    updateRequest.value_count, updateRequest.row_count, updateRequest.data_size);
+        }
+    }
+
+    /**
+     * Replace the partition predicate in where clause of stmt and its inline views,
+     * the predicate is removed if replacement is null.
+     */
+    private static void rewriteSelectStmt(SelectStmt stmt, Expr target, Expr replacement) {
+        stmt.setWhereClause(replacePredicate(stmt.getWhereClause(), target, replacement));
+        for (TableRef tblRef : stmt.getTableRefs()) {
+            if (tblRef instanceof InlineViewRef) {
+                QueryStmt queryStmt = ((InlineViewRef) tblRef).getViewStmt();
+                if (queryStmt instanceof SelectStmt) {
+                    rewriteSelectStmt((SelectStmt) queryStmt, target, replacement);
+                }
+            }
+        }
+    }
+
+    private static Expr replacePredicate(Expr expr, Expr target, Expr replacement) {
+        if (expr == null) {
+            return null;
+        }
+        if (expr.equals(target)) {
+            return replacement;
+        }
+        if (expr instanceof CompoundPredicate
+                && ((CompoundPredicate) expr).getOp() == CompoundPredicate.Operator.AND) {
+            Expr left = replacePredicate(expr.getChild(0), target, replacement);
+            Expr right = replacePredicate(expr.getChild(1), target, replacement);
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            expr.setChild(0, left);
+            expr.setChild(1, right);
+        }
+        return expr;
+    }
+}
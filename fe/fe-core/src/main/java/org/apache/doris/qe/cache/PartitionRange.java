@@ -0,0 +1,503 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.analysis.BinaryPredicate;
+import org.apache.doris.analysis.CompoundPredicate;
+import org.apache.doris.analysis.DateLiteral;
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.PartitionValue;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.PartitionKey;
+import org.apache.doris.catalog.PrimitiveType;
+import org.apache.doris.catalog.RangePartitionInfo;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.Config;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expand the partition predicate of a query, such as "k1 >= a and k1 <= b", into a list
+ * of single key values, each of them is one unit of the partition cache.
+ * The key values are mapped to the partitions holding them, so the version of every
+ * key value is the visible version of its partition.
+ */
+public class PartitionRange {
+    private static final Logger LOG = LogManager.getLogger(PartitionRange.class);
+
+    // Too many key values make the cache request larger than the query itself
+    public static final int MAX_KEY_COUNT = 1000;
+
+    public enum KeyType {
+        DEFAULT,
+        LONG,
+        DATE,
+        INT_DATE
+    }
+
+    /**
+     * The value of partition key, only support integer types, DATE,
+     * and integer types whose values are formatted as yyyyMMdd
+     */
+    public static class PartitionKeyType implements Comparable<PartitionKeyType> {
+        private static final DateTimeFormatter INT_DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+        private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+
+        private KeyType keyType = KeyType.DEFAULT;
+        private long value;
+        private LocalDate date;
+
+        public PartitionKeyType() {
+        }
+
+        public PartitionKeyType(PartitionKeyType other) {
+            this.keyType = other.keyType;
+            this.value = other.value;
+            this.date = other.date;
+        }
+
+        public KeyType getKeyType() {
+            return keyType;
+        }
+
+        public boolean init(Type type, LiteralExpr expr) {
+            if (expr instanceof DateLiteral) {
+                if (type.getPrimitiveType() != PrimitiveType.DATE) {
+                    return false;
+                }
+                DateLiteral dateLiteral = (DateLiteral) expr;
+                date = LocalDate.of((int) dateLiteral.getYear(), (int) dateLiteral.getMonth(),
+                        (int) dateLiteral.getDay());
+                keyType = KeyType.DATE;
+                value = toLong(date);
+                return true;
+            }
+            if (expr instanceof IntLiteral) {
+                return initLong(type, expr.getLongValue());
+            }
+            return false;
+        }
+
+        public boolean init(Type type, String str) {
+            try {
+                switch (type.getPrimitiveType()) {
+                    case DATE:
+                    case DATETIME:
+                        // the result of DATE column may be formatted as DATETIME
+                        date = LocalDate.parse(str.length() > 10 ? str.substring(0, 10) : str, DATE_FORMATTER);
+                        keyType = KeyType.DATE;
+                        value = toLong(date);
+                        return true;
+                    case TINYINT:
+                    case SMALLINT:
+                    case INT:
+                    case BIGINT:
+                        return initLong(type, Long.parseLong(str));
+                    default:
+                        return false;
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                LOG.debug("invalid partition key value {}, type {}", str, type);
+                return false;
+            }
+        }
+
+        private boolean initLong(Type type, long longValue) {
+            switch (type.getPrimitiveType()) {
+                case TINYINT:
+                case SMALLINT:
+                case INT:
+                case BIGINT:
+                    break;
+                default:
+                    return false;
+            }
+            value = longValue;
+            date = parseIntDate(longValue);
+            keyType = date == null ? KeyType.LONG : KeyType.INT_DATE;
+            return true;
+        }
+
+        private static LocalDate parseIntDate(long longValue) {
+            if (longValue < 10000101L || longValue > 99991231L) {
+                return null;
+            }
+            try {
+                return LocalDate.parse(String.valueOf(longValue), INT_DATE_FORMATTER);
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        private static long toLong(LocalDate date) {
+            return date.getYear() * 10000L + date.getMonthValue() * 100L + date.getDayOfMonth();
+        }
+
+        /**
+         * Step to the next num key values, one day for date keys
+         */
+        public void add(int num) {
+            switch (keyType) {
+                case DATE:
+                case INT_DATE:
+                    date = date.plusDays(num);
+                    value = toLong(date);
+                    break;
+                default:
+                    value += num;
+                    break;
+            }
+        }
+
+        /**
+         * The long value is used as the partition key of cache,
+         * yyyyMMdd for date keys and the number itself for integer keys
+         */
+        public long realValue() {
+            return value;
+        }
+
+        public LiteralExpr toLiteral(Type type) throws AnalysisException {
+            if (keyType == KeyType.DATE) {
+                return new DateLiteral(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+            }
+            return new IntLiteral(value, type);
+        }
+
+        public String getStringValue() {
+            if (keyType == KeyType.DATE) {
+                return date.format(DATE_FORMATTER);
+            }
+            return String.valueOf(value);
+        }
+
+        @Override
+        public int compareTo(PartitionKeyType other) {
+            return Long.compare(value, other.value);
+        }
+
+        @Override
+        public String toString() {
+            return getStringValue();
+        }
+    }
+
+    /**
+     * One key value of the partition predicate and the partition which contains it
+     */
+    public static class PartitionSingle {
+        private Partition partition;
+        private PartitionKeyType cacheKey;
+        private boolean fromCache;
+        private boolean tooNew;
+
+        public PartitionSingle(PartitionKeyType cacheKey) {
+            this.cacheKey = cacheKey;
+            this.partition = null;
+            this.fromCache = false;
+            this.tooNew = false;
+        }
+
+        public Partition getPartition() {
+            return partition;
+        }
+
+        public void setPartition(Partition partition) {
+            this.partition = partition;
+        }
+
+        public long getPartitionId() {
+            return partition == null ? -1 : partition.getId();
+        }
+
+        public PartitionKeyType getCacheKey() {
+            return cacheKey;
+        }
+
+        public boolean isFromCache() {
+            return fromCache;
+        }
+
+        public void setFromCache(boolean fromCache) {
+            this.fromCache = fromCache;
+        }
+
+        public boolean isTooNew() {
+            return tooNew;
+        }
+
+        public void setTooNew(boolean tooNew) {
+            this.tooNew = tooNew;
+        }
+
+        public void debug() {
+            if (partition != null) {
+                LOG.info("partition id {}, key {}, version {}, time {}, from cache {}, too new {}",
+                        partition.getId(), cacheKey.realValue(), partition.getVisibleVersion(),
+                        partition.getVisibleVersionTime(), fromCache, tooNew);
+            } else {
+                LOG.info("no partition, key {}", cacheKey.realValue());
+            }
+        }
+    }
+
+    private CompoundPredicate partitionKeyPredicate;
+    private OlapTable olapTable;
+    private RangePartitionInfo rangePartitionInfo;
+    private Column partitionColumn;
+    private List<PartitionSingle> partitionSingleList;
+    // index range [queryBegin, queryEnd] of partitionSingleList which need to be queried from BE
+    private int queryBegin;
+    private int queryEnd;
+
+    public PartitionRange() {
+        partitionSingleList = Lists.newArrayList();
+    }
+
+    public PartitionRange(CompoundPredicate partitionKeyPredicate, OlapTable olapTable,
+                          RangePartitionInfo rangePartitionInfo) {
+        this.partitionKeyPredicate = partitionKeyPredicate;
+        this.olapTable = olapTable;
+        this.rangePartitionInfo = rangePartitionInfo;
+        this.partitionColumn = rangePartitionInfo.getPartitionColumns().get(0);
+        this.partitionSingleList = Lists.newArrayList();
+        this.queryBegin = -1;
+        this.queryEnd = -1;
+    }
+
+    public List<PartitionSingle> getPartitionSingleList() {
+        return partitionSingleList;
+    }
+
+    /**
+     * Expand the partition predicate to the key list, and find the partition of each key.
+     *
+     * @return false if the predicate can't be expanded, then the partition cache can't be used
+     */
+    public boolean analytics() {
+        Type type = Type.fromPrimitiveType(partitionColumn.getDataType());
+        PartitionKeyType beginKey = new PartitionKeyType();
+        PartitionKeyType endKey = new PartitionKeyType();
+        if (!getKeyRange(type, beginKey, endKey)) {
+            return false;
+        }
+        if (beginKey.getKeyType() != endKey.getKeyType() || beginKey.compareTo(endKey) > 0) {
+            LOG.debug("invalid partition key range {} ~ {}", beginKey, endKey);
+            return false;
+        }
+
+        PartitionKeyType key = new PartitionKeyType(beginKey);
+        while (key.compareTo(endKey) <= 0) {
+            if (partitionSingleList.size() >= MAX_KEY_COUNT) {
+                LOG.debug("too many partition keys, {} ~ {}", beginKey, endKey);
+                partitionSingleList.clear();
+                return false;
+            }
+            partitionSingleList.add(new PartitionSingle(new PartitionKeyType(key)));
+            key.add(1);
+        }
+
+        List<Map.Entry<Long, Range<PartitionKey>>> sortedRanges = rangePartitionInfo.getSortedRangeMap(false);
+        long now = System.currentTimeMillis();
+        for (PartitionSingle single : partitionSingleList) {
+            PartitionKey partitionKey;
+            try {
+                partitionKey = PartitionKey.createPartitionKey(
+                        Lists.newArrayList(new PartitionValue(single.getCacheKey().getStringValue())),
+                        Lists.newArrayList(partitionColumn));
+            } catch (AnalysisException e) {
+                LOG.warn("failed to create partition key {}", single.getCacheKey(), e);
+                return false;
+            }
+            for (Map.Entry<Long, Range<PartitionKey>> entry : sortedRanges) {
+                if (entry.getValue().contains(partitionKey)) {
+                    single.setPartition(olapTable.getPartition(entry.getKey()));
+                    break;
+                }
+            }
+            Partition partition = single.getPartition();
+            if (partition != null && (now - partition.getVisibleVersionTime())
+                    < Config.cache_last_version_interval_second * 1000L) {
+                single.setTooNew(true);
+            }
+        }
+        return true;
+    }
+
+    private boolean getKeyRange(Type type, PartitionKeyType beginKey, PartitionKeyType endKey) {
+        if (partitionKeyPredicate.getOp() != CompoundPredicate.Operator.AND) {
+            return false;
+        }
+        boolean hasBegin = false;
+        boolean hasEnd = false;
+        for (Expr child : partitionKeyPredicate.getChildren()) {
+            if (!(child instanceof BinaryPredicate) || !(child.getChild(1) instanceof LiteralExpr)) {
+                return false;
+            }
+            BinaryPredicate predicate = (BinaryPredicate) child;
+            LiteralExpr literal = (LiteralExpr) predicate.getChild(1);
+            switch (predicate.getOp()) {
+                case GE:
+                    hasBegin = beginKey.init(type, literal);
+                    break;
+                case GT:
+                    hasBegin = beginKey.init(type, literal);
+                    beginKey.add(1);
+                    break;
+                case LE:
+                    hasEnd = endKey.init(type, literal);
+                    break;
+                case LT:
+                    hasEnd = endKey.init(type, literal);
+                    endKey.add(-1);
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return hasBegin && hasEnd;
+    }
+
+    /**
+     * Mark the key values which are returned by the cache
+     */
+    public void setCacheFlag(long cacheKey) {
+        for (PartitionSingle single : partitionSingleList) {
+            if (single.getCacheKey().realValue() == cacheKey) {
+                single.setFromCache(true);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Find the key values which are missing in the cache. Only a continuous range can be queried,
+     * so cached values before and after the range are sent directly, and the ones inside it are
+     * queried again.
+     *
+     * None: nothing in cache; Full: all in cache;
+     * Left: the keys before the range are from cache; Right: the keys after the range are from cache;
+     * Middle: the keys on both sides of the range are from cache
+     */
+    public Cache.HitRange buildDiskPartitionRange() {
+        queryBegin = -1;
+        queryEnd = -1;
+        for (int i = 0; i < partitionSingleList.size(); i++) {
+            if (!partitionSingleList.get(i).isFromCache()) {
+                if (queryBegin < 0) {
+                    queryBegin = i;
+                }
+                queryEnd = i;
+            }
+        }
+        if (queryBegin < 0) {
+            return Cache.HitRange.Full;
+        }
+        boolean leftHit = queryBegin > 0;
+        boolean rightHit = queryEnd < partitionSingleList.size() - 1;
+        if (leftHit && rightHit) {
+            return Cache.HitRange.Middle;
+        } else if (leftHit) {
+            return Cache.HitRange.Left;
+        } else if (rightHit) {
+            return Cache.HitRange.Right;
+        }
+        return Cache.HitRange.None;
+    }
+
+    public PartitionKeyType getQueryBeginKey() {
+        return queryBegin < 0 ? null : partitionSingleList.get(queryBegin).getCacheKey();
+    }
+
+    public PartitionKeyType getQueryEndKey() {
+        return queryEnd < 0 ? null : partitionSingleList.get(queryEnd).getCacheKey();
+    }
+
+    /**
+     * Compare the key value of a cached value with the range queried from BE.
+     *
+     * @return negative if the key is before the range, positive if after the range,
+     * 0 if the key is inside the range, whose value is queried from BE again
+     */
+    public int compareToQueryRange(long key) {
+        if (queryBegin < 0) {
+            // nothing is queried from BE
+            return -1;
+        }
+        if (key < getQueryBeginKey().realValue()) {
+            return -1;
+        }
+        if (key > getQueryEndKey().realValue()) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * The key values which will be queried from BE and can be put into cache,
+     * partitions updated recently are excluded.
+     */
+    public List<PartitionSingle> buildUpdatePartitionRange() {
+        List<PartitionSingle> updateList = Lists.newArrayList();
+        if (queryBegin < 0) {
+            return updateList;
+        }
+        for (int i = queryBegin; i <= queryEnd; i++) {
+            PartitionSingle single = partitionSingleList.get(i);
+            if (single.getPartition() != null && !single.isTooNew()) {
+                updateList.add(single);
+            }
+        }
+        return updateList;
+    }
+
+    /**
+     * Build the predicate "key >= begin and key <= end" for the key values need to be queried
+     */
+    public CompoundPredicate buildQueryPredicate() throws AnalysisException {
+        Type type = Type.fromPrimitiveType(partitionColumn.getDataType());
+        Expr slot = partitionKeyPredicate.getChild(0).getChild(0).clone();
+        BinaryPredicate begin = new BinaryPredicate(BinaryPredicate.Operator.GE, slot,
+                getQueryBeginKey().toLiteral(type));
+        BinaryPredicate end = new BinaryPredicate(BinaryPredicate.Operator.LE, slot.clone(),
+                getQueryEndKey().toLiteral(type));
+        return new CompoundPredicate(CompoundPredicate.Operator.AND, begin, end);
+    }
+
+    public void debug() {
+        LOG.info("partition range, query begin {}, query end {}", queryBegin, queryEnd);
+        for (PartitionSingle single : partitionSingleList) {
+            single.debug();
+        }
+    }
+}
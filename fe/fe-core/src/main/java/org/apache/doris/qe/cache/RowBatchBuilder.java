@@ -0,0 +1,215 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.Config;
+import org.apache.doris.qe.RowBatch;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collect the rows returned by BE, and build the request to update the cache.
+ * For partition cache, rows are grouped by the value of partition key column.
+ */
+public class RowBatchBuilder {
+    private static final Logger LOG = LogManager.getLogger(RowBatchBuilder.class);
+
+    private CacheProxy.UpdateCacheRequest updateRequest;
+    private CacheAnalyzer.CacheMode cacheMode;
+    private int keyIndex;
+    private Type keyType;
+    private Map<Long, PartitionRange.PartitionSingle> cachePartMap;
+    private List<byte[]> rowList;
+    private int batchSize;
+    private int rowSize;
+    private long dataSize;
+    // false if the result exceeds the row or data size limit, the rows are not copied any more
+    private boolean cacheable;
+
+    public int getRowSize() {
+        return rowSize;
+    }
+
+    public long getDataSize() {
+        return dataSize;
+    }
+
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    public RowBatchBuilder(CacheAnalyzer.CacheMode cacheMode) {
+        this.cacheMode = cacheMode;
+        keyIndex = -1;
+        keyType = Type.INVALID;
+        cachePartMap = Maps.newHashMap();
+        rowList = Lists.newArrayList();
+        batchSize = 0;
+        rowSize = 0;
+        dataSize = 0;
+        cacheable = true;
+    }
+
+    /**
+     * Find the position of partition key in the result columns
+     */
+    public boolean buildPartitionIndex(List<Expr> resultExprs, List<String> columnLabels,
+                                       Column partColumn, List<PartitionRange.PartitionSingle> updateList) {
+        if (cacheMode != CacheAnalyzer.CacheMode.Partition) {
+            return false;
+        }
+        for (int i = 0; i < columnLabels.size(); i++) {
+            if (columnLabels.get(i).equalsIgnoreCase(partColumn.getName())) {
+                keyType = resultExprs.get(i).getType();
+                keyIndex = i;
+                break;
+            }
+        }
+        if (keyIndex < 0) {
+            LOG.debug("partition column {} is not in result", partColumn.getName());
+            return false;
+        }
+        for (PartitionRange.PartitionSingle single : updateList) {
+            cachePartMap.put(single.getCacheKey().realValue(), single);
+        }
+        return true;
+    }
+
+    /**
+     * Copy the rows of batch. Once the rows exceed cache_result_max_row_count or cache_result_max_data_size,
+     * the copied rows are released and the result is marked not cacheable.
+     */
+    public void copyRowData(RowBatch rowBatch) {
+        batchSize++;
+        rowSize += rowBatch.getBatch().getRowsSize();
+        if (!cacheable) {
+            return;
+        }
+        if (rowSize > Config.cache_result_max_row_count) {
+            setNotCacheable();
+            return;
+        }
+        for (ByteBuffer buf : rowBatch.getBatch().getRows()) {
+            dataSize += buf.remaining();
+            if (dataSize > Config.cache_result_max_data_size) {
+                setNotCacheable();
+                return;
+            }
+            byte[] bytes = new byte[buf.remaining()];
+            buf.duplicate().get(bytes);
+            rowList.add(bytes);
+        }
+    }
+
+    private void setNotCacheable() {
+        LOG.debug("result can not be cached, row count {}, data size {}", rowSize, dataSize);
+        cacheable = false;
+        rowList = Lists.newArrayList();
+    }
+
+    public CacheProxy.UpdateCacheRequest buildSqlUpdateRequest(String sql, long partitionKey,
+                                                               long lastVersion, long lastVersionTime) {
+        if (updateRequest == null) {
+            updateRequest = new CacheProxy.UpdateCacheRequest(sql);
+        }
+        updateRequest.addValue(partitionKey, lastVersion, lastVersionTime, rowList);
+        return updateRequest;
+    }
+
+    /**
+     * Read the column at index from a row of mysql text protocol,
+     * each column is a length encoded string, 0xfb means NULL.
+     *
+     * @return null if the column is NULL or the row is malformed
+     */
+    public static String getColumnFromRow(byte[] row, int index) {
+        ByteBuffer buf = ByteBuffer.wrap(row);
+        for (int i = 0; i <= index; i++) {
+            if (!buf.hasRemaining()) {
+                return null;
+            }
+            int first = buf.get() & 0xff;
+            long len;
+            if (first < 0xfb) {
+                len = first;
+            } else if (first == 0xfb) {
+                if (i == index) {
+                    return null;
+                }
+                continue;
+            } else if (first == 0xfc) {
+                len = (buf.get() & 0xff) | ((buf.get() & 0xff) << 8);
+            } else if (first == 0xfd) {
+                len = (buf.get() & 0xff) | ((buf.get() & 0xff) << 8) | ((buf.get() & 0xff) << 16);
+            } else {
+                return null;
+            }
+            if (len > buf.remaining()) {
+                return null;
+            }
+            if (i == index) {
+                return new String(row, buf.position(), (int) len, StandardCharsets.UTF_8);
+            }
+            buf.position(buf.position() + (int) len);
+        }
+        return null;
+    }
+
+    public CacheProxy.UpdateCacheRequest buildPartitionUpdateRequest(String sql) {
+        if (updateRequest == null) {
+            updateRequest = new CacheProxy.UpdateCacheRequest(sql);
+        }
+        Map<Long, List<byte[]>> partRowMap = Maps.newHashMap();
+        for (PartitionRange.PartitionSingle single : cachePartMap.values()) {
+            // key values without any row should also be cached
+            partRowMap.put(single.getCacheKey().realValue(), Lists.newArrayList());
+        }
+        PartitionRange.PartitionKeyType cacheKey = new PartitionRange.PartitionKeyType();
+        for (byte[] row : rowList) {
+            String value = getColumnFromRow(row, keyIndex);
+            if (value == null || !cacheKey.init(keyType, value)) {
+                LOG.debug("can not get partition key from row, index {}", keyIndex);
+                continue;
+            }
+            List<byte[]> partitionRowList = partRowMap.get(cacheKey.realValue());
+            if (partitionRowList == null) {
+                LOG.debug("can not find partition key {}", cacheKey.realValue());
+                continue;
+            }
+            partitionRowList.add(row);
+        }
+        for (Map.Entry<Long, List<byte[]>> entry : partRowMap.entrySet()) {
+            PartitionRange.PartitionSingle single = cachePartMap.get(entry.getKey());
+            updateRequest.addValue(entry.getKey(), single.getPartition().getVisibleVersion(),
+                    single.getPartition().getVisibleVersionTime(), entry.getValue());
+        }
+        return updateRequest;
+    }
+}
@@ -0,0 +1,189 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import org.apache.doris.analysis.AnalyzeStmt;
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.ColumnStats;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Table;
+import org.apache.doris.catalog.Table.TableType;
+import org.apache.doris.cluster.ClusterNamespace;
+import org.apache.doris.common.DdlException;
+import org.apache.doris.persist.ColumnStatsInfo;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.OriginStatement;
+import org.apache.doris.qe.StmtExecutor;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collect the column statistics of ANALYZE TABLE and persist them by edit log.
+ * The statistics are computed by an aggregate query executed on BE, such as:
+ *   SELECT count(*), ndv(`k1`), count(`k1`), ndv(`v1`), count(`v1`), max(length(`v1`)), avg(length(`v1`))
+ *   FROM `db`.`tbl`
+ * The number of distinct values is estimated by HLL, so only a fixed size of state is kept for each column.
+ * The row count of table is not collected here, it is reported by BE along with tablets.
+ */
+public class StatisticsManager {
+    private static final Logger LOG = LogManager.getLogger(StatisticsManager.class);
+
+    public void analyze(AnalyzeStmt stmt) throws Exception {
+        Database db = Catalog.getCurrentCatalog().getDb(stmt.getDbName());
+        if (db == null) {
+            throw new DdlException("Database " + stmt.getDbName() + " does not exist");
+        }
+
+        long tableId;
+        List<Column> columns = Lists.newArrayList();
+        db.readLock();
+        try {
+            OlapTable table = getOlapTable(db, stmt.getTblName());
+            tableId = table.getId();
+            for (String columnName : stmt.getColumnNames()) {
+                Column column = table.getColumn(columnName);
+                if (column == null) {
+                    throw new DdlException("Column " + columnName + " does not exist");
+                }
+                columns.add(column);
+            }
+        } finally {
+            db.readUnlock();
+        }
+        if (columns.isEmpty()) {
+            return;
+        }
+
+        String sql = buildStatsSql(stmt.getDbName(), stmt.getTblName(), columns);
+        StmtExecutor executor = new StmtExecutor(ConnectContext.get(), new OriginStatement(sql, 0), false);
+        List<List<String>> rows = executor.executeInternalQuery();
+        if (rows.size() != 1) {
+            throw new DdlException("Unexpected result of statistics query: " + rows);
+        }
+        Map<String, ColumnStats> columnStats = parseStats(columns, rows.get(0));
+
+        db.writeLock();
+        try {
+            OlapTable table = getOlapTable(db, stmt.getTblName());
+            if (table.getId() != tableId) {
+                throw new DdlException("Table " + stmt.getTblName() + " has been changed during analyzing");
+            }
+            ColumnStatsInfo info = new ColumnStatsInfo(db.getId(), tableId, columnStats);
+            updateColumnStats(table, info);
+            Catalog.getCurrentCatalog().getEditLog().logUpdateColumnStats(info);
+        } finally {
+            db.writeUnlock();
+        }
+        LOG.info("finished to analyze table {}.{}, statistics: {}", stmt.getDbName(), stmt.getTblName(), columnStats);
+    }
+
+    public void replayUpdateColumnStats(ColumnStatsInfo info) {
+        Database db = Catalog.getCurrentCatalog().getDb(info.getDbId());
+        if (db == null) {
+            return;
+        }
+        db.writeLock();
+        try {
+            Table table = db.getTable(info.getTableId());
+            if (table == null || table.getType() != TableType.OLAP) {
+                return;
+            }
+            updateColumnStats((OlapTable) table, info);
+        } finally {
+            db.writeUnlock();
+        }
+    }
+
+    private static OlapTable getOlapTable(Database db, String tblName) throws DdlException {
+        Table table = db.getTable(tblName);
+        if (table == null) {
+            throw new DdlException("Table " + tblName + " does not exist");
+        }
+        if (table.getType() != TableType.OLAP) {
+            throw new DdlException("Table " + tblName + " is not a OLAP table");
+        }
+        return (OlapTable) table;
+    }
+
+    // columns dropped after analyzing are ignored
+    private static void updateColumnStats(OlapTable table, ColumnStatsInfo info) {
+        for (Map.Entry<String, ColumnStats> entry : info.getColumnStats().entrySet()) {
+            Column column = table.getColumn(entry.getKey());
+            if (column != null) {
+                column.setStats(entry.getValue());
+            }
+        }
+    }
+
+    // the first column of result is count(*), followed by ndv(col), count(col)
+    // and for string column max(length(col)), avg(length(col))
+    static String buildStatsSql(String dbName, String tblName, List<Column> columns) {
+        StringBuilder sb = new StringBuilder("SELECT count(*)");
+        for (Column column : columns) {
+            String name = "`" + column.getName() + "`";
+            sb.append(", ndv(").append(name).append("), count(").append(name).append(")");
+            if (column.getType().isStringType()) {
+                sb.append(", max(length(").append(name).append(")), avg(length(").append(name).append("))");
+            }
+        }
+        sb.append(" FROM `").append(ClusterNamespace.getNameFromFullName(dbName)).append("`.`")
+                .append(tblName).append("`");
+        return sb.toString();
+    }
+
+    static Map<String, ColumnStats> parseStats(List<Column> columns, List<String> row) {
+        Map<String, ColumnStats> columnStats = Maps.newHashMap();
+        long rowCount = parseLong(row.get(0));
+        int idx = 1;
+        for (Column column : columns) {
+            ColumnStats stats = new ColumnStats(column.getDataType());
+            // ndv is estimated, so it may be a little greater than the real count
+            long notNullCount = parseLong(row.get(idx + 1));
+            stats.setNumDistinctValues(Math.min(parseLong(row.get(idx)), notNullCount));
+            stats.setNumNulls(rowCount - notNullCount);
+            idx += 2;
+            if (column.getType().isStringType()) {
+                stats.setMaxSize(parseLong(row.get(idx)));
+                stats.setAvgSerializedSize((float) parseDouble(row.get(idx + 1)));
+                idx += 2;
+            }
+            columnStats.put(column.getName(), stats);
+        }
+        Preconditions.checkState(idx == row.size());
+        return columnStats;
+    }
+
+    // aggregate on empty table returns NULL
+    private static long parseLong(String value) {
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    private static double parseDouble(String value) {
+        return value == null ? 0 : Double.parseDouble(value);
+    }
+}
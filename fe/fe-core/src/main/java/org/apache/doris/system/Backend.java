@@ -416,6 +416,8 @@ public class Backend implements Writable {
          * we ignore the change of capacity, because capacity info is only used in master FE.
          */
         boolean isChanged = false;
+        // the health of replicas on this backend depends on the state of disks
+        boolean isStateChanged = false;
         for (TDisk tDisk : backendDisks.values()) {
             String rootPath = tDisk.getRoot_path();
             long totalCapacityB = tDisk.getDisk_total_capacity();
@@ -446,10 +448,12 @@ public class Backend implements Writable {
             if (isUsed) {
                 if (diskInfo.setState(DiskState.ONLINE)) {
                     isChanged = true;
+                    isStateChanged = true;
                 }
             } else {
                 if (diskInfo.setState(DiskState.OFFLINE)) {
                     isChanged = true;
+                    isStateChanged = true;
                 }
             }
             LOG.debug("update disk info. backendId: {}, diskInfo: {}", id, diskInfo.toString());
@@ -461,6 +465,7 @@ public class Backend implements Writable {
             if (!backendDisks.containsKey(rootPath)) {
                 removedDisks.add(diskInfo);
                 isChanged = true;
+                isStateChanged = true;
                 LOG.warn("remove not exist rootPath. backendId: {}, rootPath: {}", id, rootPath);
             }
         }
@@ -472,6 +477,9 @@ public class Backend implements Writable {
             // log disk changing
             Catalog.getCurrentCatalog().getEditLog().logBackendStateChange(this);
         }
+        if (isStateChanged) {
+            Catalog.getCurrentCatalog().getTabletChecker().markBackendDirty(id);
+        }
     }
 
     public static Backend read(DataInput in) throws IOException {
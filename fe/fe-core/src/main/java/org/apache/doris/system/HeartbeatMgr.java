@@ -173,7 +173,12 @@ public class HeartbeatMgr extends MasterDaemon {
                 BackendHbResponse hbResponse = (BackendHbResponse) response;
                 Backend be = nodeMgr.getBackend(hbResponse.getBeId());
                 if (be != null) {
+                    boolean wasAlive = be.isAlive();
                     boolean isChanged = be.handleHbResponse(hbResponse);
+                    if (!isReplay && wasAlive != be.isAlive()) {
+                        // the health of tablets on this backend is changed
+                        Catalog.getCurrentCatalog().getTabletChecker().markBackendDirty(be.getId());
+                    }
                     if (hbResponse.getStatus() != HbStatus.OK) {
                         // invalid all connections cached in ClientPool
                         ClientPool.backendPool.clearPool(new TNetworkAddress(be.getHost(), be.getBePort()));
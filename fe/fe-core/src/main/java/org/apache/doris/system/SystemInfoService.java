@@ -229,6 +229,9 @@ public class SystemInfoService {
         Catalog.getCurrentCatalog().getEditLog().logDropBackend(droppedBackend);
         LOG.info("finished to drop {}", droppedBackend);
 
+        // replicas on the dropped backend are lost, check its tablets without waiting for the full check round
+        Catalog.getCurrentCatalog().getTabletChecker().markBackendDirty(droppedBackend.getId());
+
         // backends is changed, regenerated tablet number metrics
         MetricRepo.generateBackendsTabletMetrics();
     }
@@ -1140,8 +1143,9 @@ public class SystemInfoService {
     }
 
     // update the path info when disk report
-    // there is only one thread can update path info, so no need to worry about concurrency control
-    public void updatePathInfo(List<DiskInfo> addedDisks, List<DiskInfo> removedDisks) {
+    // disk reports of different backends may be handled concurrently, so use synchronized to
+    // avoid losing the update of each other. readers see the new map by the volatile reference.
+    public synchronized void updatePathInfo(List<DiskInfo> addedDisks, List<DiskInfo> removedDisks) {
         Map<Long, DiskInfo> copiedPathInfos = Maps.newHashMap(pathHashToDishInfoRef);
         for (DiskInfo diskInfo : addedDisks) {
             copiedPathInfos.put(diskInfo.getPathHash(), diskInfo);
@@ -17,15 +17,14 @@
 
 package org.apache.doris.task;
 
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.thrift.TPushType;
 import org.apache.doris.thrift.TTaskType;
 
-import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Table;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -36,39 +35,66 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Task queue
+ * Tasks are sharded by backend id, and each backend has concurrent maps of its own for each task type.
+ * So no global lock is held, adding tasks and diffing the task report of different backends do not block
+ * each other.
  */
 public class AgentTaskQueue {
     private static final Logger LOG = LogManager.getLogger(AgentTaskQueue.class);
 
     // backend id -> (task type -> (signature -> agent task))
-    private static Table<Long, TTaskType, Map<Long, AgentTask>> tasks = HashBasedTable.create();
-    private static int taskNum = 0;
+    private static final ConcurrentMap<Long, ConcurrentMap<TTaskType, ConcurrentMap<Long, AgentTask>>> tasks =
+            Maps.newConcurrentMap();
+    private static final AtomicInteger taskNum = new AtomicInteger(0);
 
-    public static synchronized void addBatchTask(AgentBatchTask batchTask) {
+    private static ConcurrentMap<Long, AgentTask> getOrCreateSignatureMap(long backendId, TTaskType type) {
+        ConcurrentMap<TTaskType, ConcurrentMap<Long, AgentTask>> backendTasks =
+                tasks.computeIfAbsent(backendId, k -> Maps.newConcurrentMap());
+        return backendTasks.computeIfAbsent(type, k -> Maps.newConcurrentMap());
+    }
+
+    private static Map<Long, AgentTask> getSignatureMap(long backendId, TTaskType type) {
+        Map<TTaskType, ConcurrentMap<Long, AgentTask>> backendTasks = tasks.get(backendId);
+        if (backendTasks == null) {
+            return null;
+        }
+        return backendTasks.get(type);
+    }
+
+    // signature maps of the task type in all backends
+    private static List<Map<Long, AgentTask>> getSignatureMapsOfType(TTaskType type) {
+        List<Map<Long, AgentTask>> signatureMaps = Lists.newArrayList();
+        for (Map<TTaskType, ConcurrentMap<Long, AgentTask>> backendTasks : tasks.values()) {
+            Map<Long, AgentTask> signatureMap = backendTasks.get(type);
+            if (signatureMap != null) {
+                signatureMaps.add(signatureMap);
+            }
+        }
+        return signatureMaps;
+    }
+
+    public static void addBatchTask(AgentBatchTask batchTask) {
         for (AgentTask task : batchTask.getAllTasks()) {
             addTask(task);
         }
     }
  
-    public static synchronized boolean addTask(AgentTask task) {
+    public static boolean addTask(AgentTask task) {
         long backendId = task.getBackendId();
         TTaskType type = task.getTaskType();
 
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, type);
-        if (signatureMap == null) {
-            signatureMap = Maps.newHashMap();
-            tasks.put(backendId, type, signatureMap);
-        }
-        
+        Map<Long, AgentTask> signatureMap = getOrCreateSignatureMap(backendId, type);
         long signature = task.getSignature();
-        if (signatureMap.containsKey(signature)) {
+        if (signatureMap.putIfAbsent(signature, task) != null) {
             return false;
         }
-        signatureMap.put(signature, task);
-        ++taskNum;
+        taskNum.incrementAndGet();
         LOG.debug("add task: type[{}], backend[{}], signature[{}]", type, backendId, signature);
         if (type == TTaskType.PUSH) {
             PushTask pushTask = (PushTask) task;
@@ -80,37 +106,36 @@ public class AgentTaskQueue {
     
     // remove all task in AgentBatchTask.
     // the caller should make sure all tasks in AgentBatchTask is type of 'type'
-    public static synchronized void removeBatchTask(AgentBatchTask batchTask, TTaskType type) {
+    public static void removeBatchTask(AgentBatchTask batchTask, TTaskType type) {
         for (AgentTask task : batchTask.getAllTasks()) {
             removeTask(task.getBackendId(), type, task.getSignature());
         }
     }
 
-    public static synchronized void removeTask(long backendId, TTaskType type, long signature) {
-        if (!tasks.contains(backendId, type)) {
+    public static void removeTask(long backendId, TTaskType type, long signature) {
+        Map<Long, AgentTask> signatureMap = getSignatureMap(backendId, type);
+        if (signatureMap == null) {
             return;
         }
 
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, type);
-        if (!signatureMap.containsKey(signature)) {
+        if (signatureMap.remove(signature) == null) {
             return;
         }
-        signatureMap.remove(signature);
         LOG.debug("remove task: type[{}], backend[{}], signature[{}]", type, backendId, signature);
-        --taskNum;
+        taskNum.decrementAndGet();
     }
     
     /*
      * we cannot define a push task with only 'backendId', 'signature' and 'TTaskType'
      * add version, versionHash and TPushType to help
      */
-    public static synchronized void removePushTask(long backendId, long signature, long version, long versionHash,
-                                                   TPushType pushType, TTaskType taskType) {
-        if (!tasks.contains(backendId, taskType)) {
+    public static void removePushTask(long backendId, long signature, long version, long versionHash,
+                                      TPushType pushType, TTaskType taskType) {
+        Map<Long, AgentTask> signatureMap = getSignatureMap(backendId, taskType);
+        if (signatureMap == null) {
             return;
         }
 
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, taskType);
         AgentTask task = signatureMap.get(signature);
         if (task == null) {
             return;
@@ -121,45 +146,50 @@ public class AgentTaskQueue {
             return;
         }
 
-        signatureMap.remove(signature);
+        // only remove the task checked above, it may be replaced concurrently
+        if (!signatureMap.remove(signature, task)) {
+            return;
+        }
         LOG.debug("remove task: type[{}], backend[{}], signature[{}]", taskType, backendId, signature);
-        --taskNum;
+        taskNum.decrementAndGet();
     }
 
-    public static synchronized void removeTaskOfType(TTaskType type, long signature) {
+    public static void removeTaskOfType(TTaskType type, long signature) {
         // be id -> (signature -> task)
-        Map<Long, Map<Long, AgentTask>> map = tasks.column(type);
-        for (Map<Long, AgentTask> innerMap : map.values()) {
-            innerMap.remove(signature);
+        for (Map<Long, AgentTask> innerMap : getSignatureMapsOfType(type)) {
+            if (innerMap.remove(signature) != null) {
+                LOG.debug("remove task: type[{}], signature[{}]", type, signature);
+                taskNum.decrementAndGet();
+            }
         }
     }
 
-    public static synchronized AgentTask getTask(long backendId, TTaskType type, long signature) {
-        if (!tasks.contains(backendId, type)) {
+    public static AgentTask getTask(long backendId, TTaskType type, long signature) {
+        Map<Long, AgentTask> signatureMap = getSignatureMap(backendId, type);
+        if (signatureMap == null) {
             return null;
         }
-
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, type);
         return signatureMap.get(signature);
     }
     
     // this is just for unit test
-    public static synchronized List<AgentTask> getTask(TTaskType type) {
+    public static List<AgentTask> getTask(TTaskType type) {
         List<AgentTask> res = Lists.newArrayList();
-        for (Map<Long, AgentTask> agentTasks : tasks.column(TTaskType.ALTER).values()) {
+        for (Map<Long, AgentTask> agentTasks : getSignatureMapsOfType(type)) {
             res.addAll(agentTasks.values());
         }
         return res;
     }
 
-    public static synchronized List<AgentTask> getDiffTasks(long backendId, Map<TTaskType, Set<Long>> runningTasks) {
+    public static List<AgentTask> getDiffTasks(long backendId, Map<TTaskType, Set<Long>> runningTasks) {
+        long start = System.currentTimeMillis();
         List<AgentTask> diffTasks = new ArrayList<AgentTask>();
-        if (!tasks.containsRow(backendId)) {
+        Map<TTaskType, ConcurrentMap<Long, AgentTask>> backendAllTasks = tasks.get(backendId);
+        if (backendAllTasks == null) {
             return diffTasks;
         }
         
-        Map<TTaskType, Map<Long, AgentTask>> backendAllTasks = tasks.row(backendId);
-        for (Map.Entry<TTaskType, Map<Long, AgentTask>> entry : backendAllTasks.entrySet()) {
+        for (Map.Entry<TTaskType, ConcurrentMap<Long, AgentTask>> entry : backendAllTasks.entrySet()) {
             TTaskType taskType = entry.getKey();
             Map<Long, AgentTask> tasks = entry.getValue();
             Set<Long> excludeSignatures = new HashSet<Long>();
@@ -176,31 +206,38 @@ public class AgentTaskQueue {
             } // end for tasks
         } // end for backendAllTasks
 
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_AGENT_TASK_DIFF_LATENCY.update(System.currentTimeMillis() - start);
+        }
         return diffTasks;
     }
 
-    public static synchronized void removeReplicaRelatedTasks(long backendId, long tabletId) {
-        if (!tasks.containsRow(backendId)) {
+    public static void removeReplicaRelatedTasks(long backendId, long tabletId) {
+        Map<TTaskType, ConcurrentMap<Long, AgentTask>> backendTasks = tasks.get(backendId);
+        if (backendTasks == null) {
             return;
         }
 
-        Map<TTaskType, Map<Long, AgentTask>> backendTasks = tasks.row(backendId);
         for (TTaskType type : TTaskType.values()) {
-            if (backendTasks.containsKey(type)) {
-                Map<Long, AgentTask> typeTasks = backendTasks.get(type);
+            Map<Long, AgentTask> typeTasks = backendTasks.get(type);
+            if (typeTasks != null) {
                 if (type == TTaskType.REALTIME_PUSH) {
-                    Iterator<AgentTask> taskIterator = typeTasks.values().iterator();
+                    Iterator<Map.Entry<Long, AgentTask>> taskIterator = typeTasks.entrySet().iterator();
                     while (taskIterator.hasNext()) {
-                        PushTask realTimePushTask = (PushTask) taskIterator.next();
-                        if (tabletId == realTimePushTask.getTabletId()) {
-                            taskIterator.remove();
+                        Map.Entry<Long, AgentTask> entry = taskIterator.next();
+                        PushTask realTimePushTask = (PushTask) entry.getValue();
+                        // only count the task removed by this thread
+                        if (tabletId == realTimePushTask.getTabletId()
+                                && typeTasks.remove(entry.getKey(), realTimePushTask)) {
+                            LOG.debug("remove task: type[{}], backend[{}], signature[{}]",
+                                    type, backendId, entry.getKey());
+                            taskNum.decrementAndGet();
                         }
                     }
                 } else {
-                    if (typeTasks.containsKey(tabletId)) {
-                        typeTasks.remove(tabletId);
+                    if (typeTasks.remove(tabletId) != null) {
                         LOG.debug("remove task: type[{}], backend[{}], signature[{}]", type, backendId, tabletId);
-                        --taskNum;
+                        taskNum.decrementAndGet();
                     }
                 }
             }
@@ -208,57 +245,46 @@ public class AgentTaskQueue {
     }
 
     // only for test now
-    public static synchronized void clearAllTasks() {
+    public static void clearAllTasks() {
         tasks.clear();
-        taskNum = 0;
+        taskNum.set(0);
     }
 
-    public static synchronized int getTaskNum() {
-        return taskNum;
+    public static int getTaskNum() {
+        return taskNum.get();
     }
 
-    public static synchronized Multimap<Long, Long> getTabletIdsByType(TTaskType type) {
+    public static Multimap<Long, Long> getTabletIdsByType(TTaskType type) {
         Multimap<Long, Long> tabletIds = HashMultimap.create();
-        Map<Long, Map<Long, AgentTask>> taskMap = tasks.column(type);
-        if (taskMap != null) {
-            for (Map<Long, AgentTask> signatureMap : taskMap.values()) {
-                for (AgentTask task : signatureMap.values()) {
-                    tabletIds.put(task.getDbId(), task.getTabletId());
-                }
+        for (Map<Long, AgentTask> signatureMap : getSignatureMapsOfType(type)) {
+            for (AgentTask task : signatureMap.values()) {
+                tabletIds.put(task.getDbId(), task.getTabletId());
             }
         }
         return tabletIds;
     }
 
-    public static synchronized int getTaskNum(long backendId, TTaskType type, boolean isFailed) {
+    public static int getTaskNum(long backendId, TTaskType type, boolean isFailed) {
         int taskNum = 0;
+        List<Map<Long, AgentTask>> taskMaps;
         if (backendId != -1) {
-            Map<Long, AgentTask> taskMap = tasks.get(backendId, type);
+            Map<Long, AgentTask> taskMap = getSignatureMap(backendId, type);
+            taskMaps = Lists.newArrayList();
             if (taskMap != null) {
-                if (isFailed) {
-                    for (AgentTask task : taskMap.values()) {
-                        if (task.getFailedTimes() > 0) {
-                            ++taskNum;
-                        }
-                    }
-                } else {
-                    taskNum += taskMap.size();
-                }
+                taskMaps.add(taskMap);
             }
         } else {
-            Map<Long, Map<Long, AgentTask>> taskMap = tasks.column(type);
-            if (taskMap != null) {
-                for (Map<Long, AgentTask> signatureMap : taskMap.values()) {
-                    if (isFailed) {
-                        for (AgentTask task : signatureMap.values()) {
-                            if (task.getFailedTimes() > 0) {
-                                ++taskNum;
-                            }
-                        }
-                    } else {
-                        taskNum += signatureMap.size();
+            taskMaps = getSignatureMapsOfType(type);
+        }
+        for (Map<Long, AgentTask> signatureMap : taskMaps) {
+            if (isFailed) {
+                for (AgentTask task : signatureMap.values()) {
+                    if (task.getFailedTimes() > 0) {
+                        ++taskNum;
                     }
                 }
+            } else {
+                taskNum += signatureMap.size();
             }
         }
 
@@ -267,8 +293,8 @@ public class AgentTaskQueue {
         return taskNum;
     }
 
-    public static synchronized List<AgentTask> getFailedTask(long backendId, TTaskType type) {
-        Map<Long, AgentTask> taskMap = tasks.get(backendId, type);
+    public static List<AgentTask> getFailedTask(long backendId, TTaskType type) {
+        Map<Long, AgentTask> taskMap = getSignatureMap(backendId, type);
         List<AgentTask> tasks = Lists.newArrayList();
         if (taskMap != null) {
             for (AgentTask task : taskMap.values()) {
@@ -280,4 +306,3 @@ public class AgentTaskQueue {
         return tasks;
     }
 }
-
@@ -76,6 +76,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
@@ -134,6 +135,42 @@ public class DatabaseTransactionMgr {
     // not realtime usedQuota value to make a fast check for database data quota
     private volatile long usedQuotaDataBytes = -1;
 
+    // transactions waiting for group commit, guarded by the lock of pendingCommits
+    private final List<PendingCommit> pendingCommits = Lists.newArrayList();
+    private boolean committingGroup = false;
+
+    private static class PendingCommit {
+        final long transactionId;
+        final List<TabletCommitInfo> tabletCommitInfos;
+        final TxnCommitAttachment txnCommitAttachment;
+        // set by the caller which commits the group
+        boolean done = false;
+        UserException exception = null;
+
+        PendingCommit(long transactionId, List<TabletCommitInfo> tabletCommitInfos,
+                      TxnCommitAttachment txnCommitAttachment) {
+            this.transactionId = transactionId;
+            this.tabletCommitInfos = tabletCommitInfos;
+            this.txnCommitAttachment = txnCommitAttachment;
+        }
+    }
+
+    // the result of checking a transaction to be committed
+    private static class TxnCommitContext {
+        final TransactionState transactionState;
+        final Set<Long> errorReplicaIds;
+        final Map<Long, Set<Long>> tableToPartition;
+        final Set<Long> totalInvolvedBackends;
+
+        TxnCommitContext(TransactionState transactionState, Set<Long> errorReplicaIds,
+                         Map<Long, Set<Long>> tableToPartition, Set<Long> totalInvolvedBackends) {
+            this.transactionState = transactionState;
+            this.errorReplicaIds = errorReplicaIds;
+            this.tableToPartition = tableToPartition;
+            this.totalInvolvedBackends = totalInvolvedBackends;
+        }
+    }
+
     protected void readLock() {
         this.transactionLock.readLock().lock();
     }
@@ -357,6 +394,41 @@ public class DatabaseTransactionMgr {
             throw new MetaNotFoundException("could not find db [" + dbId + "]");
         }
 
+        TxnCommitContext commitContext = checkCommitTransaction(db, transactionId, tabletCommitInfos,
+                txnCommitAttachment);
+        if (commitContext == null) {
+            return;
+        }
+        TransactionState transactionState = commitContext.transactionState;
+
+        // before state transform
+        transactionState.beforeStateTransform(TransactionStatus.COMMITTED);
+        // transaction state transform
+        boolean txnOperated = false;
+        writeLock();
+        try {
+            unprotectedCommitTransaction(transactionState, commitContext.errorReplicaIds,
+                    commitContext.tableToPartition, commitContext.totalInvolvedBackends, db, true);
+            txnOperated = true;
+        } finally {
+            writeUnlock();
+            // after state transform
+            transactionState.afterStateTransform(TransactionStatus.COMMITTED, txnOperated);
+        }
+
+        // 6. update nextVersion because of the failure of persistent transaction resulting in error version
+        updateCatalogAfterCommitted(transactionState, db);
+        LOG.info("transaction:[{}] successfully committed", transactionState);
+    }
+
+    /*
+     * Check whether the transaction can be committed, and collect the partitions, error replicas and
+     * involved backends of it. Return null if the transaction is already committed or visible.
+     * The caller should hold the db write lock.
+     */
+    private TxnCommitContext checkCommitTransaction(Database db, long transactionId,
+                                                    List<TabletCommitInfo> tabletCommitInfos,
+                                                    TxnCommitAttachment txnCommitAttachment) throws UserException {
         TransactionState transactionState = null;
         readLock();
         try {
@@ -372,11 +444,11 @@ public class DatabaseTransactionMgr {
 
         if (transactionState.getTransactionStatus() == TransactionStatus.VISIBLE) {
             LOG.debug("transaction is already visible: {}", transactionId);
-            return;
+            return null;
         }
         if (transactionState.getTransactionStatus() == TransactionStatus.COMMITTED) {
             LOG.debug("transaction is already committed: {}", transactionId);
-            return;
+            return null;
         }
 
         if (tabletCommitInfos == null || tabletCommitInfos.isEmpty()) {
@@ -532,24 +604,146 @@ public class DatabaseTransactionMgr {
             }
         }
 
-        // before state transform
-        transactionState.beforeStateTransform(TransactionStatus.COMMITTED);
-        // transaction state transform
-        boolean txnOperated = false;
-        writeLock();
+        return new TxnCommitContext(transactionState, errorReplicaIds, tableToPartition, totalInvolvedBackends);
+    }
+
+    /**
+     * Commit the transaction together with the transactions committed concurrently by other callers.
+     * The first caller which finds no group being committed takes all pending transactions as a group,
+     * commits them with one acquisition of db lock and transaction lock, persists them in one edit log,
+     * and then wakes up the other callers of the group. So that the concurrent small loads into one db
+     * are not serialized on db lock and edit log one by one.
+     */
+    public void groupCommitTransaction(Database db, long transactionId, List<TabletCommitInfo> tabletCommitInfos,
+                                       TxnCommitAttachment txnCommitAttachment, long timeoutMillis)
+            throws UserException {
+        PendingCommit pendingCommit = new PendingCommit(transactionId, tabletCommitInfos, txnCommitAttachment);
+        synchronized (pendingCommits) {
+            pendingCommits.add(pendingCommit);
+        }
+        while (true) {
+            List<PendingCommit> group;
+            synchronized (pendingCommits) {
+                while (!pendingCommit.done && committingGroup) {
+                    try {
+                        pendingCommits.wait();
+                    } catch (InterruptedException e) {
+                        LOG.warn("interrupted when waiting for group commit of transaction {}", transactionId, e);
+                    }
+                }
+                if (pendingCommit.done) {
+                    break;
+                }
+                committingGroup = true;
+                int num = Math.min(pendingCommits.size(), Math.max(1, Config.txn_group_commit_max_num));
+                List<PendingCommit> subList = pendingCommits.subList(0, num);
+                group = Lists.newArrayList(subList);
+                subList.clear();
+            }
+            try {
+                commitGroup(db, group, timeoutMillis);
+            } catch (RuntimeException e) {
+                LOG.warn("failed to commit transaction group", e);
+                for (PendingCommit failed : group) {
+                    if (failed.exception == null) {
+                        failed.exception = new TransactionCommitFailedException(
+                                "failed to commit transaction " + failed.transactionId + ": " + e.getMessage());
+                    }
+                }
+            } finally {
+                synchronized (pendingCommits) {
+                    for (PendingCommit committed : group) {
+                        committed.done = true;
+                    }
+                    committingGroup = false;
+                    pendingCommits.notifyAll();
+                }
+            }
+        }
+        if (pendingCommit.exception != null) {
+            throw pendingCommit.exception;
+        }
+    }
+
+    private void commitGroup(Database db, List<PendingCommit> group, long timeoutMillis) {
+        if (!db.tryWriteLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            for (PendingCommit pendingCommit : group) {
+                pendingCommit.exception = new UserException("get database write lock timeout, database="
+                        + db.getFullName());
+            }
+            return;
+        }
+        List<Pair<PendingCommit, TxnCommitContext>> toCommit = Lists.newArrayList();
+        List<TransactionState> committedTxns = Lists.newArrayList();
         try {
-            unprotectedCommitTransaction(transactionState, errorReplicaIds, tableToPartition, totalInvolvedBackends,
-                    db);
-            txnOperated = true;
+            for (PendingCommit pendingCommit : group) {
+                try {
+                    TxnCommitContext commitContext = checkCommitTransaction(db, pendingCommit.transactionId,
+                            pendingCommit.tabletCommitInfos, pendingCommit.txnCommitAttachment);
+                    if (commitContext != null) {
+                        // before state transform
+                        commitContext.transactionState.beforeStateTransform(TransactionStatus.COMMITTED);
+                        toCommit.add(new Pair<>(pendingCommit, commitContext));
+                    }
+                } catch (UserException e) {
+                    pendingCommit.exception = e;
+                }
+            }
+
+            writeLock();
+            try {
+                for (int i = 0; i < toCommit.size(); i++) {
+                    TxnCommitContext commitContext = toCommit.get(i).second;
+                    TransactionState transactionState = commitContext.transactionState;
+                    try {
+                        unprotectedCommitTransaction(transactionState, commitContext.errorReplicaIds,
+                                commitContext.tableToPartition, commitContext.totalInvolvedBackends, db, false);
+                        if (transactionState.getTransactionStatus() != TransactionStatus.COMMITTED) {
+                            continue;
+                        }
+                        committedTxns.add(transactionState);
+                        // the following transactions in this group may load the same partition,
+                        // so update the next version before committing them.
+                        updateCatalogAfterCommitted(transactionState, db);
+                    } catch (RuntimeException e) {
+                        // Same as a single commit, a transaction which has been committed is still persisted
+                        // if updating the next version after it fails. The following transactions are not
+                        // touched and fail, so that the memory matches the edit log.
+                        LOG.warn("failed to commit transaction {} in group", transactionState.getTransactionId(), e);
+                        for (int j = i; j < toCommit.size(); j++) {
+                            toCommit.get(j).first.exception = new TransactionCommitFailedException(
+                                    "failed to commit transaction " + toCommit.get(j).first.transactionId
+                                            + ": " + e.getMessage());
+                        }
+                        break;
+                    }
+                }
+                if (!committedTxns.isEmpty()) {
+                    editLog.logBatchUpsertTransactionState(committedTxns);
+                }
+            } finally {
+                writeUnlock();
+            }
+
+            // after state transform, under db lock as a single commit
+            for (Pair<PendingCommit, TxnCommitContext> pair : toCommit) {
+                TransactionState transactionState = pair.second.transactionState;
+                boolean txnOperated = committedTxns.contains(transactionState);
+                try {
+                    transactionState.afterStateTransform(TransactionStatus.COMMITTED, txnOperated);
+                } catch (UserException e) {
+                    pair.first.exception = e;
+                }
+                if (txnOperated && pair.first.exception == null) {
+                    LOG.info("transaction:[{}] successfully committed", transactionState);
+                }
+            }
         } finally {
-            writeUnlock();
-            // after state transform
-            transactionState.afterStateTransform(TransactionStatus.COMMITTED, txnOperated);
+            db.writeUnlock();
+        }
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_TXN_GROUP_COMMIT_SIZE.update(group.size());
         }
-
-        // 6. update nextVersion because of the failure of persistent transaction resulting in error version
-        updateCatalogAfterCommitted(transactionState, db);
-        LOG.info("transaction:[{}] successfully committed", transactionState);
     }
 
     public boolean publishTransaction(Database db, long transactionId, long timeoutMillis) throws TransactionCommitFailedException {
@@ -634,14 +828,7 @@ public class DatabaseTransactionMgr {
         } finally {
             readUnlock();
         }
-        // add all commit errors and publish errors to a single set
-        if (errorReplicaIds == null) {
-            errorReplicaIds = Sets.newHashSet();
-        }
-        Set<Long> originalErrorReplicas = transactionState.getErrorReplicas();
-        if (originalErrorReplicas != null) {
-            errorReplicaIds.addAll(originalErrorReplicas);
-        }
+        errorReplicaIds = mergeErrorReplicas(transactionState, errorReplicaIds);
 
         Database db = catalog.getDb(transactionState.getDbId());
         if (db == null) {
@@ -658,119 +845,7 @@ public class DatabaseTransactionMgr {
         }
         db.writeLock();
         try {
-            boolean hasError = false;
-            for (TableCommitInfo tableCommitInfo : transactionState.getIdToTableCommitInfos().values()) {
-                long tableId = tableCommitInfo.getTableId();
-                OlapTable table = (OlapTable) db.getTable(tableId);
-                // table maybe dropped between commit and publish, ignore this error
-                if (table == null) {
-                    transactionState.removeTable(tableId);
-                    LOG.warn("table {} is dropped, skip version check and remove it from transaction state {}",
-                            tableId,
-                            transactionState);
-                    continue;
-                }
-                PartitionInfo partitionInfo = table.getPartitionInfo();
-                for (PartitionCommitInfo partitionCommitInfo : tableCommitInfo.getIdToPartitionCommitInfo().values()) {
-                    long partitionId = partitionCommitInfo.getPartitionId();
-                    Partition partition = table.getPartition(partitionId);
-                    // partition maybe dropped between commit and publish version, ignore this error
-                    if (partition == null) {
-                        tableCommitInfo.removePartition(partitionId);
-                        LOG.warn("partition {} is dropped, skip version check and remove it from transaction state {}",
-                                partitionId,
-                                transactionState);
-                        continue;
-                    }
-                    if (partition.getVisibleVersion() != partitionCommitInfo.getVersion() - 1) {
-                        LOG.debug("transactionId {} partition commitInfo version {} is not equal with " +
-                                        "partition visible version {} plus one, need wait",
-                                transactionId,
-                                partitionCommitInfo.getVersion(),
-                                partition.getVisibleVersion());
-                        String errMsg = String.format("wait for publishing partition %d version %d. self version: %d. table %d",
-                                partitionId, partition.getVisibleVersion() + 1, partitionCommitInfo.getVersion(), tableId);
-                        transactionState.setErrorMsg(errMsg);
-                        return;
-                    }
-                    int quorumReplicaNum = partitionInfo.getReplicationNum(partitionId) / 2 + 1;
-
-                    List<MaterializedIndex> allIndices;
-                    if (transactionState.getLoadedTblIndexes().isEmpty()) {
-                        allIndices = partition.getMaterializedIndices(MaterializedIndex.IndexExtState.ALL);
-                    } else {
-                        allIndices = Lists.newArrayList();
-                        for (long indexId : transactionState.getLoadedTblIndexes().get(tableId)) {
-                            MaterializedIndex index = partition.getIndex(indexId);
-                            if (index != null) {
-                                allIndices.add(index);
-                            }
-                        }
-                    }
-
-                    for (MaterializedIndex index : allIndices) {
-                        for (Tablet tablet : index.getTablets()) {
-                            int healthReplicaNum = 0;
-                            for (Replica replica : tablet.getReplicas()) {
-                                if (!errorReplicaIds.contains(replica.getId())
-                                        && replica.getLastFailedVersion() < 0) {
-                                    // this means the replica is a healthy replica,
-                                    // it is healthy in the past and does not have error in current load
-                                    if (replica.checkVersionCatchUp(partition.getVisibleVersion(),
-                                            partition.getVisibleVersionHash(), true)) {
-                                        // during rollup, the rollup replica's last failed version < 0,
-                                        // it may be treated as a normal replica.
-                                        // the replica is not failed during commit or publish
-                                        // during upgrade, one replica's last version maybe invalid,
-                                        // has to compare version hash.
-
-                                        // Here we still update the replica's info even if we failed to publish
-                                        // this txn, for the following case:
-                                        // replica A,B,C is successfully committed, but only A is successfully
-                                        // published,
-                                        // B and C is crashed, now we need a Clone task to repair this tablet.
-                                        // So, here we update A's version info, so that clone task will clone
-                                        // the latest version of data.
-
-                                        replica.updateVersionInfo(partitionCommitInfo.getVersion(),
-                                                partitionCommitInfo.getVersionHash(),
-                                                replica.getDataSize(), replica.getRowCount());
-                                        ++healthReplicaNum;
-                                    } else {
-                                        // this means the replica has error in the past, but we did not observe it
-                                        // during upgrade, one job maybe in quorum finished state, for example, A,B,C 3 replica
-                                        // A,B 's version is 10, C's version is 10 but C' 10 is abnormal should be rollback
-                                        // then we will detect this and set C's last failed version to 10 and last success version to 11
-                                        // this logic has to be replayed in checkpoint thread
-                                        replica.updateVersionInfo(replica.getVersion(), replica.getVersionHash(),
-                                                partition.getVisibleVersion(), partition.getVisibleVersionHash(),
-                                                partitionCommitInfo.getVersion(), partitionCommitInfo.getVersionHash());
-                                        LOG.warn("transaction state {} has error, the replica [{}] not appeared in error replica list "
-                                                + " and its version not equal to partition commit version or commit version - 1"
-                                                + " if its not a upgrate stage, its a fatal error. ", transactionState, replica);
-                                    }
-                                } else if (replica.getVersion() >= partitionCommitInfo.getVersion()) {
-                                    // the replica's version is larger than or equal to current transaction partition's version
-                                    // the replica is normal, then remove it from error replica ids
-                                    errorReplicaIds.remove(replica.getId());
-                                    ++healthReplicaNum;
-                                }
-                            }
-
-                            if (healthReplicaNum < quorumReplicaNum) {
-                                LOG.info("publish version failed for transaction {} on tablet {}, with only {} replicas less than quorum {}",
-                                        transactionState, tablet, healthReplicaNum, quorumReplicaNum);
-                                String errMsg = String.format("publish on tablet %d failed. succeed replica num %d less than quorum %d."
-                                        + " table: %d, partition: %d, publish version: %d",
-                                        tablet.getId(), healthReplicaNum, quorumReplicaNum, tableId, partitionId, partition.getVisibleVersion() + 1);
-                                transactionState.setErrorMsg(errMsg);
-                                hasError = true;
-                            }
-                        }
-                    }
-                }
-            }
-            if (hasError) {
+            if (!checkFinishTransaction(transactionState, errorReplicaIds, db)) {
                 return;
             }
             boolean txnOperated = false;
@@ -798,9 +873,233 @@ public class DatabaseTransactionMgr {
         LOG.info("finish transaction {} successfully", transactionState);
     }
 
+    /**
+     * Finish the transactions of this db which are ready to publish in one round.
+     * The transactions should be sorted by commit time, so that a transaction is finished after the former
+     * transactions of the same partition. The db lock is acquired once, and the visible transaction states
+     * are persisted in one edit log.
+     *
+     * @param txnIdToErrorReplicaIds transaction id -> publish error replica ids, in order of commit time
+     */
+    public void finishTransactions(Map<Long, Set<Long>> txnIdToErrorReplicaIds) throws UserException {
+        Database db = catalog.getDb(dbId);
+        if (txnIdToErrorReplicaIds.size() <= 1 || db == null) {
+            for (Map.Entry<Long, Set<Long>> entry : txnIdToErrorReplicaIds.entrySet()) {
+                finishTransaction(entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+
+        List<TransactionState> transactionStates = Lists.newArrayList();
+        readLock();
+        try {
+            for (long transactionId : txnIdToErrorReplicaIds.keySet()) {
+                TransactionState transactionState = unprotectedGetTransactionState(transactionId);
+                if (transactionState != null) {
+                    transactionStates.add(transactionState);
+                }
+            }
+        } finally {
+            readUnlock();
+        }
+
+        List<TransactionState> visibleTxns = Lists.newArrayList();
+        RuntimeException failure = null;
+        db.writeLock();
+        try {
+            for (TransactionState transactionState : transactionStates) {
+                try {
+                    Set<Long> errorReplicaIds = mergeErrorReplicas(transactionState,
+                            txnIdToErrorReplicaIds.get(transactionState.getTransactionId()));
+                    if (!checkFinishTransaction(transactionState, errorReplicaIds, db)) {
+                        continue;
+                    }
+                    writeLock();
+                    try {
+                        transactionState.setErrorReplicas(errorReplicaIds);
+                        transactionState.setFinishTime(System.currentTimeMillis());
+                        transactionState.clearErrorMsg();
+                        transactionState.setTransactionStatus(TransactionStatus.VISIBLE);
+                        unprotectUpdateInMemoryState(transactionState);
+                        // the transaction is visible in memory from now on, so it must be persisted
+                        visibleTxns.add(transactionState);
+                    } finally {
+                        writeUnlock();
+                    }
+                    // the following transactions of the same partition check the visible version updated here
+                    updateCatalogAfterVisible(transactionState, db);
+                } catch (RuntimeException e) {
+                    // Same as finishing a single transaction, a transaction which has been set visible is still
+                    // persisted if updating the catalog fails. The following transactions may depend on the
+                    // visible version of it, so they are left untouched and finished in next round.
+                    LOG.warn("failed to finish transaction {} in batch", transactionState.getTransactionId(), e);
+                    failure = e;
+                    break;
+                }
+            }
+            if (!visibleTxns.isEmpty()) {
+                editLog.logBatchUpsertTransactionState(visibleTxns);
+            }
+            // after state transform, under db lock and after the transaction is persisted, as a single finish
+            for (TransactionState transactionState : visibleTxns) {
+                try {
+                    transactionState.afterStateTransform(TransactionStatus.VISIBLE, true);
+                } catch (UserException e) {
+                    LOG.warn("failed to handle visible state of transaction {}",
+                            transactionState.getTransactionId(), e);
+                }
+            }
+        } finally {
+            db.writeUnlock();
+        }
+
+        for (TransactionState transactionState : visibleTxns) {
+            LOG.info("finish transaction {} successfully", transactionState);
+        }
+        if (failure != null) {
+            throw new UserException("failed to finish transactions of db " + dbId + ": " + failure.getMessage(),
+                    failure);
+        }
+    }
+
+    // add all commit errors and publish errors to a single set
+    private Set<Long> mergeErrorReplicas(TransactionState transactionState, Set<Long> errorReplicaIds) {
+        if (errorReplicaIds == null) {
+            errorReplicaIds = Sets.newHashSet();
+        }
+        Set<Long> originalErrorReplicas = transactionState.getErrorReplicas();
+        if (originalErrorReplicas != null) {
+            errorReplicaIds.addAll(originalErrorReplicas);
+        }
+        return errorReplicaIds;
+    }
+
+    /*
+     * Check whether all the partitions of transaction are ready to be visible, and the tablets have quorum
+     * healthy replicas. Return false if the transaction should wait for next round.
+     * The caller should hold the db write lock.
+     */
+    private boolean checkFinishTransaction(TransactionState transactionState, Set<Long> errorReplicaIds,
+                                           Database db) {
+        boolean hasError = false;
+        for (TableCommitInfo tableCommitInfo : transactionState.getIdToTableCommitInfos().values()) {
+            long tableId = tableCommitInfo.getTableId();
+            OlapTable table = (OlapTable) db.getTable(tableId);
+            // table maybe dropped between commit and publish, ignore this error
+            if (table == null) {
+                transactionState.removeTable(tableId);
+                LOG.warn("table {} is dropped, skip version check and remove it from transaction state {}",
+                        tableId,
+                        transactionState);
+                continue;
+            }
+            PartitionInfo partitionInfo = table.getPartitionInfo();
+            for (PartitionCommitInfo partitionCommitInfo : tableCommitInfo.getIdToPartitionCommitInfo().values()) {
+                long partitionId = partitionCommitInfo.getPartitionId();
+                Partition partition = table.getPartition(partitionId);
+                // partition maybe dropped between commit and publish version, ignore this error
+                if (partition == null) {
+                    tableCommitInfo.removePartition(partitionId);
+                    LOG.warn("partition {} is dropped, skip version check and remove it from transaction state {}",
+                            partitionId,
+                            transactionState);
+                    continue;
+                }
+                if (partition.getVisibleVersion() != partitionCommitInfo.getVersion() - 1) {
+                    LOG.debug("transactionId {} partition commitInfo version {} is not equal with " +
+                                    "partition visible version {} plus one, need wait",
+                            transactionState.getTransactionId(),
+                            partitionCommitInfo.getVersion(),
+                            partition.getVisibleVersion());
+                    String errMsg = String.format("wait for publishing partition %d version %d. self version: %d. table %d",
+                            partitionId, partition.getVisibleVersion() + 1, partitionCommitInfo.getVersion(), tableId);
+                    transactionState.setErrorMsg(errMsg);
+                    return false;
+                }
+                int quorumReplicaNum = partitionInfo.getReplicationNum(partitionId) / 2 + 1;
+
+                List<MaterializedIndex> allIndices;
+                if (transactionState.getLoadedTblIndexes().isEmpty()) {
+                    allIndices = partition.getMaterializedIndices(MaterializedIndex.IndexExtState.ALL);
+                } else {
+                    allIndices = Lists.newArrayList();
+                    for (long indexId : transactionState.getLoadedTblIndexes().get(tableId)) {
+                        MaterializedIndex index = partition.getIndex(indexId);
+                        if (index != null) {
+                            allIndices.add(index);
+                        }
+                    }
+                }
+
+                for (MaterializedIndex index : allIndices) {
+                    for (Tablet tablet : index.getTablets()) {
+                        int healthReplicaNum = 0;
+                        for (Replica replica : tablet.getReplicas()) {
+                            if (!errorReplicaIds.contains(replica.getId())
+                                    && replica.getLastFailedVersion() < 0) {
+                                // this means the replica is a healthy replica,
+                                // it is healthy in the past and does not have error in current load
+                                if (replica.checkVersionCatchUp(partition.getVisibleVersion(),
+                                        partition.getVisibleVersionHash(), true)) {
+                                    // during rollup, the rollup replica's last failed version < 0,
+                                    // it may be treated as a normal replica.
+                                    // the replica is not failed during commit or publish
+                                    // during upgrade, one replica's last version maybe invalid,
+                                    // has to compare version hash.
+
+                                    // Here we still update the replica's info even if we failed to publish
+                                    // this txn, for the following case:
+                                    // replica A,B,C is successfully committed, but only A is successfully
+                                    // published,
+                                    // B and C is crashed, now we need a Clone task to repair this tablet.
+                                    // So, here we update A's version info, so that clone task will clone
+                                    // the latest version of data.
+
+                                    replica.updateVersionInfo(partitionCommitInfo.getVersion(),
+                                            partitionCommitInfo.getVersionHash(),
+                                            replica.getDataSize(), replica.getRowCount());
+                                    ++healthReplicaNum;
+                                } else {
+                                    // this means the replica has error in the past, but we did not observe it
+                                    // during upgrade, one job maybe in quorum finished state, for example, A,B,C 3 replica
+                                    // A,B 's version is 10, C's version is 10 but C' 10 is abnormal should be rollback
+                                    // then we will detect this and set C's last failed version to 10 and last success version to 11
+                                    // this logic has to be replayed in checkpoint thread
+                                    replica.updateVersionInfo(replica.getVersion(), replica.getVersionHash(),
+                                            partition.getVisibleVersion(), partition.getVisibleVersionHash(),
+                                            partitionCommitInfo.getVersion(), partitionCommitInfo.getVersionHash());
+                                    LOG.warn("transaction state {} has error, the replica [{}] not appeared in error replica list "
+                                            + " and its version not equal to partition commit version or commit version - 1"
+                                            + " if its not a upgrate stage, its a fatal error. ", transactionState, replica);
+                                }
+                            } else if (replica.getVersion() >= partitionCommitInfo.getVersion()) {
+                                // the replica's version is larger than or equal to current transaction partition's version
+                                // the replica is normal, then remove it from error replica ids
+                                errorReplicaIds.remove(replica.getId());
+                                ++healthReplicaNum;
+                            }
+                        }
+
+                        if (healthReplicaNum < quorumReplicaNum) {
+                            LOG.info("publish version failed for transaction {} on tablet {}, with only {} replicas less than quorum {}",
+                                    transactionState, tablet, healthReplicaNum, quorumReplicaNum);
+                            String errMsg = String.format("publish on tablet %d failed. succeed replica num %d less than quorum %d."
+                                    + " table: %d, partition: %d, publish version: %d",
+                                    tablet.getId(), healthReplicaNum, quorumReplicaNum, tableId, partitionId, partition.getVisibleVersion() + 1);
+                            transactionState.setErrorMsg(errMsg);
+                            hasError = true;
+                        }
+                    }
+                }
+            }
+        }
+        return !hasError;
+    }
+
+    // if persist is false, the transaction state should be persisted by caller, such as in a batch
     protected void unprotectedCommitTransaction(TransactionState transactionState, Set<Long> errorReplicaIds,
                                                Map<Long, Set<Long>> tableToPartition, Set<Long> totalInvolvedBackends,
-                                               Database db) {
+                                               Database db, boolean persist) {
         // transaction state is modified during check if the transaction could committed
         if (transactionState.getTransactionStatus() != TransactionStatus.PREPARE) {
             return;
@@ -822,7 +1121,11 @@ public class DatabaseTransactionMgr {
             transactionState.putIdToTableCommitInfo(tableId, tableCommitInfo);
         }
         // persist transactionState
-        unprotectUpsertTransactionState(transactionState, false);
+        if (persist) {
+            unprotectUpsertTransactionState(transactionState, false);
+        } else {
+            unprotectUpdateInMemoryState(transactionState);
+        }
 
         // add publish version tasks. set task to null as a placeholder.
         // tasks will be created when publishing version.
@@ -844,6 +1147,11 @@ public class DatabaseTransactionMgr {
                 editLog.logInsertTransactionState(transactionState);
             }
         }
+        unprotectUpdateInMemoryState(transactionState);
+    }
+
+    // update the transaction state in memory without persisting it
+    private void unprotectUpdateInMemoryState(TransactionState transactionState) {
         if (!transactionState.getTransactionStatus().isFinalStatus()) {
             if (idToRunningTransactionState.put(transactionState.getTransactionId(), transactionState) == null) {
                 if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
@@ -1209,6 +1517,7 @@ public class DatabaseTransactionMgr {
                                 // should get from transaction state
                                 replica.updateLastFailedVersion(partitionCommitInfo.getVersion(),
                                         partitionCommitInfo.getVersionHash());
+                                catalog.getTabletChecker().markTabletDirty(tablet.getId());
                             }
                         }
                     }
@@ -1279,6 +1588,7 @@ public class DatabaseTransactionMgr {
                                     lastFailedVersion = newCommitVersion;
                                     lastFailedVersionHash = newCommitVersionHash;
                                 }
+                                catalog.getTabletChecker().markTabletDirty(tablet.getId());
                             }
                             replica.updateVersionInfo(newVersion, newVersionHash, lastFailedVersion, lastFailedVersionHash, lastSucessVersion, lastSuccessVersionHash);
                         }
@@ -186,15 +186,24 @@ public class GlobalTransactionMgr implements Writable {
             List<TabletCommitInfo> tabletCommitInfos, long timeoutMillis,
             TxnCommitAttachment txnCommitAttachment)
             throws UserException {
-        if (!db.tryWriteLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
-            throw new UserException("get database write lock timeout, database=" + db.getFullName());
-        }
-        try {
-            commitTransaction(db.getId(), transactionId, tabletCommitInfos, txnCommitAttachment);
-        } finally {
-            db.writeUnlock();
-        }
         DatabaseTransactionMgr dbTransactionMgr = getDatabaseTransactionMgr(db.getId());
+        if (Config.txn_group_commit_max_num > 1) {
+            if (Config.disable_load_job) {
+                throw new TransactionCommitFailedException("disable_load_job is set to true, all load jobs are prevented");
+            }
+            LOG.debug("try to group commit transaction: {}", transactionId);
+            dbTransactionMgr.groupCommitTransaction(db, transactionId, tabletCommitInfos, txnCommitAttachment,
+                    timeoutMillis);
+        } else {
+            if (!db.tryWriteLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new UserException("get database write lock timeout, database=" + db.getFullName());
+            }
+            try {
+                commitTransaction(db.getId(), transactionId, tabletCommitInfos, txnCommitAttachment);
+            } finally {
+                db.writeUnlock();
+            }
+        }
         return dbTransactionMgr.publishTransaction(db, transactionId, timeoutMillis);
    }
 
@@ -255,6 +264,15 @@ public class GlobalTransactionMgr implements Writable {
         dbTransactionMgr.finishTransaction(transactionId, errorReplicaIds);
     }
 
+    /**
+     * finish the transactions of a db in batch
+     * @param txnIdToErrorReplicaIds transaction id -> publish error replica ids, in order of commit time
+     */
+    public void finishTransactions(long dbId, Map<Long, Set<Long>> txnIdToErrorReplicaIds) throws UserException {
+        DatabaseTransactionMgr dbTransactionMgr = getDatabaseTransactionMgr(dbId);
+        dbTransactionMgr.finishTransactions(txnIdToErrorReplicaIds);
+    }
+
     /**
      * Check whether a load job already exists before checking all `TransactionId` related with this load job have finished.
      * finished
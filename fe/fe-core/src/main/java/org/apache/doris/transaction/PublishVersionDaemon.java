@@ -37,6 +37,7 @@ import org.apache.doris.thrift.TPartitionVersionInfo;
 import org.apache.doris.thrift.TTaskType;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 import org.apache.logging.log4j.LogManager;
@@ -135,6 +136,8 @@ public class PublishVersionDaemon extends MasterDaemon {
         }
         
         TabletInvertedIndex tabletInvertedIndex = Catalog.getCurrentInvertedIndex();
+        // db id -> (transaction id -> publish error replica ids) of transactions which should be finished
+        Map<Long, Map<Long, Set<Long>>> dbIdToFinishTxns = Maps.newHashMap();
         // try to finish the transaction, if failed just retry in next loop
         for (TransactionState transactionState : readyTransactionStates) {
             Map<Long, PublishVersionTask> transTasks = transactionState.getPublishVersionTasks();
@@ -228,14 +231,29 @@ public class PublishVersionDaemon extends MasterDaemon {
             }
             
             if (shouldFinishTxn) {
-                globalTransactionMgr.finishTransaction(transactionState.getDbId(), transactionState.getTransactionId(), publishErrorReplicaIds);
-                if (transactionState.getTransactionStatus() != TransactionStatus.VISIBLE) {
-                    // if finish transaction state failed, then update publish version time, should check 
-                    // to finish after some interval
-                    transactionState.updateSendTaskTime();
-                    LOG.debug("publish version for transation {} failed, has {} error replicas during publish", 
-                            transactionState, publishErrorReplicaIds.size());
-                }
+                dbIdToFinishTxns.computeIfAbsent(transactionState.getDbId(), k -> Maps.newLinkedHashMap())
+                        .put(transactionState.getTransactionId(), publishErrorReplicaIds);
+            }
+        } // end for readyTransactionStates
+
+        // the transactions of one db are finished in batch, in order of commit
+        for (Map.Entry<Long, Map<Long, Set<Long>>> entry : dbIdToFinishTxns.entrySet()) {
+            try {
+                globalTransactionMgr.finishTransactions(entry.getKey(), entry.getValue());
+            } catch (UserException e) {
+                LOG.warn("failed to finish transactions {} of db {}", entry.getValue().keySet(), entry.getKey(), e);
+            }
+        }
+
+        for (TransactionState transactionState : readyTransactionStates) {
+            Map<Long, Set<Long>> finishTxns = dbIdToFinishTxns.get(transactionState.getDbId());
+            if (finishTxns != null && finishTxns.containsKey(transactionState.getTransactionId())
+                    && transactionState.getTransactionStatus() != TransactionStatus.VISIBLE) {
+                // if finish transaction state failed, then update publish version time, should check 
+                // to finish after some interval
+                transactionState.updateSendTaskTime();
+                LOG.debug("publish version for transation {} failed, has {} error replicas during publish", 
+                        transactionState, finishTxns.get(transactionState.getTransactionId()).size());
             }
 
             if (transactionState.getTransactionStatus() == TransactionStatus.VISIBLE) {
@@ -243,6 +261,6 @@ public class PublishVersionDaemon extends MasterDaemon {
                     AgentTaskQueue.removeTask(task.getBackendId(), TTaskType.PUBLISH_VERSION, task.getSignature());
                 }
             }
-        } // end for readyTransactionStates
+        }
     }
 }
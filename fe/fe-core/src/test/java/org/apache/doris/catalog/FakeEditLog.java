@@ -29,6 +29,7 @@ import org.apache.doris.system.Backend;
 import org.apache.doris.transaction.TransactionState;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import mockit.Mock;
@@ -51,6 +52,13 @@ public class FakeEditLog extends MockUp<EditLog> {
         allTransactionState.put(transactionState.getTransactionId(), transactionState);
     }
 
+    @Mock
+    public void logBatchUpsertTransactionState(List<TransactionState> transactionStates) {
+        for (TransactionState transactionState : transactionStates) {
+            allTransactionState.put(transactionState.getTransactionId(), transactionState);
+        }
+    }
+
     @Mock
     public void logDeleteTransactionState(TransactionState transactionState) {
         // do nothing
@@ -0,0 +1,88 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.catalog;
+
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.thrift.TStorageMedium;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class TabletInvertedIndexTest {
+    private static final int TABLET_NUM = 1000;
+
+    private TabletInvertedIndex invertedIndex;
+
+    @Before
+    public void setUp() {
+        invertedIndex = new TabletInvertedIndex();
+        TabletMeta hddMeta = new TabletMeta(1, 2, 3, 4, 5, TStorageMedium.HDD);
+        TabletMeta ssdMeta = new TabletMeta(1, 2, 3, 6, 5, TStorageMedium.SSD);
+        for (long tabletId = 1; tabletId <= TABLET_NUM; tabletId++) {
+            invertedIndex.addTablet(tabletId, tabletId % 2 == 0 ? hddMeta : ssdMeta);
+            for (long backendId = 1; backendId <= 3; backendId++) {
+                long replicaId = tabletId * 10 + backendId;
+                invertedIndex.addReplica(tabletId, new Replica(replicaId, backendId, 1L, 0L, 5, 0L, 0L,
+                        ReplicaState.NORMAL, 0, 0, 0, 0));
+            }
+        }
+    }
+
+    @Test
+    public void testGet() {
+        Assert.assertEquals(6, invertedIndex.getTabletMeta(7).getIndexId());
+        Assert.assertNull(invertedIndex.getTabletMeta(TABLET_NUM + 1));
+        Assert.assertEquals(Long.valueOf(7), invertedIndex.getTabletIdByReplica(72));
+        Assert.assertNull(invertedIndex.getTabletIdByReplica(1));
+        Assert.assertEquals(72, invertedIndex.getReplica(7, 2).getId());
+        Assert.assertNull(invertedIndex.getReplica(7, 4));
+        Assert.assertEquals(3, invertedIndex.getReplicasByTabletId(7).size());
+
+        Assert.assertEquals(TABLET_NUM, invertedIndex.getTabletNumByBackendId(1));
+        Assert.assertEquals(TABLET_NUM, invertedIndex.getTabletIdsByBackendId(2).size());
+        Assert.assertEquals(TABLET_NUM / 2,
+                invertedIndex.getTabletIdsByBackendIdAndStorageMedium(3, TStorageMedium.SSD).size());
+        Map<TStorageMedium, Long> replicaNum = invertedIndex.getReplicaNumByBeIdAndStorageMedium(1);
+        Assert.assertEquals(Long.valueOf(TABLET_NUM / 2), replicaNum.get(TStorageMedium.HDD));
+        Assert.assertEquals(Long.valueOf(TABLET_NUM / 2), replicaNum.get(TStorageMedium.SSD));
+    }
+
+    @Test
+    public void testDelete() {
+        invertedIndex.deleteReplica(7, 2);
+        Assert.assertNull(invertedIndex.getReplica(7, 2));
+        Assert.assertNull(invertedIndex.getTabletIdByReplica(72));
+        List<Replica> replicas = invertedIndex.getReplicasByTabletId(7);
+        Assert.assertEquals(2, replicas.size());
+        Assert.assertEquals(TABLET_NUM - 1, invertedIndex.getTabletNumByBackendId(2));
+
+        invertedIndex.deleteTablet(8);
+        Assert.assertNull(invertedIndex.getTabletMeta(8));
+        Assert.assertNull(invertedIndex.getTabletIdByReplica(81));
+        Assert.assertTrue(invertedIndex.getReplicasByTabletId(8).isEmpty());
+        Assert.assertEquals(TABLET_NUM - 1, invertedIndex.getTabletNumByBackendId(1));
+        Assert.assertEquals(TABLET_NUM - 2, invertedIndex.getTabletNumByBackendId(2));
+
+        invertedIndex.clear();
+        Assert.assertEquals(0, invertedIndex.getTabletNumByBackendId(1));
+        Assert.assertNull(invertedIndex.getTabletIdByReplica(11));
+    }
+}
@@ -278,6 +278,65 @@ public class BrokerUtilTest {
         }
     }
 
+    @Test
+    public void testWriteFileCloseFailed(@Mocked TPaloBrokerService.Client client, @Mocked Catalog catalog,
+                                         @Injectable BrokerMgr brokerMgr)
+            throws TException, UserException, UnsupportedEncodingException {
+        TBrokerOpenWriterResponse openWriterResponse = new TBrokerOpenWriterResponse();
+        TBrokerOperationStatus status = new TBrokerOperationStatus();
+        status.statusCode = TBrokerOperationStatusCode.OK;
+        openWriterResponse.opStatus = status;
+        openWriterResponse.fd = new TBrokerFD(1, 2);
+        // the buffered data fails to be flushed when closing
+        TBrokerOperationStatus closeStatus = new TBrokerOperationStatus();
+        closeStatus.statusCode = TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR;
+        closeStatus.message = "flush failed";
+        FsBroker fsBroker = new FsBroker("127.0.0.1", 99999);
+
+        new MockUp<GenericPool<TPaloBrokerService.Client>>() {
+            @Mock
+            public TPaloBrokerService.Client borrowObject(TNetworkAddress address) throws Exception {
+                return client;
+            }
+
+            @Mock
+            public void returnObject(TNetworkAddress address, TPaloBrokerService.Client object) {
+                return;
+            }
+
+            @Mock
+            public void invalidateObject(TNetworkAddress address, TPaloBrokerService.Client object) {
+                return;
+            }
+        };
+
+        new Expectations() {
+            {
+                catalog.getBrokerMgr();
+                result = brokerMgr;
+                brokerMgr.getBroker(anyString, anyString);
+                result = fsBroker;
+                client.openWriter((TBrokerOpenWriterRequest) any);
+                result = openWriterResponse;
+                client.pwrite((TBrokerPWriteRequest) any);
+                result = status;
+                client.closeWriter((TBrokerCloseWriterRequest) any);
+                result = closeStatus;
+                times = 1;
+            }
+        };
+
+        BrokerDesc brokerDesc = new BrokerDesc("broker0", Maps.newHashMap());
+        byte[] configs = "{'label': 'label0'}".getBytes("UTF-8");
+        String destFilePath = "hdfs://127.0.0.1:10000/doris/jobs/1/label6/9/configs/jobconfig.json";
+        try {
+            BrokerUtil.writeFile(configs, destFilePath, brokerDesc);
+            Assert.fail("close error should be reported");
+        } catch (UserException e) {
+            Assert.assertTrue(e.getMessage().contains("flush failed"));
+        }
+    }
+
     @Test
     public void testDeletePath(@Mocked TPaloBrokerService.Client client, @Mocked Catalog catalog,
                                @Injectable BrokerMgr brokerMgr) throws AnalysisException, TException {
@@ -0,0 +1,79 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.common.util;
+
+import com.google.common.collect.Maps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+public class LongLongHashMapTest {
+
+    @Test
+    public void testBasic() {
+        LongLongHashMap map = new LongLongHashMap(-1);
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertEquals(-1, map.get(1));
+        Assert.assertEquals(-1, map.put(1, 10));
+        Assert.assertEquals(10, map.put(1, 11));
+        Assert.assertEquals(11, map.get(1));
+
+        // key 0 is stored separately
+        Assert.assertFalse(map.containsKey(0));
+        map.put(0, 100);
+        Assert.assertTrue(map.containsKey(0));
+        Assert.assertEquals(100, map.get(0));
+        Assert.assertEquals(2, map.size());
+
+        Assert.assertEquals(100, map.remove(0));
+        Assert.assertEquals(11, map.remove(1));
+        Assert.assertEquals(-1, map.remove(1));
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testRandom() {
+        LongLongHashMap map = new LongLongHashMap(-1);
+        Map<Long, Long> expected = Maps.newHashMap();
+        Random random = new Random(0);
+        for (int i = 0; i < 100000; i++) {
+            // small key range to have many collisions and removals
+            long key = random.nextInt(5000) - 100;
+            if (random.nextInt(3) == 0) {
+                Long prev = expected.remove(key);
+                Assert.assertEquals(prev == null ? -1 : prev, map.remove(key));
+            } else {
+                long value = random.nextLong();
+                Long prev = expected.put(key, value);
+                Assert.assertEquals(prev == null ? -1 : prev, map.put(key, value));
+            }
+        }
+        Assert.assertEquals(expected.size(), map.size());
+        for (long key = -100; key < 4900; key++) {
+            Long value = expected.get(key);
+            Assert.assertEquals(value != null, map.containsKey(key));
+            Assert.assertEquals(value == null ? -1 : value, map.get(key));
+        }
+
+        map.clear();
+        Assert.assertEquals(0, map.size());
+        Assert.assertFalse(map.containsKey(1));
+    }
+}
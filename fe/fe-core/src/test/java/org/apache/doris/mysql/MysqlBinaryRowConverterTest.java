@@ -0,0 +1,102 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class MysqlBinaryRowConverterTest {
+
+    private static ByteBuffer textRow(String... values) {
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        for (String value : values) {
+            if (value == null) {
+                serializer.writeInt1(0xfb);
+            } else {
+                serializer.writeLenEncodedString(value);
+            }
+        }
+        return serializer.toByteBuffer();
+    }
+
+    @Test
+    public void testConvert() {
+        MysqlBinaryRowConverter converter = new MysqlBinaryRowConverter(Lists.newArrayList(
+                MysqlColType.MYSQL_TYPE_LONG, MysqlColType.MYSQL_TYPE_LONGLONG, MysqlColType.MYSQL_TYPE_VARCHAR,
+                MysqlColType.MYSQL_TYPE_DOUBLE, MysqlColType.MYSQL_TYPE_DATE, MysqlColType.MYSQL_TYPE_DATETIME));
+        ByteBuffer row = converter.convert(textRow("-3", null, "abc", "1.5", "2021-02-03", "2021-02-03 04:05:06"));
+        row.order(ByteOrder.LITTLE_ENDIAN);
+
+        Assert.assertEquals(0x00, row.get());
+        // 6 columns with offset 2, the 2nd column is NULL
+        Assert.assertEquals(0x08, row.get());
+        Assert.assertEquals(-3, row.getInt());
+        Assert.assertEquals(3, row.get());
+        Assert.assertEquals('a', row.get());
+        Assert.assertEquals('b', row.get());
+        Assert.assertEquals('c', row.get());
+        Assert.assertEquals(1.5, row.getDouble(), 0.0);
+        // date
+        Assert.assertEquals(4, row.get());
+        Assert.assertEquals(2021, row.getShort());
+        Assert.assertEquals(2, row.get());
+        Assert.assertEquals(3, row.get());
+        // datetime
+        Assert.assertEquals(7, row.get());
+        Assert.assertEquals(2021, row.getShort());
+        Assert.assertEquals(2, row.get());
+        Assert.assertEquals(3, row.get());
+        Assert.assertEquals(4, row.get());
+        Assert.assertEquals(5, row.get());
+        Assert.assertEquals(6, row.get());
+        Assert.assertFalse(row.hasRemaining());
+    }
+
+    @Test
+    public void testConvertTime() {
+        MysqlBinaryRowConverter converter = new MysqlBinaryRowConverter(Lists.newArrayList(
+                MysqlColType.MYSQL_TYPE_TIME, MysqlColType.MYSQL_TYPE_DATETIME));
+        ByteBuffer row = converter.convert(textRow("-25:01:02", "2021-02-03 04:05:06.5"));
+        row.order(ByteOrder.LITTLE_ENDIAN);
+
+        Assert.assertEquals(0x00, row.get());
+        Assert.assertEquals(0x00, row.get());
+        // time
+        Assert.assertEquals(8, row.get());
+        Assert.assertEquals(1, row.get());
+        Assert.assertEquals(1, row.getInt());
+        Assert.assertEquals(1, row.get());
+        Assert.assertEquals(1, row.get());
+        Assert.assertEquals(2, row.get());
+        // datetime with microseconds
+        Assert.assertEquals(11, row.get());
+        Assert.assertEquals(2021, row.getShort());
+        Assert.assertEquals(2, row.get());
+        Assert.assertEquals(3, row.get());
+        Assert.assertEquals(4, row.get());
+        Assert.assertEquals(5, row.get());
+        Assert.assertEquals(6, row.get());
+        Assert.assertEquals(500000, row.getInt());
+        Assert.assertFalse(row.hasRemaining());
+    }
+}
@@ -20,14 +20,17 @@ package org.apache.doris.mysql;
 import mockit.Delegate;
 import mockit.Expectations;
 import mockit.Mocked;
+import com.google.common.collect.Lists;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.List;
 
 public class MysqlChannelTest {
     int packetId = 0;
@@ -255,6 +258,67 @@ public class MysqlChannelTest {
         channel1.sendOnePacket(buf);
     }
 
+    @Test
+    public void testSendRowBatch() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<Integer> writeLens = Lists.newArrayList();
+        // mock
+        new Expectations() {
+            {
+                channel.write((ByteBuffer) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    int fakeWrite(ByteBuffer buffer) {
+                        int writeLen = buffer.remaining();
+                        if (writeLen > 0) {
+                            writeLens.add(writeLen);
+                        }
+                        while (buffer.hasRemaining()) {
+                            output.write(buffer.get());
+                        }
+                        return writeLen;
+                    }
+                };
+            }
+        };
+
+        MysqlChannel channel1 = new MysqlChannel(channel);
+        // packet in send buffer is sent before rows
+        channel1.sendOnePacket(ByteBuffer.wrap(new byte[] {1}));
+        List<ByteBuffer> rows = Lists.newArrayList();
+        for (int i = 0; i < 1000; i++) {
+            rows.add(ByteBuffer.wrap(new byte[i % 10]));
+        }
+        channel1.sendRowBatch(rows);
+        channel1.flush();
+
+        ByteBuffer result = ByteBuffer.wrap(output.toByteArray());
+        for (int i = -1; i < 1000; i++) {
+            int length = i < 0 ? 1 : i % 10;
+            Assert.assertEquals(length, result.get() & 0xFF);
+            Assert.assertEquals(0, result.get());
+            Assert.assertEquals(0, result.get());
+            Assert.assertEquals((i + 1) & 0xFF, result.get() & 0xFF);
+            result.position(result.position() + length);
+        }
+        Assert.assertFalse(result.hasRemaining());
+        Assert.assertTrue(channel1.isSend());
+        // the whole batch is framed into send buffer and written by one call
+        Assert.assertEquals(1, writeLens.size());
+
+        // a batch larger than send buffer is written each time the buffer is full
+        output.reset();
+        writeLens.clear();
+        rows.clear();
+        for (int i = 0; i < 3; i++) {
+            rows.add(ByteBuffer.wrap(new byte[1024 * 1024]));
+        }
+        channel1.sendRowBatch(rows);
+        channel1.flush();
+        Assert.assertEquals(3, writeLens.size());
+        Assert.assertEquals(3 * (4 + 1024 * 1024), output.size());
+    }
+
     @Test(expected = IOException.class)
     public void testSendException() throws IOException {
         // mock
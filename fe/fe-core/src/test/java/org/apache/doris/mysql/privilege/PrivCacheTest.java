@@ -0,0 +1,62 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql.privilege;
+
+import org.apache.doris.analysis.UserIdentity;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.DdlException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrivCacheTest {
+
+    @Test
+    public void testCacheAndClear() throws AnalysisException, DdlException {
+        UserIdentity user = UserIdentity.createAnalyzedUserIdentWithIp("default_cluster:cmy", "%");
+        DbPrivTable dbPrivTable = new DbPrivTable();
+        TablePrivTable tablePrivTable = new TablePrivTable();
+        dbPrivTable.addEntry(DbPrivEntry.create("%", "default_cluster:db1", "default_cluster:cmy", false,
+                PrivBitSet.of(PaloPrivilege.SELECT_PRIV)), false, false);
+        tablePrivTable.addEntry(TablePrivEntry.create("%", "default_cluster:db2", "default_cluster:cmy", "tbl%",
+                false, PrivBitSet.of(PaloPrivilege.LOAD_PRIV)), false, false);
+
+        PrivCache privCache = new PrivCache();
+        Assert.assertTrue(privCache.getDbPrivs(user, "default_cluster:db1", dbPrivTable)
+                .satisfy(PrivPredicate.SELECT));
+        Assert.assertTrue(privCache.getDbPrivs(user, "default_cluster:db2", dbPrivTable).isEmpty());
+        Assert.assertTrue(privCache.getTblPrivs(user, "default_cluster:db2", "tbl1", tablePrivTable)
+                .satisfy(PrivPredicate.LOAD));
+        Assert.assertTrue(privCache.getTblPrivs(user, "default_cluster:db2", "other", tablePrivTable).isEmpty());
+        Assert.assertTrue(privCache.hasPrivsOfDb(user, "default_cluster:db2", tablePrivTable));
+        Assert.assertFalse(privCache.hasPrivsOfDb(user, "default_cluster:db1", tablePrivTable));
+
+        // privs are read from cache until it is cleared
+        dbPrivTable.clear();
+        tablePrivTable.clear();
+        Assert.assertTrue(privCache.getDbPrivs(user, "default_cluster:db1", dbPrivTable)
+                .satisfy(PrivPredicate.SELECT));
+        Assert.assertTrue(privCache.getTblPrivs(user, "default_cluster:db2", "tbl1", tablePrivTable)
+                .satisfy(PrivPredicate.LOAD));
+
+        privCache.clear();
+        Assert.assertTrue(privCache.getDbPrivs(user, "default_cluster:db1", dbPrivTable).isEmpty());
+        Assert.assertTrue(privCache.getTblPrivs(user, "default_cluster:db2", "tbl1", tablePrivTable).isEmpty());
+        Assert.assertFalse(privCache.hasPrivsOfDb(user, "default_cluster:db2", tablePrivTable));
+    }
+}
@@ -0,0 +1,70 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist;
+
+import org.apache.doris.catalog.ColumnStats;
+
+import com.google.common.collect.Maps;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+public class ColumnStatsInfoTest {
+    private static String fileName = "./ColumnStatsInfoTest";
+
+    @After
+    public void tearDown() {
+        File file = new File(fileName);
+        file.delete();
+    }
+
+    @Test
+    public void testSerialization() throws IOException {
+        ColumnStats stats = new ColumnStats();
+        stats.setNumDistinctValues(1000);
+        stats.setNumNulls(10);
+        stats.setAvgSerializedSize(12.5f);
+        stats.setMaxSize(64);
+        Map<String, ColumnStats> columnStats = Maps.newHashMap();
+        columnStats.put("k1", stats);
+
+        File file = new File(fileName);
+        file.createNewFile();
+        DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+        new ColumnStatsInfo(10000L, 30000L, columnStats).write(out);
+        out.flush();
+        out.close();
+
+        DataInputStream in = new DataInputStream(new FileInputStream(file));
+        ColumnStatsInfo readInfo = ColumnStatsInfo.read(in);
+        in.close();
+
+        Assert.assertEquals(10000L, readInfo.getDbId());
+        Assert.assertEquals(30000L, readInfo.getTableId());
+        Assert.assertEquals(stats, readInfo.getColumnStats().get("k1"));
+    }
+}
@@ -0,0 +1,163 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.common.FeMetaVersion;
+import org.apache.doris.meta.MetaContext;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+import java.util.Map;
+
+public class MetaWriterReaderTest {
+    private File imageFile = new File("./sectionedImage");
+
+    @After
+    public void tearDown() {
+        imageFile.delete();
+    }
+
+    // odd section depends on the section before it
+    private List<MetaSection> buildSections(Map<String, Long> loaded) {
+        List<MetaSection> sections = Lists.newArrayList();
+        for (int i = 0; i < 8; i++) {
+            String name = "section" + i;
+            long value = i * 100L;
+            String[] dependencies = i % 2 == 0 ? new String[0] : new String[] {"section" + (i - 1)};
+            sections.add(new MetaSection(name, (dos, checksum) -> {
+                dos.writeLong(value);
+                dos.writeInt(MetaContext.get().getMetaVersion());
+                return checksum ^ value;
+            }, (dis, checksum) -> {
+                long read = dis.readLong();
+                Assert.assertEquals(FeMetaVersion.VERSION_CURRENT, dis.readInt());
+                Assert.assertEquals(FeMetaVersion.VERSION_CURRENT, MetaContext.get().getMetaVersion());
+                synchronized (loaded) {
+                    for (String dependency : dependencies) {
+                        Assert.assertTrue(loaded.containsKey(dependency));
+                    }
+                    loaded.put(name, read);
+                }
+                return checksum ^ read;
+            }, dependencies));
+        }
+        return sections;
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        MetaContext metaContext = new MetaContext();
+        metaContext.setMetaVersion(FeMetaVersion.VERSION_CURRENT);
+        metaContext.setThreadLocalInfo();
+
+        Map<String, Long> loaded = Maps.newHashMap();
+        List<MetaSection> sections = buildSections(loaded);
+        MetaWriter.write(imageFile, sections, 4);
+        Assert.assertTrue(MetaFooter.isSectionedImage(imageFile));
+        Assert.assertEquals(0, imageFile.getParentFile().listFiles(
+                (dir, name) -> name.startsWith(imageFile.getName() + ".part.")).length);
+
+        try (MetaReader reader = new MetaReader(imageFile)) {
+            reader.loadSections(sections.subList(0, 4), 4);
+            // unknown section is skipped
+            reader.loadSections(Lists.newArrayList(new MetaSection("unknown", null, null)), 4);
+        }
+        Assert.assertEquals(4, loaded.size());
+        Assert.assertEquals(Long.valueOf(300L), loaded.get("section3"));
+        MetaContext.remove();
+    }
+
+    @Test(expected = IOException.class)
+    public void testChecksumMismatch() throws Exception {
+        MetaContext metaContext = new MetaContext();
+        metaContext.setMetaVersion(FeMetaVersion.VERSION_CURRENT);
+        metaContext.setThreadLocalInfo();
+
+        Map<String, Long> loaded = Maps.newHashMap();
+        List<MetaSection> sections = buildSections(loaded);
+        MetaWriter.write(imageFile, sections, 1);
+
+        // corrupt the value of first section, which follows the head
+        try (RandomAccessFile raf = new RandomAccessFile(imageFile, "rw")) {
+            raf.seek(MetaFooter.HEAD_LENGTH);
+            raf.writeLong(-1L);
+        }
+        try (MetaReader reader = new MetaReader(imageFile)) {
+            reader.loadSections(sections, 4);
+        } finally {
+            MetaContext.remove();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testSectionNotFullyRead() throws Exception {
+        MetaContext metaContext = new MetaContext();
+        metaContext.setMetaVersion(FeMetaVersion.VERSION_CURRENT);
+        metaContext.setThreadLocalInfo();
+
+        List<MetaSection> sections = Lists.newArrayList(new MetaSection("section", (dos, checksum) -> {
+            dos.writeLong(1L);
+            dos.writeLong(2L);
+            return checksum;
+        }, (dis, checksum) -> {
+            dis.readLong();
+            return checksum;
+        }));
+        MetaWriter.write(imageFile, sections, 1);
+        try (MetaReader reader = new MetaReader(imageFile)) {
+            reader.loadSections(sections, 1);
+        } finally {
+            MetaContext.remove();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCircularDependency() throws Exception {
+        MetaContext metaContext = new MetaContext();
+        metaContext.setMetaVersion(FeMetaVersion.VERSION_CURRENT);
+        metaContext.setThreadLocalInfo();
+
+        List<MetaSection> sections = Lists.newArrayList(
+                new MetaSection("a", (dos, checksum) -> checksum, (dis, checksum) -> checksum, "b"),
+                new MetaSection("b", (dos, checksum) -> checksum, (dis, checksum) -> checksum, "a"));
+        MetaWriter.write(imageFile, sections, 1);
+        try (MetaReader reader = new MetaReader(imageFile)) {
+            reader.loadSections(sections, 1);
+        } finally {
+            MetaContext.remove();
+        }
+    }
+
+    @Test
+    public void testLegacyImage() throws Exception {
+        try (RandomAccessFile raf = new RandomAccessFile(imageFile, "rw")) {
+            raf.writeInt(FeMetaVersion.VERSION_CURRENT);
+            raf.writeLong(100L);
+        }
+        Assert.assertFalse(MetaFooter.isSectionedImage(imageFile));
+    }
+}
@@ -0,0 +1,41 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.planner;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EsScanNodeTest {
+
+    @Test
+    public void testGetSlicesPerShard() {
+        // specified by table
+        Assert.assertEquals(3, EsScanNode.getSlicesPerShard(3, 10, 2, 4));
+        // enough shards for all backends
+        Assert.assertEquals(1, EsScanNode.getSlicesPerShard(0, 10, 10, 4));
+        Assert.assertEquals(1, EsScanNode.getSlicesPerShard(0, 20, 10, 4));
+        // few shards are split for the backends
+        Assert.assertEquals(2, EsScanNode.getSlicesPerShard(0, 5, 10, 4));
+        Assert.assertEquals(3, EsScanNode.getSlicesPerShard(0, 4, 10, 4));
+        // limited by es_max_slices_per_shard
+        Assert.assertEquals(4, EsScanNode.getSlicesPerShard(0, 1, 10, 4));
+        Assert.assertEquals(1, EsScanNode.getSlicesPerShard(0, 1, 10, 1));
+        Assert.assertEquals(1, EsScanNode.getSlicesPerShard(0, 1, 10, 0));
+        Assert.assertEquals(1, EsScanNode.getSlicesPerShard(0, 0, 10, 4));
+    }
+}
@@ -56,6 +56,11 @@ public class PlannerTest {
                 + "AGGREGATE KEY(k1, k2,k3,k4) distributed by hash(k1) buckets 3 properties('replication_num' = '1');";
         CreateTableStmt createTableStmt = (CreateTableStmt) UtFrameUtils.parseAndAnalyzeStmt(createTblStmtStr, ctx);
         Catalog.getCurrentCatalog().createTable(createTableStmt);
+        // 4. create table tbl2
+        createTblStmtStr = "create table db1.tbl2(k1 int, k2 varchar(32), v1 int) "
+                + "UNIQUE KEY(k1, k2) distributed by hash(k1) buckets 3 properties('replication_num' = '1');";
+        createTableStmt = (CreateTableStmt) UtFrameUtils.parseAndAnalyzeStmt(createTblStmtStr, ctx);
+        Catalog.getCurrentCatalog().createTable(createTableStmt);
     }
 
     @Test
@@ -309,4 +314,30 @@ public class PlannerTest {
 
     }
 
+    @Test
+    public void testPointQuery() throws Exception {
+        String sql1 = "explain select v1 from db1.tbl2 where k1 = 1 and k2 = 'a'";
+        StmtExecutor stmtExecutor1 = new StmtExecutor(ctx, sql1);
+        stmtExecutor1.execute();
+        Planner planner1 = stmtExecutor1.planner();
+        Assert.assertTrue(planner1.isPointQuery());
+        List<PlanFragment> fragments1 = planner1.getFragments();
+        Assert.assertEquals(1, fragments1.size());
+        Assert.assertTrue(fragments1.get(0).getPlanRoot() instanceof OlapScanNode);
+        Assert.assertTrue(fragments1.get(0).getSink() instanceof ResultSink);
+
+        // not all the key columns are bound
+        String sql2 = "explain select v1 from db1.tbl2 where k1 = 1";
+        StmtExecutor stmtExecutor2 = new StmtExecutor(ctx, sql2);
+        stmtExecutor2.execute();
+        Planner planner2 = stmtExecutor2.planner();
+        Assert.assertFalse(planner2.isPointQuery());
+        Assert.assertEquals(2, planner2.getFragments().size());
+
+        // not unique key table
+        String sql3 = "explain select * from db1.tbl1 where k1 = 'a' and k2 = 'b' and k3 = 'c' and k4 = 1";
+        StmtExecutor stmtExecutor3 = new StmtExecutor(ctx, sql3);
+        stmtExecutor3.execute();
+        Assert.assertFalse(stmtExecutor3.planner().isPointQuery());
+    }
 }
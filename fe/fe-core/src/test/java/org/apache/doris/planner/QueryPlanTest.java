@@ -979,6 +979,32 @@ public class QueryPlanTest {
         Assert.assertTrue(explainString.contains("INNER JOIN (BROADCAST)"));
     }
 
+    @Test
+    public void testRuntimeFilter() throws Exception {
+        connectContext.setDatabase("default_cluster:test");
+        connectContext.getSessionVariable().setRuntimeFilterMode("GLOBAL");
+        String queryStr = "explain select * from jointest t1 join jointest t2 on t1.k1 = t2.k1";
+        String explainString = UtFrameUtils.getSQLPlanOrErrorMsg(connectContext, queryStr);
+        Assert.assertTrue(explainString.contains("runtime filters: RF000["));
+        Assert.assertTrue(explainString.contains("] <- `t2`.`k1`"));
+        Assert.assertTrue(explainString.contains("] -> `t1`.`k1`"));
+
+        // the unmatched rows of left table are output by left outer join
+        queryStr = "explain select * from jointest t1 left join jointest t2 on t1.k1 = t2.k1";
+        explainString = UtFrameUtils.getSQLPlanOrErrorMsg(connectContext, queryStr);
+        Assert.assertFalse(explainString.contains("runtime filters"));
+
+        // null values are matched by <=>
+        queryStr = "explain select * from jointest t1 join jointest t2 on t1.k1 <=> t2.k1";
+        explainString = UtFrameUtils.getSQLPlanOrErrorMsg(connectContext, queryStr);
+        Assert.assertFalse(explainString.contains("runtime filters"));
+
+        connectContext.getSessionVariable().setRuntimeFilterMode("OFF");
+        queryStr = "explain select * from jointest t1 join jointest t2 on t1.k1 = t2.k1";
+        explainString = UtFrameUtils.getSQLPlanOrErrorMsg(connectContext, queryStr);
+        Assert.assertFalse(explainString.contains("runtime filters"));
+    }
+
     @Test
     public void testEmptyNode() throws Exception {
         connectContext.setDatabase("default_cluster:test");
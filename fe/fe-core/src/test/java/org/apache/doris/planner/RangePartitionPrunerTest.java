@@ -0,0 +1,161 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.planner;
+
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.analysis.InPredicate;
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.PartitionValue;
+import org.apache.doris.analysis.SlotRef;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.DataProperty;
+import org.apache.doris.catalog.PartitionKey;
+import org.apache.doris.catalog.PrimitiveType;
+import org.apache.doris.catalog.RangePartitionIndex;
+import org.apache.doris.catalog.RangePartitionInfo;
+import org.apache.doris.common.AnalysisException;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class RangePartitionPrunerTest {
+    private static final int PARTITION_NUM = 100000;
+    private static final int PARTITION_INTERVAL = 10;
+
+    private List<Column> columns;
+    private RangePartitionInfo partitionInfo;
+
+    private PartitionKey createKey(long value) throws AnalysisException {
+        return PartitionKey.createPartitionKey(Lists.newArrayList(new PartitionValue(String.valueOf(value))), columns);
+    }
+
+    @Before
+    public void setUp() throws AnalysisException {
+        columns = Lists.newArrayList(new Column("k1", PrimitiveType.BIGINT));
+        partitionInfo = new RangePartitionInfo(columns);
+        // partition i: [i * 10, (i + 1) * 10)
+        for (long i = 0; i < PARTITION_NUM; i++) {
+            partitionInfo.addPartition(i, false,
+                    Range.closedOpen(createKey(i * PARTITION_INTERVAL), createKey((i + 1) * PARTITION_INTERVAL)),
+                    DataProperty.DEFAULT_DATA_PROPERTY, (short) 3, false);
+        }
+    }
+
+    private Collection<Long> prune(PartitionColumnFilter filter) throws AnalysisException {
+        Map<String, PartitionColumnFilter> filters = Maps.newHashMap();
+        if (filter != null) {
+            filters.put("k1", filter);
+        }
+        return new RangePartitionPruner(partitionInfo.getRangeIndex(), columns, filters).prune();
+    }
+
+    @Test
+    public void testEqual() throws AnalysisException {
+        PartitionColumnFilter filter = new PartitionColumnFilter();
+        filter.setLowerBound(new IntLiteral(12345), true);
+        filter.setUpperBound(new IntLiteral(12345), true);
+        Assert.assertEquals(Sets.newHashSet(1234L), Sets.newHashSet(prune(filter)));
+
+        filter = new PartitionColumnFilter();
+        filter.setLowerBound(new IntLiteral(PARTITION_NUM * PARTITION_INTERVAL), true);
+        filter.setUpperBound(new IntLiteral(PARTITION_NUM * PARTITION_INTERVAL), true);
+        Assert.assertTrue(prune(filter).isEmpty());
+    }
+
+    @Test
+    public void testRange() throws AnalysisException {
+        // 100 <= k1 < 200
+        PartitionColumnFilter filter = new PartitionColumnFilter();
+        filter.setLowerBound(new IntLiteral(100), true);
+        filter.setUpperBound(new IntLiteral(200), false);
+        Collection<Long> result = prune(filter);
+        Assert.assertEquals(10, result.size());
+        for (long i = 10; i < 20; i++) {
+            Assert.assertTrue(result.contains(i));
+        }
+
+        // 109 < k1 <= 200
+        filter = new PartitionColumnFilter();
+        filter.setLowerBound(new IntLiteral(109), false);
+        filter.setUpperBound(new IntLiteral(200), true);
+        Assert.assertEquals(Sets.newHashSet(11L, 12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L),
+                Sets.newHashSet(prune(filter)));
+
+        // k1 >= 999990
+        filter = new PartitionColumnFilter();
+        filter.setLowerBound(new IntLiteral(999990), true);
+        Assert.assertEquals(Sets.newHashSet(99999L), Sets.newHashSet(prune(filter)));
+
+        // no filter
+        Assert.assertEquals(PARTITION_NUM, prune(null).size());
+    }
+
+    @Test
+    public void testIn() throws AnalysisException {
+        PartitionColumnFilter filter = new PartitionColumnFilter();
+        List<Expr> inList = Lists.newArrayList();
+        inList.add(new IntLiteral(999995));
+        inList.add(new IntLiteral(5));
+        inList.add(new IntLiteral(500000));
+        inList.add(new IntLiteral(12));
+        inList.add(new IntLiteral(3));
+        inList.add(new IntLiteral(2000000));
+        filter.setInPredicate(new InPredicate(new SlotRef(null, "k1"), inList, false));
+        Assert.assertEquals(Sets.newHashSet(0L, 1L, 50000L, 99999L), Sets.newHashSet(prune(filter)));
+    }
+
+    @Test
+    public void testIndexReset() throws AnalysisException {
+        RangePartitionIndex index = partitionInfo.getRangeIndex();
+        Assert.assertSame(index, partitionInfo.getRangeIndex());
+        Assert.assertEquals(PARTITION_NUM, index.size());
+
+        partitionInfo.dropPartition(0L);
+        Assert.assertNotSame(index, partitionInfo.getRangeIndex());
+        Assert.assertEquals(PARTITION_NUM - 1, partitionInfo.getRangeIndex().size());
+
+        PartitionColumnFilter filter = new PartitionColumnFilter();
+        filter.setLowerBound(new IntLiteral(5), true);
+        filter.setUpperBound(new IntLiteral(5), true);
+        Assert.assertTrue(prune(filter).isEmpty());
+    }
+
+    @Test
+    public void testIntersectedRanges() throws AnalysisException {
+        // formal and temp partitions may overlap when pruned together
+        Map<Long, Range<PartitionKey>> idToRange = Maps.newHashMap();
+        idToRange.put(1L, Range.closedOpen(createKey(0), createKey(100)));
+        idToRange.put(2L, Range.closedOpen(createKey(50), createKey(60)));
+        idToRange.put(3L, Range.closedOpen(createKey(100), createKey(200)));
+        RangePartitionIndex index = new RangePartitionIndex(idToRange);
+        Assert.assertEquals(Sets.newHashSet(1L, 2L),
+                Sets.newHashSet(index.getIntersectedIds(Range.closed(createKey(55), createKey(55)))));
+        Assert.assertEquals(Sets.newHashSet(1L, 3L),
+                Sets.newHashSet(index.getIntersectedIds(Range.closed(createKey(99), createKey(100)))));
+    }
+}
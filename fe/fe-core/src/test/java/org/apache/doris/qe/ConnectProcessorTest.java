@@ -19,6 +19,8 @@ package org.apache.doris.qe;
 
 import org.apache.doris.analysis.AccessTestUtil;
 import org.apache.doris.catalog.Catalog;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.ErrorCode;
 import org.apache.doris.common.jmockit.Deencapsulation;
 import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.mysql.MysqlChannel;
@@ -49,6 +51,7 @@ public class ConnectProcessorTest {
     private static ByteBuffer quitPacket;
     private static ByteBuffer queryPacket;
     private static ByteBuffer fieldListPacket;
+    private static ByteBuffer stmtPreparePacket;
     private static AuditEventBuilder auditBuilder = new AuditEventBuilder();
     private static ConnectContext myContext;
 
@@ -98,6 +101,14 @@ public class ConnectProcessorTest {
             fieldListPacket = serializer.toByteBuffer();
         }
 
+        // Prepare statement packet
+        {
+            MysqlSerializer serializer = MysqlSerializer.newInstance();
+            serializer.writeInt1(22);
+            serializer.writeEofString("select * from a where k1 = ?");
+            stmtPreparePacket = serializer.toByteBuffer();
+        }
+
         statistics.scan_bytes = 0L;
         statistics.scan_rows = 0L;
 
@@ -111,6 +122,7 @@ public class ConnectProcessorTest {
         quitPacket.clear();
         queryPacket.clear();
         fieldListPacket.clear();
+        stmtPreparePacket.clear();
         // Mock
         MysqlChannel channel = new MysqlChannel(socketChannel);
         new Expectations(channel) {
@@ -293,6 +305,22 @@ public class ConnectProcessorTest {
         Assert.assertFalse(myContext.isKilled());
     }
 
+    @Test
+    public void testStmtPrepareLimit() throws IOException {
+        ConnectContext ctx = initMockContext(mockChannel(stmtPreparePacket), AccessTestUtil.fetchAdminCatalog());
+        int maxPreparedStmtCount = Config.max_prepared_stmt_count;
+        Config.max_prepared_stmt_count = 0;
+        try {
+            ConnectProcessor processor = new ConnectProcessor(ctx);
+            processor.processOnce();
+        } finally {
+            Config.max_prepared_stmt_count = maxPreparedStmtCount;
+        }
+        Assert.assertEquals(MysqlCommand.COM_STMT_PREPARE, myContext.getCommand());
+        Assert.assertTrue(myContext.getState().toResponsePacket() instanceof MysqlErrPacket);
+        Assert.assertEquals(ErrorCode.ERR_MAX_PREPARED_STMT_COUNT_REACHED, myContext.getState().getErrorCode());
+    }
+
     @Test
     public void testQuery(@Mocked StmtExecutor executor) throws Exception {
         ConnectContext ctx = initMockContext(mockChannel(queryPacket), AccessTestUtil.fetchAdminCatalog());
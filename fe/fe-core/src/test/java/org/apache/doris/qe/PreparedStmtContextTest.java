@@ -0,0 +1,112 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.NullLiteral;
+import org.apache.doris.analysis.PlaceHolderExpr;
+import org.apache.doris.analysis.SelectStmt;
+import org.apache.doris.analysis.StringLiteral;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.mysql.MysqlColType;
+import org.apache.doris.mysql.MysqlSerializer;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class PreparedStmtContextTest {
+
+    @Test
+    public void testReadParams() throws AnalysisException {
+        PreparedStmtTemplate template = PreparedStmtTemplate.getOrCreate(
+                "select k1 from db1.tbl1 where k1 = ? and k2 = ? and k3 = ?", 0);
+        Assert.assertEquals(3, template.getParamNum());
+        PreparedStmtContext stmtContext = new PreparedStmtContext(1, template,
+                Lists.newArrayList(), Lists.newArrayList());
+
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        // the 3rd parameter is NULL
+        serializer.writeInt1(0x04);
+        // new params bound
+        serializer.writeInt1(1);
+        serializer.writeInt2(MysqlColType.MYSQL_TYPE_LONGLONG.getCode());
+        serializer.writeInt2(MysqlColType.MYSQL_TYPE_VARCHAR.getCode());
+        serializer.writeInt2(MysqlColType.MYSQL_TYPE_LONG.getCode());
+        serializer.writeInt8(-100L);
+        serializer.writeLenEncodedString("abc");
+        List<LiteralExpr> params = stmtContext.readParams(serializer.toByteBuffer());
+        Assert.assertEquals(3, params.size());
+        Assert.assertTrue(params.get(0) instanceof IntLiteral);
+        Assert.assertEquals(-100L, params.get(0).getLongValue());
+        Assert.assertTrue(params.get(1) instanceof StringLiteral);
+        Assert.assertEquals("abc", params.get(1).getStringValue());
+        Assert.assertTrue(params.get(2) instanceof NullLiteral);
+
+        // types of the last execution are used if not bound again
+        serializer = MysqlSerializer.newInstance();
+        serializer.writeInt1(0x00);
+        serializer.writeInt1(0);
+        serializer.writeInt8(7L);
+        serializer.writeLenEncodedString("def");
+        serializer.writeInt4(9);
+        params = stmtContext.readParams(serializer.toByteBuffer());
+        Assert.assertEquals(7L, params.get(0).getLongValue());
+        Assert.assertEquals("def", params.get(1).getStringValue());
+        Assert.assertEquals(9L, params.get(2).getLongValue());
+
+        // long data is used instead of the value in packet
+        stmtContext.appendLongData(1, "gh".getBytes());
+        stmtContext.appendLongData(1, "ij".getBytes());
+        serializer = MysqlSerializer.newInstance();
+        serializer.writeInt1(0x00);
+        serializer.writeInt1(0);
+        serializer.writeInt8(7L);
+        serializer.writeInt4(9);
+        params = stmtContext.readParams(serializer.toByteBuffer());
+        Assert.assertEquals("ghij", params.get(1).getStringValue());
+        Assert.assertEquals(9L, params.get(2).getLongValue());
+    }
+
+    @Test
+    public void testBind() throws AnalysisException {
+        PreparedStmtTemplate template = PreparedStmtTemplate.getOrCreate(
+                "select k1 from db1.tbl1 where k1 = ? and k2 = ?", 0);
+        SelectStmt stmt1 = (SelectStmt) template.bind(Lists.newArrayList(new IntLiteral(1), new StringLiteral("a")));
+        SelectStmt stmt2 = (SelectStmt) template.bind(Lists.newArrayList(new IntLiteral(2), new StringLiteral("b")));
+        Expr where1 = stmt1.getWhereClause();
+        Expr where2 = stmt2.getWhereClause();
+        Assert.assertEquals(1L, ((IntLiteral) where1.getChild(0).getChild(1)).getLongValue());
+        Assert.assertEquals("a", where1.getChild(1).getChild(1).getStringValue());
+        Assert.assertEquals(2L, ((IntLiteral) where2.getChild(0).getChild(1)).getLongValue());
+        Assert.assertEquals("b", where2.getChild(1).getChild(1).getStringValue());
+
+        // a placeholder cloned out of binding is still a placeholder
+        Assert.assertTrue(new PlaceHolderExpr(0).clone() instanceof PlaceHolderExpr);
+    }
+
+    @Test(expected = AnalysisException.class)
+    public void testPrepareNonQuery() throws AnalysisException {
+        PreparedStmtTemplate.getOrCreate("insert into db1.tbl1 values (?)", 0);
+    }
+}
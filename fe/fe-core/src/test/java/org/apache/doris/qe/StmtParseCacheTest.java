@@ -0,0 +1,90 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.SelectStmt;
+import org.apache.doris.analysis.SqlParser;
+import org.apache.doris.analysis.SqlScanner;
+import org.apache.doris.analysis.StatementBase;
+import org.apache.doris.common.util.SqlParserUtils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+
+public class StmtParseCacheTest {
+
+    private static SelectStmt parseDirectly(String sql) throws Exception {
+        SqlParser parser = new SqlParser(new SqlScanner(new StringReader(sql), 0L));
+        return (SelectStmt) SqlParserUtils.getFirstStmt(parser);
+    }
+
+    private static void assertSameWhereClause(String sql) throws Exception {
+        StatementBase stmt = StmtParseCache.parse(sql, 0L);
+        Assert.assertTrue(stmt instanceof SelectStmt);
+        Assert.assertEquals(parseDirectly(sql).getWhereClause().toSql(),
+                ((SelectStmt) stmt).getWhereClause().toSql());
+    }
+
+    @Test
+    public void testNormalize() {
+        StmtParseCache.NormalizedSql normalizedSql = StmtParseCache.normalize(
+                "select k1, 'a' as c from db1.tbl1 where k1 in (1, 2, 3) and k2 = \"x\" limit 10", 0L);
+        Assert.assertEquals("select k1, ? as c from db1.tbl1 where k1 in (?, ?, ?) and k2 = ? limit 10",
+                normalizedSql.sql);
+        Assert.assertEquals(5, normalizedSql.literals.size());
+
+        // negative literal, type length and alias are kept
+        normalizedSql = StmtParseCache.normalize(
+                "select cast(k1 as decimal(10, 2)) 'c1', k2 from tbl1 where k1 > -1.5 and k2 = 2.5", 0L);
+        Assert.assertEquals("select cast(k1 as decimal(10, 2)) 'c1', k2 from tbl1 where k1 > -1.5 and k2 = ?",
+                normalizedSql.sql);
+
+        // plan hints are kept
+        normalizedSql = StmtParseCache.normalize("select /*+ SET_VAR(query_timeout = 1) */ 1", 0L);
+        Assert.assertEquals("select /*+ SET_VAR(query_timeout = 1) */ ?", normalizedSql.sql);
+
+        Assert.assertNull(StmtParseCache.normalize("insert into tbl1 values (1)", 0L));
+        Assert.assertNull(StmtParseCache.normalize("select 1; select 2", 0L));
+        Assert.assertNull(StmtParseCache.normalize("select ?", 0L));
+        Assert.assertNotNull(StmtParseCache.normalize("select 1;", 0L));
+    }
+
+    @Test
+    public void testParse() throws Exception {
+        assertSameWhereClause("select k1 from db1.tbl1 where k1 in (1, 2, 3) and k2 = 'x'");
+        // same shape with different literals
+        assertSameWhereClause("select k1 from db1.tbl1 where k1 in (4, 5, 6) and k2 = 'y'");
+        assertSameWhereClause("select k1 from db1.tbl1 where k1 = 123456789012345678901234567890 or k3 = 1.5e3");
+        assertSameWhereClause("select case when k1 = 'a' then 1 when k1 = 'b' then 2 else 3 end "
+                + "from db1.tbl1 where k2 like 'a%' limit 1, 10");
+
+        // the template is shared, and not changed by binding
+        SelectStmt stmt1 = (SelectStmt) StmtParseCache.parse("select k1 from db1.tbl1 where k1 = 1", 0L);
+        SelectStmt stmt2 = (SelectStmt) StmtParseCache.parse("select k1 from db1.tbl1 where k1 = 2", 0L);
+        Assert.assertEquals(parseDirectly("select k1 from db1.tbl1 where k1 = 1").getWhereClause().toSql(),
+                stmt1.getWhereClause().toSql());
+        Assert.assertEquals(parseDirectly("select k1 from db1.tbl1 where k1 = 2").getWhereClause().toSql(),
+                stmt2.getWhereClause().toSql());
+
+        // not cacheable
+        Assert.assertNull(StmtParseCache.parse("select * from db1.tbl1 into outfile 'file:///tmp/a'", 0L));
+        Assert.assertNull(StmtParseCache.parse("show tables", 0L));
+    }
+}
@@ -0,0 +1,183 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.analysis.DateLiteral;
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.Config;
+import org.apache.doris.qe.RowBatch;
+import org.apache.doris.thrift.TResultBatch;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class PartitionRangeTest {
+
+    private PartitionRange buildRange(long begin, int count) {
+        PartitionRange range = new PartitionRange();
+        PartitionRange.PartitionKeyType key = new PartitionRange.PartitionKeyType();
+        Assert.assertTrue(key.init(Type.INT, new IntLiteral(begin)));
+        for (int i = 0; i < count; i++) {
+            range.getPartitionSingleList().add(
+                    new PartitionRange.PartitionSingle(new PartitionRange.PartitionKeyType(key)));
+            key.add(1);
+        }
+        return range;
+    }
+
+    @Test
+    public void testKeyType() {
+        PartitionRange.PartitionKeyType dateKey = new PartitionRange.PartitionKeyType();
+        Assert.assertTrue(dateKey.init(Type.DATE, new DateLiteral(2020, 2, 28)));
+        Assert.assertEquals(PartitionRange.KeyType.DATE, dateKey.getKeyType());
+        dateKey.add(1);
+        Assert.assertEquals(20200229L, dateKey.realValue());
+        dateKey.add(1);
+        Assert.assertEquals(20200301L, dateKey.realValue());
+        Assert.assertEquals("2020-03-01", dateKey.getStringValue());
+
+        PartitionRange.PartitionKeyType intDateKey = new PartitionRange.PartitionKeyType();
+        Assert.assertTrue(intDateKey.init(Type.INT, "20201231"));
+        Assert.assertEquals(PartitionRange.KeyType.INT_DATE, intDateKey.getKeyType());
+        intDateKey.add(1);
+        Assert.assertEquals(20210101L, intDateKey.realValue());
+
+        PartitionRange.PartitionKeyType longKey = new PartitionRange.PartitionKeyType();
+        Assert.assertTrue(longKey.init(Type.BIGINT, "99"));
+        Assert.assertEquals(PartitionRange.KeyType.LONG, longKey.getKeyType());
+        longKey.add(1);
+        Assert.assertEquals(100L, longKey.realValue());
+
+        Assert.assertFalse(new PartitionRange.PartitionKeyType().init(Type.VARCHAR, "abc"));
+        Assert.assertFalse(new PartitionRange.PartitionKeyType().init(Type.INT, "abc"));
+    }
+
+    @Test
+    public void testHitRange() {
+        PartitionRange range = buildRange(1, 5);
+        Assert.assertEquals(Cache.HitRange.None, range.buildDiskPartitionRange());
+        // keys without partition are not put into cache
+        Assert.assertTrue(range.buildUpdatePartitionRange().isEmpty());
+
+        range.setCacheFlag(1);
+        range.setCacheFlag(2);
+        Assert.assertEquals(Cache.HitRange.Left, range.buildDiskPartitionRange());
+        Assert.assertEquals(3L, range.getQueryBeginKey().realValue());
+        Assert.assertEquals(5L, range.getQueryEndKey().realValue());
+
+        range = buildRange(1, 5);
+        range.setCacheFlag(5);
+        Assert.assertEquals(Cache.HitRange.Right, range.buildDiskPartitionRange());
+        Assert.assertEquals(1L, range.getQueryBeginKey().realValue());
+        Assert.assertEquals(4L, range.getQueryEndKey().realValue());
+
+        range.setCacheFlag(1);
+        range.setCacheFlag(3);
+        Assert.assertEquals(Cache.HitRange.Middle, range.buildDiskPartitionRange());
+        Assert.assertEquals(2L, range.getQueryBeginKey().realValue());
+        Assert.assertEquals(4L, range.getQueryEndKey().realValue());
+
+        range.setCacheFlag(2);
+        range.setCacheFlag(4);
+        Assert.assertEquals(Cache.HitRange.Full, range.buildDiskPartitionRange());
+        Assert.assertNull(range.getQueryBeginKey());
+        Assert.assertTrue(range.buildUpdatePartitionRange().isEmpty());
+    }
+
+    @Test
+    public void testCompareToQueryRange() {
+        // keys 1, 3 and 5 are in cache, 2..4 is queried from BE
+        PartitionRange range = buildRange(1, 5);
+        range.setCacheFlag(1);
+        range.setCacheFlag(3);
+        range.setCacheFlag(5);
+        Assert.assertEquals(Cache.HitRange.Middle, range.buildDiskPartitionRange());
+        Assert.assertTrue(range.compareToQueryRange(1) < 0);
+        // the cached value of 3 is returned by BE again, should not be sent from cache
+        Assert.assertEquals(0, range.compareToQueryRange(3));
+        Assert.assertTrue(range.compareToQueryRange(5) > 0);
+
+        range = buildRange(1, 5);
+        range.setCacheFlag(1);
+        range.setCacheFlag(4);
+        Assert.assertEquals(Cache.HitRange.Left, range.buildDiskPartitionRange());
+        Assert.assertTrue(range.compareToQueryRange(1) < 0);
+        Assert.assertEquals(0, range.compareToQueryRange(4));
+    }
+
+    @Test
+    public void testGetColumnFromRow() {
+        byte[] first = "2020-01-01".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "12345".getBytes(StandardCharsets.UTF_8);
+        byte[] row = new byte[first.length + second.length + 3];
+        int pos = 0;
+        row[pos++] = (byte) first.length;
+        System.arraycopy(first, 0, row, pos, first.length);
+        pos += first.length;
+        // NULL column
+        row[pos++] = (byte) 0xfb;
+        row[pos++] = (byte) second.length;
+        System.arraycopy(second, 0, row, pos, second.length);
+
+        Assert.assertEquals("2020-01-01", RowBatchBuilder.getColumnFromRow(row, 0));
+        Assert.assertNull(RowBatchBuilder.getColumnFromRow(row, 1));
+        Assert.assertEquals("12345", RowBatchBuilder.getColumnFromRow(row, 2));
+        Assert.assertNull(RowBatchBuilder.getColumnFromRow(row, 3));
+    }
+
+    private RowBatch buildRowBatch(int rowNum, int rowSize) {
+        List<ByteBuffer> rows = Lists.newArrayList();
+        for (int i = 0; i < rowNum; i++) {
+            rows.add(ByteBuffer.wrap(new byte[rowSize]));
+        }
+        RowBatch rowBatch = new RowBatch();
+        rowBatch.setBatch(new TResultBatch(rows, false, 0));
+        return rowBatch;
+    }
+
+    @Test
+    public void testCopyRowDataLimit() {
+        int maxRowCount = Config.cache_result_max_row_count;
+        long maxDataSize = Config.cache_result_max_data_size;
+        try {
+            Config.cache_result_max_row_count = 10;
+            Config.cache_result_max_data_size = 1000;
+
+            RowBatchBuilder builder = new RowBatchBuilder(CacheAnalyzer.CacheMode.Sql);
+            builder.copyRowData(buildRowBatch(6, 10));
+            Assert.assertTrue(builder.isCacheable());
+            builder.copyRowData(buildRowBatch(6, 10));
+            Assert.assertFalse(builder.isCacheable());
+            Assert.assertEquals(12, builder.getRowSize());
+
+            builder = new RowBatchBuilder(CacheAnalyzer.CacheMode.Sql);
+            builder.copyRowData(buildRowBatch(2, 600));
+            Assert.assertFalse(builder.isCacheable());
+        } finally {
+            Config.cache_result_max_row_count = maxRowCount;
+            Config.cache_result_max_data_size = maxDataSize;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.ColumnStats;
+import org.apache.doris.catalog.PrimitiveType;
+import org.apache.doris.catalog.ScalarType;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class StatisticsManagerTest {
+    private final List<Column> columns = Lists.newArrayList(
+            new Column("k1", PrimitiveType.INT), new Column("v1", ScalarType.createVarchar(32)));
+
+    @Test
+    public void testBuildStatsSql() {
+        String sql = StatisticsManager.buildStatsSql("default_cluster:db1", "tbl1", columns);
+        Assert.assertEquals("SELECT count(*), ndv(`k1`), count(`k1`), ndv(`v1`), count(`v1`), "
+                + "max(length(`v1`)), avg(length(`v1`)) FROM `db1`.`tbl1`", sql);
+    }
+
+    @Test
+    public void testParseStats() {
+        Map<String, ColumnStats> columnStats = StatisticsManager.parseStats(columns,
+                Lists.newArrayList("100", "52", "90", "10", "100", "20", "7.5"));
+
+        ColumnStats k1Stats = columnStats.get("k1");
+        // the estimated ndv is limited by the not null count
+        Assert.assertEquals(52, k1Stats.getNumDistinctValues());
+        Assert.assertEquals(10, k1Stats.getNumNulls());
+        Assert.assertEquals(4, k1Stats.getMaxSize());
+
+        ColumnStats v1Stats = columnStats.get("v1");
+        Assert.assertEquals(10, v1Stats.getNumDistinctValues());
+        Assert.assertEquals(0, v1Stats.getNumNulls());
+        Assert.assertEquals(20, v1Stats.getMaxSize());
+        Assert.assertEquals(7.5, v1Stats.getAvgSerializedSize(), 0.001);
+    }
+
+    @Test
+    public void testParseStatsOfEmptyTable() {
+        Map<String, ColumnStats> columnStats = StatisticsManager.parseStats(columns,
+                Lists.newArrayList("0", "0", "0", "0", "0", null, null));
+        Assert.assertEquals(0, columnStats.get("k1").getNumDistinctValues());
+        Assert.assertEquals(0, columnStats.get("v1").getNumNulls());
+        Assert.assertEquals(0, columnStats.get("v1").getMaxSize());
+    }
+}
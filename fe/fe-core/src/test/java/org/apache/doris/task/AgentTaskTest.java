@@ -270,4 +270,54 @@ public class AgentTaskTest {
         Assert.assertEquals(1, AgentTaskQueue.getTaskNum(backendId1, TTaskType.DROP, true));
         Assert.assertEquals(2, AgentTaskQueue.getTaskNum(-1, TTaskType.DROP, true));
     }
+
+    @Test
+    public void removeTaskOfTypeTest() {
+        AgentTaskQueue.clearAllTasks();
+
+        // the signature of drop task is the tablet id
+        AgentTaskQueue.addTask(new DropReplicaTask(backendId1, tabletId1, schemaHash1));
+        AgentTaskQueue.addTask(new DropReplicaTask(backendId2, tabletId1, schemaHash1));
+        AgentTaskQueue.addTask(createReplicaTask);
+        Assert.assertEquals(3, AgentTaskQueue.getTaskNum());
+        Assert.assertEquals(2, AgentTaskQueue.getTask(TTaskType.DROP).size());
+
+        AgentTaskQueue.removeTaskOfType(TTaskType.DROP, tabletId1);
+        Assert.assertEquals(1, AgentTaskQueue.getTaskNum());
+        Assert.assertEquals(0, AgentTaskQueue.getTask(TTaskType.DROP).size());
+        Assert.assertEquals(1, AgentTaskQueue.getTask(TTaskType.CREATE).size());
+    }
+
+    @Test
+    public void concurrentAgentTaskQueueTest() throws InterruptedException {
+        AgentTaskQueue.clearAllTasks();
+        int threadNum = 8;
+        int taskNumPerThread = 1000;
+        List<Thread> threads = new LinkedList<>();
+        for (int i = 0; i < threadNum; i++) {
+            // threads of the same backend add and remove the same tasks concurrently
+            long backendId = i % 2;
+            threads.add(new Thread(() -> {
+                for (long tabletId = 0; tabletId < taskNumPerThread; tabletId++) {
+                    AgentTaskQueue.addTask(new DropReplicaTask(backendId, tabletId, schemaHash1));
+                }
+                for (long tabletId = 0; tabletId < taskNumPerThread; tabletId += 2) {
+                    AgentTaskQueue.removeTask(backendId, TTaskType.DROP, tabletId);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(taskNumPerThread, AgentTaskQueue.getTaskNum());
+        Assert.assertEquals(taskNumPerThread / 2, AgentTaskQueue.getTaskNum(0, TTaskType.DROP, false));
+        Assert.assertEquals(taskNumPerThread, AgentTaskQueue.getTaskNum(-1, TTaskType.DROP, false));
+        List<AgentTask> diffTasks = AgentTaskQueue.getDiffTasks(1, new HashMap<>());
+        Assert.assertEquals(taskNumPerThread / 2, diffTasks.size());
+        AgentTaskQueue.clearAllTasks();
+    }
 }
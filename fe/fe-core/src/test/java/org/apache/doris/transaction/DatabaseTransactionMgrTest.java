@@ -19,10 +19,14 @@ package org.apache.doris.transaction;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.apache.doris.catalog.Catalog;
 import org.apache.doris.catalog.CatalogTestUtil;
+import org.apache.doris.catalog.Database;
 import org.apache.doris.catalog.FakeCatalog;
 import org.apache.doris.catalog.FakeEditLog;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
 import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.FeMetaVersion;
@@ -37,8 +41,11 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
@@ -157,6 +164,68 @@ public class DatabaseTransactionMgrTest {
 
     }
 
+    @Test
+    public void testGroupCommitAndFinishTransactions() throws Exception {
+        FakeCatalog.setCatalog(masterCatalog);
+        DatabaseTransactionMgr masterDbTransMgr = masterTransMgr.getDatabaseTransactionMgr(CatalogTestUtil.testDbId1);
+        Database db = masterCatalog.getDb(CatalogTestUtil.testDbId1);
+        Partition partition = ((OlapTable) db.getTable(CatalogTestUtil.testTableId1))
+                .getPartition(CatalogTestUtil.testPartition1);
+        long visibleVersion = partition.getVisibleVersion();
+
+        List<TabletCommitInfo> transTablets = Lists.newArrayList();
+        transTablets.add(new TabletCommitInfo(CatalogTestUtil.testTabletId1, CatalogTestUtil.testBackendId1));
+        transTablets.add(new TabletCommitInfo(CatalogTestUtil.testTabletId1, CatalogTestUtil.testBackendId2));
+        transTablets.add(new TabletCommitInfo(CatalogTestUtil.testTabletId1, CatalogTestUtil.testBackendId3));
+        long txnId3 = lableToTxnId.get(CatalogTestUtil.testTxnLable3);
+        long txnId4 = lableToTxnId.get(CatalogTestUtil.testTxnLable4);
+
+        // commit two transactions concurrently
+        List<Long> txnIds = Lists.newArrayList(txnId3, txnId4);
+        List<Throwable> errors = Collections.synchronizedList(Lists.newArrayList());
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> threads = Lists.newArrayList();
+        for (long txnId : txnIds) {
+            Thread thread = new Thread(() -> {
+                try {
+                    startLatch.await();
+                    masterDbTransMgr.groupCommitTransaction(db, txnId, transTablets, null, 10000);
+                } catch (Throwable t) {
+                    errors.add(t);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(errors.isEmpty());
+        TransactionState transactionState3 = masterDbTransMgr.getTransactionState(txnId3);
+        TransactionState transactionState4 = masterDbTransMgr.getTransactionState(txnId4);
+        assertEquals(TransactionStatus.COMMITTED, transactionState3.getTransactionStatus());
+        assertEquals(TransactionStatus.COMMITTED, transactionState4.getTransactionStatus());
+        // the transactions in one group get continuous versions of the partition
+        long version3 = transactionState3.getTableCommitInfo(CatalogTestUtil.testTableId1)
+                .getPartitionCommitInfo(CatalogTestUtil.testPartitionId1).getVersion();
+        long version4 = transactionState4.getTableCommitInfo(CatalogTestUtil.testTableId1)
+                .getPartitionCommitInfo(CatalogTestUtil.testPartitionId1).getVersion();
+        assertEquals(1, Math.abs(version3 - version4));
+        assertEquals(visibleVersion + 3, partition.getNextVersion());
+
+        // finish both transactions in one batch, in order of version
+        Map<Long, Set<Long>> txnIdToErrorReplicaIds = Maps.newLinkedHashMap();
+        txnIdToErrorReplicaIds.put(version3 < version4 ? txnId3 : txnId4, Sets.newHashSet());
+        txnIdToErrorReplicaIds.put(version3 < version4 ? txnId4 : txnId3, Sets.newHashSet());
+        masterDbTransMgr.finishTransactions(txnIdToErrorReplicaIds);
+        assertEquals(TransactionStatus.VISIBLE, transactionState3.getTransactionStatus());
+        assertEquals(TransactionStatus.VISIBLE, transactionState4.getTransactionStatus());
+        assertEquals(visibleVersion + 2, partition.getVisibleVersion());
+        assertEquals(3, masterDbTransMgr.getFinishedTxnNums());
+        assertEquals(TransactionStatus.VISIBLE, fakeEditLog.getTransaction(txnId3).getTransactionStatus());
+        assertEquals(TransactionStatus.VISIBLE, fakeEditLog.getTransaction(txnId4).getTransactionStatus());
+    }
 
     @Test
     public void testAbortTransaction() throws UserException {
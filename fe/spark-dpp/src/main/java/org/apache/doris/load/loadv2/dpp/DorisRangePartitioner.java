@@ -21,19 +21,29 @@ import org.apache.doris.load.loadv2.etl.EtlJobConfig;
 import org.apache.spark.Partitioner;
 
 import java.io.Serializable;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.IntStream;
 
 public class DorisRangePartitioner extends Partitioner {
     private static final String UNPARTITIONED_TYPE = "UNPARTITIONED";
     private EtlJobConfig.EtlPartitionInfo partitionInfo;
     private List<PartitionRangeKey> partitionRangeKeys;
     List<Integer> partitionKeyIndexes;
+    // indexes of partitionRangeKeys sorted by start keys, for binary search
+    private int[] sortedRangeIndexes;
+
     public DorisRangePartitioner(EtlJobConfig.EtlPartitionInfo partitionInfo,
                                  List<Integer> partitionKeyIndexes,
                                  List<PartitionRangeKey> partitionRangeKeys) {
         this.partitionInfo = partitionInfo;
         this.partitionKeyIndexes = partitionKeyIndexes;
         this.partitionRangeKeys = partitionRangeKeys;
+        if (partitionRangeKeys != null) {
+            this.sortedRangeIndexes = IntStream.range(0, partitionRangeKeys.size()).boxed()
+                    .sorted(Comparator.comparing(i -> partitionRangeKeys.get(i).startKeys))
+                    .mapToInt(Integer::intValue).toArray();
+        }
     }
 
     public int numPartitions() {
@@ -54,12 +64,32 @@ public class DorisRangePartitioner extends Partitioner {
         DppColumns key = (DppColumns)var1;
         // get the partition columns from key as partition key
         DppColumns partitionKey = new DppColumns(key, partitionKeyIndexes);
-        // TODO: optimize this by use binary search
-        for (int i = 0; i < partitionRangeKeys.size(); ++i) {
-            if (partitionRangeKeys.get(i).isRowContained(partitionKey)) {
-                return i;
+        return getPartitionByPartitionKey(partitionKey);
+    }
+
+    // return the index of partition which contains the partition key, or -1 if not found
+    public int getPartitionByPartitionKey(DppColumns partitionKey) {
+        if (partitionInfo.partitionType != null
+                && partitionInfo.partitionType.equalsIgnoreCase(UNPARTITIONED_TYPE)) {
+            return 0;
+        }
+        // ranges of partitions do not intersect, so only the last range whose start key
+        // is not greater than the partition key may contain it.
+        int low = 0;
+        int high = sortedRangeIndexes.length - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (partitionRangeKeys.get(sortedRangeIndexes[mid]).startKeys.compareTo(partitionKey) <= 0) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
             }
         }
+        if (candidate >= 0 && partitionRangeKeys.get(sortedRangeIndexes[candidate]).isRowContained(partitionKey)) {
+            return sortedRangeIndexes[candidate];
+        }
         return -1;
     }
 
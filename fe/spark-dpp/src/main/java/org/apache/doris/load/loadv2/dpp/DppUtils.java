@@ -198,6 +198,30 @@ public class DppUtils {
         return hashValue.getValue();
     }
 
+    // same as getHashValue(row, distributeColumns, dstTableSchema), but the positions and types of
+    // distribute columns are resolved in advance instead of for each row.
+    public static long getHashValue(Row row, int[] distributeColumnIndexes, DataType[] distributeColumnTypes) {
+        CRC32 hashValue = new CRC32();
+        for (int i = 0; i < distributeColumnIndexes.length; i++) {
+            ByteBuffer buffer = getHashValue(row.get(distributeColumnIndexes[i]), distributeColumnTypes[i]);
+            hashValue.update(buffer.array(), 0, buffer.limit());
+        }
+        return hashValue.getValue();
+    }
+
+    // bucket key is composed of the index of partition in partition info (high 32 bits) and the bucket id
+    public static long encodeBucketKey(int partitionIndex, int bucketId) {
+        return ((long) partitionIndex << 32) | (bucketId & 0xffffffffL);
+    }
+
+    public static int getPartitionIndexFromBucketKey(long bucketKey) {
+        return (int) (bucketKey >>> 32);
+    }
+
+    public static int getBucketIdFromBucketKey(long bucketKey) {
+        return (int) bucketKey;
+    }
+
     public static StructType createDstTableSchema(List<EtlJobConfig.EtlColumn> columns, boolean addBucketIdColumn, boolean regardDistinctColumnAsBinary) {
         List<StructField> fields = new ArrayList<>();
         if (addBucketIdColumn) {
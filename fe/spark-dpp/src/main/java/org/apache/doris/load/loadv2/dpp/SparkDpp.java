@@ -35,7 +35,6 @@ import org.apache.log4j.Logger;
 import org.apache.parquet.column.ParquetProperties;
 import org.apache.parquet.hadoop.ParquetWriter;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
-import org.apache.spark.Partitioner;
 import org.apache.spark.TaskContext;
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
@@ -50,6 +49,7 @@ import org.apache.spark.sql.catalyst.encoders.ExpressionEncoder;
 import org.apache.spark.sql.catalyst.encoders.RowEncoder;
 import org.apache.spark.sql.execution.datasources.parquet.ParquetWriteSupport;
 import org.apache.spark.sql.functions;
+import org.apache.spark.sql.types.DataType;
 import org.apache.spark.sql.types.DataTypes;
 import org.apache.spark.sql.types.StructField;
 import org.apache.spark.sql.types.StructType;
@@ -62,6 +62,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -98,7 +99,6 @@ public final class SparkDpp implements java.io.Serializable {
     private LongAccumulator scannedRowsAcc = null;
     private LongAccumulator fileNumberAcc = null;
     private LongAccumulator fileSizeAcc = null;
-    private Map<String, Integer> bucketKeyMap = new HashMap<>();
     // accumulator to collect invalid rows
     private StringAccumulator invalidRows = new StringAccumulator();
     // save the hadoop configuration from spark session.
@@ -177,19 +177,21 @@ public final class SparkDpp implements java.io.Serializable {
     private void writeRepartitionAndSortedRDDToParquet(JavaPairRDD<List<Object>, Object[]> resultRDD,
                                                             String pathPattern,
                                                              long tableId,
+                                                             EtlJobConfig.EtlPartitionInfo partitionInfo,
                                                              EtlJobConfig.EtlIndex indexMeta,
                                                              SparkRDDAggregator[] sparkRDDAggregators) throws SparkDppException {
         StructType dstSchema = DppUtils.createDstTableSchema(indexMeta.columns, false, true);
         ExpressionEncoder encoder = RowEncoder.apply(dstSchema);
+        List<EtlJobConfig.EtlPartition> partitions = partitionInfo.partitions;
 
-        resultRDD.repartitionAndSortWithinPartitions(new BucketPartitioner(bucketKeyMap), new BucketComparator())
+        resultRDD.repartitionAndSortWithinPartitions(new BucketPartitioner(partitions), new BucketComparator())
         .foreachPartition(new VoidFunction<Iterator<Tuple2<List<Object>,Object[]>>>() {
             @Override
             public void call(Iterator<Tuple2<List<Object>, Object[]>> t) throws Exception {
                 // write the data to dst file
                 Configuration conf = new Configuration(serializableHadoopConf.value());
                 FileSystem fs = FileSystem.get(URI.create(etlJobConfig.outputPath), conf);
-                String lastBucketKey = null;
+                Long lastBucketKey = null;
                 ParquetWriter<InternalRow> parquetWriter = null;
                 TaskContext taskContext = TaskContext.get();
                 long taskAttemptId = taskContext.taskAttemptId();
@@ -206,7 +208,7 @@ public final class SparkDpp implements java.io.Serializable {
                     }
 
 
-                    String curBucketKey = keyColumns.get(0).toString();
+                    Long curBucketKey = (Long) keyColumns.get(0);
                     List<Object> columnObjects = new ArrayList<>();
                     for (int i = 1; i < keyColumns.size(); ++i) {
                         columnObjects.add(keyColumns.get(i));
@@ -229,13 +231,8 @@ public final class SparkDpp implements java.io.Serializable {
                             }
                         }
                         // flush current writer and create a new writer
-                        String[] bucketKey = curBucketKey.split("_");
-                        if (bucketKey.length != 2) {
-                            LOG.warn("invalid bucket key:" + curBucketKey);
-                            continue;
-                        }
-                        int partitionId = Integer.parseInt(bucketKey[0]);
-                        int bucketId = Integer.parseInt(bucketKey[1]);
+                        long partitionId = partitions.get(DppUtils.getPartitionIndexFromBucketKey(curBucketKey)).partitionId;
+                        int bucketId = DppUtils.getBucketIdFromBucketKey(curBucketKey);
                         dstPath = String.format(pathPattern, tableId, partitionId, indexMeta.indexId,
                                 bucketId, indexMeta.schemaHash);
                         tmpPath = dstPath + "." + taskAttemptId;
@@ -274,7 +271,8 @@ public final class SparkDpp implements java.io.Serializable {
     // TODO(wb) one shuffle to calculate the rollup in the same level
     private void processRollupTree(RollupTreeNode rootNode,
                                    JavaPairRDD<List<Object>, Object[]> rootRDD,
-                                   long tableId, EtlJobConfig.EtlIndex baseIndex) throws SparkDppException {
+                                   long tableId, EtlJobConfig.EtlPartitionInfo partitionInfo,
+                                   EtlJobConfig.EtlIndex baseIndex) throws SparkDppException {
         Queue<RollupTreeNode> nodeQueue = new LinkedList<>();
         nodeQueue.offer(rootNode);
         int currentLevel = 0;
@@ -321,7 +319,8 @@ public final class SparkDpp implements java.io.Serializable {
                 curRDD.persist(StorageLevel.MEMORY_AND_DISK());
             }
             // repartition and write to hdfs
-            writeRepartitionAndSortedRDDToParquet(curRDD, pathPattern, tableId, curNode.indexMeta, sparkRDDAggregators);
+            writeRepartitionAndSortedRDDToParquet(curRDD, pathPattern, tableId, partitionInfo, curNode.indexMeta,
+                    sparkRDDAggregators);
         }
     }
 
@@ -358,7 +357,7 @@ public final class SparkDpp implements java.io.Serializable {
         return Pair.of(keyMap.toArray(new Integer[keyMap.size()]), valueMap.toArray(new Integer[valueMap.size()]));
     }
 
-    // repartition dataframe by partitionid_bucketid
+    // repartition dataframe by partition index and bucket id
     // so data in the same bucket will be consecutive.
     private JavaPairRDD<List<Object>, Object[]> fillTupleWithPartitionColumn(SparkSession spark, Dataset<Row> dataframe,
                                                         EtlJobConfig.EtlPartitionInfo partitionInfo,
@@ -371,7 +370,7 @@ public final class SparkDpp implements java.io.Serializable {
                                                         EtlJobConfig.EtlIndex baseIndex,
                                                         List<Long> validPartitionIds) throws SparkDppException {
         List<String> distributeColumns = partitionInfo.distributionColumnRefs;
-        Partitioner partitioner = new DorisRangePartitioner(partitionInfo, partitionKeyIndex, partitionRangeKeys);
+        DorisRangePartitioner partitioner = new DorisRangePartitioner(partitionInfo, partitionKeyIndex, partitionRangeKeys);
         Set<Integer> validPartitionIndex = new HashSet<>();
         if (validPartitionIds == null) {
             for (int i = 0; i < partitionInfo.partitions.size(); ++i) {
@@ -384,25 +383,41 @@ public final class SparkDpp implements java.io.Serializable {
                 }
             }
         }
+        // resolve the positions of columns once instead of for each row
+        StructType srcSchema = dataframe.schema();
+        int[] keyColumnIndexes = new int[keyColumnNames.size()];
+        for (int i = 0; i < keyColumnNames.size(); i++) {
+            keyColumnIndexes[i] = srcSchema.fieldIndex(keyColumnNames.get(i));
+        }
+        int[] valueColumnIndexes = new int[valueColumnNames.size()];
+        for (int i = 0; i < valueColumnNames.size(); i++) {
+            valueColumnIndexes[i] = srcSchema.fieldIndex(valueColumnNames.get(i));
+        }
+        int[] distributeColumnIndexes = new int[distributeColumns.size()];
+        DataType[] distributeColumnTypes = new DataType[distributeColumns.size()];
+        for (int i = 0; i < distributeColumns.size(); i++) {
+            distributeColumnIndexes[i] = srcSchema.fieldIndex(distributeColumns.get(i));
+            distributeColumnTypes[i] = dstTableSchema.apply(distributeColumns.get(i)).dataType();
+        }
+        int[] partitionColumnIndexes = new int[partitionKeyIndex.size()];
+        for (int i = 0; i < partitionKeyIndex.size(); i++) {
+            partitionColumnIndexes[i] = keyColumnIndexes[partitionKeyIndex.get(i)];
+        }
+        int[] bucketNums = new int[partitionInfo.partitions.size()];
+        for (int i = 0; i < partitionInfo.partitions.size(); i++) {
+            bucketNums[i] = partitionInfo.partitions.get(i).bucketNum;
+        }
+
         // use PairFlatMapFunction instead of PairMapFunction because the there will be
         // 0 or 1 output row for 1 input row
         JavaPairRDD<List<Object>, Object[]> resultPairRDD = dataframe.toJavaRDD().flatMapToPair(new PairFlatMapFunction<Row, List<Object>, Object[]>() {
             @Override
             public Iterator<Tuple2<List<Object>, Object[]>> call(Row row) throws Exception {
-                List<Object> keyColumns = new ArrayList<>();
-                Object[] valueColumns = new Object[valueColumnNames.size()];
-                for (String columnName : keyColumnNames) {
-                    Object columnObject = row.get(row.fieldIndex(columnName));
-                    keyColumns.add(columnObject);
-                }
-
-                for (int i = 0; i < valueColumnNames.size(); i++) {
-                    valueColumns[i] = row.get(row.fieldIndex(valueColumnNames.get(i)));
+                List<Object> partitionKeyColumns = new ArrayList<>(partitionColumnIndexes.length);
+                for (int index : partitionColumnIndexes) {
+                    partitionKeyColumns.add(row.get(index));
                 }
-
-                DppColumns key = new DppColumns(keyColumns);
-                int pid = partitioner.getPartition(key);
-                List<Tuple2<List<Object>, Object[]>> result = new ArrayList<>();
+                int pid = partitioner.getPartitionByPartitionKey(new DppColumns(partitionKeyColumns));
                 if (!validPartitionIndex.contains(pid)) {
                     LOG.warn("invalid partition for row:" + row + ", pid:" + pid);
                     abnormalRowAcc.add(1);
@@ -412,33 +427,24 @@ public final class SparkDpp implements java.io.Serializable {
                         invalidRows.add(row.toString());
                         LOG.info("invalid rows contents:" + invalidRows.value());
                     }
-                } else {
-                    long hashValue = DppUtils.getHashValue(row, distributeColumns, dstTableSchema);
-                    int bucketId = (int) ((hashValue & 0xffffffff) % partitionInfo.partitions.get(pid).bucketNum);
-                    long partitionId = partitionInfo.partitions.get(pid).partitionId;
-                    // bucketKey is partitionId_bucketId
-                    String bucketKey = partitionId + "_" + bucketId;
-
-                    List<Object> tuple = new ArrayList<>();
-                    tuple.add(bucketKey);
-                    tuple.addAll(keyColumns);
-                    result.add(new Tuple2<>(tuple, valueColumns));
+                    return Collections.emptyIterator();
                 }
-                return result.iterator();
-            }
-        });
 
-        // use bucket number as the parallel number
-        int reduceNum = 0;
-        for (EtlJobConfig.EtlPartition partition : partitionInfo.partitions) {
-            for (int i = 0; i < partition.bucketNum; i++) {
-                bucketKeyMap.put(partition.partitionId + "_" + i, reduceNum);
-                reduceNum++;
+                long hashValue = DppUtils.getHashValue(row, distributeColumnIndexes, distributeColumnTypes);
+                int bucketId = (int) ((hashValue & 0xffffffff) % bucketNums[pid]);
+                // the first key column is the bucket key, composed of partition index and bucket id
+                List<Object> tuple = new ArrayList<>(keyColumnIndexes.length + 1);
+                tuple.add(DppUtils.encodeBucketKey(pid, bucketId));
+                for (int index : keyColumnIndexes) {
+                    tuple.add(row.get(index));
+                }
+                Object[] valueColumns = new Object[valueColumnIndexes.length];
+                for (int i = 0; i < valueColumnIndexes.length; i++) {
+                    valueColumns[i] = row.get(valueColumnIndexes[i]);
+                }
+                return Collections.singletonList(new Tuple2<>(tuple, valueColumns)).iterator();
             }
-        }
-
-        // print to system.out for easy to find log info
-        System.out.println("print bucket key map:" + bucketKeyMap.toString());
+        });
 
         return resultPairRDD;
     }
@@ -850,7 +856,7 @@ public final class SparkDpp implements java.io.Serializable {
                         tablePairRDD.union(ret);
                     }
                 }
-                processRollupTree(rootNode, tablePairRDD, tableId, baseIndex);
+                processRollupTree(rootNode, tablePairRDD, tableId, partitionInfo, baseIndex);
             }
             spark.stop();
         } catch (Exception exception) {
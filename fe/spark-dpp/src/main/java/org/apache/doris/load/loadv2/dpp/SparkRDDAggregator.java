@@ -542,20 +542,29 @@ class BucketComparator implements Comparator<List<Object>>, Serializable {
 
 class BucketPartitioner extends Partitioner {
 
-    private Map<String, Integer> bucketKeyMap;
+    // index of reduce partition of the first bucket of each doris partition
+    private int[] bucketOffsets;
+    private int bucketNum;
 
-    public BucketPartitioner(Map<String, Integer> bucketKeyMap) {
-        this.bucketKeyMap = bucketKeyMap;
+    public BucketPartitioner(List<EtlJobConfig.EtlPartition> partitions) {
+        bucketOffsets = new int[partitions.size()];
+        bucketNum = 0;
+        for (int i = 0; i < partitions.size(); i++) {
+            bucketOffsets[i] = bucketNum;
+            bucketNum += partitions.get(i).bucketNum;
+        }
     }
 
     @Override
     public int numPartitions() {
-        return bucketKeyMap.size();
+        return bucketNum;
     }
 
     @Override
     public int getPartition(Object key) {
         List<Object> rddKey = (List<Object>) key;
-        return bucketKeyMap.get(String.valueOf(rddKey.get(0)));
+        long bucketKey = (Long) rddKey.get(0);
+        return bucketOffsets[DppUtils.getPartitionIndexFromBucketKey(bucketKey)]
+                + DppUtils.getBucketIdFromBucketKey(bucketKey);
     }
-}
\ No newline at end of file
+}
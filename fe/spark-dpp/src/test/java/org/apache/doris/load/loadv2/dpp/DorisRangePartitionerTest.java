@@ -118,6 +118,48 @@ public class DorisRangePartitionerTest {
         Assert.assertEquals(-1, id5);
     }
 
+    @Test
+    public void testUnsortedPartitions() {
+        // partitions: [200, 300), [0, 100), [300, MAX), [100, 200)
+        int[] starts = {200, 0, 300, 100};
+        List<EtlJobConfig.EtlPartition> partitions = new ArrayList<>();
+        List<DorisRangePartitioner.PartitionRangeKey> partitionRangeKeys = new ArrayList<>();
+        for (int i = 0; i < starts.length; i++) {
+            List<Object> startKeys = new ArrayList<>();
+            startKeys.add(starts[i]);
+            List<Object> endKeys = new ArrayList<>();
+            boolean isMaxPartition = starts[i] == 300;
+            if (!isMaxPartition) {
+                endKeys.add(starts[i] + 100);
+            }
+            partitions.add(new EtlJobConfig.EtlPartition(10000 + i, startKeys, endKeys, isMaxPartition, 3));
+
+            DorisRangePartitioner.PartitionRangeKey partitionRangeKey = new DorisRangePartitioner.PartitionRangeKey();
+            partitionRangeKey.isMaxPartition = isMaxPartition;
+            partitionRangeKey.startKeys = new DppColumns(startKeys);
+            partitionRangeKey.endKeys = isMaxPartition ? null : new DppColumns(endKeys);
+            partitionRangeKeys.add(partitionRangeKey);
+        }
+        List<String> partitionColumns = new ArrayList<>();
+        partitionColumns.add("id");
+        List<String> bucketColumns = new ArrayList<>();
+        bucketColumns.add("key");
+        EtlJobConfig.EtlPartitionInfo partitionInfo = new EtlJobConfig.EtlPartitionInfo(
+                "RANGE", partitionColumns, bucketColumns, partitions);
+        List<Integer> partitionKeyIndexes = new ArrayList<>();
+        partitionKeyIndexes.add(0);
+        DorisRangePartitioner rangePartitioner = new DorisRangePartitioner(partitionInfo, partitionKeyIndexes, partitionRangeKeys);
+
+        int[] values = {-1, 0, 99, 100, 199, 200, 299, 300, 100000};
+        int[] expected = {-1, 1, 1, 3, 3, 0, 0, 2, 2};
+        for (int i = 0; i < values.length; i++) {
+            List<Object> fields = new ArrayList<>();
+            fields.add(values[i]);
+            fields.add("name");
+            Assert.assertEquals(expected[i], rangePartitioner.getPartition(new DppColumns(fields)));
+        }
+    }
+
     @Test
     public void testUnpartitionedPartitioner() {
         List<String> partitionColumns = new ArrayList<>();
@@ -241,4 +241,18 @@ public class DppUtilsTest {
             Assert.assertTrue(false);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBucketKey() {
+        long bucketKey = DppUtils.encodeBucketKey(3, 15);
+        Assert.assertEquals(3, DppUtils.getPartitionIndexFromBucketKey(bucketKey));
+        Assert.assertEquals(15, DppUtils.getBucketIdFromBucketKey(bucketKey));
+
+        bucketKey = DppUtils.encodeBucketKey(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        Assert.assertEquals(Integer.MAX_VALUE, DppUtils.getPartitionIndexFromBucketKey(bucketKey));
+        Assert.assertEquals(Integer.MAX_VALUE, DppUtils.getBucketIdFromBucketKey(bucketKey));
+
+        // keys of the same partition are consecutive in order
+        Assert.assertTrue(DppUtils.encodeBucketKey(0, 100) < DppUtils.encodeBucketKey(1, 0));
+    }
+}
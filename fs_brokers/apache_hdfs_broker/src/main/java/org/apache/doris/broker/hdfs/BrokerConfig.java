@@ -25,9 +25,22 @@ public class BrokerConfig extends ConfigBase {
     @ConfField
     public static int hdfs_read_buffer_size_kb = 1024;
     
+    // reads smaller than it fetch this size from hdfs, and the following reads in the range are served from memory.
+    // 0 means disabled.
+    @ConfField
+    public static int hdfs_read_ahead_size_kb = 0;
+    
     @ConfField
     public static int hdfs_write_buffer_size_kb = 1024;
     
+    // pwrite returns once the data is queued, and the queued data is written to hdfs by the write behind threads.
+    // it is the max size of queued data of one file, 0 means pwrite writes to hdfs directly.
+    @ConfField
+    public static int hdfs_write_behind_size_kb = 8192;
+    
+    @ConfField
+    public static int hdfs_write_behind_thread_num = 16;
+    
     @ConfField
     public static int client_expire_seconds = 300;
     
@@ -0,0 +1,143 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.broker.hdfs;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.log4j.Logger;
+
+/**
+ * An opened file for read.
+ * Data is read by the positional read of hdfs, so the reads of one file do not block each other.
+ * If read ahead is enabled, a read smaller than the read ahead size fetches the read ahead size from its offset,
+ * and the following reads in that range, such as the adjacent column chunks of parquet, are served from memory.
+ */
+public class BrokerInputStream {
+
+    private static Logger logger = Logger.getLogger(BrokerInputStream.class.getName());
+
+    private final FSDataInputStream inputStream;
+    private final BrokerFileSystem brokerFileSystem;
+    private final int readAheadSize;
+
+    // the data read ahead, guarded by itself
+    private final byte[] readAheadBuf;
+    private long readAheadOffset = -1;
+    private int readAheadLength = 0;
+
+    private final long openTimestamp = System.currentTimeMillis();
+    private final AtomicLong readCount = new AtomicLong(0);
+    private final AtomicLong readBytes = new AtomicLong(0);
+    private final AtomicLong readNanos = new AtomicLong(0);
+    private final AtomicLong maxReadNanos = new AtomicLong(0);
+    private final AtomicLong readAheadHitCount = new AtomicLong(0);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    public BrokerInputStream(FSDataInputStream inputStream, BrokerFileSystem brokerFileSystem) {
+        this.inputStream = inputStream;
+        this.brokerFileSystem = brokerFileSystem;
+        this.brokerFileSystem.updateLastUpdateAccessTime();
+        this.readAheadSize = BrokerConfig.hdfs_read_ahead_size_kb << 10;
+        this.readAheadBuf = readAheadSize > 0 ? new byte[readAheadSize] : null;
+    }
+
+    public FSDataInputStream getInputStream() {
+        this.brokerFileSystem.updateLastUpdateAccessTime();
+        return inputStream;
+    }
+
+    public void updateLastUpdateAccessTime() {
+        this.brokerFileSystem.updateLastUpdateAccessTime();
+    }
+
+    /**
+     * Read at most length bytes from offset into buf.
+     *
+     * @return the number of bytes read, which is less than length only if the end of file is reached
+     */
+    public int pread(long offset, byte[] buf, int length) throws IOException {
+        brokerFileSystem.updateLastUpdateAccessTime();
+        long startNanos = System.nanoTime();
+        int readLength;
+        if (length < readAheadSize) {
+            readLength = readWithReadAhead(offset, buf, length);
+        } else {
+            readLength = readFully(offset, buf, 0, length);
+        }
+        long costNanos = System.nanoTime() - startNanos;
+        readCount.incrementAndGet();
+        readBytes.addAndGet(readLength);
+        readNanos.addAndGet(costNanos);
+        long maxNanos = maxReadNanos.get();
+        while (costNanos > maxNanos && !maxReadNanos.compareAndSet(maxNanos, costNanos)) {
+            maxNanos = maxReadNanos.get();
+        }
+        return readLength;
+    }
+
+    private int readWithReadAhead(long offset, byte[] buf, int length) throws IOException {
+        synchronized (readAheadBuf) {
+            long readAheadEnd = readAheadOffset + readAheadLength;
+            // the read ahead range is shorter than read ahead size only if it reaches the end of file
+            boolean hit = readAheadOffset >= 0 && offset >= readAheadOffset
+                    && (offset + length <= readAheadEnd || (readAheadLength < readAheadSize && offset <= readAheadEnd));
+            if (!hit) {
+                readAheadOffset = -1;
+                readAheadLength = readFully(offset, readAheadBuf, 0, readAheadSize);
+                readAheadOffset = offset;
+                readAheadEnd = offset + readAheadLength;
+            } else {
+                readAheadHitCount.incrementAndGet();
+            }
+            int readLength = (int) Math.min(length, readAheadEnd - offset);
+            System.arraycopy(readAheadBuf, (int) (offset - readAheadOffset), buf, 0, readLength);
+            return readLength;
+        }
+    }
+
+    private int readFully(long offset, byte[] buf, int bufOffset, int length) throws IOException {
+        int result = 0;
+        while (result < length) {
+            int n = inputStream.read(offset + result, buf, bufOffset + result, length - result);
+            if (n <= 0) {
+                break;
+            }
+            result += n;
+        }
+        return result;
+    }
+
+    public void close() throws IOException {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        long count = readCount.get();
+        long bytes = readBytes.get();
+        long nanos = readNanos.get();
+        logger.info("close input stream after " + (System.currentTimeMillis() - openTimestamp) + " ms, read "
+                + count + " times, " + bytes + " bytes, read ahead hit " + readAheadHitCount.get() + " times"
+                + ", avg latency " + (count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(nanos / count)) + " us"
+                + ", max latency " + TimeUnit.NANOSECONDS.toMicros(maxReadNanos.get()) + " us"
+                + ", throughput " + (nanos == 0 ? 0 : bytes * 1000 / nanos) + " MB/s");
+        inputStream.close();
+    }
+}
@@ -0,0 +1,208 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.broker.hdfs;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.log4j.Logger;
+
+import org.apache.doris.thrift.TBrokerOperationStatusCode;
+
+/**
+ * An opened file for write.
+ * If write behind is enabled, a write returns once the data is queued, and the queued data is written to hdfs
+ * in order by a flush thread. The queued data of one file is bounded by the write behind size, a write waits
+ * until there is enough room. An error of the flush thread is reported by the next write or close.
+ */
+public class BrokerOutputStream {
+
+    private static Logger logger = Logger.getLogger(BrokerOutputStream.class.getName());
+
+    private final FSDataOutputStream outputStream;
+    private final BrokerFileSystem brokerFileSystem;
+    private final Executor flushExecutor;
+    private final long writeBehindSize;
+
+    // all the following fields are guarded by this
+    private final Deque<byte[]> pendingChunks = new ArrayDeque<>();
+    private long pendingBytes = 0;
+    private boolean flushing = false;
+    // the offset of the next write, including the pending data
+    private long nextOffset;
+    private IOException flushException = null;
+    private boolean closed = false;
+
+    private final long openTimestamp = System.currentTimeMillis();
+    private long writeCount = 0;
+    private long writeBytes = 0;
+    private long waitNanos = 0;
+    private long flushNanos = 0;
+
+    public BrokerOutputStream(FSDataOutputStream outputStream, BrokerFileSystem brokerFileSystem,
+                              Executor flushExecutor) throws IOException {
+        this.outputStream = outputStream;
+        this.brokerFileSystem = brokerFileSystem;
+        this.brokerFileSystem.updateLastUpdateAccessTime();
+        this.flushExecutor = flushExecutor;
+        this.writeBehindSize = (long) BrokerConfig.hdfs_write_behind_size_kb << 10;
+        this.nextOffset = outputStream.getPos();
+    }
+
+    public FSDataOutputStream getOutputStream() {
+        this.brokerFileSystem.updateLastUpdateAccessTime();
+        return outputStream;
+    }
+
+    public void updateLastUpdateAccessTime() {
+        this.brokerFileSystem.updateLastUpdateAccessTime();
+    }
+
+    /**
+     * Write data at offset, which must be the end of the data written before.
+     * The data must not be modified by the caller after this call if write behind is enabled.
+     */
+    public synchronized void write(long offset, byte[] data) throws IOException {
+        brokerFileSystem.updateLastUpdateAccessTime();
+        checkState();
+        if (offset != nextOffset) {
+            throw new BrokerException(TBrokerOperationStatusCode.INVALID_INPUT_OFFSET,
+                    "current outputstream offset is {} not equal to request {}", nextOffset, offset);
+        }
+        writeCount++;
+        writeBytes += data.length;
+        if (writeBehindSize <= 0) {
+            long startNanos = System.nanoTime();
+            outputStream.write(data);
+            flushNanos += System.nanoTime() - startNanos;
+            nextOffset += data.length;
+            return;
+        }
+
+        // back pressure, a chunk larger than the write behind size is queued once the queue is empty
+        long startNanos = System.nanoTime();
+        try {
+            while (pendingBytes > 0 && pendingBytes + data.length > writeBehindSize && flushException == null) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for flushing data");
+        } finally {
+            waitNanos += System.nanoTime() - startNanos;
+        }
+        checkState();
+        pendingChunks.add(data);
+        pendingBytes += data.length;
+        nextOffset += data.length;
+        if (!flushing) {
+            flushing = true;
+            try {
+                flushExecutor.execute(this::flushPendingChunks);
+            } catch (RejectedExecutionException e) {
+                flushing = false;
+                flushException = new IOException("failed to submit flush task", e);
+                pendingChunks.clear();
+                pendingBytes = 0;
+                throw flushException;
+            }
+        }
+    }
+
+    private void checkState() throws IOException {
+        if (closed) {
+            throw new IOException("output stream is closed");
+        }
+        if (flushException != null) {
+            throw new IOException("errors while flush data to output stream", flushException);
+        }
+    }
+
+    private void flushPendingChunks() {
+        while (true) {
+            byte[] chunk;
+            synchronized (this) {
+                chunk = pendingChunks.peek();
+                if (chunk == null || flushException != null) {
+                    pendingChunks.clear();
+                    pendingBytes = 0;
+                    flushing = false;
+                    notifyAll();
+                    return;
+                }
+            }
+            long startNanos = System.nanoTime();
+            IOException exception = null;
+            try {
+                outputStream.write(chunk);
+            } catch (IOException e) {
+                exception = e;
+            } catch (Exception e) {
+                exception = new IOException(e);
+            }
+            synchronized (this) {
+                flushNanos += System.nanoTime() - startNanos;
+                if (exception != null) {
+                    logger.error("errors while flush data to output stream", exception);
+                    flushException = exception;
+                }
+                pendingChunks.poll();
+                pendingBytes -= chunk.length;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Wait for the pending data to be flushed and close the stream.
+     * The error of flushing is thrown, and the stream is closed anyway.
+     */
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            while (flushing) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outputStream.close();
+            throw new InterruptedIOException("interrupted while waiting for flushing data");
+        }
+        try {
+            if (flushException != null) {
+                throw flushException;
+            }
+            outputStream.flush();
+        } finally {
+            outputStream.close();
+            logger.info("close output stream after " + (System.currentTimeMillis() - openTimestamp) + " ms, write "
+                    + writeCount + " times, " + writeBytes + " bytes, wait for flushing "
+                    + TimeUnit.NANOSECONDS.toMillis(waitNanos) + " ms, flush cost "
+                    + TimeUnit.NANOSECONDS.toMillis(flushNanos) + " ms");
+        }
+    }
+}
@@ -52,13 +52,12 @@ public class ClientContextManager {
         clientContext.updateLastPingTime();
     }
     
-    public synchronized void putNewOutputStream(String clientId, TBrokerFD fd, FSDataOutputStream fsDataOutputStream, 
-            BrokerFileSystem brokerFileSystem) {
+    public synchronized void putNewOutputStream(String clientId, TBrokerFD fd, BrokerOutputStream brokerOutputStream) {
         if (!clientContexts.containsKey(clientId)) {
             clientContexts.putIfAbsent(clientId, new ClientResourceContext(clientId));
         }
         ClientResourceContext clientContext = clientContexts.get(clientId);
-        clientContext.putOutputStream(fd, fsDataOutputStream, brokerFileSystem);
+        clientContext.putOutputStream(fd, brokerOutputStream);
         fdToClientMap.putIfAbsent(fd, clientId);
     }
     
@@ -83,6 +82,20 @@ public class ClientContextManager {
         return fsDataInputStream;
     }
     
+    /**
+     * Not synchronized, as it is called by every read, and the maps are concurrent.
+     */
+    public BrokerInputStream getBrokerInputStream(TBrokerFD fd) {
+        String clientId = fdToClientMap.get(fd);
+        ClientResourceContext clientContext = clientId == null ? null : clientContexts.get(clientId);
+        BrokerInputStream brokerInputStream = clientContext == null ? null : clientContext.inputStreams.get(fd);
+        if (brokerInputStream == null) {
+            throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
+                    "the fd is not owned by client {}", clientId);
+        }
+        return brokerInputStream;
+    }
+    
     public synchronized FSDataOutputStream getFsDataOutputStream(TBrokerFD fd) {
         String clientId = fdToClientMap.get(fd);
         if (clientId == null) {
@@ -94,6 +107,20 @@ public class ClientContextManager {
         return fsDataOutputStream;
     }
     
+    /**
+     * Not synchronized, the writes of one fd are serialized by the stream itself.
+     */
+    public BrokerOutputStream getBrokerOutputStream(TBrokerFD fd) {
+        String clientId = fdToClientMap.get(fd);
+        ClientResourceContext clientContext = clientId == null ? null : clientContexts.get(clientId);
+        BrokerOutputStream brokerOutputStream = clientContext == null ? null : clientContext.outputStreams.get(fd);
+        if (brokerOutputStream == null) {
+            throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
+                    "the fd is not owned by client {}", clientId);
+        }
+        return brokerOutputStream;
+    }
+    
     public synchronized void removeInputStream(TBrokerFD fd) {
         String clientId = fdToClientMap.remove(fd);
         if (clientId == null) {
@@ -103,23 +130,29 @@ public class ClientContextManager {
         BrokerInputStream brokerInputStream = clientContext.inputStreams.remove(fd);
         try {
             if (brokerInputStream != null) {
-                brokerInputStream.inputStream.close();
+                brokerInputStream.close();
             }
         } catch (Exception e) {
             logger.error("errors while close file data input stream", e);
         }
     }
     
-    public synchronized void removeOutputStream(TBrokerFD fd) {
-        String clientId = fdToClientMap.remove(fd);
-        if (clientId == null) {
-            return;
+    /**
+     * The stream is closed out of the lock, because closing waits for the write behind data to be flushed.
+     */
+    public void removeOutputStream(TBrokerFD fd) {
+        BrokerOutputStream brokerOutputStream;
+        synchronized (this) {
+            String clientId = fdToClientMap.remove(fd);
+            if (clientId == null) {
+                return;
+            }
+            ClientResourceContext clientContext = clientContexts.get(clientId);
+            brokerOutputStream = clientContext.outputStreams.remove(fd);
         }
-        ClientResourceContext clientContext = clientContexts.get(clientId);
-        BrokerOutputStream brokerOutputStream = clientContext.outputStreams.remove(fd);
         try {
             if (brokerOutputStream != null) {
-                brokerOutputStream.outputStream.close();
+                brokerOutputStream.close();
             }
         } catch (Exception e) {
             logger.error("errors while close file data output stream", e);
@@ -150,48 +183,6 @@ public class ClientContextManager {
         }
     }
     
-    private static class BrokerOutputStream {
-        
-        private final FSDataOutputStream outputStream;
-        private final BrokerFileSystem brokerFileSystem;
-        
-        public BrokerOutputStream(FSDataOutputStream outputStream, BrokerFileSystem brokerFileSystem) {
-            this.outputStream = outputStream;
-            this.brokerFileSystem = brokerFileSystem;
-            this.brokerFileSystem.updateLastUpdateAccessTime();
-        }
-        
-        public FSDataOutputStream getOutputStream() {
-            this.brokerFileSystem.updateLastUpdateAccessTime();
-            return outputStream;
-        }
-        
-        public void updateLastUpdateAccessTime() {
-            this.brokerFileSystem.updateLastUpdateAccessTime();
-        }
-    }
-    
-    private static class BrokerInputStream {
-        
-        private final FSDataInputStream inputStream;
-        private final BrokerFileSystem brokerFileSystem;
-        
-        public BrokerInputStream(FSDataInputStream inputStream, BrokerFileSystem brokerFileSystem) {
-            this.inputStream = inputStream;
-            this.brokerFileSystem = brokerFileSystem;
-            this.brokerFileSystem.updateLastUpdateAccessTime();
-        }
-        
-        public FSDataInputStream getInputStream() {
-            this.brokerFileSystem.updateLastUpdateAccessTime();
-            return inputStream;
-        }
-        
-        public void updateLastUpdateAccessTime() {
-            this.brokerFileSystem.updateLastUpdateAccessTime();
-        }
-    }
-    
     static class ClientResourceContext {
 
         private String clientId;
@@ -210,8 +201,8 @@ public class ClientContextManager {
             inputStreams.putIfAbsent(fd, new BrokerInputStream(inputStream, fileSystem));
         }
         
-        public void putOutputStream(TBrokerFD fd, FSDataOutputStream outputStream, BrokerFileSystem fileSystem) {
-            outputStreams.putIfAbsent(fd, new BrokerOutputStream(outputStream, fileSystem));
+        public void putOutputStream(TBrokerFD fd, BrokerOutputStream outputStream) {
+            outputStreams.putIfAbsent(fd, outputStream);
         }
         
         public FSDataInputStream getInputStream(TBrokerFD fd) {
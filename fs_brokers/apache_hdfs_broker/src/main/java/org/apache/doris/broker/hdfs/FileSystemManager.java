@@ -23,6 +23,7 @@ import org.apache.doris.thrift.TBrokerFileStatus;
 import org.apache.doris.thrift.TBrokerOperationStatusCode;
 
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.CommonConfigurationKeysPublic;
@@ -54,6 +55,7 @@ import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -96,6 +98,9 @@ public class FileSystemManager {
     private static final String FS_S3A_IMPL_DISABLE_CACHE = "fs.s3a.impl.disable.cache";
 
     private ScheduledExecutorService handleManagementPool = Executors.newScheduledThreadPool(2);
+    // flush the data queued by pwrite to hdfs
+    private ExecutorService writeBehindPool = Executors.newFixedThreadPool(BrokerConfig.hdfs_write_behind_thread_num,
+            new ThreadFactoryBuilder().setNameFormat("write-behind-%d").setDaemon(true).build());
     
     private int readBufferSize = 128 << 10; // 128k
     private int writeBufferSize = 128 << 10; // 128k
@@ -527,70 +532,54 @@ public class FileSystemManager {
     }
     
     public ByteBuffer pread(TBrokerFD fd, long offset, long length) {
-        FSDataInputStream fsDataInputStream = clientContextManager.getFsDataInputStream(fd);
-        synchronized (fsDataInputStream) {
-            long currentStreamOffset;
-            try {
-                currentStreamOffset = fsDataInputStream.getPos();
-            } catch (IOException e) {
-                logger.error("errors while get file pos from output stream", e);
-                throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
-                        "errors while get file pos from output stream");
-            }
-            if (currentStreamOffset != offset) {
-                // it's ok, when reading some format like parquet, it is not a sequential read
-                logger.debug("invalid offset, current read offset is "
-                        + currentStreamOffset + " is not equal to request offset "
-                        + offset + " seek to it");
-                try {
-                    fsDataInputStream.seek(offset);
-                } catch (IOException e) {
-                    throw new BrokerException(TBrokerOperationStatusCode.INVALID_INPUT_OFFSET,
-                            e, "current read offset {} is not equal to {}, and could not seek to it",
-                            currentStreamOffset, offset);
-                }
-            }
-            ByteBuffer buf;
-            if (length > readBufferSize) {
-                buf = ByteBuffer.allocate(readBufferSize);
-            } else {
-                buf = ByteBuffer.allocate((int) length);
-            }
-            try {
-                int readLength = readByteBufferFully(fsDataInputStream, buf);
-                if (readLength < 0) {
-                    throw new BrokerException(TBrokerOperationStatusCode.END_OF_FILE,
-                            "end of file reached");
-                }
-                if (logger.isDebugEnabled()) {
-                    logger.debug("read buffer from input stream, buffer size:" + buf.capacity() + ", read length:" + readLength);
-                }
-                return buf;
-            } catch (IOException e) {
-                logger.error("errors while read data from stream", e);
-                throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
-                        e, "errors while write data to output stream");
+        return pread(fd, offset, length, new byte[(int) Math.min(length, readBufferSize)]);
+    }
+    
+    /**
+     * Read at most min(length, read buffer size, buf.length) bytes from offset into buf.
+     * It is a positional read, so reads of the same fd are not serialized.
+     * The returned buffer wraps buf, and an empty buffer is returned if the end of file is reached.
+     */
+    public ByteBuffer pread(TBrokerFD fd, long offset, long length, byte[] buf) {
+        if (offset < 0) {
+            throw new BrokerException(TBrokerOperationStatusCode.INVALID_INPUT_OFFSET,
+                    "invalid read offset {}", offset);
+        }
+        BrokerInputStream brokerInputStream = clientContextManager.getBrokerInputStream(fd);
+        int length2Read = (int) Math.min(Math.min(length, readBufferSize), buf.length);
+        try {
+            int readLength = brokerInputStream.pread(offset, buf, length2Read);
+            if (logger.isDebugEnabled()) {
+                logger.debug("read buffer from input stream, offset: " + offset + ", buffer size:" + length2Read
+                        + ", read length:" + readLength);
             }
+            return ByteBuffer.wrap(buf, 0, readLength);
+        } catch (IOException e) {
+            logger.error("errors while read data from stream", e);
+            throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
+                    e, "errors while read data from stream");
         }
     }
     
+    public int getReadBufferSize() {
+        return readBufferSize;
+    }
+    
     public void seek(TBrokerFD fd, long offset) {
         throw new BrokerException(TBrokerOperationStatusCode.OPERATION_NOT_SUPPORTED, 
                 "seek this method is not supported");
     }
     
     public void closeReader(TBrokerFD fd) {
-        FSDataInputStream fsDataInputStream = clientContextManager.getFsDataInputStream(fd);
-        synchronized (fsDataInputStream) {
-            try {
-                fsDataInputStream.close();
-            } catch (IOException e) {
-                logger.error("errors while close file input stream", e);
-                throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
-                        e, "errors while close file input stream");
-            } finally {
-                clientContextManager.removeInputStream(fd);
-            }
+        BrokerInputStream brokerInputStream = clientContextManager.getBrokerInputStream(fd);
+        try {
+            brokerInputStream.close();
+        } catch (IOException e) {
+            logger.error("errors while close file input stream", e);
+            throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
+                    e, "errors while close file input stream");
+        } finally {
+            clientContextManager.removeInputStream(fd);
         }
     }
     
@@ -603,7 +592,8 @@ public class FileSystemManager {
                     true, writeBufferSize);
             UUID uuid = UUID.randomUUID();
             TBrokerFD fd = parseUUIDToFD(uuid);
-            clientContextManager.putNewOutputStream(clientId, fd, fsDataOutputStream, fileSystem);
+            clientContextManager.putNewOutputStream(clientId, fd,
+                    new BrokerOutputStream(fsDataOutputStream, fileSystem, writeBehindPool));
             return fd;
         } catch (IOException e) {
             logger.error("errors while open path", e);
@@ -614,44 +604,26 @@ public class FileSystemManager {
     }
     
     public void pwrite(TBrokerFD fd, long offset, byte[] data) {
-        FSDataOutputStream fsDataOutputStream = clientContextManager.getFsDataOutputStream(fd);
-        synchronized (fsDataOutputStream) {
-            long currentStreamOffset;
-            try {
-                currentStreamOffset = fsDataOutputStream.getPos();
-            } catch (IOException e) {
-                logger.error("errors while get file pos from output stream", e);
-                throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
-                        "errors while get file pos from output stream");
-            }
-            if (currentStreamOffset != offset) {
-                throw new BrokerException(TBrokerOperationStatusCode.INVALID_INPUT_OFFSET,
-                        "current outputstream offset is {} not equal to request {}",
-                        currentStreamOffset, offset);
-            }
-            try {
-                fsDataOutputStream.write(data);
-            } catch (IOException e) {
-                logger.error("errors while write data to output stream", e);
-                throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
-                        e, "errors while write data to output stream");
-            }
+        BrokerOutputStream brokerOutputStream = clientContextManager.getBrokerOutputStream(fd);
+        try {
+            brokerOutputStream.write(offset, data);
+        } catch (IOException e) {
+            logger.error("errors while write data to output stream", e);
+            throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
+                    e, "errors while write data to output stream");
         }
     }
     
     public void closeWriter(TBrokerFD fd) {
-        FSDataOutputStream fsDataOutputStream = clientContextManager.getFsDataOutputStream(fd);
-        synchronized (fsDataOutputStream) {
-            try {
-                fsDataOutputStream.flush();
-                fsDataOutputStream.close();
-            } catch (IOException e) {
-                logger.error("errors while close file output stream", e);
-                throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
-                        e, "errors while close file output stream");
-            } finally {
-                clientContextManager.removeOutputStream(fd);
-            }
+        BrokerOutputStream brokerOutputStream = clientContextManager.getBrokerOutputStream(fd);
+        try {
+            brokerOutputStream.close();
+        } catch (IOException e) {
+            logger.error("errors while close file output stream", e);
+            throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
+                    e, "errors while close file output stream");
+        } finally {
+            clientContextManager.removeOutputStream(fd);
         }
     }
     
@@ -663,29 +635,6 @@ public class FileSystemManager {
         return new TBrokerFD(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
     }
 
-    private int readByteBuffer(FSDataInputStream is, ByteBuffer dest) throws IOException {
-        int pos = dest.position();
-        int result = is.read(dest);
-        if (result > 0) {
-            // Ensure this explicitly since versions before 2.7 read doesn't do it.
-            dest.position(pos + result);
-        }
-        return result;
-    }
-
-    private int readByteBufferFully(FSDataInputStream is, ByteBuffer dest) throws IOException {
-        int result = 0;
-        while (dest.remaining() > 0) {
-            int n = readByteBuffer(is, dest);
-            if (n <= 0) {
-                break;
-            }
-            result += n;
-        }
-        dest.flip();
-        return result;
-    }
-    
     class FileSystemExpirationChecker implements Runnable {
         @Override
         public void run() {
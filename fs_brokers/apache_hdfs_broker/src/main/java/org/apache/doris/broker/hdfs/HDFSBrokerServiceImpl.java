@@ -52,9 +52,13 @@ public class HDFSBrokerServiceImpl implements TPaloBrokerService.Iface {
 
     private static Logger logger = Logger.getLogger(HDFSBrokerServiceImpl.class.getName());
     private FileSystemManager fileSystemManager;
+    // buffer of pread response, the response is written by the same thread before it handles the next request,
+    // so the buffer can be reused by the requests of a thread.
+    private ThreadLocal<byte[]> readBuffer;
     
     public HDFSBrokerServiceImpl() {
         fileSystemManager = new FileSystemManager();
+        readBuffer = ThreadLocal.withInitial(() -> new byte[fileSystemManager.getReadBufferSize()]);
     }
     
     private TBrokerOperationStatus generateOKStatus() {
@@ -154,8 +158,10 @@ public class HDFSBrokerServiceImpl implements TPaloBrokerService.Iface {
         Stopwatch stopwatch = BrokerPerfMonitor.startWatch();
         TBrokerReadResponse response = new TBrokerReadResponse();
         try {
-            ByteBuffer readBuf = fileSystemManager.pread(request.fd, request.offset, request.length);
-            response.setData(readBuf);
+            ByteBuffer readBuf = fileSystemManager.pread(request.fd, request.offset, request.length,
+                    readBuffer.get());
+            // setData() copies the buffer
+            response.data = readBuf;
             response.setOpStatus(generateOKStatus());
         } catch (BrokerException e) {
             logger.warn("failed to pread: " + request.fd, e);
@@ -222,6 +228,7 @@ public class HDFSBrokerServiceImpl implements TPaloBrokerService.Iface {
         logger.debug("receive a pwrite request, request detail: " + request);
         Stopwatch stopwatch = BrokerPerfMonitor.startWatch();
         try {
+            // the data may be queued after return, it is safe as getData() returns a buffer owned by this request
             fileSystemManager.pwrite(request.fd, request.offset, request.getData());
         } catch (BrokerException e) {
             logger.warn("failed to pwrite: " + request.fd, e);
@@ -0,0 +1,133 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.broker.hdfs;
+
+import junit.framework.TestCase;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class TestBrokerInputStream extends TestCase {
+
+    private static final int FILE_SIZE = 10000;
+
+    private FileSystem localFileSystem;
+    private Path filePath;
+    private BrokerFileSystem brokerFileSystem;
+    private int originReadAheadSizeKb;
+
+    protected void setUp() throws Exception {
+        originReadAheadSizeKb = BrokerConfig.hdfs_read_ahead_size_kb;
+        localFileSystem = FileSystem.getLocal(new Configuration());
+        File file = File.createTempFile("broker_input_stream", ".dat");
+        file.deleteOnExit();
+        filePath = new Path(file.getAbsolutePath());
+        try (FSDataOutputStream out = localFileSystem.create(filePath, true)) {
+            for (int i = 0; i < FILE_SIZE; i++) {
+                out.write(i % 251);
+            }
+        }
+        brokerFileSystem = new BrokerFileSystem(new FileSystemIdentity("file", ""));
+        brokerFileSystem.setFileSystem(localFileSystem);
+    }
+
+    protected void tearDown() throws Exception {
+        BrokerConfig.hdfs_read_ahead_size_kb = originReadAheadSizeKb;
+        localFileSystem.delete(filePath, false);
+    }
+
+    private BrokerInputStream open() throws Exception {
+        return new BrokerInputStream(localFileSystem.open(filePath), brokerFileSystem);
+    }
+
+    private void assertData(long offset, byte[] buf, int length) {
+        for (int i = 0; i < length; i++) {
+            assertEquals((byte) ((offset + i) % 251), buf[i]);
+        }
+    }
+
+    @Test
+    public void testPread() throws Exception {
+        BrokerConfig.hdfs_read_ahead_size_kb = 0;
+        BrokerInputStream inputStream = open();
+        byte[] buf = new byte[4096];
+        assertEquals(4096, inputStream.pread(100, buf, 4096));
+        assertData(100, buf, 4096);
+        // read backward
+        assertEquals(50, inputStream.pread(10, buf, 50));
+        assertData(10, buf, 50);
+        // read to the end of file
+        assertEquals(FILE_SIZE - 8000, inputStream.pread(8000, buf, 4096));
+        assertData(8000, buf, FILE_SIZE - 8000);
+        assertEquals(0, inputStream.pread(FILE_SIZE, buf, 4096));
+        inputStream.close();
+    }
+
+    @Test
+    public void testReadAhead() throws Exception {
+        BrokerConfig.hdfs_read_ahead_size_kb = 4;
+        BrokerInputStream inputStream = open();
+        byte[] buf = new byte[1000];
+        // adjacent small reads are served by one read ahead
+        for (int offset = 0; offset + 100 <= 4096; offset += 100) {
+            assertEquals(100, inputStream.pread(offset, buf, 100));
+            assertData(offset, buf, 100);
+        }
+        // read across the read ahead range
+        assertEquals(1000, inputStream.pread(4000, buf, 1000));
+        assertData(4000, buf, 1000);
+        // the read ahead range reaches the end of file
+        assertEquals(FILE_SIZE - 9500, inputStream.pread(9500, buf, 1000));
+        assertData(9500, buf, FILE_SIZE - 9500);
+        assertEquals(100, inputStream.pread(9600, buf, 100));
+        assertData(9600, buf, 100);
+        assertEquals(0, inputStream.pread(FILE_SIZE, buf, 100));
+        inputStream.close();
+    }
+
+    @Test
+    public void testConcurrentPread() throws Exception {
+        BrokerConfig.hdfs_read_ahead_size_kb = 0;
+        final BrokerInputStream inputStream = open();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final long offset = (i * 997L) % (FILE_SIZE - 512);
+            results.add(executor.submit(() -> {
+                byte[] buf = new byte[512];
+                int readLength = inputStream.pread(offset, buf, 512);
+                assertData(offset, buf, readLength);
+                return readLength == 512;
+            }));
+        }
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+        executor.shutdown();
+        inputStream.close();
+    }
+}
@@ -0,0 +1,142 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.broker.hdfs;
+
+import junit.framework.TestCase;
+import org.apache.doris.thrift.TBrokerOperationStatusCode;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class TestBrokerOutputStream extends TestCase {
+
+    private FileSystem localFileSystem;
+    private Path filePath;
+    private BrokerFileSystem brokerFileSystem;
+    private ExecutorService flushExecutor;
+    private int originWriteBehindSizeKb;
+
+    protected void setUp() throws Exception {
+        originWriteBehindSizeKb = BrokerConfig.hdfs_write_behind_size_kb;
+        localFileSystem = FileSystem.getLocal(new Configuration());
+        File file = File.createTempFile("broker_output_stream", ".dat");
+        file.deleteOnExit();
+        filePath = new Path(file.getAbsolutePath());
+        brokerFileSystem = new BrokerFileSystem(new FileSystemIdentity("file", ""));
+        brokerFileSystem.setFileSystem(localFileSystem);
+        flushExecutor = Executors.newFixedThreadPool(2);
+    }
+
+    protected void tearDown() throws Exception {
+        BrokerConfig.hdfs_write_behind_size_kb = originWriteBehindSizeKb;
+        flushExecutor.shutdownNow();
+        localFileSystem.delete(filePath, false);
+    }
+
+    private byte[] chunk(int index, int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) (index + i);
+        }
+        return data;
+    }
+
+    private void writeAndCheck(int chunkNum, int chunkSize) throws Exception {
+        BrokerOutputStream outputStream = new BrokerOutputStream(localFileSystem.create(filePath, true),
+                brokerFileSystem, flushExecutor);
+        for (int i = 0; i < chunkNum; i++) {
+            outputStream.write((long) i * chunkSize, chunk(i, chunkSize));
+        }
+        outputStream.close();
+
+        assertEquals((long) chunkNum * chunkSize, localFileSystem.getFileStatus(filePath).getLen());
+        byte[] buf = new byte[chunkSize];
+        try (FSDataInputStream in = localFileSystem.open(filePath)) {
+            for (int i = 0; i < chunkNum; i++) {
+                in.readFully(buf);
+                assertTrue(Arrays.equals(chunk(i, chunkSize), buf));
+            }
+        }
+    }
+
+    @Test
+    public void testWriteDirectly() throws Exception {
+        BrokerConfig.hdfs_write_behind_size_kb = 0;
+        writeAndCheck(10, 1000);
+    }
+
+    @Test
+    public void testWriteBehind() throws Exception {
+        // the queue holds only a few chunks, so writes wait for flushing
+        BrokerConfig.hdfs_write_behind_size_kb = 4;
+        writeAndCheck(200, 1000);
+        // chunks larger than the write behind size
+        writeAndCheck(10, 10000);
+    }
+
+    @Test
+    public void testInvalidOffset() throws Exception {
+        BrokerConfig.hdfs_write_behind_size_kb = 4;
+        BrokerOutputStream outputStream = new BrokerOutputStream(localFileSystem.create(filePath, true),
+                brokerFileSystem, flushExecutor);
+        outputStream.write(0, chunk(0, 100));
+        try {
+            outputStream.write(0, chunk(1, 100));
+            fail();
+        } catch (BrokerException e) {
+            assertEquals(TBrokerOperationStatusCode.INVALID_INPUT_OFFSET, e.errorCode);
+        }
+        outputStream.write(100, chunk(1, 100));
+        outputStream.close();
+        assertEquals(200, localFileSystem.getFileStatus(filePath).getLen());
+    }
+
+    @Test
+    public void testFlushError() throws Exception {
+        BrokerConfig.hdfs_write_behind_size_kb = 4;
+        FSDataOutputStream out = localFileSystem.create(filePath, true);
+        BrokerOutputStream outputStream = new BrokerOutputStream(out, brokerFileSystem, flushExecutor);
+        // the following flushes fail as the underlying stream is closed
+        out.close();
+        outputStream.write(0, chunk(0, 100));
+        try {
+            for (int i = 1; i < 100; i++) {
+                Thread.sleep(10);
+                outputStream.write(i * 100L, chunk(i, 100));
+            }
+            fail();
+        } catch (IOException e) {
+            // reported by the next write
+        }
+        try {
+            outputStream.close();
+            fail();
+        } catch (IOException e) {
+            // reported by close
+        }
+    }
+}
@@ -138,6 +138,10 @@ struct TQueryOptions {
   30: optional i32 max_pushdown_conditions_per_column
   // whether enable spilling to disk
   31: optional bool enable_spilling = false;
+  // the max time in ms that scan node waits for its runtime filters
+  32: optional i32 runtime_filter_wait_time_ms = 1000
+  // the IN filter is built as a bloom filter if the number of values exceeds it
+  33: optional i32 runtime_filter_max_in_num = 1024
 }
     
 
@@ -147,6 +151,27 @@ struct TScanRangeParams {
   2: optional i32 volume_id = -1
 }
 
+struct TRuntimeFilterTargetParams {
+  1: required Types.TUniqueId target_fragment_instance_id
+  // brpc address of the target instance
+  2: required Types.TNetworkAddress target_fragment_instance_addr
+}
+
+struct TRuntimeFilterParams {
+  // brpc address of the instance which merges the runtime filters with remote targets
+  1: optional Types.TNetworkAddress runtime_filter_merge_addr
+
+  // The following fields are only set for the merge instance
+  // runtime filter id -> the instances of target scan nodes
+  2: optional map<i32, list<TRuntimeFilterTargetParams>> rid_to_target_param
+
+  // runtime filter id -> runtime filter desc
+  3: optional map<i32, PlanNodes.TRuntimeFilterDesc> rid_to_runtime_filter
+
+  // runtime filter id -> the number of producer instances to be merged
+  4: optional map<i32, i32> runtime_filter_builder_num
+}
+
 // Specification of one output destination of a plan fragment
 struct TPlanFragmentDestination {
   // the globally unique fragment instance id
@@ -189,6 +214,7 @@ struct TPlanFragmentExecParams {
   9: optional i32 sender_id
   10: optional i32 num_senders
   11: optional bool send_query_statistics_with_every_batch
+  12: optional TRuntimeFilterParams runtime_filter_params
 }
 
 // Global query parameters assigned by the coordinator.
@@ -180,6 +180,9 @@ struct TEsScanRange {
   2: required string index   
   3: optional string type
   4: required i32 shard_id
+  // the shard is scanned by slice_num sliced scrolls, and this range scans the slice_id-th one
+  5: optional i32 slice_id
+  6: optional i32 slice_num
 }
 
 // Specification of an individual data range which is held in its entirety
@@ -651,6 +654,44 @@ struct TAssertNumRowsNode {
     3: optional TAssertion assertion;
 }
 
+enum TRuntimeFilterType {
+  IN = 1
+  BLOOM = 2
+  MIN_MAX = 4
+}
+
+// Specification of a runtime filter, which is built from the build side of a hash join
+// and applied to the scan nodes of the probe side.
+struct TRuntimeFilterDesc {
+  // Filter unique id (within a query)
+  1: required i32 filter_id
+
+  // Expr on which the filter is built on the build side of hash join
+  2: required Exprs.TExpr src_expr
+
+  // The order of the equal join conjunct in hash join node
+  3: required i32 expr_order
+
+  // Map of target scan node id to the target expr
+  4: required map<Types.TPlanNodeId, Exprs.TExpr> planId_to_target_expr
+
+  // Indicates if the source join node of this filter is a broadcast or a partitioned join
+  5: required bool is_broadcast_join
+
+  // Indicates if there is at least one target scan node in the same fragment as the join
+  6: required bool has_local_targets
+
+  // Indicates if there is at least one target scan node in other fragments,
+  // the filter is merged and sent to them through the merge instance
+  7: required bool has_remote_targets
+
+  // The type of runtime filter to build
+  8: required TRuntimeFilterType type
+
+  // The size of bloom filter estimated by the ndv of build side, only set for bloom filter
+  9: optional i64 bloom_filter_size_bytes
+}
+
 // This is essentially a union of all messages corresponding to subclasses
 // of PlanNode.
 struct TPlanNode {
@@ -692,6 +733,9 @@ struct TPlanNode {
   33: optional TIntersectNode intersect_node
   34: optional TExceptNode except_node
   35: optional TOdbcScanNode odbc_scan_node
+
+  // runtime filters built by this node (hash join) or applied by this node (scan)
+  36: optional list<TRuntimeFilterDesc> runtime_filters
 }
 
 // A flattened representation of a tree of PlanNodes, obtained by depth-first
@@ -0,0 +1,200 @@
+# Licensed to the Apache Software Foundation (ASF) under one
+# or more contributor license agreements.  See the NOTICE file
+# distributed with this work for additional information
+# regarding copyright ownership.  The ASF licenses this file
+# to you under the Apache License, Version 2.0 (the
+# "License"); you may not use this file except in compliance
+# with the License.  You may obtain a copy of the License at
+#
+#   http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing,
+# software distributed under the License is distributed on an
+# "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+# KIND, either express or implied.  See the License for the
+# specific language governing permissions and limitations
+# under the License.
+
+"""
+A mock Elasticsearch server for benchmarking the scan of Doris On ES.
+
+It serves the APIs used by Doris FE (version, nodes, mapping, search shards)
+and BE (search with scroll and slice, scroll, clear scroll), and generates
+documents on the fly, so the scan throughput of Doris is not limited by a real
+ES cluster.
+"""
+
+import argparse
+import json
+import threading
+import uuid
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+from urllib.parse import parse_qs, urlparse
+
+ARGS = None
+SCROLLS = {}
+SCROLLS_LOCK = threading.Lock()
+
+MAPPING_PROPERTIES = {
+    "id": {"type": "long"},
+    "name": {"type": "keyword"},
+    "score": {"type": "double"},
+    "city": {"type": "text", "fields": {"keyword": {"type": "keyword"}}},
+}
+
+
+def make_doc(shard, doc_id):
+    """The doc_id-th document of shard, identical for the same arguments"""
+    uid = shard * ARGS.docs_per_shard + doc_id
+    return {
+        "id": uid,
+        "name": "name_%d" % (uid % 1000),
+        "score": uid * 0.5,
+        "city": "city %d" % (uid % 100),
+    }
+
+
+def docvalue_of(doc, field):
+    # multi fields such as city.keyword share the value of the origin field
+    return [doc[field.split(".")[0]]]
+
+
+class Scroll(object):
+    def __init__(self, shard, slice_id, slice_max, size, body):
+        self.shard = shard
+        self.slice_id = slice_id
+        self.slice_max = slice_max
+        self.size = size
+        self.docvalue_fields = body.get("docvalue_fields")
+        self.source_fields = body.get("_source")
+        self.next_doc = slice_id
+
+    def next_page(self, limit=None):
+        size = self.size if limit is None else min(self.size, limit)
+        hits = []
+        while len(hits) < size and self.next_doc < ARGS.docs_per_shard:
+            doc = make_doc(self.shard, self.next_doc)
+            if self.docvalue_fields is not None:
+                hit = {"_score": None, "fields": {f: docvalue_of(doc, f) for f in self.docvalue_fields}}
+            else:
+                fields = self.source_fields if isinstance(self.source_fields, list) else list(doc.keys())
+                hit = {"_id": str(doc["id"]), "_source": {f: doc[f] for f in fields if f in doc}}
+            hits.append(hit)
+            # the documents of one shard are split to slices by doc id
+            self.next_doc += self.slice_max
+        return hits
+
+
+class Handler(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"
+
+    def log_message(self, fmt, *args):
+        if ARGS.verbose:
+            BaseHTTPRequestHandler.log_message(self, fmt, *args)
+
+    def send_json(self, obj, status=200):
+        data = json.dumps(obj, separators=(",", ":")).encode("utf-8")
+        self.send_response(status)
+        self.send_header("Content-Type", "application/json; charset=UTF-8")
+        self.send_header("Content-Length", str(len(data)))
+        self.end_headers()
+        self.wfile.write(data)
+
+    def read_body(self):
+        length = int(self.headers.get("Content-Length", 0))
+        if length <= 0:
+            return {}
+        body = self.rfile.read(length)
+        return json.loads(body) if body.strip() else {}
+
+    def do_GET(self):
+        url = urlparse(self.path)
+        parts = [p for p in url.path.split("/") if p]
+        if not parts:
+            self.send_json({"name": "mock", "cluster_name": "mock",
+                            "version": {"number": ARGS.version}, "tagline": "You Know, for Search"})
+        elif parts == ["_nodes", "http"]:
+            self.send_json({"nodes": {"mock-node": {
+                "name": "mock-node", "host": ARGS.host, "ip": ARGS.host, "version": ARGS.version,
+                "roles": ["master", "data", "ingest"],
+                "http": {"publish_address": "%s:%d" % (ARGS.host, ARGS.port)}}}})
+        elif len(parts) == 2 and parts[1] == "_mapping":
+            self.handle_mapping(parts[0], url)
+        elif len(parts) == 2 and parts[1] == "_search_shards":
+            self.handle_search_shards(parts[0])
+        else:
+            self.send_json({"error": "unsupported path " + url.path}, 400)
+
+    def handle_mapping(self, index, url):
+        mapping = {"properties": MAPPING_PROPERTIES}
+        if int(ARGS.version.split(".")[0]) < 7 or "include_type_name=true" in url.query:
+            mapping = {ARGS.type: mapping}
+        self.send_json({index: {"mappings": mapping}})
+
+    def handle_search_shards(self, index):
+        shards = [[{"state": "STARTED", "primary": True, "node": "mock-node", "relocating_node": None,
+                    "shard": i, "index": index, "allocation_id": {"id": "%s-%d" % (index, i)}}]
+                  for i in range(ARGS.shards)]
+        self.send_json({"nodes": {"mock-node": {"name": "mock-node",
+                                                "transport_address": "%s:9300" % ARGS.host,
+                                                "attributes": {}}},
+                        "indices": {index: {}}, "shards": shards})
+
+    def do_POST(self):
+        url = urlparse(self.path)
+        body = self.read_body()
+        if url.path == "/_search/scroll":
+            with SCROLLS_LOCK:
+                scroll = SCROLLS.get(body.get("scroll_id"))
+            if scroll is None:
+                self.send_json({"error": "No search context found"}, 404)
+                return
+            self.send_json({"_scroll_id": body["scroll_id"],
+                            "hits": {"total": ARGS.docs_per_shard, "hits": scroll.next_page()}})
+        elif url.path.endswith("/_search"):
+            self.handle_search(url, body)
+        else:
+            self.send_json({"error": "unsupported path " + url.path}, 400)
+
+    def handle_search(self, url, body):
+        params = parse_qs(url.query)
+        preference = params.get("preference", ["_shards:0"])[0]
+        shard = int(preference.split(":")[1])
+        slice_node = body.get("slice", {})
+        scroll = Scroll(shard, slice_node.get("id", 0), slice_node.get("max", 1), body.get("size", 10), body)
+        if "scroll" not in params:
+            # a search with terminate_after, used by limit
+            limit = int(params.get("terminate_after", [scroll.size])[0])
+            self.send_json({"hits": {"total": ARGS.docs_per_shard, "hits": scroll.next_page(limit)}})
+            return
+        scroll_id = uuid.uuid4().hex
+        with SCROLLS_LOCK:
+            SCROLLS[scroll_id] = scroll
+        self.send_json({"_scroll_id": scroll_id, "hits": {"total": ARGS.docs_per_shard, "hits": scroll.next_page()}})
+
+    def do_DELETE(self):
+        body = self.read_body()
+        with SCROLLS_LOCK:
+            SCROLLS.pop(body.get("scroll_id"), None)
+        self.send_json({"succeeded": True, "num_freed": 1})
+
+
+def main():
+    global ARGS
+    parser = argparse.ArgumentParser(description="mock elasticsearch server for benchmarking Doris On ES")
+    parser.add_argument("--host", default="127.0.0.1", help="the address published to Doris")
+    parser.add_argument("--port", type=int, default=9200)
+    parser.add_argument("--version", default="6.5.3", help="the ES version reported")
+    parser.add_argument("--type", default="doc", help="the mapping type before ES 7")
+    parser.add_argument("--shards", type=int, default=1, help="number of shards of every index")
+    parser.add_argument("--docs_per_shard", type=int, default=1000000)
+    parser.add_argument("--verbose", action="store_true", help="log every request")
+    ARGS = parser.parse_args()
+    server = ThreadingHTTPServer(("0.0.0.0", ARGS.port), Handler)
+    print("mock es server listening on %s:%d, %d shards, %d docs per shard"
+          % (ARGS.host, ARGS.port, ARGS.shards, ARGS.docs_per_shard))
+    server.serve_forever()
+
+
+if __name__ == "__main__":
+    main()